@@ -0,0 +1,138 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class of the benchmarks: builds a SessionFactory on an in-memory H2 database holding
+ * {@value #PERSON_COUNT} {@link Person persons} and {@value #COUNTRY_COUNT} {@link Country countries}.
+ * <p/>
+ * The data set is the same for every run, so that results are comparable across commits.
+ */
+public abstract class BenchmarkSupport {
+	public static final int PERSON_COUNT = 10_000;
+	public static final int COUNTRY_COUNT = 20;
+
+	private StandardServiceRegistry serviceRegistry;
+	protected SessionFactory sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUpSessionFactory() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		settings.put( AvailableSettings.URL, "jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1" );
+		settings.put( AvailableSettings.USER, "sa" );
+		settings.put( AvailableSettings.PASS, "" );
+		settings.put( AvailableSettings.POOL_SIZE, "5" );
+		settings.put( AvailableSettings.DIALECT, H2Dialect.class.getName() );
+		settings.put( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		configure( settings );
+
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( settings ).build();
+		final MetadataSources metadataSources = new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( Country.class )
+				.addAnnotatedClass( Person.class );
+		for ( Class<?> annotatedClass : getAdditionalAnnotatedClasses() ) {
+			metadataSources.addAnnotatedClass( annotatedClass );
+		}
+		sessionFactory = metadataSources
+				.buildMetadata()
+				.buildSessionFactory();
+
+		populate();
+		prepare();
+	}
+
+	/**
+	 * Allows benchmarks to apply additional settings.
+	 *
+	 * @param settings The settings to apply
+	 */
+	protected void configure(Map<String, Object> settings) {
+	}
+
+	/**
+	 * Allows benchmarks to map entities of their own, in addition to {@link Country} and {@link Person}.
+	 *
+	 * @return The additional entity classes
+	 */
+	protected Class<?>[] getAdditionalAnnotatedClasses() {
+		return new Class<?>[0];
+	}
+
+	/**
+	 * Allows benchmarks to prepare their state, once the data set is populated.
+	 */
+	protected void prepare() {
+	}
+
+	private void populate() {
+		try ( StatelessSession session = sessionFactory.openStatelessSession() ) {
+			session.getTransaction().begin();
+			final Country[] countries = new Country[COUNTRY_COUNT];
+			for ( int i = 0; i < COUNTRY_COUNT; i++ ) {
+				countries[i] = new Country( (long) i + 1, "C" + i, "Country " + i );
+				session.insert( countries[i] );
+			}
+			for ( int i = 0; i < PERSON_COUNT; i++ ) {
+				session.insert(
+						new Person(
+								(long) i + 1,
+								"first" + i,
+								"last" + i,
+								1950 + i % 50,
+								countries[i % COUNTRY_COUNT]
+						)
+				);
+			}
+			session.getTransaction().commit();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownSessionFactory() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+		if ( serviceRegistry != null ) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	/**
+	 * Cycles through the ids from 1 to a given maximum in a fixed, scattered order.
+	 */
+	public static class IdSequence {
+		private final int max;
+		private int position;
+
+		protected IdSequence(int max) {
+			this.max = max;
+		}
+
+		public long next() {
+			// 7919 is a prime not dividing max, so all the ids are visited
+			position = ( position + 7919 ) % max;
+			return position + 1;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the formats of the second-level cache entries: the time to structure an entry and serialize it, as a
+ * distributed cache does on a put, and the reverse on a get.  The number of entries fitting in 1 GB, serialized
+ * and on-heap, is reported for each format as the {@link EntriesPerGb} secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheEntryFormatBenchmark extends BenchmarkSupport {
+	private static final int HEAP_SAMPLE_SIZE = 100_000;
+	private static final long GB = 1L << 30;
+
+	@Param({ "standard", "structured", "compact" })
+	public String format;
+
+	private CacheEntryStructure structure;
+	private CacheEntry entry;
+	private byte[] serialized;
+	private long heapSize;
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
+		settings.put( "hibernate.javax.cache.missing_cache_strategy", "create" );
+		settings.put( AvailableSettings.USE_STRUCTURED_CACHE, Boolean.toString( "structured".equals( format ) ) );
+		settings.put( AvailableSettings.USE_COMPACT_CACHE_ENTRIES, Boolean.toString( "compact".equals( format ) ) );
+	}
+
+	@Override
+	protected Class<?>[] getAdditionalAnnotatedClasses() {
+		return new Class<?>[] { Account.class };
+	}
+
+	@Override
+	protected void prepare() {
+		final SessionFactoryImplementor factory = (SessionFactoryImplementor) sessionFactory;
+		final EntityPersister persister = factory.getMetamodel().entityPersister( Account.class );
+		structure = persister.getCacheEntryStructure();
+
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			final Account account = new Account(
+					1L,
+					"ACC-0000000001",
+					"Account holder name",
+					new BigDecimal( "12345.67" ),
+					LocalDate.of( 2020, 1, 1 ),
+					true,
+					session.getReference( Country.class, 1L )
+			);
+			session.persist( account );
+			session.flush();
+			final Object[] state = persister.getPropertyValues( account );
+			entry = persister.buildCacheEntry(
+					account,
+					state,
+					persister.getVersion( account ),
+					(SharedSessionContractImplementor) session
+			);
+			session.getTransaction().rollback();
+		}
+		serialized = SerializationHelper.serialize( (Serializable) structure.structure( entry ) );
+		heapSize = heapSize();
+	}
+
+	/**
+	 * Estimates the heap retained by a structured entry from the heap used before and after structuring many.
+	 */
+	private long heapSize() {
+		final Object[] structured = new Object[HEAP_SAMPLE_SIZE];
+		final long before = usedHeap();
+		for ( int i = 0; i < HEAP_SAMPLE_SIZE; i++ ) {
+			final CacheEntry copy = (CacheEntry) structure.destructure(
+					SerializationHelper.deserialize( serialized ),
+					(SessionFactoryImplementor) sessionFactory
+			);
+			structured[i] = structure.structure( copy );
+		}
+		final long after = usedHeap();
+		return Math.max( 1, ( after - before ) / structured.length );
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		for ( int i = 0; i < 3; i++ ) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Benchmark
+	public byte[] put(EntriesPerGb entriesPerGb) {
+		return SerializationHelper.serialize( (Serializable) structure.structure( entry ) );
+	}
+
+	@Benchmark
+	public Object get(EntriesPerGb entriesPerGb) {
+		return structure.destructure( SerializationHelper.deserialize( serialized ), (SessionFactoryImplementor) sessionFactory );
+	}
+
+	/**
+	 * The number of entries of the format fitting in 1 GB, serialized and on-heap, reported by JMH next to the
+	 * time of each benchmark.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class EntriesPerGb {
+		public long serialized;
+		public long onHeap;
+
+		@Setup(Level.Iteration)
+		public void setUp(CacheEntryFormatBenchmark benchmark) {
+			serialized = GB / benchmark.serialized.length;
+			onHeap = GB / benchmark.heapSize;
+		}
+	}
+
+	/**
+	 * A cacheable entity with the usual kinds of attributes.
+	 */
+	@Entity(name = "Account")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Account {
+		@Id
+		private Long id;
+
+		@Version
+		private int version;
+
+		private String number;
+
+		private String holder;
+
+		private BigDecimal balance;
+
+		private LocalDate opened;
+
+		private boolean active;
+
+		@ManyToOne
+		private Country country;
+
+		public Account() {
+		}
+
+		public Account(
+				Long id,
+				String number,
+				String holder,
+				BigDecimal balance,
+				LocalDate opened,
+				boolean active,
+				Country country) {
+			this.id = id;
+			this.number = number;
+			this.holder = holder;
+			this.balance = balance;
+			this.opened = opened;
+			this.active = active;
+			this.country = country;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.Query;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Builds a typical "search form" criteria query and compiles it into a {@link Query}, without executing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CriteriaCompileBenchmark extends BenchmarkSupport {
+
+	@State(Scope.Thread)
+	public static class OpenSession {
+		private Session session;
+		private int iteration;
+
+		@Setup(Level.Iteration)
+		public void open(CriteriaCompileBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+		}
+
+		@TearDown(Level.Iteration)
+		public void close() {
+			session.close();
+		}
+	}
+
+	@Param({ "0", "128" })
+	public int compilationCacheMaxSize;
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.CRITERIA_COMPILATION_CACHE_MAX_SIZE, compilationCacheMaxSize );
+	}
+
+	@Benchmark
+	public Query<Person> compile(OpenSession openSession) {
+		final Session session = openSession.session;
+		final int iteration = openSession.iteration++;
+
+		final CriteriaBuilder builder = session.getCriteriaBuilder();
+		final CriteriaQuery<Person> criteria = builder.createQuery( Person.class );
+		final Root<Person> person = criteria.from( Person.class );
+		final Join<Person, Country> country = person.join( "country" );
+
+		final List<Predicate> predicates = new ArrayList<>();
+		predicates.add( builder.like( person.get( "lastName" ), "last" + ( iteration % 100 ) + "%" ) );
+		predicates.add( builder.between( person.get( "birthYear" ), 1960, 1980 + iteration % 10 ) );
+		predicates.add( builder.equal( country.get( "code" ), "C" + ( iteration % COUNTRY_COUNT ) ) );
+		predicates.add( builder.isNotNull( person.get( "email" ) ) );
+
+		criteria.select( person )
+				.where( predicates.toArray( new Predicate[0] ) )
+				.orderBy( builder.asc( person.get( "lastName" ) ), builder.desc( person.get( "id" ) ) );
+
+		return session.createQuery( criteria );
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Loads an entity by id, in a new session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityLoadBenchmark extends BenchmarkSupport {
+
+	@State(Scope.Thread)
+	public static class PersonIds extends IdSequence {
+		public PersonIds() {
+			super( PERSON_COUNT );
+		}
+	}
+
+	@Benchmark
+	public Person loadById(PersonIds ids) {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.get( Person.class, ids.next() );
+		}
+	}
+}
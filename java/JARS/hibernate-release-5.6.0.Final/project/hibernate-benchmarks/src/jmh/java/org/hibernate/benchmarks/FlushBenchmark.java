@@ -0,0 +1,69 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Flushes a session holding a given number of dirty entities, among {@value #MANAGED_ENTITIES}
+ * managed ones.  The changes are rolled back after each flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FlushBenchmark extends BenchmarkSupport {
+	public static final int MANAGED_ENTITIES = 2_000;
+
+	@State(Scope.Thread)
+	public static class DirtySession {
+		@Param({ "10", "100", "1000" })
+		public int dirtyEntities;
+
+		private Session session;
+
+		@Setup(Level.Invocation)
+		public void makeDirty(FlushBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+			session.getTransaction().begin();
+			final List<Person> persons = session.createQuery(
+					"select p from Person p where p.id <= :max order by p.id",
+					Person.class
+			)
+					.setParameter( "max", (long) MANAGED_ENTITIES )
+					.list();
+			for ( int i = 0; i < dirtyEntities; i++ ) {
+				final Person person = persons.get( i );
+				person.setBirthYear( person.getBirthYear() + 1 );
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void rollback() {
+			session.getTransaction().rollback();
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public void flush(DirtySession dirtySession) {
+		dirtySession.session.flush();
+	}
+}
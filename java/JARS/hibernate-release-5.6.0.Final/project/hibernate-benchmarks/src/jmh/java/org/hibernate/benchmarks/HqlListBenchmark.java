@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lists all the {@value BenchmarkSupport#PERSON_COUNT} persons through HQL, in a new session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HqlListBenchmark extends BenchmarkSupport {
+
+	@Benchmark
+	public List<Person> listAll() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "select p from Person p", Person.class ).list();
+		}
+	}
+
+	@Benchmark
+	public List<Person> listAllReadOnly() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "select p from Person p", Person.class )
+					.setReadOnly( true )
+					.list();
+		}
+	}
+}
@@ -0,0 +1,325 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Flushes a session holding a given number of persisted object graphs, with
+ * {@link AvailableSettings#ORDER_INSERTS} enabled.  Each graph is made of a {@link Root} and either a chain of
+ * {@value #GRAPH_TYPES} entity types, each referencing the previous one ("deep"), or {@value #GRAPH_TYPES} entity types
+ * all referencing the root ("wide").  The graphs are persisted one after the other, so the inserts of the entity
+ * types are interleaved until sorted.  The inserts are rolled back after each flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertOrderingBenchmark extends BenchmarkSupport {
+	public static final int GRAPH_TYPES = 6;
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.ORDER_INSERTS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAdditionalAnnotatedClasses() {
+		return new Class<?>[] {
+				Root.class,
+				Deep1.class, Deep2.class, Deep3.class, Deep4.class, Deep5.class, Deep6.class,
+				Wide1.class, Wide2.class, Wide3.class, Wide4.class, Wide5.class, Wide6.class
+		};
+	}
+
+	@State(Scope.Thread)
+	public static class PersistedGraphs {
+		@Param({ "deep", "wide" })
+		public String shape;
+
+		@Param({ "100", "1000" })
+		public int graphs;
+
+		private Session session;
+
+		@Setup(Level.Invocation)
+		public void persist(InsertOrderingBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+			session.getTransaction().begin();
+			for ( long id = 1; id <= graphs; id++ ) {
+				final Root root = new Root( id );
+				session.persist( root );
+				if ( "deep".equals( shape ) ) {
+					final Deep1 deep1 = new Deep1( id, root );
+					final Deep2 deep2 = new Deep2( id, deep1 );
+					final Deep3 deep3 = new Deep3( id, deep2 );
+					final Deep4 deep4 = new Deep4( id, deep3 );
+					final Deep5 deep5 = new Deep5( id, deep4 );
+					session.persist( deep1 );
+					session.persist( deep2 );
+					session.persist( deep3 );
+					session.persist( deep4 );
+					session.persist( deep5 );
+					session.persist( new Deep6( id, deep5 ) );
+				}
+				else {
+					session.persist( new Wide1( id, root ) );
+					session.persist( new Wide2( id, root ) );
+					session.persist( new Wide3( id, root ) );
+					session.persist( new Wide4( id, root ) );
+					session.persist( new Wide5( id, root ) );
+					session.persist( new Wide6( id, root ) );
+				}
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void rollback() {
+			session.getTransaction().rollback();
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public void flush(PersistedGraphs persistedGraphs) {
+		persistedGraphs.session.flush();
+	}
+
+	@Entity(name = "Root")
+	public static class Root {
+		@Id
+		private Long id;
+
+		Root() {
+		}
+
+		Root(Long id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Deep1")
+	public static class Deep1 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root parent;
+
+		Deep1() {
+		}
+
+		Deep1(Long id, Root parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Deep2")
+	public static class Deep2 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Deep1 parent;
+
+		Deep2() {
+		}
+
+		Deep2(Long id, Deep1 parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Deep3")
+	public static class Deep3 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Deep2 parent;
+
+		Deep3() {
+		}
+
+		Deep3(Long id, Deep2 parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Deep4")
+	public static class Deep4 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Deep3 parent;
+
+		Deep4() {
+		}
+
+		Deep4(Long id, Deep3 parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Deep5")
+	public static class Deep5 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Deep4 parent;
+
+		Deep5() {
+		}
+
+		Deep5(Long id, Deep4 parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Deep6")
+	public static class Deep6 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Deep5 parent;
+
+		Deep6() {
+		}
+
+		Deep6(Long id, Deep5 parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Wide1")
+	public static class Wide1 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide1() {
+		}
+
+		Wide1(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+
+	@Entity(name = "Wide2")
+	public static class Wide2 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide2() {
+		}
+
+		Wide2(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+
+	@Entity(name = "Wide3")
+	public static class Wide3 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide3() {
+		}
+
+		Wide3(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+
+	@Entity(name = "Wide4")
+	public static class Wide4 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide4() {
+		}
+
+		Wide4(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+
+	@Entity(name = "Wide5")
+	public static class Wide5 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide5() {
+		}
+
+		Wide5(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+
+	@Entity(name = "Wide6")
+	public static class Wide6 {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Root root;
+
+		Wide6() {
+		}
+
+		Wide6(Long id, Root root) {
+			this.id = id;
+			this.root = root;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+/**
+ * The entity most benchmarks work on.
+ */
+@Entity(name = "Person")
+public class Person {
+	@Id
+	private Long id;
+
+	private String firstName;
+
+	private String lastName;
+
+	private String email;
+
+	private int birthYear;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Country country;
+
+	public Person() {
+	}
+
+	public Person(Long id, String firstName, String lastName, int birthYear, Country country) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.email = firstName + '.' + lastName + "@example.org";
+		this.birthYear = birthYear;
+		this.country = country;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public int getBirthYear() {
+		return birthYear;
+	}
+
+	public void setBirthYear(int birthYear) {
+		this.birthYear = birthYear;
+	}
+
+	public Country getCountry() {
+		return country;
+	}
+}
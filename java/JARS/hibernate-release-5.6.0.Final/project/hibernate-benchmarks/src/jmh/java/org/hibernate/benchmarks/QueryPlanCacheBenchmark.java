@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Looks up HQL query plans which are already cached, with each eviction policy of the cache.  Run with
+ * several threads ({@code -t}) to measure the contention on the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryPlanCacheBenchmark extends BenchmarkSupport {
+	private static final String[] QUERIES = {
+			"select p from Person p",
+			"select p from Person p where p.id = :id",
+			"select p from Person p where p.lastName like :name order by p.firstName",
+			"select p from Person p join fetch p.country where p.birthYear between :from and :to",
+			"select c.name, count(p) from Person p join p.country c group by c.name",
+			"select c from Country c where c.code in (:codes)",
+			"update Person p set p.birthYear = p.birthYear + 1 where p.id = :id",
+			"delete from Person p where p.email is null"
+	};
+
+	@State(Scope.Thread)
+	public static class QueryIndexes extends IdSequence {
+		public QueryIndexes() {
+			super( QUERIES.length );
+		}
+	}
+
+	@Param({ "lirs", "w_tiny_lfu" })
+	public String eviction;
+
+	private QueryPlanCache queryPlanCache;
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.QUERY_PLAN_CACHE_EVICTION, eviction );
+	}
+
+	@Override
+	protected void prepare() {
+		queryPlanCache = sessionFactory.unwrap( SessionFactoryImplementor.class ).getQueryPlanCache();
+		for ( String query : QUERIES ) {
+			queryPlanCache.getHQLQueryPlan( query, false, Collections.emptyMap() );
+		}
+	}
+
+	@Benchmark
+	public HQLQueryPlan lookup(QueryIndexes indexes) {
+		return queryPlanCache.getHQLQueryPlan( QUERIES[(int) indexes.next() - 1], false, Collections.emptyMap() );
+	}
+}
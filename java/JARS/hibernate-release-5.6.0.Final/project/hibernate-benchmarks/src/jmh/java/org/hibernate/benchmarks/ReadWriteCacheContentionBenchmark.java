@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reads the read-write cached countries from 7 threads while an eighth one keeps re-caching them, through the
+ * {@link EntityDataAccess} of the region directly, so that the contention on the region shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadWriteCacheContentionBenchmark extends BenchmarkSupport {
+
+	private EntityDataAccess access;
+	private Object[] keys;
+	private Object[] values;
+
+	@State(Scope.Thread)
+	public static class ThreadSession {
+		private Session session;
+		private int position;
+
+		@Setup(Level.Trial)
+		public void openSession(ReadWriteCacheContentionBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+		}
+
+		@TearDown(Level.Trial)
+		public void closeSession() {
+			session.close();
+		}
+
+		SharedSessionContractImplementor session() {
+			return (SharedSessionContractImplementor) session;
+		}
+
+		int next() {
+			position = ( position + 1 ) % COUNTRY_COUNT;
+			return position;
+		}
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
+		settings.put( "hibernate.javax.cache.missing_cache_strategy", "create" );
+	}
+
+	@Override
+	protected void prepare() {
+		final SessionFactoryImplementor factory = (SessionFactoryImplementor) sessionFactory;
+		final EntityPersister persister = factory.getMetamodel().entityPersister( Country.class );
+		access = persister.getCacheAccessStrategy();
+
+		try ( Session session = sessionFactory.openSession() ) {
+			session.createQuery( "select c from Country c", Country.class ).list();
+			keys = new Object[COUNTRY_COUNT];
+			values = new Object[COUNTRY_COUNT];
+			for ( int i = 0; i < COUNTRY_COUNT; i++ ) {
+				keys[i] = access.generateCacheKey( (long) i + 1, persister, factory, null );
+				values[i] = access.get( (SharedSessionContractImplementor) session, keys[i] );
+			}
+		}
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(7)
+	public Object get(ThreadSession session) {
+		return access.get( session.session(), keys[session.next()] );
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(1)
+	public boolean putFromLoad(ThreadSession session) {
+		final int index = session.next();
+		return access.putFromLoad( session.session(), keys[index], values[index], null );
+	}
+}
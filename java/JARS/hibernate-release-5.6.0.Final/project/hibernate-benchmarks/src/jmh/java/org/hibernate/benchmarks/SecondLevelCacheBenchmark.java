@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Loads an entity found in the second-level cache (JCache, backed by Ehcache), in a new session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondLevelCacheBenchmark extends BenchmarkSupport {
+
+	@State(Scope.Thread)
+	public static class CountryIds extends IdSequence {
+		public CountryIds() {
+			super( COUNTRY_COUNT );
+		}
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
+		settings.put( "hibernate.javax.cache.missing_cache_strategy", "create" );
+	}
+
+	@Override
+	protected void prepare() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.createQuery( "select c from Country c", Country.class ).list();
+		}
+	}
+
+	@Benchmark
+	public Country cacheHit(CountryIds ids) {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.get( Country.class, ids.next() );
+		}
+	}
+}
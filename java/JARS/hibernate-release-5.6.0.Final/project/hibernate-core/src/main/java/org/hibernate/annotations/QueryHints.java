@@ -44,6 +44,14 @@ public class QueryHints {
 	 */
 	public static final String CACHEABLE = "org.hibernate.cacheable";
 
+	/**
+	 * The value of the partition attribute of the rows of the partitioned entities read by the cached query, so
+	 * that its results are only invalidated by the changes to these rows.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_PARTITIONS
+	 */
+	public static final String CACHE_PARTITION = "org.hibernate.cachePartition";
+
 	/**
 	 * Is the query callable?  Note: only valid for named native sql queries.
 	 */
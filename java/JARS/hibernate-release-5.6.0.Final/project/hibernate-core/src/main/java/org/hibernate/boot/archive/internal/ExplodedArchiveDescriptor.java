@@ -59,6 +59,16 @@ public class ExplodedArchiveDescriptor extends AbstractArchiveDescriptor {
 		}
 	}
 
+	@Override
+	public InputStreamAccess locateEntry(String nameWithinArchive) {
+		final File rootDirectory = resolveRootDirectory();
+		if ( rootDirectory == null ) {
+			return null;
+		}
+		final File file = new File( rootDirectory, nameWithinArchive );
+		return file.isFile() ? new FileInputStreamAccess( file.getAbsolutePath(), file ) : null;
+	}
+
 	private File resolveRootDirectory() {
 		final File archiveUrlDirectory;
 		try {
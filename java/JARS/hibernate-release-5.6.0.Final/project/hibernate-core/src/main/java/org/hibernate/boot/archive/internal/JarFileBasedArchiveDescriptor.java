@@ -53,6 +53,8 @@ public class JarFileBasedArchiveDescriptor extends AbstractArchiveDescriptor {
 			return;
 		}
 
+		final JarFileEntryInputStreamAccess.VisitedJarFile visitedJarFile =
+				new JarFileEntryInputStreamAccess.VisitedJarFile( jarFile );
 		try {
 			final Enumeration<? extends ZipEntry> zipEntries = jarFile.entries();
 			while ( zipEntries.hasMoreElements() ) {
@@ -112,19 +114,12 @@ public class JarFileBasedArchiveDescriptor extends AbstractArchiveDescriptor {
 				else {
 					final String name = extractName( zipEntry );
 					final String relativeName = extractRelativeName( zipEntry );
-					final InputStreamAccess inputStreamAccess;
-					try (InputStream is = jarFile.getInputStream( zipEntry )) {
-						inputStreamAccess = buildByteBasedInputStreamAccess( name, is );
-					}
-					catch (IOException e) {
-						throw new ArchiveException(
-								String.format(
-										"Unable to access stream from jar file [%s] for entry [%s]",
-										jarFile.getName(),
-										zipEntry.getName()
-								)
-						);
-					}
+					// decompressed only if the handler of the entry reads it
+					final InputStreamAccess inputStreamAccess = new JarFileEntryInputStreamAccess(
+							name,
+							visitedJarFile,
+							zipEntry.getName()
+					);
 
 					final ArchiveEntry entry = new ArchiveEntry() {
 						@Override
@@ -148,6 +143,45 @@ public class JarFileBasedArchiveDescriptor extends AbstractArchiveDescriptor {
 				}
 			}
 		}
+		finally {
+			visitedJarFile.visitEnded();
+			try {
+				jarFile.close();
+			}
+			catch ( Exception ignore ) {
+			}
+		}
+	}
+
+	@Override
+	public InputStreamAccess locateEntry(String nameWithinArchive) {
+		if ( getEntryBasePrefix() != null ) {
+			// the entries of a nested archive, or of a directory of the jar, are only found by visiting them
+			return null;
+		}
+		final JarFile jarFile = resolveJarFileReference();
+		if ( jarFile == null ) {
+			return null;
+		}
+		try {
+			final ZipEntry zipEntry = jarFile.getEntry( nameWithinArchive );
+			if ( zipEntry == null || zipEntry.isDirectory() ) {
+				return null;
+			}
+			try (InputStream is = jarFile.getInputStream( zipEntry )) {
+				return buildByteBasedInputStreamAccess( extractName( zipEntry ), is );
+			}
+		}
+		catch (IOException e) {
+			throw new ArchiveException(
+					String.format(
+							"Unable to access stream from jar file [%s] for entry [%s]",
+							jarFile.getName(),
+							nameWithinArchive
+					),
+					e
+			);
+		}
 		finally {
 			try {
 				jarFile.close();
@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.boot.archive.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import org.hibernate.boot.archive.spi.ArchiveException;
+import org.hibernate.boot.archive.spi.InputStreamAccess;
+
+/**
+ * An InputStreamAccess implementation based on an entry of a jar file, which is only decompressed when its stream
+ * is accessed.  The entry is read from the jar file the archive is being visited with, or from the jar file opened
+ * anew once the visit is over.
+ */
+public class JarFileEntryInputStreamAccess implements InputStreamAccess {
+	private final String name;
+	private final VisitedJarFile visitedJarFile;
+	private final String entryName;
+
+	JarFileEntryInputStreamAccess(String name, VisitedJarFile visitedJarFile, String entryName) {
+		this.name = name;
+		this.visitedJarFile = visitedJarFile;
+		this.entryName = entryName;
+	}
+
+	@Override
+	public String getStreamName() {
+		return name;
+	}
+
+	@Override
+	public InputStream accessInputStream() {
+		final JarFile openJarFile = visitedJarFile.jarFile;
+		if ( openJarFile != null ) {
+			try {
+				return openJarFile.getInputStream( getEntry( openJarFile ) );
+			}
+			catch (IllegalStateException closed) {
+				// the visit ended in the meantime
+			}
+			catch (IOException e) {
+				throw unableToAccess( e );
+			}
+		}
+
+		final JarFile jarFile;
+		try {
+			jarFile = new JarFile( visitedJarFile.path );
+		}
+		catch (IOException e) {
+			throw unableToAccess( e );
+		}
+		try {
+			return new FilterInputStream( jarFile.getInputStream( getEntry( jarFile ) ) ) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						jarFile.close();
+					}
+				}
+			};
+		}
+		catch (IOException | RuntimeException e) {
+			try {
+				jarFile.close();
+			}
+			catch (IOException ignore) {
+			}
+			throw e instanceof ArchiveException ? (ArchiveException) e : unableToAccess( e );
+		}
+	}
+
+	private ZipEntry getEntry(JarFile jarFile) {
+		final ZipEntry entry = jarFile.getEntry( entryName );
+		if ( entry == null ) {
+			throw new ArchiveException(
+					String.format( "Entry [%s] is no longer in jar file [%s]", entryName, visitedJarFile.path )
+			);
+		}
+		return entry;
+	}
+
+	private ArchiveException unableToAccess(Exception e) {
+		return new ArchiveException(
+				String.format(
+						"Unable to access stream from jar file [%s] for entry [%s]",
+						visitedJarFile.path,
+						entryName
+				),
+				e
+		);
+	}
+
+	/**
+	 * The jar file of the entries, open while the archive is visited.
+	 */
+	static class VisitedJarFile {
+		private final String path;
+		private volatile JarFile jarFile;
+
+		VisitedJarFile(JarFile jarFile) {
+			this.path = jarFile.getName();
+			this.jarFile = jarFile;
+		}
+
+		void visitEnded() {
+			jarFile = null;
+		}
+	}
+}
@@ -12,6 +12,7 @@ import org.hibernate.AssertionFailure;
 import org.hibernate.boot.archive.spi.ArchiveContext;
 import org.hibernate.boot.archive.spi.ArchiveDescriptor;
 import org.hibernate.boot.archive.spi.ArchiveDescriptorFactory;
+import org.hibernate.boot.archive.spi.InputStreamAccess;
 
 /**
  * An ArchiveDescriptor implementation for handling archives whose url reported a JAR protocol (i.e., jar://).
@@ -58,4 +59,9 @@ public class JarProtocolArchiveDescriptor implements ArchiveDescriptor {
 	public void visitArchive(ArchiveContext context) {
 		delegateDescriptor.visitArchive( context );
 	}
+
+	@Override
+	public InputStreamAccess locateEntry(String nameWithinArchive) {
+		return delegateDescriptor.locateEntry( nameWithinArchive );
+	}
 }
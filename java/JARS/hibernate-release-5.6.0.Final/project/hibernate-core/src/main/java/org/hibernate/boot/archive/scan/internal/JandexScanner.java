@@ -0,0 +1,343 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.boot.archive.scan.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Converter;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.MappedSuperclass;
+
+import org.hibernate.boot.archive.internal.ArchiveHelper;
+import org.hibernate.boot.archive.internal.StandardArchiveDescriptorFactory;
+import org.hibernate.boot.archive.scan.spi.AbstractScannerImpl;
+import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
+import org.hibernate.boot.archive.scan.spi.ClassFileArchiveEntryHandler;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanOptions;
+import org.hibernate.boot.archive.scan.spi.ScanParameters;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
+import org.hibernate.boot.archive.spi.ArchiveContext;
+import org.hibernate.boot.archive.spi.ArchiveDescriptor;
+import org.hibernate.boot.archive.spi.ArchiveDescriptorFactory;
+import org.hibernate.boot.archive.spi.ArchiveEntry;
+import org.hibernate.boot.archive.spi.ArchiveEntryHandler;
+import org.hibernate.boot.archive.spi.ArchiveException;
+import org.hibernate.boot.archive.spi.InputStreamAccess;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Scanner categorizing the classes of each archive through a Jandex index rather than by reading the classes one by
+ * one.  The index packaged in the archive as {@value #INDEX_NAME} is read before the archive is visited, when its
+ * {@link ArchiveDescriptor#locateEntry descriptor} can locate it, and the classes it covers are then neither read
+ * nor held in memory.  The other classes are read as they are visited and indexed by the threads of the
+ * {@link ForkJoinPool#commonPool() common pool}.
+ * <p/>
+ * The time spent on each archive is logged at debug level.  Use this scanner by naming it in the
+ * {@value org.hibernate.cfg.AvailableSettings#SCANNER} setting.
+ */
+public class JandexScanner extends AbstractScannerImpl {
+	private static final Logger log = Logger.getLogger( JandexScanner.class );
+
+	/**
+	 * The location of the Jandex index within an archive, as written by the Jandex build plugins.
+	 */
+	public static final String INDEX_NAME = "META-INF/jandex.idx";
+
+	private static final DotName CONVERTER = DotName.createSimple( Converter.class.getName() );
+
+	private static final DotName[] MODELS = {
+			DotName.createSimple( Entity.class.getName() ),
+			DotName.createSimple( MappedSuperclass.class.getName() ),
+			DotName.createSimple( Embeddable.class.getName() )
+	};
+
+	public JandexScanner() {
+		this( StandardArchiveDescriptorFactory.INSTANCE );
+	}
+
+	public JandexScanner(ArchiveDescriptorFactory value) {
+		super( value );
+	}
+
+	@Override
+	public ScanResult scan(ScanEnvironment environment, ScanOptions options, ScanParameters parameters) {
+		final long start = System.nanoTime();
+		final ScanResult scanResult = super.scan( environment, options, parameters );
+		log.debugf(
+				"Scanned the persistence unit in %s ms: %s classes, %s packages and %s mapping files located",
+				TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ),
+				scanResult.getLocatedClasses().size(),
+				scanResult.getLocatedPackages().size(),
+				scanResult.getLocatedMappingFiles().size()
+		);
+		return scanResult;
+	}
+
+	@Override
+	protected void visitArchive(ArchiveDescriptor descriptor, boolean isRootUrl, ScanResultCollector collector) {
+		final long start = System.nanoTime();
+		final IndexView packagedIndex = readPackagedIndex( descriptor );
+		final IndexingArchiveContext context = new IndexingArchiveContext( isRootUrl, collector, packagedIndex );
+		descriptor.visitArchive( context );
+
+		final List<IndexView> indexes = context.completeIndexes();
+		if ( packagedIndex != null ) {
+			indexes.add( packagedIndex );
+		}
+
+		int locatedClasses = 0;
+		final Set<String> models = new HashSet<>();
+		for ( IndexView index : indexes ) {
+			for ( DotName model : MODELS ) {
+				locatedClasses += handleClasses( index, model, ClassDescriptor.Categorization.MODEL, models, context );
+			}
+		}
+		for ( IndexView index : indexes ) {
+			locatedClasses += handleClasses( index, CONVERTER, ClassDescriptor.Categorization.CONVERTER, models, context );
+		}
+
+		log.debugf(
+				"Scanned archive %s in %s ms: %s classes, %s of them read as not covered by a packaged index, %s located",
+				descriptor,
+				TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ),
+				context.classCount,
+				context.readClassCount,
+				locatedClasses
+		);
+	}
+
+	/**
+	 * Reads the index packaged in the archive, if any, before the archive is visited, so that the classes it covers
+	 * are not read.
+	 */
+	private static IndexView readPackagedIndex(ArchiveDescriptor descriptor) {
+		final InputStreamAccess indexAccess = descriptor.locateEntry( INDEX_NAME );
+		if ( indexAccess == null ) {
+			return null;
+		}
+		try (InputStream inputStream = indexAccess.accessInputStream()) {
+			return new IndexReader( inputStream ).read();
+		}
+		catch (IOException | RuntimeException e) {
+			// e.g. an index written by a later version of Jandex
+			log.debugf( e, "Unable to read the index %s, indexing the classes of the archive instead", indexAccess.getStreamName() );
+			return null;
+		}
+	}
+
+	/**
+	 * The classes annotated as models or converters according to the given index, the only ones of the classes it
+	 * covers which may be located.
+	 */
+	private static Set<String> annotatedClasses(IndexView index) {
+		final Set<String> annotatedClasses = new HashSet<>();
+		for ( DotName model : MODELS ) {
+			addAnnotatedClasses( index, model, annotatedClasses );
+		}
+		addAnnotatedClasses( index, CONVERTER, annotatedClasses );
+		return annotatedClasses;
+	}
+
+	private static void addAnnotatedClasses(IndexView index, DotName annotation, Set<String> annotatedClasses) {
+		for ( AnnotationInstance annotationInstance : index.getAnnotations( annotation ) ) {
+			final String className = className( annotationInstance.target() );
+			if ( className != null ) {
+				annotatedClasses.add( className );
+			}
+		}
+	}
+
+	private static Index buildIndex(List<byte[]> classes) {
+		final Indexer indexer = new Indexer();
+		for ( byte[] bytes : classes ) {
+			try (InputStream inputStream = new ByteArrayInputStream( bytes )) {
+				indexer.index( inputStream );
+			}
+			catch (IOException e) {
+				throw new ArchiveException( "Could not build ClassInfo", e );
+			}
+		}
+		return indexer.complete();
+	}
+
+	private static int handleClasses(
+			IndexView index,
+			DotName annotation,
+			ClassDescriptor.Categorization categorization,
+			Set<String> models,
+			IndexingArchiveContext context) {
+		int locatedClasses = 0;
+		for ( AnnotationInstance annotationInstance : index.getAnnotations( annotation ) ) {
+			final String className = className( annotationInstance.target() );
+			if ( className == null ) {
+				continue;
+			}
+			if ( categorization == ClassDescriptor.Categorization.MODEL ) {
+				if ( !models.add( className ) ) {
+					continue;
+				}
+			}
+			else if ( models.contains( className ) ) {
+				// a model which is also a converter is reported as a model, as by ClassFileArchiveEntryHandler
+				continue;
+			}
+
+			final InputStreamAccess streamAccess = context.classEntries.get( className );
+			if ( streamAccess == null ) {
+				// the packaged index is stale, and lists a class which is no longer in the archive
+				continue;
+			}
+			context.collector.handleClass(
+					new ClassDescriptorImpl( className, categorization, streamAccess ),
+					context.isRootUrl()
+			);
+			locatedClasses++;
+		}
+		return locatedClasses;
+	}
+
+	private static String className(AnnotationTarget target) {
+		if ( target == null ) {
+			return null;
+		}
+		switch ( target.kind() ) {
+			case CLASS:
+				return target.asClass().name().toString();
+			case FIELD:
+				return target.asField().declaringClass().name().toString();
+			case METHOD:
+				return target.asMethod().declaringClass().name().toString();
+			case METHOD_PARAMETER:
+				return target.asMethodParameter().method().declaringClass().name().toString();
+			case TYPE:
+				return className( target.asType().enclosingTarget() );
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Collects the class entries of the archive, leaving the other entries to the handlers of
+	 * {@link ArchiveContextImpl}.  The classes covered by the packaged index are not read, and only the stream access
+	 * of those it reports as annotated is kept.  The other classes are read as they are visited, and indexed by the
+	 * threads of the common pool in chunks, a bounded number of which is held in memory at once.
+	 */
+	private static class IndexingArchiveContext implements ArchiveContext {
+		private static final int CHUNK_SIZE = 256;
+		private static final int MAX_CHUNKS_IN_FLIGHT = ForkJoinPool.getCommonPoolParallelism() + 1;
+
+		private final ScanResultCollector collector;
+		private final ArchiveContextImpl delegate;
+		private final IndexView packagedIndex;
+		private final Set<String> packagedAnnotatedClasses;
+
+		// the stream access of the classes which may be located
+		private final Map<String, InputStreamAccess> classEntries = new HashMap<>();
+		private final List<ForkJoinTask<Index>> chunkIndexes = new ArrayList<>();
+		private int joinedChunkIndexes;
+		private List<byte[]> chunk = new ArrayList<>( CHUNK_SIZE );
+		private int classCount;
+		private int readClassCount;
+
+		private final ArchiveEntryHandler classEntryCollector = (entry, context) -> collectClass( entry );
+
+		private IndexingArchiveContext(boolean isRootUrl, ScanResultCollector collector, IndexView packagedIndex) {
+			this.collector = collector;
+			this.delegate = new ArchiveContextImpl( isRootUrl, collector );
+			this.packagedIndex = packagedIndex;
+			this.packagedAnnotatedClasses = packagedIndex == null
+					? Collections.emptySet()
+					: annotatedClasses( packagedIndex );
+		}
+
+		@Override
+		public boolean isRootUrl() {
+			return delegate.isRootUrl();
+		}
+
+		@Override
+		public ArchiveEntryHandler obtainArchiveEntryHandler(ArchiveEntry entry) {
+			final String nameWithinArchive = entry.getNameWithinArchive();
+			if ( INDEX_NAME.equals( nameWithinArchive ) ) {
+				return NoopEntryHandler.NOOP_INSTANCE;
+			}
+			final ArchiveEntryHandler handler = delegate.obtainArchiveEntryHandler( entry );
+			if ( handler instanceof ClassFileArchiveEntryHandler ) {
+				return classEntryCollector;
+			}
+			return handler;
+		}
+
+		private void collectClass(ArchiveEntry entry) {
+			final String name = entry.getNameWithinArchive();
+			final String className = name.substring( 0, name.length() - ".class".length() ).replace( '/', '.' );
+			classCount++;
+
+			if ( packagedIndex != null && packagedIndex.getClassByName( DotName.createSimple( className ) ) != null ) {
+				if ( packagedAnnotatedClasses.contains( className ) ) {
+					classEntries.put( className, entry.getStreamAccess() );
+				}
+				return;
+			}
+
+			classEntries.put( className, entry.getStreamAccess() );
+			try (InputStream inputStream = entry.getStreamAccess().accessInputStream()) {
+				chunk.add( ArchiveHelper.getBytesFromInputStream( inputStream ) );
+			}
+			catch (IOException e) {
+				throw new ArchiveException( "Could not build ClassInfo", e );
+			}
+			readClassCount++;
+			if ( chunk.size() == CHUNK_SIZE ) {
+				submitChunk();
+			}
+		}
+
+		private void submitChunk() {
+			// bounds the class bytes held in memory
+			while ( chunkIndexes.size() - joinedChunkIndexes >= MAX_CHUNKS_IN_FLIGHT ) {
+				chunkIndexes.get( joinedChunkIndexes++ ).join();
+			}
+			final List<byte[]> classes = chunk;
+			chunkIndexes.add( ForkJoinPool.commonPool().submit( () -> buildIndex( classes ) ) );
+			chunk = new ArrayList<>( CHUNK_SIZE );
+		}
+
+		private List<IndexView> completeIndexes() {
+			if ( !chunk.isEmpty() ) {
+				submitChunk();
+			}
+			final List<IndexView> indexes = new ArrayList<>( chunkIndexes.size() + 1 );
+			for ( ForkJoinTask<Index> chunkIndex : chunkIndexes ) {
+				indexes.add( chunkIndex.join() );
+			}
+			return indexes;
+		}
+	}
+}
@@ -35,22 +35,31 @@ public abstract class AbstractScannerImpl implements Scanner {
 		final ScanResultCollector collector = new ScanResultCollector( environment, options, parameters );
 
 		if ( environment.getNonRootUrls() != null ) {
-			final ArchiveContext context = new ArchiveContextImpl( false, collector );
 			for ( URL url : environment.getNonRootUrls() ) {
 				final ArchiveDescriptor descriptor = buildArchiveDescriptor( url, environment, false );
-				descriptor.visitArchive( context );
+				visitArchive( descriptor, false, collector );
 			}
 		}
 
 		if ( environment.getRootUrl() != null ) {
-			final ArchiveContext context = new ArchiveContextImpl( true, collector );
 			final ArchiveDescriptor descriptor = buildArchiveDescriptor( environment.getRootUrl(), environment, true );
-			descriptor.visitArchive( context );
+			visitArchive( descriptor, true, collector );
 		}
 
 		return collector.toScanResult();
 	}
 
+	/**
+	 * Visit the entries of an archive, reporting the discovered classes, packages and mapping files to the collector.
+	 *
+	 * @param descriptor The archive
+	 * @param isRootUrl Whether the archive is the root url of the persistence unit
+	 * @param collector The collector of the scan results
+	 */
+	protected void visitArchive(ArchiveDescriptor descriptor, boolean isRootUrl, ScanResultCollector collector) {
+		descriptor.visitArchive( new ArchiveContextImpl( isRootUrl, collector ) );
+	}
+
 
 	private ArchiveDescriptor buildArchiveDescriptor(
 			URL url,
@@ -76,4 +76,8 @@ public abstract class AbstractArchiveDescriptor implements ArchiveDescriptor {
 		return new ByteArrayInputStreamAccess( name, bytes );
 	}
 
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + archiveUrl + ")";
+	}
 }
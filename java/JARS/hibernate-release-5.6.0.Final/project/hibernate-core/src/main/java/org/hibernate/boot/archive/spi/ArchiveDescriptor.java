@@ -19,4 +19,19 @@ public interface ArchiveDescriptor {
 	 * @param archiveContext The visitation context
 	 */
 	public void visitArchive(ArchiveContext archiveContext);
+
+	/**
+	 * Locate an entry of the archive without visiting it, for the scanners which need to read an entry (such as
+	 * an index of the archive) before they visit the others.
+	 *
+	 * @param nameWithinArchive The name of the entry relative to the archive root
+	 *
+	 * @return Access to the stream of the entry, or {@code null} if the archive has no such entry, or if this
+	 * descriptor cannot locate its entries without visiting them
+	 *
+	 * @since 5.6
+	 */
+	default InputStreamAccess locateEntry(String nameWithinArchive) {
+		return null;
+	}
 }
@@ -2252,19 +2252,38 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 	}
 
 	private void processExportableProducers() {
+		processExportableProducers(
+				getDatabase(),
+				getIdentifierGeneratorFactory(),
+				entityBindingMap.values(),
+				collectionBindingMap.values()
+		);
+	}
+
+	/**
+	 * Builds the identifier generators of the given bindings, registering the database objects they export.
+	 * Building a generator again registers nothing new.
+	 */
+	static void processExportableProducers(
+			Database database,
+			IdentifierGeneratorFactory identifierGeneratorFactory,
+			java.util.Collection<PersistentClass> entityBindings,
+			java.util.Collection<Collection> collectionBindings) {
 		// for now we only handle id generators as ExportableProducers
 
-		final Dialect dialect = getDatabase().getJdbcEnvironment().getDialect();
-		final String defaultCatalog = extractName( getDatabase().getDefaultNamespace().getName().getCatalog(), dialect );
-		final String defaultSchema = extractName( getDatabase().getDefaultNamespace().getName().getSchema(), dialect );
+		final Dialect dialect = database.getJdbcEnvironment().getDialect();
+		final String defaultCatalog = extractName( database.getDefaultNamespace().getName().getCatalog(), dialect );
+		final String defaultSchema = extractName( database.getDefaultNamespace().getName().getSchema(), dialect );
 
-		for ( PersistentClass entityBinding : entityBindingMap.values() ) {
+		for ( PersistentClass entityBinding : entityBindings ) {
 			if ( entityBinding.isInherited() ) {
 				continue;
 			}
 
 			handleIdentifierValueBinding(
 					entityBinding.getIdentifier(),
+					database,
+					identifierGeneratorFactory,
 					dialect,
 					defaultCatalog,
 					defaultSchema,
@@ -2272,13 +2291,15 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 			);
 		}
 
-		for ( Collection collection : collectionBindingMap.values() ) {
+		for ( Collection collection : collectionBindings ) {
 			if ( !IdentifierCollection.class.isInstance( collection ) ) {
 				continue;
 			}
 
 			handleIdentifierValueBinding(
 					( (IdentifierCollection) collection ).getIdentifier(),
+					database,
+					identifierGeneratorFactory,
 					dialect,
 					defaultCatalog,
 					defaultSchema,
@@ -2287,8 +2308,10 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 		}
 	}
 
-	private void handleIdentifierValueBinding(
+	private static void handleIdentifierValueBinding(
 			KeyValue identifierValueBinding,
+			Database database,
+			IdentifierGeneratorFactory identifierGeneratorFactory,
 			Dialect dialect,
 			String defaultCatalog,
 			String defaultSchema,
@@ -2299,7 +2322,7 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 		//		it could be done better
 		try {
 			final IdentifierGenerator ig = identifierValueBinding.createIdentifierGenerator(
-					getIdentifierGeneratorFactory(),
+					identifierGeneratorFactory,
 					dialect,
 					defaultCatalog,
 					defaultSchema,
@@ -2307,7 +2330,7 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 			);
 
 			if ( ig instanceof ExportableProducer ) {
-				( (ExportableProducer) ig ).registerExportables( getDatabase() );
+				( (ExportableProducer) ig ).registerExportables( database );
 			}
 		}
 		catch (MappingException e) {
@@ -2319,7 +2342,7 @@ public class InFlightMetadataCollectorImpl implements InFlightMetadataCollector
 		}
 	}
 
-	private String extractName(Identifier identifier, Dialect dialect) {
+	private static String extractName(Identifier identifier, Dialect dialect) {
 		if ( identifier == null ) {
 			return null;
 		}
@@ -0,0 +1,974 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.boot.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.persistence.AttributeConverter;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+import org.hibernate.annotations.common.reflection.Filter;
+import org.hibernate.annotations.common.reflection.ReflectionManager;
+import org.hibernate.annotations.common.reflection.XClass;
+import org.hibernate.annotations.common.reflection.XProperty;
+import org.hibernate.annotations.common.reflection.java.JavaXMember;
+import org.hibernate.boot.AttributeConverterInfo;
+import org.hibernate.boot.jaxb.hbm.spi.EntityInfo;
+import org.hibernate.boot.jaxb.hbm.spi.JaxbHbmHibernateMapping;
+import org.hibernate.boot.jaxb.mapping.spi.JaxbEmbeddable;
+import org.hibernate.boot.jaxb.mapping.spi.JaxbEntity;
+import org.hibernate.boot.jaxb.mapping.spi.JaxbEntityMappings;
+import org.hibernate.boot.jaxb.mapping.spi.JaxbMappedSuperclass;
+import org.hibernate.boot.jaxb.spi.Binding;
+import org.hibernate.boot.model.convert.internal.AutoApplicableConverterDescriptorStandardImpl;
+import org.hibernate.boot.model.convert.internal.ClassBasedConverterDescriptor;
+import org.hibernate.boot.model.convert.spi.JpaAttributeConverterCreationContext;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.naming.ObjectNameNormalizer;
+import org.hibernate.boot.model.process.spi.ManagedResources;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
+import org.hibernate.boot.registry.selector.spi.StrategySelector;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.boot.spi.InFlightMetadataCollector;
+import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.boot.spi.MetadataBuildingOptions;
+import org.hibernate.boot.spi.MetadataContributor;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.env.spi.IdentifierHelper;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.id.factory.spi.MutableIdentifierGeneratorFactory;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.IndexedCollection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Value;
+import org.hibernate.metamodel.model.convert.internal.JpaAttributeConverterImpl;
+import org.hibernate.metamodel.model.convert.spi.JpaAttributeConverter;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.hibernate.resource.beans.spi.ProvidedInstanceManagedBeanImpl;
+import org.hibernate.service.Service;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.type.descriptor.java.spi.JavaTypeDescriptorRegistry;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A snapshot of the bound {@link MetadataImpl} kept in the file named by
+ * {@link AvailableSettings#METADATA_SNAPSHOT_FILE}, so that later starts read the metadata instead of binding the
+ * mappings again.
+ * <p/>
+ * The snapshot is only read when it was written by the same Hibernate version for the same Hibernate and JPA
+ * settings, mapping files and contributors, and when the classes it was bound from are unchanged, as checked against
+ * a digest of their bytecode.  Otherwise the mappings are bound as usual and the snapshot is written anew.
+ * <p/>
+ * The metadata is written by Java serialization, its references to the boot context (services, options, building
+ * context, etc.) being replaced by references to the context of the reading bootstrap, and its references to the
+ * in-flight metadata it was bound into by references to the metadata itself.  Metadata holding anything else which
+ * is not serializable, such as a non-serializable comparator instance, is not written.
+ * <p/>
+ * Only the classes a metadata snapshot is made of are read from the file: the Hibernate mapping model, the JDK
+ * value types and collections, and the classes of the packages of the managed classes, such as their enums and
+ * custom types.  Metadata holding instances of other classes is not written.
+ */
+public final class MetadataSnapshot {
+	private static final Logger log = Logger.getLogger( MetadataSnapshot.class );
+
+	private static final Class<?>[] CONTEXT_SERVICES = {
+			ClassLoaderService.class,
+			StrategySelector.class,
+			ConfigurationService.class,
+			JdbcServices.class,
+			JdbcEnvironment.class,
+			MutableIdentifierGeneratorFactory.class
+	};
+
+	/**
+	 * The prefixes of the settings digested to check that a snapshot was written for the same settings.
+	 */
+	private static final String[] DIGESTED_SETTINGS_PREFIXES = {
+			"hibernate.",
+			"javax.persistence.",
+			"jakarta.persistence."
+	};
+
+	/**
+	 * The names whose forms are digested to check that a snapshot was written for the same quoting and case of the
+	 * identifiers: plain, in each case, and a keyword.
+	 */
+	private static final String[] DIGESTED_IDENTIFIERS = {
+			"Snapshot",
+			"snapshot",
+			"SNAPSHOT",
+			"select"
+	};
+
+	/**
+	 * The packages of the Hibernate and JPA classes the metadata is made of.
+	 */
+	private static final String[] MAPPING_PACKAGES = {
+			"javax.persistence.",
+			"org.hibernate.annotations.",
+			"org.hibernate.boot.",
+			"org.hibernate.cfg.",
+			"org.hibernate.engine.",
+			"org.hibernate.id.",
+			"org.hibernate.internal.",
+			"org.hibernate.mapping.",
+			"org.hibernate.metamodel.",
+			"org.hibernate.persister.",
+			"org.hibernate.property.access.",
+			"org.hibernate.resource.beans.",
+			"org.hibernate.tuple.",
+			"org.hibernate.type."
+	};
+
+	/**
+	 * The other classes the metadata may hold: the Hibernate enums and options, the JDK value types which basic
+	 * types reference, the JDK collections, and the annotation proxies.
+	 */
+	private static final Set<String> OTHER_CLASSES = new HashSet<>( Arrays.asList(
+			"org.hibernate.CacheMode",
+			"org.hibernate.EntityMode",
+			"org.hibernate.FetchMode",
+			"org.hibernate.FlushMode",
+			"org.hibernate.LockMode",
+			"org.hibernate.LockOptions",
+			"java.io.Serializable",
+			"java.lang.Boolean",
+			"java.lang.Byte",
+			"java.lang.Character",
+			"java.lang.Class",
+			"java.lang.Double",
+			"java.lang.Enum",
+			"java.lang.Float",
+			"java.lang.Integer",
+			"java.lang.Long",
+			"java.lang.Number",
+			"java.lang.Object",
+			"java.lang.Short",
+			"java.lang.String",
+			"java.lang.annotation.Annotation",
+			"java.lang.reflect.Proxy",
+			"java.math.BigDecimal",
+			"java.math.BigInteger",
+			"java.net.URL",
+			"java.sql.Blob",
+			"java.sql.Clob",
+			"java.sql.Date",
+			"java.sql.NClob",
+			"java.sql.Time",
+			"java.sql.Timestamp",
+			"java.time.Duration",
+			"java.time.Instant",
+			"java.time.LocalDate",
+			"java.time.LocalDateTime",
+			"java.time.LocalTime",
+			"java.time.MonthDay",
+			"java.time.OffsetDateTime",
+			"java.time.OffsetTime",
+			"java.time.Year",
+			"java.time.YearMonth",
+			"java.time.ZoneOffset",
+			"java.time.ZonedDateTime",
+			"java.util.ArrayList",
+			"java.util.Calendar",
+			"java.util.Collection",
+			"java.util.Collections$EmptyList",
+			"java.util.Collections$EmptyMap",
+			"java.util.Collections$EmptySet",
+			"java.util.Collections$UnmodifiableCollection",
+			"java.util.Collections$UnmodifiableList",
+			"java.util.Collections$UnmodifiableMap",
+			"java.util.Collections$UnmodifiableRandomAccessList",
+			"java.util.Collections$UnmodifiableSet",
+			"java.util.Currency",
+			"java.util.Date",
+			"java.util.HashMap",
+			"java.util.HashSet",
+			"java.util.Hashtable",
+			"java.util.LinkedHashMap",
+			"java.util.LinkedHashSet",
+			"java.util.List",
+			"java.util.Locale",
+			"java.util.Map",
+			"java.util.Properties",
+			"java.util.Set",
+			"java.util.SortedMap",
+			"java.util.SortedSet",
+			"java.util.TimeZone",
+			"java.util.TreeMap",
+			"java.util.TreeSet",
+			"java.util.UUID",
+			"java.util.concurrent.ConcurrentHashMap",
+			"java.util.concurrent.ConcurrentHashMap$Segment",
+			"java.util.concurrent.locks.AbstractOwnableSynchronizer",
+			"java.util.concurrent.locks.AbstractQueuedSynchronizer",
+			"java.util.concurrent.locks.ReentrantLock",
+			"java.util.concurrent.locks.ReentrantLock$NonfairSync",
+			"java.util.concurrent.locks.ReentrantLock$Sync",
+			"sun.reflect.annotation.AnnotationInvocationHandler"
+	) );
+
+	private final Path file;
+	private final ManagedResources managedResources;
+	private final ClassLoaderService classLoaderService;
+	private final byte[] sourcesDigest;
+	private final Set<String> managedPackageNames;
+
+	private MetadataSnapshot(
+			Path file,
+			ManagedResources managedResources,
+			ClassLoaderService classLoaderService,
+			byte[] sourcesDigest) {
+		this.file = file;
+		this.managedResources = managedResources;
+		this.classLoaderService = classLoaderService;
+		this.sourcesDigest = sourcesDigest;
+		this.managedPackageNames = collectManagedPackageNames( managedResources );
+	}
+
+	/**
+	 * Resolves the snapshot of the metadata to build from the given resources.
+	 *
+	 * @param managedResources The resources to build the metadata from
+	 * @param bootstrapContext The bootstrap context
+	 * @param options The building options
+	 *
+	 * @return The snapshot, or {@code null} if no snapshot file is configured or the mapping files cannot be digested
+	 */
+	public static MetadataSnapshot resolve(
+			ManagedResources managedResources,
+			BootstrapContext bootstrapContext,
+			MetadataBuildingOptions options) {
+		final ServiceRegistry serviceRegistry = bootstrapContext.getServiceRegistry();
+		final ConfigurationService configService = serviceRegistry.getService( ConfigurationService.class );
+		final String fileName = configService.getSetting(
+				AvailableSettings.METADATA_SNAPSHOT_FILE,
+				StandardConverters.STRING
+		);
+		if ( fileName == null || fileName.isEmpty() ) {
+			return null;
+		}
+
+		final ClassLoaderService classLoaderService = serviceRegistry.getService( ClassLoaderService.class );
+		try {
+			final MessageDigest digest = newDigest();
+			update( digest, Version.getVersionString() );
+			updateWithSettings( digest, configService.getSettings() );
+			update( digest, options.getImplicitNamingStrategy().getClass().getName() );
+			update( digest, options.getPhysicalNamingStrategy().getClass().getName() );
+			updateWithJdbcEnvironment( digest, serviceRegistry.getService( JdbcEnvironment.class ) );
+			for ( MetadataContributor contributor : classLoaderService.loadJavaServices( MetadataContributor.class ) ) {
+				update( digest, contributor.getClass().getName() );
+			}
+			for ( Object producer : additionalJaxbMappingProducers( classLoaderService ) ) {
+				update( digest, producer.getClass().getName() );
+			}
+			for ( String className : new TreeSet<>( managedResources.getAnnotatedClassNames() ) ) {
+				update( digest, className );
+			}
+			for ( Class<?> annotatedClass : managedResources.getAnnotatedClassReferences() ) {
+				update( digest, annotatedClass.getName() );
+			}
+			for ( String packageName : new TreeSet<>( managedResources.getAnnotatedPackageNames() ) ) {
+				update( digest, packageName );
+			}
+			for ( AttributeConverterInfo converterInfo : managedResources.getAttributeConverterDefinitions() ) {
+				update( digest, converterInfo.getConverterClass().getName() );
+			}
+			for ( Binding<?> xmlBinding : managedResources.getXmlMappingBindings() ) {
+				// the JAXB model of the mapping file, whatever its origin
+				try ( ObjectOutputStream out = new ObjectOutputStream( new DigestingOutputStream( digest ) ) ) {
+					out.writeObject( xmlBinding.getRoot() );
+				}
+			}
+			return new MetadataSnapshot( Paths.get( fileName ), managedResources, classLoaderService, digest.digest() );
+		}
+		catch (IOException e) {
+			log.debugf( e, "Unable to digest the mapping files, the metadata snapshot is not used" );
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the metadata from the snapshot.
+	 *
+	 * @param rootContext The building context of the current bootstrap
+	 *
+	 * @return The metadata, or {@code null} if there is no up-to-date snapshot
+	 */
+	public MetadataImplementor read(MetadataBuildingContext rootContext) {
+		if ( !Files.isRegularFile( file ) ) {
+			log.debugf( "No metadata snapshot at %s", file );
+			return null;
+		}
+		try ( InputStream in = new BufferedInputStream( Files.newInputStream( file ) );
+				ContextResolvingInputStream snapshot = new ContextResolvingInputStream( in, context( rootContext ) ) ) {
+			if ( !Version.getVersionString().equals( snapshot.readUTF() )
+					|| !Arrays.equals( sourcesDigest, (byte[]) snapshot.readObject() ) ) {
+				log.debugf( "Metadata snapshot at %s is out of date", file );
+				return null;
+			}
+			final String[] classNames = (String[]) snapshot.readObject();
+			final byte[] classesDigest = (byte[]) snapshot.readObject();
+			if ( !Arrays.equals( classesDigest, digestClasses( classNames ) ) ) {
+				log.debugf( "Metadata snapshot at %s is out of date", file );
+				return null;
+			}
+
+			final MetadataImpl metadata = (MetadataImpl) snapshot.readObject();
+			// the identifier generators are not part of the snapshot
+			InFlightMetadataCollectorImpl.processExportableProducers(
+					metadata.getDatabase(),
+					metadata.getIdentifierGeneratorFactory(),
+					metadata.getEntityBindings(),
+					metadata.getCollectionBindings()
+			);
+			log.debugf( "Read metadata from snapshot at %s", file );
+			return metadata;
+		}
+		catch (IOException | ClassNotFoundException | RuntimeException e) {
+			log.debugf( e, "Unable to read the metadata snapshot at %s", file );
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the given metadata as the snapshot.
+	 *
+	 * @param metadata The bound metadata
+	 * @param rootContext The building context the metadata was bound with
+	 */
+	public void write(MetadataImpl metadata, MetadataBuildingContext rootContext) {
+		Path tempFile = null;
+		try {
+			final String[] classNames = collectClassNames( metadata );
+			final byte[] classesDigest = digestClasses( classNames );
+			if ( classesDigest == null ) {
+				log.debugf( "Unable to digest the mapped classes, the metadata snapshot is not written" );
+				return;
+			}
+
+			final Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories( directory );
+			tempFile = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+			try ( OutputStream out = new BufferedOutputStream( Files.newOutputStream( tempFile ) );
+					ContextReplacingOutputStream snapshot = new ContextReplacingOutputStream( out, context( rootContext ), metadata ) ) {
+				snapshot.writeUTF( Version.getVersionString() );
+				snapshot.writeObject( sourcesDigest );
+				snapshot.writeObject( classNames );
+				snapshot.writeObject( classesDigest );
+				snapshot.writeObject( metadata );
+			}
+			try {
+				Files.move( tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move( tempFile, file, StandardCopyOption.REPLACE_EXISTING );
+			}
+			tempFile = null;
+			log.debugf( "Wrote metadata snapshot to %s", file );
+		}
+		catch (IOException | RuntimeException e) {
+			log.warnf( "Unable to write the metadata snapshot to %s: %s", file, e );
+		}
+		finally {
+			if ( tempFile != null ) {
+				try {
+					Files.deleteIfExists( tempFile );
+				}
+				catch (IOException ignore) {
+				}
+			}
+		}
+	}
+
+	/**
+	 * The classes the metadata was bound from: the annotated classes and packages, the attribute converters, the
+	 * mapped entity and embeddable classes and their superclasses, and the contributors of mappings.
+	 */
+	private String[] collectClassNames(MetadataImpl metadata) {
+		final Set<String> classNames = new TreeSet<>( managedResources.getAnnotatedClassNames() );
+		for ( Class<?> annotatedClass : managedResources.getAnnotatedClassReferences() ) {
+			addHierarchy( annotatedClass, classNames );
+		}
+		for ( String packageName : managedResources.getAnnotatedPackageNames() ) {
+			classNames.add( packageName + ".package-info" );
+		}
+		for ( AttributeConverterInfo converterInfo : managedResources.getAttributeConverterDefinitions() ) {
+			addHierarchy( converterInfo.getConverterClass(), classNames );
+		}
+		for ( PersistentClass entityBinding : metadata.getEntityBindings() ) {
+			if ( entityBinding.getClassName() != null ) {
+				addHierarchy( entityBinding.getMappedClass(), classNames );
+			}
+			if ( entityBinding.getIdentifier() != null ) {
+				addEmbeddables( entityBinding.getIdentifier(), classNames );
+			}
+			final Iterator<?> properties = entityBinding.getPropertyClosureIterator();
+			while ( properties.hasNext() ) {
+				addEmbeddables( ( (Property) properties.next() ).getValue(), classNames );
+			}
+		}
+		for ( Collection collectionBinding : metadata.getCollectionBindings() ) {
+			addEmbeddables( collectionBinding.getElement(), classNames );
+			if ( collectionBinding instanceof IndexedCollection ) {
+				addEmbeddables( ( (IndexedCollection) collectionBinding ).getIndex(), classNames );
+			}
+		}
+		for ( MetadataContributor contributor : classLoaderService.loadJavaServices( MetadataContributor.class ) ) {
+			addHierarchy( contributor.getClass(), classNames );
+		}
+		for ( Object producer : additionalJaxbMappingProducers( classLoaderService ) ) {
+			addHierarchy( producer.getClass(), classNames );
+		}
+		return classNames.toArray( new String[0] );
+	}
+
+	@SuppressWarnings("deprecation")
+	private static Iterable<?> additionalJaxbMappingProducers(ClassLoaderService classLoaderService) {
+		return classLoaderService.loadJavaServices( org.hibernate.boot.spi.AdditionalJaxbMappingProducer.class );
+	}
+
+	private void addEmbeddables(Value value, Set<String> classNames) {
+		if ( value instanceof Component ) {
+			final Component component = (Component) value;
+			if ( !component.isDynamic() && component.getComponentClassName() != null ) {
+				addHierarchy( classLoaderService.classForName( component.getComponentClassName() ), classNames );
+			}
+			final Iterator<?> properties = component.getPropertyIterator();
+			while ( properties.hasNext() ) {
+				addEmbeddables( ( (Property) properties.next() ).getValue(), classNames );
+			}
+		}
+	}
+
+	private static void addHierarchy(Class<?> javaClass, Set<String> classNames) {
+		for ( Class<?> current = javaClass; current != null && current != Object.class; current = current.getSuperclass() ) {
+			classNames.add( current.getName() );
+		}
+	}
+
+	/**
+	 * The packages of the managed classes, whether annotated or mapped by XML, whose classes the snapshot may hold
+	 * along with the mapping and JDK ones.
+	 */
+	private static Set<String> collectManagedPackageNames(ManagedResources managedResources) {
+		final Set<String> packageNames = new HashSet<>( managedResources.getAnnotatedPackageNames() );
+		for ( String className : managedResources.getAnnotatedClassNames() ) {
+			packageNames.add( packageName( className ) );
+		}
+		for ( Class<?> annotatedClass : managedResources.getAnnotatedClassReferences() ) {
+			packageNames.add( packageName( annotatedClass.getName() ) );
+		}
+		for ( AttributeConverterInfo converterInfo : managedResources.getAttributeConverterDefinitions() ) {
+			packageNames.add( packageName( converterInfo.getConverterClass().getName() ) );
+		}
+		for ( Binding<?> xmlBinding : managedResources.getXmlMappingBindings() ) {
+			final Object root = xmlBinding.getRoot();
+			if ( root instanceof JaxbHbmHibernateMapping ) {
+				final JaxbHbmHibernateMapping hbmMapping = (JaxbHbmHibernateMapping) root;
+				addPackageName( hbmMapping.getPackage(), hbmMapping.getClazz(), packageNames );
+				addPackageName( hbmMapping.getPackage(), hbmMapping.getSubclass(), packageNames );
+				addPackageName( hbmMapping.getPackage(), hbmMapping.getJoinedSubclass(), packageNames );
+				addPackageName( hbmMapping.getPackage(), hbmMapping.getUnionSubclass(), packageNames );
+			}
+			else if ( root instanceof JaxbEntityMappings ) {
+				final JaxbEntityMappings ormMapping = (JaxbEntityMappings) root;
+				for ( JaxbEntity entity : ormMapping.getEntity() ) {
+					addPackageName( ormMapping.getPackage(), entity.getClazz(), packageNames );
+				}
+				for ( JaxbMappedSuperclass mappedSuperclass : ormMapping.getMappedSuperclass() ) {
+					addPackageName( ormMapping.getPackage(), mappedSuperclass.getClazz(), packageNames );
+				}
+				for ( JaxbEmbeddable embeddable : ormMapping.getEmbeddable() ) {
+					addPackageName( ormMapping.getPackage(), embeddable.getClazz(), packageNames );
+				}
+			}
+		}
+		return packageNames;
+	}
+
+	private static void addPackageName(
+			String defaultPackageName,
+			java.util.Collection<? extends EntityInfo> entities,
+			Set<String> packageNames) {
+		for ( EntityInfo entity : entities ) {
+			addPackageName( defaultPackageName, entity.getName(), packageNames );
+		}
+	}
+
+	private static void addPackageName(String defaultPackageName, String className, Set<String> packageNames) {
+		if ( className == null ) {
+			return;
+		}
+		if ( className.indexOf( '.' ) < 0 ) {
+			if ( defaultPackageName != null ) {
+				packageNames.add( defaultPackageName );
+			}
+		}
+		else {
+			packageNames.add( packageName( className ) );
+		}
+	}
+
+	private static String packageName(String className) {
+		final int lastDot = className.lastIndexOf( '.' );
+		return lastDot < 0 ? "" : className.substring( 0, lastDot );
+	}
+
+	/**
+	 * Whether a snapshot may hold instances of the named class, or of the named array class.
+	 */
+	private boolean isSnapshotClass(String className) {
+		int dimensions = 0;
+		while ( className.charAt( dimensions ) == '[' ) {
+			dimensions++;
+		}
+		if ( dimensions > 0 ) {
+			if ( className.charAt( dimensions ) != 'L' ) {
+				// an array of primitives
+				return true;
+			}
+			className = className.substring( dimensions + 1, className.length() - 1 );
+		}
+		if ( OTHER_CLASSES.contains( className ) ) {
+			return true;
+		}
+		for ( String mappingPackage : MAPPING_PACKAGES ) {
+			if ( className.startsWith( mappingPackage ) ) {
+				return true;
+			}
+		}
+		return managedPackageNames.contains( packageName( className ) );
+	}
+
+	/**
+	 * @return The digest of the bytecode of the given classes, or {@code null} if the bytecode of one of them
+	 * cannot be located
+	 */
+	private byte[] digestClasses(String[] classNames) throws IOException {
+		final MessageDigest digest = newDigest();
+		final byte[] buffer = new byte[8192];
+		for ( String className : classNames ) {
+			update( digest, className );
+			final String resourceName = className.replace( '.', '/' ) + ".class";
+			try ( InputStream bytecode = classLoaderService.locateResourceStream( resourceName ) ) {
+				if ( bytecode == null ) {
+					if ( className.endsWith( ".package-info" ) ) {
+						continue;
+					}
+					return null;
+				}
+				int read;
+				while ( ( read = bytecode.read( buffer ) ) != -1 ) {
+					digest.update( buffer, 0, read );
+				}
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Digests the settings which may affect the binding.  The settings also hold all the system properties, some of
+	 * which differ from one process to the next (process id, temporary directories, etc.), so only the Hibernate and
+	 * JPA settings are digested: otherwise the snapshot would be written anew on every start.
+	 */
+	private static void updateWithSettings(MessageDigest digest, Map<?, ?> settings) {
+		final Map<String, String> sortedSettings = new TreeMap<>();
+		for ( Map.Entry<?, ?> setting : settings.entrySet() ) {
+			final String name = String.valueOf( setting.getKey() );
+			if ( !isDigestedSetting( name ) ) {
+				continue;
+			}
+			final Object value = setting.getValue();
+			final String valueText;
+			if ( value == null || value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+					|| value instanceof Character || value instanceof Enum ) {
+				valueText = String.valueOf( value );
+			}
+			else if ( value instanceof Class ) {
+				valueText = ( (Class<?>) value ).getName();
+			}
+			else {
+				// only the type of a settings object is known to stay the same
+				valueText = value.getClass().getName();
+			}
+			sortedSettings.put( name, valueText );
+		}
+		for ( Map.Entry<String, String> setting : sortedSettings.entrySet() ) {
+			update( digest, setting.getKey() );
+			update( digest, setting.getValue() );
+		}
+	}
+
+	/**
+	 * Digests the dialect and the way the identifiers are qualified, quoted and cased, which the binding applies to
+	 * the table and column names.  The dialect may be resolved from the database rather than set, and the case
+	 * strategies of the identifier helper come from the database metadata, so they are not in the settings; as the
+	 * identifier helper does not expose them, the forms it gives to a few identifiers are digested instead.
+	 */
+	private static void updateWithJdbcEnvironment(MessageDigest digest, JdbcEnvironment jdbcEnvironment) {
+		final Dialect dialect = jdbcEnvironment.getDialect();
+		update( digest, dialect.getClass().getName() );
+		update( digest, String.valueOf( jdbcEnvironment.getNameQualifierSupport() ) );
+		update( digest, jdbcEnvironment.getQualifiedObjectNameFormatter().getClass().getName() );
+
+		final IdentifierHelper identifierHelper = jdbcEnvironment.getIdentifierHelper();
+		update( digest, identifierHelper.getClass().getName() );
+		for ( String text : DIGESTED_IDENTIFIERS ) {
+			final Identifier identifier = identifierHelper.toIdentifier( text );
+			update( digest, identifier.render( dialect ) );
+			update( digest, String.valueOf( identifierHelper.toMetaDataObjectName( identifier ) ) );
+			update( digest, String.valueOf( identifierHelper.toMetaDataObjectName( identifierHelper.toIdentifier( text, true ) ) ) );
+			update( digest, identifierHelper.applyGlobalQuoting( text ).render( dialect ) );
+		}
+	}
+
+	private static boolean isDigestedSetting(String name) {
+		for ( String prefix : DIGESTED_SETTINGS_PREFIXES ) {
+			if ( name.startsWith( prefix ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance( "SHA-256" );
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new HibernateException( "Unable to digest the metadata sources", e );
+		}
+	}
+
+	private static void update(MessageDigest digest, String text) {
+		digest.update( text.getBytes( StandardCharsets.UTF_8 ) );
+		digest.update( (byte) 0 );
+	}
+
+	/**
+	 * The objects of the boot context which the metadata may reference, by the name under which the snapshot
+	 * references them.
+	 */
+	@SuppressWarnings("deprecation")
+	private static Map<String, Object> context(MetadataBuildingContext rootContext) {
+		final BootstrapContext bootstrapContext = rootContext.getBootstrapContext();
+		final MetadataBuildingOptions options = rootContext.getBuildingOptions();
+		final ServiceRegistry serviceRegistry = options.getServiceRegistry();
+
+		final Map<String, Object> context = new HashMap<>();
+		context.put( "bootstrapContext", bootstrapContext );
+		context.put( "buildingOptions", options );
+		context.put( "buildingContext", rootContext );
+		context.put( "objectNameNormalizer", rootContext.getObjectNameNormalizer() );
+		context.put( "mappingDefaults", rootContext.getMappingDefaults() );
+		context.put( "typeConfiguration", bootstrapContext.getTypeConfiguration() );
+		context.put( "reflectionManager", bootstrapContext.getReflectionManager() );
+		context.put( "classmateContext", bootstrapContext.getClassmateContext() );
+		context.put( "implicitNamingStrategy", options.getImplicitNamingStrategy() );
+		context.put( "physicalNamingStrategy", options.getPhysicalNamingStrategy() );
+		context.put( "serviceRegistry", serviceRegistry );
+		if ( serviceRegistry instanceof ServiceRegistryImplementor ) {
+			context.put( "parentServiceRegistry", ( (ServiceRegistryImplementor) serviceRegistry ).getParentServiceRegistry() );
+		}
+		for ( Class<?> role : CONTEXT_SERVICES ) {
+			context.put( role.getName(), serviceRegistry.getService( role.asSubclass( Service.class ) ) );
+		}
+		context.put( "dialect", serviceRegistry.getService( JdbcServices.class ).getDialect() );
+		context.values().removeIf( value -> value == null );
+		return context;
+	}
+
+	/**
+	 * Stands for an object of the boot context in the snapshot.
+	 */
+	private static final class ContextReference implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+
+		private ContextReference(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Stands for an annotated property in the snapshot.
+	 */
+	private static final class XPropertyReference implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private static final Filter ALL_MEMBERS = new Filter() {
+			@Override
+			public boolean returnStatic() {
+				return true;
+			}
+
+			@Override
+			public boolean returnTransient() {
+				return true;
+			}
+		};
+
+		private final Class<?> declaringClass;
+		private final String memberName;
+		private final boolean field;
+
+		private XPropertyReference(Member member) {
+			this.declaringClass = member.getDeclaringClass();
+			this.memberName = member.getName();
+			this.field = member instanceof Field;
+		}
+
+		private XProperty resolve(ReflectionManager reflectionManager) throws InvalidObjectException {
+			final XClass xClass = reflectionManager.toXClass( declaringClass );
+			final String accessType = field ? XClass.ACCESS_FIELD : XClass.ACCESS_PROPERTY;
+			for ( XProperty property : xClass.getDeclaredProperties( accessType, ALL_MEMBERS ) ) {
+				if ( ( (JavaXMember) property ).getMember().getName().equals( memberName ) ) {
+					return property;
+				}
+			}
+			throw new InvalidObjectException( "Unknown property: " + declaringClass.getName() + "#" + memberName );
+		}
+	}
+
+	/**
+	 * Stands for the descriptor of an attribute converter class in the snapshot.
+	 */
+	private static final class ConverterReference implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final Class<?> converterClass;
+		private final boolean autoApply;
+
+		private ConverterReference(ClassBasedConverterDescriptor descriptor) {
+			this.converterClass = descriptor.getAttributeConverterClass();
+			this.autoApply = descriptor.getAutoApplyDescriptor() instanceof AutoApplicableConverterDescriptorStandardImpl;
+		}
+
+		private ClassBasedConverterDescriptor resolve(ClassmateContext classmateContext) {
+			return new ClassBasedConverterDescriptor(
+					converterClass.asSubclass( AttributeConverter.class ),
+					autoApply,
+					classmateContext
+			);
+		}
+	}
+
+	/**
+	 * Stands for an attribute converter instantiated through the bean registry in the snapshot.
+	 */
+	private static final class ConverterInstanceReference implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final Class<?> converterClass;
+
+		private ConverterInstanceReference(JpaAttributeConverter<?, ?> converter) {
+			this.converterClass = converter.getConverterJavaTypeDescriptor().getJavaType();
+		}
+
+		private JpaAttributeConverter<?, ?> resolve(Map<String, Object> context) {
+			final ServiceRegistry serviceRegistry = (ServiceRegistry) context.get( "serviceRegistry" );
+			final TypeConfiguration typeConfiguration = (TypeConfiguration) context.get( "typeConfiguration" );
+			final ClassBasedConverterDescriptor descriptor = new ClassBasedConverterDescriptor(
+					converterClass.asSubclass( AttributeConverter.class ),
+					false,
+					(ClassmateContext) context.get( "classmateContext" )
+			);
+			return descriptor.createJpaAttributeConverter(
+					new JpaAttributeConverterCreationContext() {
+						@Override
+						public ManagedBeanRegistry getManagedBeanRegistry() {
+							return serviceRegistry.getService( ManagedBeanRegistry.class );
+						}
+
+						@Override
+						public JavaTypeDescriptorRegistry getJavaTypeDescriptorRegistry() {
+							return typeConfiguration.getJavaTypeDescriptorRegistry();
+						}
+					}
+			);
+		}
+	}
+
+	private final class ContextReplacingOutputStream extends ObjectOutputStream {
+		private final Map<Object, ContextReference> references = new IdentityHashMap<>();
+		private final MetadataImpl metadata;
+
+		private ContextReplacingOutputStream(
+				OutputStream out,
+				Map<String, Object> context,
+				MetadataImpl metadata) throws IOException {
+			super( out );
+			for ( Map.Entry<String, Object> entry : context.entrySet() ) {
+				references.putIfAbsent( entry.getValue(), new ContextReference( entry.getKey() ) );
+			}
+			this.metadata = metadata;
+			enableReplaceObject( true );
+		}
+
+		@Override
+		protected void annotateClass(Class<?> javaClass) throws IOException {
+			// the exception aborting the serialization is written as well, but never read
+			if ( !isSnapshotClass( javaClass.getName() ) && !isAbortingException( javaClass ) ) {
+				throw new InvalidClassException( javaClass.getName(), "Not allowed in a metadata snapshot" );
+			}
+		}
+
+		private boolean isAbortingException(Class<?> javaClass) {
+			final Class<?> componentClass = javaClass.isArray() ? javaClass.getComponentType() : javaClass;
+			return Throwable.class.isAssignableFrom( componentClass ) || componentClass == StackTraceElement.class;
+		}
+
+		@Override
+		protected Object replaceObject(Object object) {
+			final ContextReference reference = references.get( object );
+			if ( reference != null ) {
+				return reference;
+			}
+			// the mapping model references the in-flight metadata it was bound into, which the metadata stands for
+			if ( object instanceof InFlightMetadataCollector ) {
+				return metadata;
+			}
+			// the context of each mapping document, and its name normalizer, stand for the root ones
+			if ( object instanceof MetadataBuildingContext ) {
+				return new ContextReference( "buildingContext" );
+			}
+			if ( object instanceof ObjectNameNormalizer ) {
+				return new ContextReference( "objectNameNormalizer" );
+			}
+			// the annotated properties of the parameterized types, and the converters, hold reflection data
+			if ( object instanceof XProperty && object instanceof JavaXMember ) {
+				return new XPropertyReference( ( (JavaXMember) object ).getMember() );
+			}
+			if ( object instanceof ClassBasedConverterDescriptor ) {
+				return new ConverterReference( (ClassBasedConverterDescriptor) object );
+			}
+			// the converters of the attribute types are beans, which are created again unless provided as instances
+			if ( object instanceof JpaAttributeConverterImpl
+					&& !( ( (JpaAttributeConverter<?, ?>) object ).getConverterBean() instanceof ProvidedInstanceManagedBeanImpl ) ) {
+				return new ConverterInstanceReference( (JpaAttributeConverter<?, ?>) object );
+			}
+			return object;
+		}
+	}
+
+	private final class ContextResolvingInputStream extends ObjectInputStream {
+		private final Map<String, Object> context;
+
+		private ContextResolvingInputStream(InputStream in, Map<String, Object> context) throws IOException {
+			super( in );
+			this.context = context;
+			enableResolveObject( true );
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+			if ( !isSnapshotClass( descriptor.getName() ) ) {
+				throw new InvalidClassException( descriptor.getName(), "Not allowed in a metadata snapshot" );
+			}
+			try {
+				return classLoaderService.classForName( descriptor.getName() );
+			}
+			catch (ClassLoadingException e) {
+				return super.resolveClass( descriptor );
+			}
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			// only annotations are proxies
+			final Class<?> proxyClass = super.resolveProxyClass( interfaces );
+			for ( Class<?> proxyInterface : proxyClass.getInterfaces() ) {
+				if ( !proxyInterface.isAnnotation() ) {
+					throw new InvalidClassException( proxyInterface.getName(), "Not allowed in a metadata snapshot" );
+				}
+			}
+			return proxyClass;
+		}
+
+		@Override
+		protected Object resolveObject(Object object) throws IOException {
+			if ( object instanceof ContextReference ) {
+				final String name = ( (ContextReference) object ).name;
+				final Object resolved = context.get( name );
+				if ( resolved == null ) {
+					throw new InvalidObjectException( "Unknown boot context object: " + name );
+				}
+				return resolved;
+			}
+			if ( object instanceof XPropertyReference ) {
+				return ( (XPropertyReference) object ).resolve( (ReflectionManager) context.get( "reflectionManager" ) );
+			}
+			if ( object instanceof ConverterReference ) {
+				return ( (ConverterReference) object ).resolve( (ClassmateContext) context.get( "classmateContext" ) );
+			}
+			if ( object instanceof ConverterInstanceReference ) {
+				return ( (ConverterInstanceReference) object ).resolve( context );
+			}
+			return object;
+		}
+	}
+
+	private static final class DigestingOutputStream extends OutputStream {
+		private final MessageDigest digest;
+
+		private DigestingOutputStream(MessageDigest digest) {
+			this.digest = digest;
+		}
+
+		@Override
+		public void write(int b) {
+			digest.update( (byte) b );
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			digest.update( b, off, len );
+		}
+	}
+}
@@ -15,6 +15,8 @@ import org.hibernate.internal.util.StringHelper;
  */
 public class DatabaseIdentifier extends Identifier {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Constructs a database identifier instance.
 	 * It is assumed that <code>text</code> is unquoted.
@@ -14,6 +14,8 @@ import org.hibernate.boot.AttributeConverterInfo;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.internal.InFlightMetadataCollectorImpl;
 import org.hibernate.boot.internal.MetadataBuildingContextRootImpl;
+import org.hibernate.boot.internal.MetadataImpl;
+import org.hibernate.boot.internal.MetadataSnapshot;
 import org.hibernate.boot.jaxb.internal.MappingBinder;
 import org.hibernate.boot.model.TypeContributions;
 import org.hibernate.boot.model.TypeContributor;
@@ -147,6 +149,13 @@ public class MetadataBuildingProcess {
 
 		bootstrapContext.getTypeConfiguration().scope( rootMetadataBuildingContext );
 
+		final MetadataSnapshot snapshot = MetadataSnapshot.resolve( managedResources, bootstrapContext, options );
+		if ( snapshot != null ) {
+			final MetadataImplementor metadata = snapshot.read( rootMetadataBuildingContext );
+			if ( metadata != null ) {
+				return metadata;
+			}
+		}
 
 		final IndexView jandexView = bootstrapContext.getJandexView();
 
@@ -321,7 +330,11 @@ public class MetadataBuildingProcess {
 			}
 		}
 
-		return metadataCollector.buildMetadataInstance( rootMetadataBuildingContext );
+		final MetadataImpl metadata = metadataCollector.buildMetadataInstance( rootMetadataBuildingContext );
+		if ( snapshot != null ) {
+			snapshot.write( metadata, rootMetadataBuildingContext );
+		}
+		return metadata;
 	}
 
 //	todo (7.0) : buildJandexInitializer
@@ -6,6 +6,7 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -26,7 +27,9 @@ import org.hibernate.service.ServiceRegistry;
 /**
  * @author Steve Ebersole
  */
-public class Database {
+public class Database implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final Dialect dialect;
 	private final JdbcEnvironment jdbcEnvironment;
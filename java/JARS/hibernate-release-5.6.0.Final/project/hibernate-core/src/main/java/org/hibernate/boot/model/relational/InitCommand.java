@@ -6,12 +6,15 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
+
 /**
  * A general SQL command to be used while initializing a schema.
  *
  * @author Steve Ebersole
  */
-public class InitCommand {
+public class InitCommand implements Serializable {
+	private static final long serialVersionUID = 1L;
 	private final String[] initCommands;
 
 	public InitCommand(String... initCommands) {
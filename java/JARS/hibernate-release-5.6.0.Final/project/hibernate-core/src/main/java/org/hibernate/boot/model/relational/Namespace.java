@@ -6,6 +6,7 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -25,7 +26,8 @@ import org.hibernate.mapping.Table;
  *
  * @author Steve Ebersole
  */
-public class Namespace {
+public class Namespace implements Serializable {
+	private static final long serialVersionUID = 1L;
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( Namespace.class );
 
 	private final PhysicalNamingStrategy physicalNamingStrategy;
@@ -161,7 +163,8 @@ public class Namespace {
 		return sequences.values();
 	}
 
-	public static class Name implements Comparable<Name> {
+	public static class Name implements Comparable<Name>, Serializable {
+		private static final long serialVersionUID = 1L;
 		private final Identifier catalog;
 		private final Identifier schema;
 
@@ -12,6 +12,8 @@ import org.hibernate.boot.model.naming.Identifier;
  * @author Steve Ebersole
  */
 public class QualifiedNameImpl extends QualifiedNameParser.NameParts implements QualifiedName {
+	private static final long serialVersionUID = 1L;
+
 	public QualifiedNameImpl(Namespace.Name schemaName, Identifier objectName) {
 		this(
 				schemaName.getCatalog(),
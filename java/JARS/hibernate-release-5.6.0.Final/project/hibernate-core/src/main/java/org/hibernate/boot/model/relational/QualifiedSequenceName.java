@@ -12,6 +12,8 @@ import org.hibernate.boot.model.naming.Identifier;
  * @author Steve Ebersole
  */
 public class QualifiedSequenceName extends QualifiedNameImpl {
+	private static final long serialVersionUID = 1L;
+
 	public QualifiedSequenceName(Identifier catalogName, Identifier schemaName, Identifier sequenceName) {
 		super( catalogName, schemaName, sequenceName );
 	}
@@ -12,6 +12,8 @@ import org.hibernate.boot.model.naming.Identifier;
  * @author Steve Ebersole
  */
 public class QualifiedTableName extends QualifiedNameImpl {
+	private static final long serialVersionUID = 1L;
+
 	public QualifiedTableName(Identifier catalogName, Identifier schemaName, Identifier tableName) {
 		super( catalogName, schemaName, tableName );
 	}
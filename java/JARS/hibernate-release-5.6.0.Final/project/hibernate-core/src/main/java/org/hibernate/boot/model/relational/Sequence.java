@@ -6,6 +6,8 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
+
 import org.hibernate.HibernateException;
 import org.hibernate.boot.model.naming.Identifier;
 
@@ -14,8 +16,12 @@ import org.hibernate.boot.model.naming.Identifier;
  *
  * @author Steve Ebersole
  */
-public class Sequence implements Exportable {
+public class Sequence implements Exportable, Serializable {
+	private static final long serialVersionUID = 1L;
+
 	public static class Name extends QualifiedNameParser.NameParts {
+		private static final long serialVersionUID = 1L;
+
 		public Name(
 				Identifier catalogIdentifier,
 				Identifier schemaIdentifier,
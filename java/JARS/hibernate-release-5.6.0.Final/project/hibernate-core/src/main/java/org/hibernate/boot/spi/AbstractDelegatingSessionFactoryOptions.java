@@ -177,6 +177,21 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isDelayBatchFetchLoaderCreationsEnabled();
 	}
 
+	@Override
+	public boolean isParallelInitializationEnabled() {
+		return delegate.isParallelInitializationEnabled();
+	}
+
+	@Override
+	public boolean isLoadCoalescingEnabled() {
+		return delegate.isLoadCoalescingEnabled();
+	}
+
+	@Override
+	public long getLoadCoalescingTimeout() {
+		return delegate.getLoadCoalescingTimeout();
+	}
+
 	@Override
 	public int getDefaultBatchFetchSize() {
 		return delegate.getDefaultBatchFetchSize();
@@ -202,6 +217,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isOrderInsertsEnabled();
 	}
 
+	@Override
+	public boolean isMultiTableBatchingEnabled() {
+		return delegate.isMultiTableBatchingEnabled();
+	}
+
+	@Override
+	public boolean isPipelinedBatchExecutionEnabled() {
+		return delegate.isPipelinedBatchExecutionEnabled();
+	}
+
 	@Override
 	public MultiTenancyStrategy getMultiTenancyStrategy() {
 		return delegate.getMultiTenancyStrategy();
@@ -282,6 +307,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return delegate.isCompactCacheEntriesEnabled();
+	}
+
+	@Override
+	public boolean isSharedStateCacheEntriesEnabled() {
+		return delegate.isSharedStateCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -327,6 +362,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getJdbcFetchSize();
 	}
 
+	@Override
+	public boolean isStreamingFetchSizeEnabled() {
+		return delegate.isStreamingFetchSizeEnabled();
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return delegate.getPhysicalConnectionHandlingMode();
@@ -453,6 +493,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isCollectionsInDefaultFetchGroupEnabled();
 	}
 
+	@Override
+	public boolean isDirtyTrackingTrusted() {
+		return delegate.isDirtyTrackingTrusted();
+	}
+
 	@Override
 	public boolean isOmitJoinOfSuperclassTablesEnabled() {
 		return delegate.isOmitJoinOfSuperclassTablesEnabled();
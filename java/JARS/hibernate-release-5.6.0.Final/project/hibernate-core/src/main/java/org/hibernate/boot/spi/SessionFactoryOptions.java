@@ -164,6 +164,18 @@ public interface SessionFactoryOptions {
 
 	boolean isDelayBatchFetchLoaderCreationsEnabled();
 
+	default boolean isParallelInitializationEnabled() {
+		return false;
+	}
+
+	default boolean isLoadCoalescingEnabled() {
+		return false;
+	}
+
+	default long getLoadCoalescingTimeout() {
+		return 1000;
+	}
+
 	int getDefaultBatchFetchSize();
 
 	Integer getMaximumFetchDepth();
@@ -174,6 +186,14 @@ public interface SessionFactoryOptions {
 
 	boolean isOrderInsertsEnabled();
 
+	default boolean isMultiTableBatchingEnabled() {
+		return false;
+	}
+
+	default boolean isPipelinedBatchExecutionEnabled() {
+		return false;
+	}
+
 	MultiTenancyStrategy getMultiTenancyStrategy();
 
 	CurrentTenantIdentifierResolver getCurrentTenantIdentifierResolver();
@@ -207,6 +227,14 @@ public interface SessionFactoryOptions {
 
 	boolean isStructuredCacheEntriesEnabled();
 
+	default boolean isCompactCacheEntriesEnabled() {
+		return false;
+	}
+
+	default boolean isSharedStateCacheEntriesEnabled() {
+		return false;
+	}
+
 	boolean isDirectReferenceCacheEntriesEnabled();
 
 	boolean isAutoEvictCollectionCache();
@@ -229,6 +257,10 @@ public interface SessionFactoryOptions {
 
 	Integer getJdbcFetchSize();
 
+	default boolean isStreamingFetchSizeEnabled() {
+		return false;
+	}
+
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
 
 	default boolean doesConnectionProviderDisableAutoCommit() {
@@ -331,5 +363,14 @@ public interface SessionFactoryOptions {
 		return false;
 	}
 
+	/**
+	 * Can the flush skip the enhanced entities reporting no dirty attribute?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#TRUST_DIRTY_TRACKING
+	 */
+	default boolean isDirtyTrackingTrusted() {
+		return false;
+	}
+
 	boolean isOmitJoinOfSuperclassTablesEnabled();
 }
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.hibernate.HibernateException;
 import org.hibernate.bytecode.spi.BasicProxyFactory;
@@ -99,7 +100,22 @@ public final class ByteBuddyState {
 	 */
 	public Class<?> loadProxy(Class<?> referenceClass, TypeCache.SimpleKey cacheKey,
 			Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
-		return load( referenceClass, proxyCache, cacheKey, makeProxyFunction );
+		return load( referenceClass, proxyCache, cacheKey, null, makeProxyFunction );
+	}
+
+	/**
+	 * Load a proxy as generated by the {@link ProxyFactory}, unless a proxy generated at build time is available.
+	 *
+	 * @param referenceClass The main class to proxy - might be an interface.
+	 * @param cacheKey The cache key.
+	 * @param pregeneratedProxyResolver A function returning the proxy generated at build time, or null if there is none.
+	 * @param makeProxyFunction A function building the proxy.
+	 * @return The loaded proxy class.
+	 */
+	public Class<?> loadProxy(Class<?> referenceClass, TypeCache.SimpleKey cacheKey,
+			Supplier<Class<?>> pregeneratedProxyResolver,
+			Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
+		return load( referenceClass, proxyCache, cacheKey, pregeneratedProxyResolver, makeProxyFunction );
 	}
 
 	/**
@@ -112,7 +128,7 @@ public final class ByteBuddyState {
 	 */
 	Class<?> loadBasicProxy(Class<?> referenceClass, TypeCache.SimpleKey cacheKey,
 			Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
-		return load( referenceClass, basicProxyCache, cacheKey, makeProxyFunction );
+		return load( referenceClass, basicProxyCache, cacheKey, null, makeProxyFunction );
 	}
 
 	/**
@@ -128,6 +144,29 @@ public final class ByteBuddyState {
 				.getLoaded();
 	}
 
+	/**
+	 * Find a class generated at build time next to the given class, see
+	 * {@link org.hibernate.bytecode.spi.BytecodeProvider#generateClassesAheadOfTime}.
+	 * <p>
+	 * Classes generated at build time are ignored when a security manager is installed, as the generated classes
+	 * then need to be registered with the {@link HibernateMethodLookupDispatcher}.
+	 *
+	 * @param referenceClass The class the generated class was derived from.
+	 * @param className The name of the generated class.
+	 * @return The generated class or null if it is not available.
+	 */
+	public static Class<?> findPregeneratedClass(Class<?> referenceClass, String className) {
+		if ( System.getSecurityManager() != null ) {
+			return null;
+		}
+		try {
+			return Class.forName( className, false, referenceClass.getClassLoader() );
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Rewrite a class, used by the enhancer.
 	 * <p>
@@ -174,13 +213,22 @@ public final class ByteBuddyState {
 	}
 
 	private Class<?> load(Class<?> referenceClass, TypeCache<TypeCache.SimpleKey> cache,
-			TypeCache.SimpleKey cacheKey, Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
+			TypeCache.SimpleKey cacheKey, Supplier<Class<?>> pregeneratedProxyResolver,
+			Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
 		return cache.findOrInsert(
 				referenceClass.getClassLoader(),
 				cacheKey,
-				() -> make( makeProxyFunction.apply( byteBuddy ) )
-						.load( referenceClass.getClassLoader(), resolveClassLoadingStrategy( referenceClass ) )
-						.getLoaded(),
+				() -> {
+					if ( pregeneratedProxyResolver != null ) {
+						final Class<?> pregeneratedProxy = pregeneratedProxyResolver.get();
+						if ( pregeneratedProxy != null ) {
+							return pregeneratedProxy;
+						}
+					}
+					return make( makeProxyFunction.apply( byteBuddy ) )
+							.load( referenceClass.getClassLoader(), resolveClassLoadingStrategy( referenceClass ) )
+							.getLoaded();
+				},
 				cache );
 	}
 
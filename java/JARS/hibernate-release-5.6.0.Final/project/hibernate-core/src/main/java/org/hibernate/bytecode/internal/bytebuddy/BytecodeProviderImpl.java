@@ -6,10 +6,14 @@
  */
 package org.hibernate.bytecode.internal.bytebuddy;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 import org.hibernate.HibernateException;
 import org.hibernate.bytecode.enhance.internal.bytebuddy.EnhancerImpl;
@@ -18,12 +22,15 @@ import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.proxy.pojo.bytebuddy.ByteBuddyProxyHelper;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
@@ -37,15 +44,20 @@ import net.bytebuddy.jar.asm.Type;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 
+import static org.hibernate.internal.CoreLogging.messageLogger;
+
 public class BytecodeProviderImpl implements BytecodeProvider {
 
 	private static final String INSTANTIATOR_PROXY_NAMING_SUFFIX = "HibernateInstantiator";
+	private static final String PREGENERATED_INSTANTIATOR_NAMING_SUFFIX = "$HibernateInstantiator$Pregenerated";
 	private static final String OPTIMIZER_PROXY_NAMING_SUFFIX = "HibernateAccessOptimizer";
 	private static final ElementMatcher.Junction newInstanceMethodName = ElementMatchers.named( "newInstance" );
 	private static final ElementMatcher.Junction getPropertyValuesMethodName = ElementMatchers.named( "getPropertyValues" );
 	private static final ElementMatcher.Junction setPropertyValuesMethodName = ElementMatchers.named( "setPropertyValues" );
 	private static final ElementMatcher.Junction getPropertyNamesMethodName = ElementMatchers.named( "getPropertyNames" );
 
+	private static final CoreMessageLogger LOG = messageLogger( BytecodeProviderImpl.class );
+
 	private final ByteBuddyState byteBuddyState;
 
 	private final ByteBuddyProxyHelper byteBuddyProxyHelper;
@@ -84,13 +96,21 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 			// we only provide a fast class instantiator if the class can be instantiated
 			final Constructor<?> constructor = findConstructor( clazz );
 
-			fastClass = byteBuddyState.load( clazz, byteBuddy -> byteBuddy
-					.with( new NamingStrategy.SuffixingRandom( INSTANTIATOR_PROXY_NAMING_SUFFIX,
-							new NamingStrategy.SuffixingRandom.BaseNameResolver.ForFixedValue( clazz.getName() ) ) )
-					.subclass( ReflectionOptimizer.InstantiationOptimizer.class )
-					.method( newInstanceMethodName )
-							.intercept( MethodCall.construct( constructor ) )
-			);
+			final Class<?> pregeneratedClass = resolvePregeneratedInstantiator( clazz, constructor );
+			if ( pregeneratedClass != null ) {
+				fastClass = pregeneratedClass;
+			}
+			else if ( Modifier.isPrivate( constructor.getModifiers() ) ) {
+				// the generated class could not call the constructor, leave the instantiation to reflection
+				fastClass = null;
+			}
+			else {
+				fastClass = byteBuddyState.load( clazz, instantiatorBuilder(
+						constructor,
+						new NamingStrategy.SuffixingRandom( INSTANTIATOR_PROXY_NAMING_SUFFIX,
+								new NamingStrategy.SuffixingRandom.BaseNameResolver.ForFixedValue( clazz.getName() ) )
+				) );
+			}
 		}
 		else {
 			fastClass = null;
@@ -123,6 +143,90 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		}
 	}
 
+	/**
+	 * Generates the lazy loading proxy, as long as the entity class can be subclassed, and the instantiator, as long
+	 * as the entity class can be instantiated.  The accessors of the reflection optimizer depend on the mapping of the
+	 * entity and are still generated at runtime.
+	 */
+	@Override
+	public Map<String, byte[]> generateClassesAheadOfTime(Class<?> entityClass) {
+		// generate classes loadable by the JVM the entity class was compiled for
+		ClassFileVersion classFileVersion;
+		try {
+			classFileVersion = ClassFileVersion.of( entityClass );
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to read the class file version of " + entityClass.getName(), e );
+		}
+		if ( classFileVersion.isLessThan( ClassFileVersion.JAVA_V8 ) ) {
+			classFileVersion = ClassFileVersion.JAVA_V8;
+		}
+		final ByteBuddyState state = new ByteBuddyState( classFileVersion );
+
+		final Map<String, byte[]> classes = new LinkedHashMap<>();
+		final int modifiers = entityClass.getModifiers();
+		if ( entityClass.isInterface() || Modifier.isFinal( modifiers ) ) {
+			return classes;
+		}
+		addClasses( classes, new ByteBuddyProxyHelper( state ).buildUnloadedPregeneratedProxy( entityClass ) );
+
+		if ( !Modifier.isAbstract( modifiers ) ) {
+			final Constructor<?> constructor;
+			try {
+				constructor = entityClass.getDeclaredConstructor();
+			}
+			catch (NoSuchMethodException e) {
+				return classes;
+			}
+			if ( !Modifier.isPrivate( constructor.getModifiers() ) ) {
+				final String instantiatorName = entityClass.getName() + PREGENERATED_INSTANTIATOR_NAMING_SUFFIX;
+				addClasses( classes, state.make( instantiatorBuilder(
+						constructor,
+						new NamingStrategy.AbstractBase() {
+							@Override
+							protected String name(TypeDescription superClass) {
+								return instantiatorName;
+							}
+						}
+				) ) );
+			}
+		}
+		return classes;
+	}
+
+	private static void addClasses(Map<String, byte[]> classes, DynamicType.Unloaded<?> unloaded) {
+		for ( Map.Entry<TypeDescription, byte[]> type : unloaded.getAllTypes().entrySet() ) {
+			classes.put( type.getKey().getName(), type.getValue() );
+		}
+	}
+
+	private static Class<?> resolvePregeneratedInstantiator(Class<?> clazz, Constructor<?> constructor) {
+		final Class<?> instantiatorClass = ByteBuddyState.findPregeneratedClass(
+				clazz,
+				clazz.getName() + PREGENERATED_INSTANTIATOR_NAMING_SUFFIX
+		);
+		if ( instantiatorClass == null ) {
+			return null;
+		}
+		if ( !ReflectionOptimizer.InstantiationOptimizer.class.isAssignableFrom( instantiatorClass )
+				|| Modifier.isPrivate( constructor.getModifiers() ) ) {
+			// the entity class changed since the instantiator was generated
+			LOG.debugf( "Ignoring the instantiator class %s generated at build time, as it does not match the entity class", instantiatorClass.getName() );
+			return null;
+		}
+		LOG.debugf( "Using the instantiator class %s generated at build time", instantiatorClass.getName() );
+		return instantiatorClass;
+	}
+
+	private static Function<ByteBuddy, DynamicType.Builder<?>> instantiatorBuilder(Constructor<?> constructor,
+			NamingStrategy namingStrategy) {
+		return byteBuddy -> byteBuddy
+				.with( namingStrategy )
+				.subclass( ReflectionOptimizer.InstantiationOptimizer.class )
+				.method( newInstanceMethodName )
+						.intercept( MethodCall.construct( constructor ) );
+	}
+
 	public ByteBuddyProxyHelper getByteBuddyProxyHelper() {
 		return byteBuddyProxyHelper;
 	}
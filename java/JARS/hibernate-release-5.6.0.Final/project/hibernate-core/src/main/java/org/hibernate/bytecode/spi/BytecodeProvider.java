@@ -6,6 +6,9 @@
  */
 package org.hibernate.bytecode.spi;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.hibernate.bytecode.enhance.spi.EnhancementContext;
 import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.service.Service;
@@ -21,6 +24,12 @@ import org.hibernate.service.Service;
  * @author Steve Ebersole
  */
 public interface BytecodeProvider extends Service {
+	/**
+	 * The resource listing, one name per line, the classes generated ahead of time by
+	 * {@link #generateClassesAheadOfTime} which the build tooling wrote out next to the entity classes.
+	 */
+	String PREGENERATED_CLASSES_RESOURCE = "META-INF/hibernate/pregenerated-classes.list";
+
 	/**
 	 * Retrieve the specific factory for this provider capable of
 	 * generating run-time proxies for lazy-loading purposes.
@@ -61,4 +70,18 @@ public interface BytecodeProvider extends Service {
 	 */
 	default void resetCaches() {}
 
+	/**
+	 * Generates ahead of time, typically at build time, the classes this provider would otherwise generate at
+	 * runtime for the given entity class.  Written out next to the entity class, these classes are then loaded
+	 * instead of being generated when the entity is first used, as long as they still match the entity class.
+	 *
+	 * @param entityClass The entity class.
+	 *
+	 * @return The bytecode of the generated classes by class name; empty if this provider does not generate
+	 * classes ahead of time.
+	 */
+	default Map<String, byte[]> generateClassesAheadOfTime(Class<?> entityClass) {
+		return Collections.emptyMap();
+	}
+
 }
@@ -28,6 +28,7 @@ import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.QuerySpacePartitions;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsRegion;
@@ -35,10 +36,12 @@ import org.hibernate.cache.spi.TimestampsCache;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.model.domain.NavigableRole;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -67,6 +70,7 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 	private final Map<NavigableRole,CollectionDataAccess> collectionAccessMap = new ConcurrentHashMap<>();
 
 	private final TimestampsCache timestampsCache;
+	private volatile QuerySpacePartitions querySpacePartitions;
 
 	private final QueryResultsCache defaultQueryResultsCache;
 	private final Map<String, QueryResultsCache> namedQueryResultsCacheMap = new ConcurrentHashMap<>();
@@ -206,6 +210,28 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 		return timestampsCache;
 	}
 
+	@Override
+	public QuerySpacePartitions getQuerySpacePartitions() {
+		QuerySpacePartitions partitions = querySpacePartitions;
+		if ( partitions == null ) {
+			// the persisters do not exist yet when the cache is primed
+			partitions = QuerySpacePartitions.from(
+					ConfigurationHelper.getString(
+							AvailableSettings.QUERY_CACHE_PARTITIONS,
+							sessionFactory.getProperties()
+					),
+					ConfigurationHelper.getInt(
+							AvailableSettings.QUERY_CACHE_PARTITION_BUCKETS,
+							sessionFactory.getProperties(),
+							QuerySpacePartitions.DEFAULT_BUCKET_COUNT
+					),
+					sessionFactory.getMetamodel()
+			);
+			querySpacePartitions = partitions;
+		}
+		return partitions;
+	}
+
 
 	@Override
 	public Region getRegion(String regionName) {
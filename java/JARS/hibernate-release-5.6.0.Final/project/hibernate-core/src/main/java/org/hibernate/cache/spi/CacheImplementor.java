@@ -78,6 +78,15 @@ public interface CacheImplementor extends Service, Cache, org.hibernate.engine.s
 	 */
 	TimestampsCache getTimestampsCache();
 
+	/**
+	 * The entities partitioned for the invalidation of the cached query results.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_PARTITIONS
+	 */
+	default QuerySpacePartitions getQuerySpacePartitions() {
+		return QuerySpacePartitions.NONE;
+	}
+
 	/**
 	 * Access to the "default" region used to store query results when caching
 	 * was requested but no region was explicitly named.  Will return {@code null}
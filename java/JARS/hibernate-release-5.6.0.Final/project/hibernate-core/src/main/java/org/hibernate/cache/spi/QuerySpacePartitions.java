@@ -0,0 +1,309 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.TransientObjectException;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.internal.ForeignKeys;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+/**
+ * Refines the invalidation of the cached query results of the query spaces (tables) of the entities partitioned
+ * by one of their attributes, such as a tenant or owner, as defined by {@link AvailableSettings#QUERY_CACHE_PARTITIONS}.
+ * <p/>
+ * A cached query declaring, through the {@link org.hibernate.annotations.QueryHints#CACHE_PARTITION} hint, that it
+ * only reads the rows of these entities having a given value of the partition attribute is only invalidated by the
+ * changes to the rows having that value: the partitioned query spaces of the query are replaced by one timestamps
+ * space per partition value, invalidated by the inserts, updates and deletes of the entities having that value before
+ * or after the change, plus one space per query space, invalidated by any other change to the query space, such as
+ * a bulk update.  The cached queries not declaring a partition keep being invalidated by any change to their query
+ * spaces.
+ * <p/>
+ * The partition values are hashed, by their string form, into a fixed number of buckets per query space, as each
+ * timestamps space is an entry of the timestamps region which is never removed: the values sharing a bucket
+ * invalidate the cached queries of each other.
+ */
+public final class QuerySpacePartitions {
+	/**
+	 * No entity is partitioned.
+	 */
+	public static final QuerySpacePartitions NONE = new QuerySpacePartitions(
+			Collections.emptyMap(),
+			Collections.emptySet(),
+			Collections.emptyMap(),
+			1
+	);
+
+	/**
+	 * The default number of buckets of partition values per query space.
+	 */
+	public static final int DEFAULT_BUCKET_COUNT = 1024;
+
+	private static final String ANY_PARTITION_SUFFIX = "#*";
+	private static final String PARTITION_VALUE_SEPARATOR = "#=";
+
+	private static final Object UNKNOWN_VALUE = new Object();
+
+	private final Map<String, Integer> partitionAttributeIndexByEntityName;
+	private final Set<Serializable> partitionedSpaces;
+	// the persisters of the entities which may be given as partition value, standing for their identifier
+	private final Map<Class<?>, EntityPersister> persisterByMappedClass;
+	private final int bucketCount;
+
+	private QuerySpacePartitions(
+			Map<String, Integer> partitionAttributeIndexByEntityName,
+			Set<Serializable> partitionedSpaces,
+			Map<Class<?>, EntityPersister> persisterByMappedClass,
+			int bucketCount) {
+		this.partitionAttributeIndexByEntityName = partitionAttributeIndexByEntityName;
+		this.partitionedSpaces = partitionedSpaces;
+		this.persisterByMappedClass = persisterByMappedClass;
+		this.bucketCount = bucketCount;
+	}
+
+	/**
+	 * Resolves the partitions defined by the {@link AvailableSettings#QUERY_CACHE_PARTITIONS} setting.
+	 *
+	 * @param setting The comma-separated {@code <entity name>.<attribute name>} list, or {@code null}
+	 * @param bucketCount The number of buckets of partition values per query space, see
+	 * {@link AvailableSettings#QUERY_CACHE_PARTITION_BUCKETS}
+	 * @param metamodel The metamodel defining the entities
+	 *
+	 * @return The partitions, {@link #NONE} if the setting is empty
+	 */
+	public static QuerySpacePartitions from(String setting, int bucketCount, MetamodelImplementor metamodel) {
+		if ( StringHelper.isEmpty( setting ) ) {
+			return NONE;
+		}
+		if ( bucketCount <= 0 ) {
+			throw new HibernateException(
+					"Invalid number of query cache partition buckets [" + bucketCount + "] in `"
+							+ AvailableSettings.QUERY_CACHE_PARTITION_BUCKETS + "`"
+			);
+		}
+
+		final Map<String, Integer> partitionAttributeIndexByEntityName = new HashMap<>();
+		final Set<Serializable> partitionedSpaces = new HashSet<>();
+		for ( String partition : StringHelper.split( ", \t\n", setting ) ) {
+			final int separator = partition.lastIndexOf( '.' );
+			if ( separator <= 0 ) {
+				throw new HibernateException(
+						String.format(
+								Locale.ROOT,
+								"Invalid query cache partition [%s], expecting <entity name>.<attribute name> in `%s`",
+								partition,
+								AvailableSettings.QUERY_CACHE_PARTITIONS
+						)
+				);
+			}
+			final String entityName = metamodel.getImportedClassName( partition.substring( 0, separator ) );
+			final String attributeName = partition.substring( separator + 1 );
+
+			final EntityPersister partitionedPersister;
+			try {
+				partitionedPersister = metamodel.entityPersister( entityName );
+			}
+			catch (MappingException e) {
+				throw new HibernateException( "Unknown entity of query cache partition [" + partition + "]", e );
+			}
+
+			for ( EntityPersister persister : metamodel.entityPersisters().values() ) {
+				if ( persister == partitionedPersister
+						|| partitionedPersister.isSubclassEntityName( persister.getEntityName() ) ) {
+					final int index = resolvePartitionAttributeIndex( persister, attributeName, partition );
+					partitionAttributeIndexByEntityName.put( persister.getEntityName(), index );
+					Collections.addAll( partitionedSpaces, persister.getPropertySpaces() );
+				}
+			}
+		}
+		final Map<Class<?>, EntityPersister> persisterByMappedClass = new HashMap<>();
+		for ( EntityPersister persister : metamodel.entityPersisters().values() ) {
+			if ( persister.getMappedClass() != null ) {
+				persisterByMappedClass.put( persister.getMappedClass(), persister );
+			}
+		}
+		return new QuerySpacePartitions(
+				partitionAttributeIndexByEntityName,
+				partitionedSpaces,
+				persisterByMappedClass,
+				bucketCount
+		);
+	}
+
+	private static int resolvePartitionAttributeIndex(EntityPersister persister, String attributeName, String partition) {
+		final Integer index = persister.getEntityMetamodel().getPropertyIndexOrNull( attributeName );
+		if ( index == null ) {
+			throw new HibernateException( "Unknown attribute of query cache partition [" + partition + "]" );
+		}
+		final Type type = persister.getPropertyTypes()[index];
+		if ( type.isComponentType() || type.isCollectionType()
+				|| ( type.isEntityType() && !( (EntityType) type ).isReferenceToPrimaryKey() ) ) {
+			throw new HibernateException(
+					"Query cache partition [" + partition + "] must be a basic attribute or a to-one association"
+			);
+		}
+		return index;
+	}
+
+	/**
+	 * Is any entity partitioned?
+	 */
+	public boolean isEmpty() {
+		return partitionAttributeIndexByEntityName.isEmpty();
+	}
+
+	/**
+	 * Determine the timestamps spaces to check for the results of a query reading only the rows of the
+	 * partitioned entities having the given value of the partition attribute.
+	 *
+	 * @param querySpaces The query spaces of the query
+	 * @param partitionValue The value of the partition attribute, either the identifier or the instance of the
+	 * associated entity for a to-one
+	 * @param session The session executing the query
+	 *
+	 * @return The spaces to check
+	 */
+	public Set<Serializable> toPartitionSpaces(
+			Set<Serializable> querySpaces,
+			Object partitionValue,
+			SharedSessionContractImplementor session) {
+		if ( isEmpty() || querySpaces == null ) {
+			return querySpaces;
+		}
+		final int bucket = bucket( toIdentifierIfEntity( partitionValue, session ) );
+		final Set<Serializable> spaces = new LinkedHashSet<>();
+		for ( Serializable space : querySpaces ) {
+			if ( partitionedSpaces.contains( space ) ) {
+				spaces.add( space + ANY_PARTITION_SUFFIX );
+				spaces.add( space + PARTITION_VALUE_SEPARATOR + bucket );
+			}
+			else {
+				spaces.add( space );
+			}
+		}
+		return spaces;
+	}
+
+	/**
+	 * Collect the timestamps spaces to invalidate, in addition to its query spaces, for a change made to an entity.
+	 *
+	 * @param persister The persister of the entity
+	 * @param state The state of the entity before or after the change, {@code null} if unknown
+	 * @param session The session making the change
+	 * @param spaces The spaces to invalidate
+	 */
+	public void collectSpacesToInvalidate(
+			EntityPersister persister,
+			Object[] state,
+			SharedSessionContractImplementor session,
+			Collection<Serializable> spaces) {
+		if ( isEmpty() ) {
+			return;
+		}
+		final Integer index = partitionAttributeIndexByEntityName.get( persister.getEntityName() );
+		if ( index == null || state == null ) {
+			collectSpacesToInvalidate( persister.getPropertySpaces(), spaces );
+			return;
+		}
+
+		final Object value = resolvePartitionValue( persister.getPropertyTypes()[index], state[index], session );
+		if ( value == UNKNOWN_VALUE ) {
+			collectSpacesToInvalidate( persister.getPropertySpaces(), spaces );
+		}
+		else if ( value != null ) {
+			// the rows without value are read by no partitioned query
+			final int bucket = bucket( value );
+			for ( Serializable space : persister.getPropertySpaces() ) {
+				if ( partitionedSpaces.contains( space ) ) {
+					spaces.add( space + PARTITION_VALUE_SEPARATOR + bucket );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collect the timestamps spaces to invalidate, in addition to the given query spaces, for a change whose
+	 * partitions are unknown, such as a bulk update.
+	 *
+	 * @param querySpaces The changed query spaces
+	 * @param spaces The spaces to invalidate
+	 */
+	public void collectSpacesToInvalidate(Serializable[] querySpaces, Collection<Serializable> spaces) {
+		if ( isEmpty() ) {
+			return;
+		}
+		for ( Serializable space : querySpaces ) {
+			if ( partitionedSpaces.contains( space ) ) {
+				spaces.add( space + ANY_PARTITION_SUFFIX );
+			}
+		}
+	}
+
+	private int bucket(Object partitionValue) {
+		final int hash = partitionValue.toString().hashCode();
+		// spreads the high bits, as the string hashes of close numbers only differ by their low bits
+		return Math.floorMod( hash ^ ( hash >>> 16 ) ^ ( hash >>> 8 ), bucketCount );
+	}
+
+	/**
+	 * The identifier of the given partition value if it is an entity, as the value of a to-one partition attribute
+	 * is the identifier of the associated entity.
+	 */
+	private Object toIdentifierIfEntity(Object partitionValue, SharedSessionContractImplementor session) {
+		if ( partitionValue instanceof HibernateProxy ) {
+			return ( (HibernateProxy) partitionValue ).getHibernateLazyInitializer().getIdentifier();
+		}
+		final EntityPersister persister = persisterByMappedClass.get( partitionValue.getClass() );
+		return persister == null ? partitionValue : persister.getIdentifier( partitionValue, session );
+	}
+
+	private static Object resolvePartitionValue(Type type, Object value, SharedSessionContractImplementor session) {
+		if ( value == null ) {
+			return null;
+		}
+		if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY || value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			return UNKNOWN_VALUE;
+		}
+		if ( type.isEntityType() ) {
+			if ( value instanceof HibernateProxy ) {
+				return ( (HibernateProxy) value ).getHibernateLazyInitializer().getIdentifier();
+			}
+			try {
+				final Serializable id = ForeignKeys.getEntityIdentifierIfNotUnsaved(
+						( (EntityType) type ).getAssociatedEntityName(),
+						value,
+						session
+				);
+				return id == null ? UNKNOWN_VALUE : id;
+			}
+			catch (TransientObjectException e) {
+				return UNKNOWN_VALUE;
+			}
+		}
+		return value;
+	}
+}
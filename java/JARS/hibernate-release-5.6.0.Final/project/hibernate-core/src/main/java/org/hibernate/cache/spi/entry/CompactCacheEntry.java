@@ -0,0 +1,631 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.HibernateException;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.Type;
+
+/**
+ * Compact CacheEntry format for entities.  Used to store the entry into the second-level cache as a
+ * {@code byte[]}, rather than as an entry object holding an array of boxed values and the entity name.
+ * <p/>
+ * The entity is identified by its position among the sorted entity names of its hierarchy, and each
+ * disassembled value is written as a one byte tag followed by its fixed-width form (e.g. 4 bytes for an
+ * {@code Integer}, 8 bytes for a {@code Long} or a {@code Timestamp} millisecond count) or its
+ * length-prefixed form (e.g. for a {@code String}).  The form expected for each attribute is derived
+ * from its {@link Type}; the values of other classes are written by their class, the
+ * {@link Serializable} values of unknown classes falling back to Java serialization.
+ * <p/>
+ * The entries written by one SessionFactory can only be read by a SessionFactory mapping the same
+ * entity hierarchy.
+ */
+public class CompactCacheEntry implements CacheEntryStructure {
+	private static final byte NULL = 0;
+	private static final byte UNFETCHED = 1;
+	private static final byte UNKNOWN = 2;
+	private static final byte SERIALIZED = 3;
+	private static final byte OBJECT_ARRAY = 4;
+	private static final byte SERIALIZABLE_ARRAY = 5;
+	private static final byte FIRST_CODEC = 6;
+
+	private static final Map<Class<?>, ValueCodec> CODECS = new HashMap<>();
+
+	static {
+		for ( ValueCodec codec : ValueCodec.values() ) {
+			CODECS.put( codec.javaType, codec );
+		}
+		CODECS.put( boolean.class, ValueCodec.BOOLEAN );
+		CODECS.put( byte.class, ValueCodec.BYTE );
+		CODECS.put( short.class, ValueCodec.SHORT );
+		CODECS.put( int.class, ValueCodec.INTEGER );
+		CODECS.put( long.class, ValueCodec.LONG );
+		CODECS.put( float.class, ValueCodec.FLOAT );
+		CODECS.put( double.class, ValueCodec.DOUBLE );
+		CODECS.put( char.class, ValueCodec.CHARACTER );
+	}
+
+	private final EntityPersister persister;
+	private final ValueCodec[] propertyCodecs;
+	private final ValueCodec versionCodec;
+
+	private volatile String[] hierarchyEntityNames;
+	private volatile int estimatedSize = 64;
+
+	/**
+	 * Constructs a CompactCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public CompactCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+		final Type[] propertyTypes = persister.getPropertyTypes();
+		this.propertyCodecs = new ValueCodec[propertyTypes.length];
+		for ( int i = 0; i < propertyTypes.length; i++ ) {
+			propertyCodecs[i] = codec( propertyTypes[i] );
+		}
+		this.versionCodec = persister.isVersioned() ? codec( persister.getVersionType() ) : null;
+	}
+
+	private static ValueCodec codec(Type type) {
+		return type instanceof BasicType ? CODECS.get( type.getReturnedClass() ) : null;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final CompactCacheEntry subclassStructure = subclassStructure( entry.getSubclass() );
+		final Serializable[] disassembledState = entry.getDisassembledState();
+
+		final Output output = new Output( estimatedSize );
+		output.writeVarInt( persisterId( entry.getSubclass() ) );
+		writeValue( entry.getVersion(), subclassStructure.versionCodec, output );
+		for ( int i = 0; i < disassembledState.length; i++ ) {
+			writeValue( disassembledState[i], subclassStructure.propertyCodecs[i], output );
+		}
+		estimatedSize = output.size;
+		return output.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		if ( structured instanceof CacheEntry ) {
+			// written by a node using the standard format
+			return structured;
+		}
+
+		final Input input = new Input( (byte[]) structured );
+		final String subclass = entityName( input.readVarInt() );
+		final Object version = readValue( input );
+		final Serializable[] disassembledState = new Serializable[factory.getMetamodel().entityPersister( subclass ).getPropertyNames().length];
+		for ( int i = 0; i < disassembledState.length; i++ ) {
+			disassembledState[i] = (Serializable) readValue( input );
+		}
+		return new StandardCacheEntryImpl( disassembledState, subclass, version );
+	}
+
+	private CompactCacheEntry subclassStructure(String subclass) {
+		if ( persister.getEntityName().equals( subclass ) ) {
+			return this;
+		}
+		final EntityPersister subclassPersister = persister.getFactory().getMetamodel().entityPersister( subclass );
+		final CacheEntryStructure structure = subclassPersister.getCacheEntryStructure();
+		return structure instanceof CompactCacheEntry ? (CompactCacheEntry) structure : new CompactCacheEntry( subclassPersister );
+	}
+
+	private int persisterId(String entityName) {
+		final int persisterId = Arrays.binarySearch( hierarchyEntityNames(), entityName );
+		if ( persisterId < 0 ) {
+			throw new HibernateException( "Entity " + entityName + " does not belong to the hierarchy of " + persister.getEntityName() );
+		}
+		return persisterId;
+	}
+
+	private String entityName(int persisterId) {
+		final String[] entityNames = hierarchyEntityNames();
+		if ( persisterId >= entityNames.length ) {
+			throw new HibernateException( "Unknown entity " + persisterId + " in the hierarchy of " + persister.getEntityName() );
+		}
+		return entityNames[persisterId];
+	}
+
+	@SuppressWarnings("unchecked")
+	private String[] hierarchyEntityNames() {
+		String[] entityNames = hierarchyEntityNames;
+		if ( entityNames == null ) {
+			final EntityPersister rootPersister = persister.getFactory().getMetamodel().entityPersister( persister.getRootEntityName() );
+			entityNames = (String[]) rootPersister.getEntityMetamodel().getSubclassEntityNames().toArray( new String[0] );
+			Arrays.sort( entityNames );
+			hierarchyEntityNames = entityNames;
+		}
+		return entityNames;
+	}
+
+	private void writeValue(Object value, ValueCodec expectedCodec, Output output) {
+		if ( value == null ) {
+			output.writeByte( NULL );
+		}
+		else if ( expectedCodec != null && expectedCodec.javaType == value.getClass() && expectedCodec.canWrite( value ) ) {
+			output.writeByte( FIRST_CODEC + expectedCodec.ordinal() );
+			expectedCodec.write( value, output );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			output.writeByte( UNFETCHED );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			output.writeByte( UNKNOWN );
+		}
+		else if ( value.getClass() == Object[].class || value.getClass() == Serializable[].class ) {
+			// the disassembled state of an embeddable
+			final Object[] values = (Object[]) value;
+			output.writeByte( value.getClass() == Object[].class ? OBJECT_ARRAY : SERIALIZABLE_ARRAY );
+			output.writeVarInt( values.length );
+			for ( Object element : values ) {
+				writeValue( element, null, output );
+			}
+		}
+		else {
+			final ValueCodec codec = CODECS.get( value.getClass() );
+			if ( codec != null && codec.canWrite( value ) ) {
+				output.writeByte( FIRST_CODEC + codec.ordinal() );
+				codec.write( value, output );
+			}
+			else {
+				output.writeByte( SERIALIZED );
+				output.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+			}
+		}
+	}
+
+	private Object readValue(Input input) {
+		final int tag = input.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case OBJECT_ARRAY:
+			case SERIALIZABLE_ARRAY: {
+				final int length = input.readVarInt();
+				final Object[] values = tag == OBJECT_ARRAY ? new Object[length] : new Serializable[length];
+				for ( int i = 0; i < length; i++ ) {
+					values[i] = readValue( input );
+				}
+				return values;
+			}
+			case SERIALIZED: {
+				final byte[] bytes = input.readBytes();
+				final Class<?> mappedClass = persister.getMappedClass();
+				return mappedClass == null || mappedClass.getClassLoader() == null
+						? SerializationHelper.deserialize( bytes )
+						: SerializationHelper.deserialize( bytes, mappedClass.getClassLoader() );
+			}
+			default: {
+				final int ordinal = tag - FIRST_CODEC;
+				if ( ordinal < 0 || ordinal >= ValueCodec.VALUES.length ) {
+					throw new HibernateException( "Unknown value tag " + tag + " in compact cache entry of " + persister.getEntityName() );
+				}
+				return ValueCodec.VALUES[ordinal].read( input );
+			}
+		}
+	}
+
+	/**
+	 * The binary forms of the values of the common immutable classes.  The tag written for a value is derived
+	 * from the ordinal of its codec, so new codecs must be added last.
+	 */
+	private enum ValueCodec {
+		BOOLEAN( Boolean.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeByte( (Boolean) value ? 1 : 0 );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readByte() != 0;
+			}
+		},
+		BYTE( Byte.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeByte( (Byte) value );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readByte();
+			}
+		},
+		SHORT( Short.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeShort( (Short) value );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readShort();
+			}
+		},
+		INTEGER( Integer.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeInt( (Integer) value );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readInt();
+			}
+		},
+		LONG( Long.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( (Long) value );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readLong();
+			}
+		},
+		FLOAT( Float.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeInt( Float.floatToRawIntBits( (Float) value ) );
+			}
+
+			@Override
+			Object read(Input input) {
+				return Float.intBitsToFloat( input.readInt() );
+			}
+		},
+		DOUBLE( Double.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( Double.doubleToRawLongBits( (Double) value ) );
+			}
+
+			@Override
+			Object read(Input input) {
+				return Double.longBitsToDouble( input.readLong() );
+			}
+		},
+		CHARACTER( Character.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeShort( (short) ( (Character) value ).charValue() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return (char) input.readShort();
+			}
+		},
+		STRING( String.class ) {
+			/**
+			 * UTF-8 has no form for the surrogates which are not part of a pair, so the strings holding some are
+			 * serialized instead.
+			 */
+			@Override
+			boolean canWrite(Object value) {
+				final String string = (String) value;
+				for ( int i = 0; i < string.length(); i++ ) {
+					final char c = string.charAt( i );
+					if ( Character.isHighSurrogate( c ) ) {
+						if ( i + 1 == string.length() || !Character.isLowSurrogate( string.charAt( i + 1 ) ) ) {
+							return false;
+						}
+						i++;
+					}
+					else if ( Character.isLowSurrogate( c ) ) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			@Override
+			void write(Object value, Output output) {
+				output.writeBytes( ( (String) value ).getBytes( StandardCharsets.UTF_8 ) );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readString();
+			}
+		},
+		BYTES( byte[].class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeBytes( (byte[]) value );
+			}
+
+			@Override
+			Object read(Input input) {
+				return input.readBytes();
+			}
+		},
+		UUID_VALUE( UUID.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (UUID) value ).getMostSignificantBits() );
+				output.writeLong( ( (UUID) value ).getLeastSignificantBits() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return new UUID( input.readLong(), input.readLong() );
+			}
+		},
+		BIG_INTEGER( BigInteger.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeBytes( ( (BigInteger) value ).toByteArray() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return new BigInteger( input.readBytes() );
+			}
+		},
+		BIG_DECIMAL( BigDecimal.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeInt( ( (BigDecimal) value ).scale() );
+				output.writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+			}
+
+			@Override
+			Object read(Input input) {
+				final int scale = input.readInt();
+				return new BigDecimal( new BigInteger( input.readBytes() ), scale );
+			}
+		},
+		DATE( java.util.Date.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (java.util.Date) value ).getTime() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return new java.util.Date( input.readLong() );
+			}
+		},
+		SQL_DATE( java.sql.Date.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (java.sql.Date) value ).getTime() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return new java.sql.Date( input.readLong() );
+			}
+		},
+		SQL_TIME( java.sql.Time.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (java.sql.Time) value ).getTime() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return new java.sql.Time( input.readLong() );
+			}
+		},
+		SQL_TIMESTAMP( java.sql.Timestamp.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (java.sql.Timestamp) value ).getTime() );
+				output.writeInt( ( (java.sql.Timestamp) value ).getNanos() );
+			}
+
+			@Override
+			Object read(Input input) {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( input.readLong() );
+				timestamp.setNanos( input.readInt() );
+				return timestamp;
+			}
+		},
+		LOCAL_DATE( LocalDate.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (LocalDate) value ).toEpochDay() );
+			}
+
+			@Override
+			Object read(Input input) {
+				return LocalDate.ofEpochDay( input.readLong() );
+			}
+		},
+		LOCAL_DATE_TIME( LocalDateTime.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (LocalDateTime) value ).toLocalDate().toEpochDay() );
+				output.writeLong( ( (LocalDateTime) value ).toLocalTime().toNanoOfDay() );
+			}
+
+			@Override
+			Object read(Input input) {
+				final LocalDate date = LocalDate.ofEpochDay( input.readLong() );
+				return LocalDateTime.of( date, java.time.LocalTime.ofNanoOfDay( input.readLong() ) );
+			}
+		},
+		INSTANT( Instant.class ) {
+			@Override
+			void write(Object value, Output output) {
+				output.writeLong( ( (Instant) value ).getEpochSecond() );
+				output.writeInt( ( (Instant) value ).getNano() );
+			}
+
+			@Override
+			Object read(Input input) {
+				final long epochSecond = input.readLong();
+				return Instant.ofEpochSecond( epochSecond, input.readInt() );
+			}
+		};
+
+		private static final ValueCodec[] VALUES = values();
+
+		private final Class<?> javaType;
+
+		ValueCodec(Class<?> javaType) {
+			this.javaType = javaType;
+		}
+
+		/**
+		 * Can the given value be written in the binary form of this codec without loss?
+		 */
+		boolean canWrite(Object value) {
+			return true;
+		}
+
+		abstract void write(Object value, Output output);
+
+		abstract Object read(Input input);
+	}
+
+	private static class Output {
+		private byte[] bytes;
+		private int size;
+
+		private Output(int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		private void ensureCapacity(int count) {
+			if ( size + count > bytes.length ) {
+				bytes = Arrays.copyOf( bytes, Math.max( bytes.length * 2, size + count ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeShort(short value) {
+			ensureCapacity( 2 );
+			bytes[size++] = (byte) ( value >>> 8 );
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeInt(int value) {
+			ensureCapacity( 4 );
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				bytes[size++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				bytes[size++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeVarInt(int value) {
+			while ( ( value & ~0x7F ) != 0 ) {
+				writeByte( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			writeByte( value );
+		}
+
+		private void writeBytes(byte[] value) {
+			writeVarInt( value.length );
+			ensureCapacity( value.length );
+			System.arraycopy( value, 0, bytes, size, value.length );
+			size += value.length;
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( bytes, size );
+		}
+	}
+
+	private static class Input {
+		private final byte[] bytes;
+		private int position;
+
+		private Input(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		private byte readByte() {
+			return bytes[position++];
+		}
+
+		private short readShort() {
+			return (short) ( ( ( bytes[position++] & 0xFF ) << 8 ) | ( bytes[position++] & 0xFF ) );
+		}
+
+		private int readInt() {
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( bytes[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long readLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( bytes[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private int readVarInt() {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = bytes[position++];
+				value |= ( b & 0x7F ) << shift;
+				shift += 7;
+			} while ( b < 0 );
+			return value;
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarInt();
+			final byte[] value = Arrays.copyOfRange( bytes, position, position + length );
+			position += length;
+			return value;
+		}
+
+		private String readString() {
+			final int length = readVarInt();
+			final String value = new String( bytes, position, length, StandardCharsets.UTF_8 );
+			position += length;
+			return value;
+		}
+	}
+}
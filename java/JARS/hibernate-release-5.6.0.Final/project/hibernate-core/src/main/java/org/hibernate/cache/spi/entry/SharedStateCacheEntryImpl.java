@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PreLoadEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.CustomType;
+import org.hibernate.type.EnumType;
+import org.hibernate.type.Type;
+
+/**
+ * Representation of the cached data of an immutable entity whose attributes are all immutable basic values, or
+ * embeddables of such values.  The disassembled form of these values is the values themselves, so the disassembled
+ * state is shared by the sessions reading the entry, as the loaded state of the entities, rather than assembled
+ * into a new array on each hit.
+ * <p/>
+ * The state is copied, and the embeddables assembled into new instances, only when the entity has embeddable
+ * attributes, or when the state could be modified by an {@link org.hibernate.Interceptor} or a
+ * {@link PreLoadEventListener}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_SHARED_STATE_CACHE_ENTRIES
+ */
+public class SharedStateCacheEntryImpl extends StandardCacheEntryImpl {
+
+	/**
+	 * Constructs a SharedStateCacheEntryImpl
+	 *
+	 * @param state The extracted state
+	 * @param persister The entity persister
+	 * @param version The current version (if versioned)
+	 * @param session The originating session
+	 * @param owner The owner
+	 *
+	 * @throws HibernateException Generally indicates a problem performing the dis-assembly.
+	 */
+	public SharedStateCacheEntryImpl(
+			final Object[] state,
+			final EntityPersister persister,
+			final Object version,
+			final SharedSessionContractImplementor session,
+			final Object owner) throws HibernateException {
+		super( state, persister, version, session, owner );
+	}
+
+	/**
+	 * Can the state of the given attribute types be shared?
+	 *
+	 * @param types The attribute types
+	 *
+	 * @return {@code true} if each of the types is an immutable basic type or enum, or an embeddable of such types
+	 */
+	public static boolean isShareable(Type[] types) {
+		for ( Type type : types ) {
+			if ( type instanceof ComponentType ) {
+				if ( !isShareable( ( (ComponentType) type ).getSubtypes() ) ) {
+					return false;
+				}
+			}
+			else if ( !isBasicOrEnum( type ) || type.isMutable() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isBasicOrEnum(Type type) {
+		return type instanceof AbstractStandardBasicType
+				|| type instanceof CustomType && ( (CustomType) type ).getUserType() instanceof EnumType;
+	}
+
+	@Override
+	public boolean isDeepCopyNeeded() {
+		// the shared values are immutable, and the embeddables are assembled into new instances
+		return false;
+	}
+
+	@Override
+	protected Object[] assembleState(Object instance, EntityPersister persister, EventSource session) {
+		final Serializable[] disassembledState = getDisassembledState();
+		final Type[] types = persister.getPropertyTypes();
+		final boolean hasEmbeddables = hasEmbeddables( types );
+		if ( !hasEmbeddables && !isPreLoadCustomized( session ) ) {
+			return disassembledState;
+		}
+
+		// copy on write
+		final Object[] state = Arrays.copyOf( disassembledState, disassembledState.length, Object[].class );
+		if ( hasEmbeddables ) {
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( types[i].isComponentType() ) {
+					state[i] = types[i].assemble( disassembledState[i], session, instance );
+				}
+			}
+		}
+		return state;
+	}
+
+	private static boolean hasEmbeddables(Type[] types) {
+		for ( Type type : types ) {
+			if ( type.isComponentType() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isPreLoadCustomized(EventSource session) {
+		if ( session.getInterceptor() != EmptyInterceptor.INSTANCE ) {
+			return true;
+		}
+		return session.getFactory().getFastSessionServices().hasCustomPreLoadListeners();
+	}
+
+	@Override
+	public String toString() {
+		return "SharedStateCacheEntry(" + getSubclass() + ')';
+	}
+}
@@ -131,12 +131,7 @@ public class StandardCacheEntryImpl implements CacheEntry {
 			throw new AssertionFailure( "Tried to assemble a different subclass instance" );
 		}
 
-		//assembled state gets put in a new array (we read from cache by value!)
-		final Object[] state = TypeHelper.assemble(
-				disassembledState,
-				persister.getPropertyTypes(),
-				session, instance
-		);
+		final Object[] state = assembleState( instance, persister, session );
 
 		//persister.setIdentifier(instance, id); //before calling interceptor, for consistency with normal load
 
@@ -161,6 +156,24 @@ public class StandardCacheEntryImpl implements CacheEntry {
 		return state;
 	}
 
+	/**
+	 * Assemble the previously disassembled state represented by this entry, for the given entity instance.
+	 *
+	 * @param instance The entity instance
+	 * @param persister The entity persister
+	 * @param session The session
+	 *
+	 * @return The assembled state
+	 */
+	protected Object[] assembleState(Object instance, EntityPersister persister, EventSource session) {
+		//assembled state gets put in a new array (we read from cache by value!)
+		return TypeHelper.assemble(
+				disassembledState,
+				persister.getPropertyTypes(),
+				session, instance
+		);
+	}
+
 	@Override
 	public String toString() {
 		return "CacheEntry(" + subclass + ')';
@@ -10,9 +10,12 @@ import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.SecondLevelCacheLogger;
@@ -22,21 +25,39 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.jboss.logging.Logger;
 
 /**
+ * Support for read-write access to a region.
+ * <p/>
+ * The accesses to the cached items are serialized per key, by a lock taken from a fixed set of stripes: accesses to
+ * keys of different stripes do not contend.  Reads do not lock at all unless they overlap a write to their stripe.
+ *
  * @author Steve Ebersole
  */
 public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAccess {
 	private static final Logger log = Logger.getLogger( AbstractReadWriteAccess.class );
 
+	private static final int STRIPE_COUNT = stripeCount();
+
 	private final UUID uuid = UUID.randomUUID();
 	private final AtomicLong nextLockId = new AtomicLong();
-	private final ReentrantReadWriteLock reentrantReadWriteLock = new ReentrantReadWriteLock();
-	private final Lock readLock = reentrantReadWriteLock.readLock();
-	private final Lock writeLock = reentrantReadWriteLock.writeLock();
+	private final StampedLock[] stripes = new StampedLock[STRIPE_COUNT];
+	// counts the holds of the deprecated locks of all the stripes, making them reentrant
+	private final ReentrantReadWriteLock allStripes = new ReentrantReadWriteLock();
+	private final Lock readLock = new AllStripesLock( allStripes.readLock(), false );
+	private final Lock writeLock = new AllStripesLock( allStripes.writeLock(), true );
 
 	protected AbstractReadWriteAccess(
 			DomainDataRegion domainDataRegion,
 			DomainDataStorageAccess storageAccess) {
 		super( domainDataRegion, storageAccess );
+		for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+			stripes[i] = new StampedLock();
+		}
+	}
+
+	private static int stripeCount() {
+		// a power of two, so that the stripe of a key is a mask of its hash
+		final int processors = Runtime.getRuntime().availableProcessors();
+		return Integer.highestOneBit( Math.min( Math.max( processors * 4, 16 ), 256 ) );
 	}
 
 	protected abstract Comparator getVersionComparator();
@@ -49,10 +70,40 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		return nextLockId.getAndIncrement();
 	}
 
+	/**
+	 * The lock serializing the accesses to the given key, shared with the keys of the same stripe.
+	 */
+	protected StampedLock lockFor(Object key) {
+		final int hash = key.hashCode();
+		return stripes[( hash ^ ( hash >>> 16 ) ) & ( STRIPE_COUNT - 1 )];
+	}
+
+	/**
+	 * The write lock of the stripe of the given key, or the write lock of all the stripes if the current thread
+	 * holds it, as the stripes are not reentrant.
+	 */
+	protected Lock writeLock(Object key) {
+		return allStripes.isWriteLockedByCurrentThread() ? writeLock : lockFor( key ).asWriteLock();
+	}
+
+	/**
+	 * Reentrant, as the lock it replaces.  Like a {@link ReentrantReadWriteLock}, a thread holding it cannot take
+	 * the {@link #writeLock() write lock}, nor the write lock of a key.
+	 *
+	 * @deprecated Use {@link #lockFor(Object)} instead, as this locks the stripes of all the keys
+	 */
+	@Deprecated
 	protected Lock readLock() {
 		return readLock;
 	}
 
+	/**
+	 * Reentrant, as the lock it replaces.  A thread holding it may take the {@link #readLock() read lock}, and
+	 * access any key.
+	 *
+	 * @deprecated Use {@link #writeLock(Object)} instead, as this locks the stripes of all the keys
+	 */
+	@Deprecated
 	protected Lock writeLock() {
 		return writeLock;
 	}
@@ -64,27 +115,44 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 	@Override
 	public Object get(SharedSessionContractImplementor session, Object key) {
 		log.debugf( "Getting cached data from region [`%s` (%s)] by key [%s]", getRegion().getName(), getAccessType(), key );
-		try {
-			readLock.lock();
-			Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
-
-			if ( item == null ) {
-				log.debugf( "Cache miss : region = `%s`, key = `%s`", getRegion().getName(), key );
-				return null;
+		if ( allStripes.isWriteLockedByCurrentThread() ) {
+			return read( session, key );
+		}
+		final StampedLock lock = lockFor( key );
+		final long optimisticStamp = lock.tryOptimisticRead();
+		if ( optimisticStamp != 0L ) {
+			// the cached items are immutable, except for the soft locks which are never readable
+			final Object value = read( session, key );
+			if ( lock.validate( optimisticStamp ) ) {
+				return value;
 			}
+		}
 
-			boolean readable = item.isReadable( session.getTransactionStartTimestamp() );
-			if ( readable ) {
-				log.debugf( "Cache hit : region = `%s`, key = `%s`", getRegion().getName(), key );
-				return item.getValue();
-			}
-			else {
-				log.debugf( "Cache hit, but item is unreadable/invalid : region = `%s`, key = `%s`", getRegion().getName(), key );
-				return null;
-			}
+		final long stamp = lock.readLock();
+		try {
+			return read( session, key );
 		}
 		finally {
-			readLock.unlock();
+			lock.unlockRead( stamp );
+		}
+	}
+
+	private Object read(SharedSessionContractImplementor session, Object key) {
+		Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
+
+		if ( item == null ) {
+			log.debugf( "Cache miss : region = `%s`, key = `%s`", getRegion().getName(), key );
+			return null;
+		}
+
+		boolean readable = item.isReadable( session.getTransactionStartTimestamp() );
+		if ( readable ) {
+			log.debugf( "Cache hit : region = `%s`, key = `%s`", getRegion().getName(), key );
+			return item.getValue();
+		}
+		else {
+			log.debugf( "Cache hit, but item is unreadable/invalid : region = `%s`, key = `%s`", getRegion().getName(), key );
+			return null;
 		}
 	}
 
@@ -96,7 +164,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			Object version) {
 		try {
 			log.debugf( "Caching data from load [region=`%s` (%s)] : key[%s] -> value[%s]", getRegion().getName(), getAccessType(), key, value );
-			writeLock.lock();
+			writeLock( key ).lock();
 			Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
 
 			boolean writable = item == null || item.isWriteable( session.getTransactionStartTimestamp(), version, getVersionComparator() );
@@ -120,7 +188,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			}
 		}
 		finally {
-			writeLock.unlock();
+			writeLock( key ).unlock();
 		}
 	}
 
@@ -139,7 +207,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 	@Override
 	public SoftLock lockItem(SharedSessionContractImplementor session, Object key, Object version) {
 		try {
-			writeLock.lock();
+			writeLock( key ).lock();
 
 			long timeout = getRegion().getRegionFactory().nextTimestamp() + getRegion().getRegionFactory().getTimeout();
 			log.debugf( "Locking cache item [region=`%s` (%s)] : `%s` (timeout=%s, version=%s)", getRegion().getName(), getAccessType(), key, timeout, version );
@@ -152,7 +220,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			return lock;
 		}
 		finally {
-			writeLock.unlock();
+			writeLock( key ).unlock();
 		}
 	}
 
@@ -160,7 +228,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 	public void unlockItem(SharedSessionContractImplementor session, Object key, SoftLock lock) {
 		try {
 			log.debugf( "Unlocking cache item [region=`%s` (%s)] : %s", getRegion().getName(), getAccessType(), key );
-			writeLock.lock();
+			writeLock( key ).lock();
 			Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
 
 			if ( ( item != null ) && item.isUnlockable( lock ) ) {
@@ -171,7 +239,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			}
 		}
 		finally {
-			writeLock.unlock();
+			writeLock( key ).unlock();
 		}
 	}
 
@@ -210,6 +278,173 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		// A no-op
 	}
 
+	/**
+	 * A lock of all the stripes, acquired in order.  It is made reentrant by a lock of the {@link #allStripes}
+	 * read-write lock, counting the holds of each thread: the stripes are acquired by the first hold and released by
+	 * the last one.  The stripes are write locked as long as the thread holds the write lock, then read locked as
+	 * long as it holds the read lock.
+	 */
+	private class AllStripesLock implements Lock {
+		private final Lock holds;
+		private final boolean exclusive;
+		// the stamps of the stripes write locked by the thread holding the write lock
+		private final long[] stamps;
+
+		private AllStripesLock(Lock holds, boolean exclusive) {
+			this.holds = holds;
+			this.exclusive = exclusive;
+			this.stamps = exclusive ? new long[STRIPE_COUNT] : null;
+		}
+
+		/**
+		 * Whether the current thread has the stripes to acquire, having just taken its first hold, or to release,
+		 * being about to release its last hold.
+		 */
+		private boolean isSoleHold() {
+			return exclusive
+					? allStripes.getWriteHoldCount() == 1
+					: allStripes.getReadHoldCount() == 1 && !allStripes.isWriteLockedByCurrentThread();
+		}
+
+		@Override
+		public void lock() {
+			holds.lock();
+			if ( isSoleHold() ) {
+				for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+					if ( exclusive ) {
+						stamps[i] = stripes[i].writeLock();
+					}
+					else {
+						stripes[i].readLock();
+					}
+				}
+			}
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			holds.lockInterruptibly();
+			if ( !isSoleHold() ) {
+				return;
+			}
+			int locked = 0;
+			try {
+				for ( ; locked < STRIPE_COUNT; locked++ ) {
+					if ( exclusive ) {
+						stamps[locked] = stripes[locked].writeLockInterruptibly();
+					}
+					else {
+						stripes[locked].readLockInterruptibly();
+					}
+				}
+			}
+			finally {
+				if ( locked < STRIPE_COUNT ) {
+					release( locked );
+				}
+			}
+		}
+
+		@Override
+		public boolean tryLock() {
+			if ( !holds.tryLock() ) {
+				return false;
+			}
+			if ( isSoleHold() ) {
+				for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+					final long stamp = exclusive ? stripes[i].tryWriteLock() : stripes[i].tryReadLock();
+					if ( stamp == 0L ) {
+						release( i );
+						return false;
+					}
+					if ( exclusive ) {
+						stamps[i] = stamp;
+					}
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			final long deadline = System.nanoTime() + unit.toNanos( time );
+			if ( !holds.tryLock( time, unit ) ) {
+				return false;
+			}
+			if ( isSoleHold() ) {
+				for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+					final long stamp;
+					try {
+						// each stripe is given what remains of the timeout
+						final long remaining = deadline - System.nanoTime();
+						stamp = exclusive
+								? stripes[i].tryWriteLock( remaining, TimeUnit.NANOSECONDS )
+								: stripes[i].tryReadLock( remaining, TimeUnit.NANOSECONDS );
+					}
+					catch (InterruptedException e) {
+						release( i );
+						throw e;
+					}
+					if ( stamp == 0L ) {
+						release( i );
+						return false;
+					}
+					if ( exclusive ) {
+						stamps[i] = stamp;
+					}
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void unlock() {
+			if ( isSoleHold() ) {
+				if ( exclusive && allStripes.getReadHoldCount() > 0 ) {
+					// downgrading to the read lock, which the thread still holds
+					for ( int i = 0; i < STRIPE_COUNT; i++ ) {
+						stripes[i].tryConvertToReadLock( stamps[i] );
+					}
+					holds.unlock();
+				}
+				else {
+					release( STRIPE_COUNT );
+				}
+			}
+			else {
+				holds.unlock();
+			}
+		}
+
+		/**
+		 * Releases the first stripes, then the hold of the current thread.
+		 */
+		private void release(int count) {
+			try {
+				for ( int i = count - 1; i >= 0; i-- ) {
+					if ( exclusive ) {
+						stripes[i].unlockWrite( stamps[i] );
+					}
+					else {
+						stripes[i].asReadLock().unlock();
+					}
+				}
+			}
+			finally {
+				holds.unlock();
+			}
+		}
+
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException(
+					"The lock of all the stripes does not support conditions: awaiting one would have to release "
+							+ "and re-acquire every stripe, and a condition of a single stripe would not be signalled "
+							+ "by the accesses to the keys of the other stripes"
+			);
+		}
+	}
+
 	/**
 	 * Interface type implemented by all wrapper objects in the cache.
 	 */
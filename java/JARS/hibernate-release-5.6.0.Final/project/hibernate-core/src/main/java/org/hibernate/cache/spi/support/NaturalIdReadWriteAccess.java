@@ -72,7 +72,7 @@ public class NaturalIdReadWriteAccess extends AbstractReadWriteAccess implements
 	@Override
 	public boolean afterInsert(SharedSessionContractImplementor session, Object key, Object value) {
 		try {
-			writeLock().lock();
+			writeLock( key ).lock();
 			Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
 			if ( item == null ) {
 				getStorageAccess().putIntoCache(
@@ -87,7 +87,7 @@ public class NaturalIdReadWriteAccess extends AbstractReadWriteAccess implements
 			}
 		}
 		finally {
-			writeLock().unlock();
+			writeLock( key ).unlock();
 		}
 	}
 
@@ -99,7 +99,7 @@ public class NaturalIdReadWriteAccess extends AbstractReadWriteAccess implements
 	@Override
 	public boolean afterUpdate(SharedSessionContractImplementor session, Object key, Object value, SoftLock lock) {
 		try {
-			writeLock().lock();
+			writeLock( key ).lock();
 			Lockable item = (Lockable) getStorageAccess().getFromCache( key, session );
 
 			if ( item != null && item.isUnlockable( lock ) ) {
@@ -123,7 +123,7 @@ public class NaturalIdReadWriteAccess extends AbstractReadWriteAccess implements
 			}
 		}
 		finally {
-			writeLock().unlock();
+			writeLock( key ).unlock();
 		}
 	}
 }
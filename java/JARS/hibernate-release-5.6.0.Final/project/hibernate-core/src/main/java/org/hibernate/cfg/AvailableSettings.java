@@ -877,6 +877,21 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String XML_MAPPING_ENABLED = "hibernate.xml_mapping_enabled";
 
+	/**
+	 * Names a file in which to keep a snapshot of the bound metadata.  When the file holds a snapshot written by the
+	 * same Hibernate version for the same settings, mapping files and (unchanged) mapped classes, the metadata is read
+	 * from it instead of binding the mappings; otherwise the mappings are bound as usual and the snapshot is written
+	 * to the file.  Only the {@code hibernate.*}, {@code javax.persistence.*} and {@code jakarta.persistence.*}
+	 * settings are compared, not the system properties which the settings include.  Only the classes of the mapping
+	 * model, the JDK value types and collections, and the classes of the packages of the managed classes are read
+	 * from the file.
+	 * <p/>
+	 * Not set by default, meaning the mappings are bound at each start.
+	 *
+	 * @since 5.6
+	 */
+	String METADATA_SNAPSHOT_FILE = "hibernate.metadata_snapshot_file";
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// SessionFactoryBuilder level settings
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -1026,6 +1041,22 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
 
+	/**
+	 * Should the streams of the queries of a {@link org.hibernate.StatelessSession} be given the fetch size provided
+	 * by {@link org.hibernate.dialect.Dialect#getStreamingFetchSize()}, which keeps the JDBC driver from reading the
+	 * whole result set into memory?  Only applies when neither the query nor {@link #STATEMENT_FETCH_SIZE} specify
+	 * a fetch size.
+	 * <p/>
+	 * Depending on the driver, this comes with restrictions: on MySQL, no other statement may be executed on the
+	 * connection until the stream is closed, so the streamed entities must not need secondary selects, such as
+	 * the ones of an EAGER association.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @since 5.6
+	 */
+	String USE_STREAMING_FETCH_SIZE = "hibernate.jdbc.use_streaming_fetch_size";
+
 	/**
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
@@ -1040,6 +1071,65 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * Should batches for several tables be kept open at the same time?  When enabled, switching from
+	 * one batch to another no longer executes the first one; instead the pending batches are executed
+	 * in the order in which they were started when the session is flushed, when one of them reaches the
+	 * batch size or when a statement could not safely be added out of order.  This avoids a round trip
+	 * per batch when a flush interleaves inserts into several tables.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @since 5.6
+	 */
+	String BATCH_MULTIPLE_TABLES = "hibernate.jdbc.batch_multiple_tables";
+
+	/**
+	 * Should the JDBC batch size be adapted to the observed {@code executeBatch} latency?  When enabled, the
+	 * batch size of each kind of batched statement starts at {@link #STATEMENT_BATCH_SIZE} and is then grown
+	 * or shrunk to minimize the execution time per row, within {@link #ADAPTIVE_BATCH_MAX_SIZE}.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @see org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchBuilderImpl
+	 * @since 5.6
+	 */
+	String ADAPTIVE_BATCH_SIZE = "hibernate.jdbc.batch.adaptive";
+
+	/**
+	 * The largest batch size which may be chosen when {@link #ADAPTIVE_BATCH_SIZE adaptive batch sizing}
+	 * is enabled, bounding the memory used by the JDBC driver for a batch.  Defaults to ten times
+	 * {@link #STATEMENT_BATCH_SIZE}.
+	 *
+	 * @since 5.6
+	 */
+	String ADAPTIVE_BATCH_MAX_SIZE = "hibernate.jdbc.batch.adaptive.max_size";
+
+	/**
+	 * Should full JDBC batches be executed by a thread of a pool shared by the sessions of the SessionFactory,
+	 * while the flushing thread goes on with the work of the flush which does not involve JDBC?  At most one
+	 * batch is in flight per session, and the flushing thread waits for it before it uses the connection again,
+	 * be it to prepare a statement or to bind the rows of the next batch.  A failure is reported at that point,
+	 * at the end of the flush at the latest.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @see org.hibernate.engine.jdbc.batch.internal.PipelinedBatchExecutor
+	 * @since 5.6
+	 */
+	String PIPELINED_BATCH_EXECUTION = "hibernate.jdbc.batch.pipelined";
+
+	/**
+	 * The number of threads executing the batches handed off when {@link #PIPELINED_BATCH_EXECUTION} is
+	 * enabled.  When they are all busy, the batches handed off wait for a thread.
+	 * <p/>
+	 * Default value is the number of available processors.
+	 *
+	 * @see org.hibernate.engine.jdbc.batch.internal.PipelinedBatchExecutionPool
+	 * @since 5.6
+	 */
+	String PIPELINED_BATCH_EXECUTION_THREADS = "hibernate.jdbc.batch.pipelined.threads";
+
 	/**
 	 * Default JDBC TimeZone. Unless specified, the JVM default TimeZone is going to be used by the underlying JDBC Driver.
 	 *
@@ -1137,6 +1227,22 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	@Deprecated
 	String ALLOW_ENHANCEMENT_AS_PROXY = "hibernate.bytecode.allow_enhancement_as_proxy";
 
+	/**
+	 * Should the flush trust the dirty tracking of the entities enhanced for it?  If enabled, a managed entity
+	 * implementing {@link org.hibernate.engine.spi.ExtendedSelfDirtinessTracker} and reporting no dirty attribute
+	 * is not dirty checked at all: its state is neither extracted nor compared to its snapshot, even if it has
+	 * collections or mutable attributes, so the flush cost grows with the number of changed entities rather than
+	 * with the number of managed ones.
+	 * <p/>
+	 * In exchange, the in-place changes to mutable attribute values which the enhanced entity cannot track, such as
+	 * calling {@code Date.setTime()} or changing an array element, are no longer detected.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String TRUST_DIRTY_TRACKING = "hibernate.bytecode.trust_dirty_tracking";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -1373,6 +1479,34 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
 
+	/**
+	 * A comma-separated list of {@code <entity name>.<attribute name>} defining the entities partitioned by
+	 * one of their attributes, such as a tenant or owner.  The cached queries declaring, through the
+	 * {@link org.hibernate.annotations.QueryHints#CACHE_PARTITION} hint, that they only read the rows of these
+	 * entities having a given value of the attribute are only invalidated by the changes to the rows having that
+	 * value, rather than by any change to their tables.
+	 * <p/>
+	 * The attribute must be a basic attribute or a to-one association, whose value is then the identifier of the
+	 * associated entity; the hint may give either the identifier or the entity.  The values are compared by their
+	 * string form.  Empty by default.
+	 *
+	 * @see #QUERY_CACHE_PARTITION_BUCKETS
+	 * @see org.hibernate.cache.spi.QuerySpacePartitions
+	 */
+	String QUERY_CACHE_PARTITIONS = "hibernate.cache.query_cache_partitions";
+
+	/**
+	 * The number of buckets the values of the {@link #QUERY_CACHE_PARTITIONS partition attributes} are hashed into,
+	 * per table.  It bounds the number of entries the partitions add to the timestamps region, which are never
+	 * removed, to this number per partitioned table, plus one.  The values sharing a bucket invalidate the cached
+	 * queries of each other.
+	 * <p/>
+	 * The default value is {@code 1024}.
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_CACHE_PARTITION_BUCKETS = "hibernate.cache.query_cache_partition_buckets";
+
 	/**
 	 * The <tt>CacheProvider</tt> region name prefix
 	 */
@@ -1400,6 +1534,37 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * Enable the storage of entities into the second-level cache as compact {@code byte[]} entries, identifying
+	 * the entity by its position in its hierarchy and writing the values in binary form, rather than as entry
+	 * objects holding the entity name and the boxed values.  This reduces the heap used by on-heap regions and
+	 * the size of the entries serialized by distributed caches.  Ignored for the entities using
+	 * {@link #USE_STRUCTURED_CACHE structured} or {@link #USE_DIRECT_REFERENCE_CACHE_ENTRIES reference} entries.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @see org.hibernate.cache.spi.entry.CompactCacheEntry
+	 * @since 5.6
+	 */
+	String USE_COMPACT_CACHE_ENTRIES = "hibernate.cache.use_compact_entries";
+
+	/**
+	 * Enable the sharing of the cached state of immutable entities by the sessions reading it from the second-level
+	 * cache.  It applies to the unversioned, immutable entity hierarchies whose attributes are all eager, and either
+	 * immutable basic values or embeddables of such values, such as reference data.  The cached state is then used
+	 * as the loaded state of the entities, rather than assembled into a new array on each cache hit, and only copied
+	 * when an embeddable has to be instantiated or when an interceptor or a pre-load listener might modify it.
+	 * Takes precedence over {@link #USE_STRUCTURED_CACHE structured} and {@link #USE_COMPACT_CACHE_ENTRIES compact}
+	 * entries for these entities, while {@link #USE_DIRECT_REFERENCE_CACHE_ENTRIES reference} entries take
+	 * precedence over it.
+	 * <p/>
+	 * Values are {@code true} or {@code false}. Default value is {@code false}
+	 *
+	 * @see org.hibernate.cache.spi.entry.SharedStateCacheEntryImpl
+	 * @since 5.6
+	 */
+	String USE_SHARED_STATE_CACHE_ENTRIES = "hibernate.cache.use_shared_state_entries";
+
 
 
 
@@ -1492,6 +1657,21 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * The eviction policy of {@link org.hibernate.engine.query.spi.QueryPlanCache}, one of:
+	 * <ul>
+	 *     <li>{@code lirs} (the default)</li>
+	 *     <li>{@code lru}</li>
+	 *     <li>{@code w_tiny_lfu}, which never locks when a plan is found in the cache, and so scales better
+	 *     when many threads run the same queries</li>
+	 * </ul>
+	 *
+	 * @see org.hibernate.internal.util.collections.BoundedConcurrentHashMap.Eviction
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_PLAN_CACHE_EVICTION = "hibernate.query.plan_cache_eviction";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -2097,6 +2277,50 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String DELAY_ENTITY_LOADER_CREATIONS = "hibernate.loader.delay_entity_loader_creations";
 
+	/**
+	 * Should the SessionFactory spread the CPU bound part of its initialization over the threads of the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}?  Once all the persisters are built, the
+	 * entity persisters, then the collection persisters, generate their SQL and loaders in parallel, and so are the
+	 * named queries checked at startup compiled.  When several persisters fail, the failure reported is the one
+	 * sequential initialization would have reported, the others being added to it as suppressed exceptions; the
+	 * errors of the named queries are reported sorted by query name.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String PARALLEL_SESSION_FACTORY_INITIALIZATION = "hibernate.session_factory.parallel_initialization";
+
+	/**
+	 * Should the identical loads of an entity by its identifier, or of a collection, which sessions of the
+	 * SessionFactory have in flight at the same time be merged?  The first session loads from the database while
+	 * the others wait for it and build their own instances from its state, as they would from the second-level cache.
+	 * <p/>
+	 * Only the sessions in {@link org.hibernate.Session#isDefaultReadOnly() default read-only mode} take part, and
+	 * only for loads without lock.  A session may then see the state read by the transaction of another session a
+	 * few milliseconds earlier, so these sessions must not write in their transaction nor rely on an isolation
+	 * level stronger than read committed.  The collections of entities, and the collections affected by enabled
+	 * filters, are not merged.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @see org.hibernate.stat.Statistics#getCoalescedEntityLoadCount()
+	 * @see org.hibernate.stat.Statistics#getCoalescedCollectionLoadCount()
+	 * @since 5.6
+	 */
+	String COALESCE_LOADS = "hibernate.loader.coalesce_loads";
+
+	/**
+	 * How long, in milliseconds, should a session wait for the identical load of another session when
+	 * {@link #COALESCE_LOADS coalescing loads}?  Once the time is up, the session loads on its own, so that a slow or
+	 * blocked load does not hold up the sessions which would have issued the same load.
+	 * <p/>
+	 * The default value is {@code 1000}.
+	 *
+	 * @since 5.6
+	 */
+	String COALESCE_LOADS_TIMEOUT = "hibernate.loader.coalesce_loads.timeout";
+
 	/**
 	 * A transaction can be rolled back by another thread ("tracking by thread")
 	 * -- not the original application. Examples of this include a JTA
@@ -2319,6 +2543,20 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String CRITERIA_LITERAL_HANDLING_MODE = "hibernate.criteria.literal_handling_mode";
 
+	/**
+	 * The maximum number of criteria query renditions maintained by
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}, keyed by the structure of the criteria query.
+	 * Criteria queries built repeatedly the same way, differing only in the values of their literals and
+	 * parameters, then skip the rendering of their JPQL.
+	 * </p>
+	 * Criteria queries containing subqueries, treated paths or correlations are always rendered.
+	 * </p>
+	 * The default value is {@code 0}, which disables the cache.
+	 *
+	 * @since 5.6
+	 */
+	String CRITERIA_COMPILATION_CACHE_MAX_SIZE = "hibernate.criteria.compilation_cache_max_size";
+
 	/**
 	 * True/false setting indicating whether the value specified for {@link GeneratedValue#generator()}
 	 * should be used as the sequence/table name when no matching {@link javax.persistence.SequenceGenerator}
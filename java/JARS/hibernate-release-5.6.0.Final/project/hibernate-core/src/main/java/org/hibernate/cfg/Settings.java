@@ -75,13 +75,19 @@ public final class Settings {
 			LOG.debugf( "Default entity-mode: %s", sessionFactoryOptions.getDefaultEntityMode() );
 			LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled( sessionFactoryOptions.isCheckNullability() ) );
 			LOG.debugf( "Allow initialization of lazy state outside session : %s", enabledDisabled( sessionFactoryOptions.isInitializeLazyStateOutsideTransactionsEnabled() ) );
+			LOG.debugf( "Trust dirty tracking of enhanced entities on flush: %s", enabledDisabled( sessionFactoryOptions.isDirtyTrackingTrusted() ) );
 
 			LOG.debugf( "Using BatchFetchStyle : %s", sessionFactoryOptions.getBatchFetchStyle().name() );
 			LOG.debugf( "Default batch fetch size: %s", sessionFactoryOptions.getDefaultBatchFetchSize() );
 			LOG.debugf( "Maximum outer join fetch depth: %s", sessionFactoryOptions.getMaximumFetchDepth() );
+			LOG.debugf( "Parallel SessionFactory initialization: %s", enabledDisabled( sessionFactoryOptions.isParallelInitializationEnabled() ) );
+			LOG.debugf( "Coalescing of concurrent loads: %s", enabledDisabled( sessionFactoryOptions.isLoadCoalescingEnabled() ) );
+			LOG.debugf( "Coalesced load wait timeout: %s ms", sessionFactoryOptions.getLoadCoalescingTimeout() );
 			LOG.debugf( "Default null ordering: %s", sessionFactoryOptions.getDefaultNullPrecedence() );
 			LOG.debugf( "Order SQL updates by primary key: %s", enabledDisabled( sessionFactoryOptions.isOrderUpdatesEnabled() ) );
 			LOG.debugf( "Order SQL inserts for batching: %s", enabledDisabled( sessionFactoryOptions.isOrderInsertsEnabled() ) );
+			LOG.debugf( "JDBC batches for multiple tables: %s", enabledDisabled( sessionFactoryOptions.isMultiTableBatchingEnabled() ) );
+			LOG.debugf( "Pipelined JDBC batch execution: %s", enabledDisabled( sessionFactoryOptions.isPipelinedBatchExecutionEnabled() ) );
 
 			LOG.debugf( "multi-tenancy strategy : %s", sessionFactoryOptions.getMultiTenancyStrategy() );
 
@@ -96,7 +102,9 @@ public final class Settings {
 			LOG.debugf( "Second-level cache region prefix: %s", sessionFactoryOptions.getCacheRegionPrefix() );
 			LOG.debugf( "Optimize second-level cache for minimal puts: %s", enabledDisabled( sessionFactoryOptions.isMinimalPutsEnabled() ) );
 			LOG.debugf( "Structured second-level cache entries: %s", enabledDisabled( sessionFactoryOptions.isStructuredCacheEntriesEnabled() ) );
+			LOG.debugf( "Compact second-level cache entries: %s", enabledDisabled( sessionFactoryOptions.isCompactCacheEntriesEnabled() ) );
 			LOG.debugf( "Second-level cache direct-reference entries: %s", enabledDisabled( sessionFactoryOptions.isDirectReferenceCacheEntriesEnabled() ) );
+			LOG.debugf( "Second-level cache shared-state entries: %s", enabledDisabled( sessionFactoryOptions.isSharedStateCacheEntriesEnabled() ) );
 			LOG.debugf( "Automatic eviction of collection cache: %s", enabledDisabled( sessionFactoryOptions.isAutoEvictCollectionCache() ) );
 
 			LOG.debugf( "JDBC batch size: %s", sessionFactoryOptions.getJdbcBatchSize() );
@@ -105,6 +113,7 @@ public final class Settings {
 			LOG.debugf( "Wrap result sets: %s", enabledDisabled( sessionFactoryOptions.isWrapResultSetsEnabled() ) );
 			LOG.debugf( "JDBC3 getGeneratedKeys(): %s", enabledDisabled( sessionFactoryOptions.isGetGeneratedKeysEnabled() ) );
 			LOG.debugf( "JDBC result set fetch size: %s", sessionFactoryOptions.getJdbcFetchSize() );
+			LOG.debugf( "Dialect streaming fetch size for stateless streams: %s", enabledDisabled( sessionFactoryOptions.isStreamingFetchSizeEnabled() ) );
 			LOG.debugf( "Connection release mode: %s", sessionFactoryOptions.getConnectionReleaseMode() );
 			LOG.debugf( "Generate SQL with comments: %s", enabledDisabled( sessionFactoryOptions.isCommentsEnabled() ) );
 
@@ -2760,6 +2760,36 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Get the restriction matching a column against the elements of an array bound as a single parameter, for
+	 * example {@code "col = any(?)"}.  Unlike an {@code IN} list, its SQL does not depend on the number of elements.
+	 *
+	 * @param columnName The qualified name of the column
+	 * @param sqlTypeCode The {@link java.sql.Types JDBC type code} of the column
+	 *
+	 * @return The restriction, or {@code null} if arrays of this type cannot be bound as a parameter.
+	 *
+	 * @see #getArrayParameterElementTypeName
+	 * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+	 */
+	public String getArrayParameterRestriction(String columnName, int sqlTypeCode) {
+		return null;
+	}
+
+	/**
+	 * Get the name of the element type of an array parameter, as passed to
+	 * {@link java.sql.Connection#createArrayOf}.
+	 *
+	 * @param sqlTypeCode The {@link java.sql.Types JDBC type code} of the elements
+	 *
+	 * @return The element type name, or {@code null} if arrays of this type cannot be bound as a parameter.
+	 *
+	 * @see #getArrayParameterRestriction
+	 */
+	public String getArrayParameterElementTypeName(int sqlTypeCode) {
+		return null;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
@@ -2907,6 +2937,21 @@ public abstract class Dialect implements ConversionContext {
 		return ScrollMode.SCROLL_INSENSITIVE;
 	}
 
+	/**
+	 * The JDBC fetch size which makes the driver stream the rows of a forward-only result set, rather than
+	 * reading them all into memory, when neither the query nor {@link org.hibernate.cfg.AvailableSettings#STATEMENT_FETCH_SIZE}
+	 * specify one.  Used by {@link org.hibernate.query.Query#stream()} for the queries of a
+	 * {@link org.hibernate.StatelessSession}, whose memory footprint otherwise does not depend on the number of rows,
+	 * when {@link org.hibernate.cfg.AvailableSettings#USE_STREAMING_FETCH_SIZE} is enabled.
+	 *
+	 * @return The fetch size, or {@code null} if the driver streams by default (or cannot stream at all).
+	 *
+	 * @since 5.6
+	 */
+	public Integer getStreamingFetchSize() {
+		return null;
+	}
+
 	/**
 	 * Does this dialect support tuples in subqueries?  Ex:
 	 * delete from Table1 where (col1, col2) in (select col1, col2 from Table2)
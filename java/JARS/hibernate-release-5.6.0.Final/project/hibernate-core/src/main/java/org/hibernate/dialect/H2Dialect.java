@@ -480,4 +480,28 @@ public class H2Dialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public String getArrayParameterRestriction(String columnName, int sqlTypeCode) {
+		final String elementTypeName = getArrayParameterElementTypeName( sqlTypeCode );
+		return elementTypeName == null
+				? null
+				: columnName + " in (select x from table(x " + elementTypeName + " = ?))";
+	}
+
+	@Override
+	public String getArrayParameterElementTypeName(int sqlTypeCode) {
+		switch ( sqlTypeCode ) {
+			case Types.SMALLINT:
+				return "smallint";
+			case Types.INTEGER:
+				return "int";
+			case Types.BIGINT:
+				return "bigint";
+			case Types.VARCHAR:
+				return "varchar";
+			default:
+				return null;
+		}
+	}
+
 }
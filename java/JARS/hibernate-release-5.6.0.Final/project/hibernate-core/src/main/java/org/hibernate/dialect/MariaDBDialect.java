@@ -41,4 +41,10 @@ public class MariaDBDialect extends MySQL5Dialect {
 
 		return super.buildIdentifierHelper( builder, dbMetaData );
 	}
+
+	@Override
+	public Integer getStreamingFetchSize() {
+		// the MariaDB driver streams the rows, by chunks of the fetch size, for any positive value
+		return 1000;
+	}
 }
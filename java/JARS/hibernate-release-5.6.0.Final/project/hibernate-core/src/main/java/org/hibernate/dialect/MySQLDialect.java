@@ -637,4 +637,11 @@ public class MySQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public Integer getStreamingFetchSize() {
+		// Connector/J streams the rows one by one for this value only; note that no other statement
+		// may be executed on the connection until the result set is closed
+		return Integer.MIN_VALUE;
+	}
+
 }
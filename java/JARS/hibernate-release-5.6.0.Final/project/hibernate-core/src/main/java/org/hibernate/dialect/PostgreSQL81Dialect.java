@@ -644,6 +644,27 @@ public class PostgreSQL81Dialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public String getArrayParameterRestriction(String columnName, int sqlTypeCode) {
+		return getArrayParameterElementTypeName( sqlTypeCode ) == null ? null : columnName + " = any(?)";
+	}
+
+	@Override
+	public String getArrayParameterElementTypeName(int sqlTypeCode) {
+		switch ( sqlTypeCode ) {
+			case Types.SMALLINT:
+				return "int2";
+			case Types.INTEGER:
+				return "int4";
+			case Types.BIGINT:
+				return "int8";
+			case Types.VARCHAR:
+				return "varchar";
+			default:
+				return null;
+		}
+	}
+
 	@Override
 	public String getForUpdateNowaitString() {
 		return getForUpdateString() + " nowait ";
@@ -702,4 +723,11 @@ public class PostgreSQL81Dialect extends Dialect {
 	public boolean supportsSelectAliasInGroupByClause() {
 		return true;
 	}
+
+	@Override
+	public Integer getStreamingFetchSize() {
+		// the driver reads the rows through a cursor, by chunks of the fetch size, for any positive value;
+		// the connection must not be in auto-commit mode though
+		return 1000;
+	}
 }
@@ -0,0 +1,597 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.CollectionKey;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+import org.hibernate.type.descriptor.java.IntegerTypeDescriptor;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.java.LongTypeDescriptor;
+import org.hibernate.type.descriptor.java.UUIDTypeDescriptor;
+
+/**
+ * A {@link Map} keyed by {@link EntityKey} or {@link CollectionKey}, used for the potentially large indexes of
+ * the {@link StatefulPersistenceContext}.
+ * <p/>
+ * The keys are grouped by root entity (or collection role).  Within a group, the keys having a {@code long},
+ * {@code int} or {@link UUID} identifier, by far the most common ones, are stored in an open addressing table
+ * which compares the identifiers as primitives, rather than through their {@link Type}, and needs no entry
+ * object per key; the tables are found by group name through a {@link HashMap}, so that sessions interleaving
+ * many entity types do not pay for their number.  The other keys are stored in a {@link HashMap}.
+ * <p/>
+ * The map is not thread-safe, and its iterators are fail-fast.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+abstract class IdentifierKeyMap<K, V> extends AbstractMap<K, V> {
+	private static final int GENERIC = 0;
+	private static final int LONG = 1;
+	private static final int INTEGER = 2;
+	private static final int UUID_IDENTIFIER = 3;
+
+	private HashMap<K, V> genericEntries;
+
+	private final ArrayList<Table<K, V>> tables = new ArrayList<>();
+	// the tables of each group, indexed by kind of identifier
+	private final HashMap<String, Table<K, V>[]> tablesByGroup = new HashMap<>();
+	private Table<K, V> lastUsedTable;
+
+	private int size;
+	private int modCount;
+
+	private Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * Builds a map keyed by {@link EntityKey}, whose keys are grouped by root entity.
+	 */
+	static <V> IdentifierKeyMap<EntityKey, V> forEntityKeys() {
+		return new IdentifierKeyMap<EntityKey, V>() {
+			@Override
+			protected boolean isKey(Object key) {
+				return key instanceof EntityKey;
+			}
+
+			@Override
+			protected String groupName(EntityKey key) {
+				return key.getPersister().getRootEntityName();
+			}
+
+			@Override
+			protected Object identifier(EntityKey key) {
+				return key.getIdentifier();
+			}
+
+			@Override
+			protected Type identifierType(EntityKey key) {
+				return key.getPersister().getIdentifierType();
+			}
+		};
+	}
+
+	/**
+	 * Builds a map keyed by {@link CollectionKey}, whose keys are grouped by collection role.
+	 */
+	static <V> IdentifierKeyMap<CollectionKey, V> forCollectionKeys() {
+		return new IdentifierKeyMap<CollectionKey, V>() {
+			@Override
+			protected boolean isKey(Object key) {
+				return key instanceof CollectionKey;
+			}
+
+			@Override
+			protected String groupName(CollectionKey key) {
+				return key.getRole();
+			}
+
+			@Override
+			protected Object identifier(CollectionKey key) {
+				return key.getKey();
+			}
+
+			@Override
+			protected Type identifierType(CollectionKey key) {
+				return key.getKeyType();
+			}
+		};
+	}
+
+	protected abstract boolean isKey(Object key);
+
+	/**
+	 * The name of the group of the key: keys of distinct groups are never equal.
+	 */
+	protected abstract String groupName(K key);
+
+	protected abstract Object identifier(K key);
+
+	protected abstract Type identifierType(K key);
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if ( !isKey( key ) ) {
+			return null;
+		}
+		final K typedKey = (K) key;
+		final Object identifier = identifier( typedKey );
+		final int kind = kindOf( identifier, identifierType( typedKey ) );
+		if ( kind == GENERIC ) {
+			return genericEntries == null ? null : genericEntries.get( key );
+		}
+		final Table<K, V> table = findTable( groupName( typedKey ), kind );
+		if ( table == null ) {
+			return null;
+		}
+		final int index = table.indexOf( first( kind, identifier ), second( kind, identifier ) );
+		return index < 0 ? null : table.valueAt( index );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean containsKey(Object key) {
+		if ( !isKey( key ) ) {
+			return false;
+		}
+		final K typedKey = (K) key;
+		final Object identifier = identifier( typedKey );
+		final int kind = kindOf( identifier, identifierType( typedKey ) );
+		if ( kind == GENERIC ) {
+			return genericEntries != null && genericEntries.containsKey( key );
+		}
+		final Table<K, V> table = findTable( groupName( typedKey ), kind );
+		return table != null && table.indexOf( first( kind, identifier ), second( kind, identifier ) ) >= 0;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		final Object identifier = identifier( key );
+		final int kind = kindOf( identifier, identifierType( key ) );
+		if ( kind == GENERIC ) {
+			if ( genericEntries == null ) {
+				genericEntries = new HashMap<>();
+			}
+			final int previousSize = genericEntries.size();
+			final V previous = genericEntries.put( key, value );
+			if ( genericEntries.size() != previousSize ) {
+				size++;
+				modCount++;
+			}
+			return previous;
+		}
+
+		final String groupName = groupName( key );
+		Table<K, V> table = findTable( groupName, kind );
+		if ( table == null ) {
+			table = addTable( groupName, kind );
+		}
+		final long first = first( kind, identifier );
+		final long second = second( kind, identifier );
+		final int index = table.indexOf( first, second );
+		if ( index >= 0 ) {
+			return table.setValueAt( index, value );
+		}
+		table.insertAt( -index - 1, first, second, key, value );
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( !isKey( key ) ) {
+			return null;
+		}
+		final K typedKey = (K) key;
+		final Object identifier = identifier( typedKey );
+		final int kind = kindOf( identifier, identifierType( typedKey ) );
+		if ( kind == GENERIC ) {
+			if ( genericEntries == null || !genericEntries.containsKey( key ) ) {
+				return null;
+			}
+			size--;
+			modCount++;
+			return genericEntries.remove( key );
+		}
+		final Table<K, V> table = findTable( groupName( typedKey ), kind );
+		if ( table == null ) {
+			return null;
+		}
+		final int index = table.indexOf( first( kind, identifier ), second( kind, identifier ) );
+		if ( index < 0 ) {
+			return null;
+		}
+		final V previous = table.valueAt( index );
+		table.removeAt( index );
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		genericEntries = null;
+		tables.clear();
+		tablesByGroup.clear();
+		lastUsedTable = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<K, V>>() {
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					IdentifierKeyMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private Table<K, V> findTable(String groupName, int kind) {
+		final Table<K, V> last = lastUsedTable;
+		if ( last != null && last.kind == kind && last.groupName.equals( groupName ) ) {
+			return last;
+		}
+		final Table<K, V>[] groupTables = tablesByGroup.get( groupName );
+		if ( groupTables == null || groupTables[kind] == null ) {
+			return null;
+		}
+		lastUsedTable = groupTables[kind];
+		return lastUsedTable;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Table<K, V> addTable(String groupName, int kind) {
+		Table<K, V>[] groupTables = tablesByGroup.get( groupName );
+		if ( groupTables == null ) {
+			groupTables = new Table[UUID_IDENTIFIER + 1];
+			tablesByGroup.put( groupName, groupTables );
+		}
+		final Table<K, V> table = new Table<>( groupName, kind );
+		groupTables[kind] = table;
+		tables.add( table );
+		lastUsedTable = table;
+		return table;
+	}
+
+	private static int kindOf(Object identifier, Type identifierType) {
+		final Class<?> identifierClass = identifier.getClass();
+		if ( identifierClass == Long.class ) {
+			return hasJavaTypeDescriptor( identifierType, LongTypeDescriptor.INSTANCE ) ? LONG : GENERIC;
+		}
+		if ( identifierClass == Integer.class ) {
+			return hasJavaTypeDescriptor( identifierType, IntegerTypeDescriptor.INSTANCE ) ? INTEGER : GENERIC;
+		}
+		if ( identifierClass == UUID.class ) {
+			return hasJavaTypeDescriptor( identifierType, UUIDTypeDescriptor.INSTANCE ) ? UUID_IDENTIFIER : GENERIC;
+		}
+		return GENERIC;
+	}
+
+	private static boolean hasJavaTypeDescriptor(Type type, JavaTypeDescriptor<?> javaTypeDescriptor) {
+		// the standard descriptors compare values with equals(), as the tables do
+		return type instanceof AbstractStandardBasicType
+				&& ( (AbstractStandardBasicType<?>) type ).getJavaTypeDescriptor() == javaTypeDescriptor;
+	}
+
+	private static long first(int kind, Object identifier) {
+		switch ( kind ) {
+			case LONG:
+				return (Long) identifier;
+			case INTEGER:
+				return (Integer) identifier;
+			default:
+				return ( (UUID) identifier ).getMostSignificantBits();
+		}
+	}
+
+	private static long second(int kind, Object identifier) {
+		return kind == UUID_IDENTIFIER ? ( (UUID) identifier ).getLeastSignificantBits() : 0L;
+	}
+
+	/**
+	 * An open addressing (linear probing) hash table of the keys of one group having the same kind of identifier.
+	 */
+	private static final class Table<K, V> {
+		private static final int INITIAL_CAPACITY = 16;
+
+		private final String groupName;
+		private final int kind;
+
+		private long[] firsts;
+		// only used for UUID identifiers
+		private long[] seconds;
+		private Object[] keys;
+		private Object[] values;
+
+		private int mask;
+		private int size;
+		private int threshold;
+
+		private Table(String groupName, int kind) {
+			this.groupName = groupName;
+			this.kind = kind;
+			allocate( INITIAL_CAPACITY );
+		}
+
+		private void allocate(int capacity) {
+			firsts = new long[capacity];
+			seconds = kind == UUID_IDENTIFIER ? new long[capacity] : null;
+			keys = new Object[capacity];
+			values = new Object[capacity];
+			mask = capacity - 1;
+			threshold = capacity / 4 * 3;
+		}
+
+		private static int hash(long first, long second) {
+			// the murmur3 64 bits finalizer: consecutive identifiers are spread over the table
+			long h = first ^ ( second * 0x9E3779B97F4A7C15L );
+			h ^= h >>> 33;
+			h *= 0xFF51AFD7ED558CCDL;
+			h ^= h >>> 33;
+			h *= 0xC4CEB9FE1A85EC53L;
+			h ^= h >>> 33;
+			return (int) h;
+		}
+
+		/**
+		 * @return the index of the identifier, or {@code -index - 1} where {@code index} is the free slot
+		 * at which it would be inserted
+		 */
+		private int indexOf(long first, long second) {
+			int index = hash( first, second ) & mask;
+			while ( keys[index] != null ) {
+				if ( firsts[index] == first && ( seconds == null || seconds[index] == second ) ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -index - 1;
+		}
+
+		@SuppressWarnings("unchecked")
+		private K keyAt(int index) {
+			return (K) keys[index];
+		}
+
+		@SuppressWarnings("unchecked")
+		private V valueAt(int index) {
+			return (V) values[index];
+		}
+
+		private V setValueAt(int index, V value) {
+			final V previous = valueAt( index );
+			values[index] = value;
+			return previous;
+		}
+
+		private void insertAt(int index, long first, long second, K key, V value) {
+			firsts[index] = first;
+			if ( seconds != null ) {
+				seconds[index] = second;
+			}
+			keys[index] = key;
+			values[index] = value;
+			if ( ++size > threshold ) {
+				resize();
+			}
+		}
+
+		private void resize() {
+			final long[] oldFirsts = firsts;
+			final long[] oldSeconds = seconds;
+			final Object[] oldKeys = keys;
+			final Object[] oldValues = values;
+			allocate( oldKeys.length * 2 );
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				if ( oldKeys[i] != null ) {
+					final long first = oldFirsts[i];
+					final long second = oldSeconds == null ? 0L : oldSeconds[i];
+					int index = hash( first, second ) & mask;
+					while ( keys[index] != null ) {
+						index = ( index + 1 ) & mask;
+					}
+					firsts[index] = first;
+					if ( seconds != null ) {
+						seconds[index] = second;
+					}
+					keys[index] = oldKeys[i];
+					values[index] = oldValues[i];
+				}
+			}
+		}
+
+		/**
+		 * Removes the entry at the given index, shifting back the following entries of its cluster
+		 * which would otherwise no longer be reachable.  The entries are only ever moved towards the
+		 * start of their cluster.
+		 */
+		private void removeAt(int index) {
+			int gap = index;
+			int next = ( gap + 1 ) & mask;
+			while ( keys[next] != null ) {
+				final int home = hash( firsts[next], seconds == null ? 0L : seconds[next] ) & mask;
+				// the entry can fill the gap if the gap lies between its home slot and its current slot
+				if ( ( ( next - home ) & mask ) >= ( ( next - gap ) & mask ) ) {
+					firsts[gap] = firsts[next];
+					if ( seconds != null ) {
+						seconds[gap] = seconds[next];
+					}
+					keys[gap] = keys[next];
+					values[gap] = values[next];
+					gap = next;
+				}
+				next = ( next + 1 ) & mask;
+			}
+			keys[gap] = null;
+			values[gap] = null;
+			size--;
+		}
+
+		private int emptySlot() {
+			// there is always one, as the table is never full
+			int index = 0;
+			while ( keys[index] != null ) {
+				index++;
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Iterates over the generic entries, then over the tables.  Each table is iterated starting
+	 * from an empty slot: as entries are only moved towards the start of their cluster on removal,
+	 * and no cluster wraps around that slot, {@link #remove()} never moves an entry which was
+	 * already returned.
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+		private Iterator<Map.Entry<K, V>> genericIterator;
+		private boolean lastReturnedGeneric;
+
+		private int nextTableIndex;
+		private Table<K, V> table;
+		private int start;
+		private int examined;
+		private int nextSlot = -1;
+		private int lastReturnedSlot = -1;
+
+		private int expectedModCount = modCount;
+
+		private EntryIterator() {
+			if ( genericEntries != null ) {
+				genericIterator = genericEntries.entrySet().iterator();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if ( genericIterator != null && genericIterator.hasNext() ) {
+				return true;
+			}
+			if ( nextSlot >= 0 ) {
+				return true;
+			}
+			while ( true ) {
+				if ( table != null ) {
+					while ( examined < table.keys.length ) {
+						final int slot = ( start + examined ) & table.mask;
+						examined++;
+						if ( table.keys[slot] != null ) {
+							nextSlot = slot;
+							return true;
+						}
+					}
+				}
+				if ( nextTableIndex >= tables.size() ) {
+					return false;
+				}
+				table = tables.get( nextTableIndex++ );
+				start = table.emptySlot();
+				examined = 0;
+			}
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( genericIterator != null && genericIterator.hasNext() ) {
+				lastReturnedGeneric = true;
+				return genericIterator.next();
+			}
+			lastReturnedGeneric = false;
+			lastReturnedSlot = nextSlot;
+			nextSlot = -1;
+			return new TableEntry<>( table, lastReturnedSlot );
+		}
+
+		@Override
+		public void remove() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( lastReturnedGeneric ) {
+				genericIterator.remove();
+				lastReturnedGeneric = false;
+			}
+			else if ( lastReturnedSlot >= 0 ) {
+				table.removeAt( lastReturnedSlot );
+				// the slot may now hold an entry not returned yet: examine it again
+				examined = ( lastReturnedSlot - start ) & table.mask;
+				nextSlot = -1;
+				lastReturnedSlot = -1;
+			}
+			else {
+				throw new IllegalStateException();
+			}
+			size--;
+			modCount++;
+			expectedModCount = modCount;
+		}
+	}
+
+	private static final class TableEntry<K, V> extends AbstractMap.SimpleEntry<K, V> {
+		private final Table<K, V> table;
+		private final int slot;
+
+		private TableEntry(Table<K, V> table, int slot) {
+			super( table.keyAt( slot ), table.valueAt( slot ) );
+			this.table = table;
+			this.slot = slot;
+		}
+
+		@Override
+		public V setValue(V value) {
+			if ( table.keys[slot] == getKey() ) {
+				table.values[slot] = value;
+			}
+			return super.setValue( value );
+		}
+	}
+}
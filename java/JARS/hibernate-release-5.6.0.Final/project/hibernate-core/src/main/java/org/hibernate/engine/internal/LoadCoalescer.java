@@ -0,0 +1,273 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.hibernate.LockMode;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CollectionKey;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.loader.entity.CacheEntityLoaderHelper;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.pretty.MessageHelper;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Merges the identical loads which sessions of a SessionFactory have in flight at the same time, as enabled by
+ * {@link AvailableSettings#COALESCE_LOADS}.  The first session loads the entity or collection from the database,
+ * while the other sessions wait for its load to complete and then build their own instances from its disassembled
+ * state, as they would from the second-level cache.
+ * <p/>
+ * Only the sessions in default read-only mode take part, for the loads without lock.  The collections of entities
+ * are not merged, as building them from their disassembled state would load their elements one by one.
+ * <p/>
+ * A session loading on behalf of others never waits for another session, even for the loads it triggers, so that
+ * two sessions never wait for each other.  A session waits at most for the
+ * {@link AvailableSettings#COALESCE_LOADS_TIMEOUT timeout}, then loads on its own.
+ */
+public final class LoadCoalescer {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( LoadCoalescer.class );
+
+	/**
+	 * The state shared for an entity which does not exist.
+	 */
+	private static final Object NOT_FOUND = new Object();
+
+	/**
+	 * The state shared when the load failed, or its result could not be disassembled: the waiting sessions load
+	 * on their own.
+	 */
+	private static final Object NOT_SHARED = new Object();
+
+	private final ConcurrentHashMap<LoadKey, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+	private final ThreadLocal<Boolean> leading = new ThreadLocal<>();
+
+	private final long timeout;
+
+	/**
+	 * Constructs a LoadCoalescer
+	 *
+	 * @param timeout How long, in milliseconds, a session waits for the load of another session
+	 */
+	public LoadCoalescer(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Loads an entity by its identifier, or waits for the identical load of another session.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param entityKey The EntityKey representing the entity to be loaded
+	 * @param loader Loads the entity from the database
+	 *
+	 * @return The loaded entity, or {@code null} if it does not exist
+	 */
+	public Object loadEntity(
+			LoadEvent event,
+			EntityPersister persister,
+			EntityKey entityKey,
+			Supplier<Object> loader) {
+		final SharedSessionContractImplementor session = event.getSession();
+		if ( event.getInstanceToLoad() != null || !canCoalesce( session, event.getLockMode() ) ) {
+			return loader.get();
+		}
+
+		final LoadKey key = new LoadKey( entityKey, session.getTenantIdentifier() );
+		final CompletableFuture<Object> load = new CompletableFuture<>();
+		final CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent( key, load );
+		if ( inFlightLoad != null ) {
+			final Object state = await( inFlightLoad );
+			if ( state == NOT_SHARED ) {
+				return loader.get();
+			}
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev(
+						"Entity load coalesced: {0}",
+						MessageHelper.infoString( persister, entityKey.getIdentifier(), session.getFactory() )
+				);
+			}
+			final StatisticsImplementor statistics = session.getFactory().getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.entityLoadCoalesced();
+			}
+			return state == NOT_FOUND
+					? null
+					: CacheEntityLoaderHelper.INSTANCE.loadFromCacheEntry( event, persister, (CacheEntry) state, entityKey );
+		}
+
+		Object state = NOT_SHARED;
+		leading.set( Boolean.TRUE );
+		try {
+			final Object entity = loader.get();
+			state = entity == null ? NOT_FOUND : disassemble( entity, session );
+			return entity;
+		}
+		finally {
+			leading.remove();
+			inFlightLoads.remove( key, load );
+			load.complete( state );
+		}
+	}
+
+	/**
+	 * Initializes a collection, or waits for the identical initialization of another session.
+	 *
+	 * @param collection The collection to initialize
+	 * @param persister The collection persister
+	 * @param id The key of the collection
+	 * @param session The session initializing the collection
+	 * @param loader Initializes the collection from the database
+	 *
+	 * @return {@code true} if the collection was initialized from the state loaded by another session
+	 */
+	public boolean initializeCollection(
+			PersistentCollection collection,
+			CollectionPersister persister,
+			Serializable id,
+			SharedSessionContractImplementor session,
+			Runnable loader) {
+		if ( !canCoalesce( session, LockMode.NONE )
+				|| persister.getElementType().isEntityType()
+				|| persister.hasIndex() && persister.getIndexType().isEntityType()
+				|| session.getLoadQueryInfluencers().hasEnabledFilters() && persister.isAffectedByEnabledFilters( session ) ) {
+			loader.run();
+			return false;
+		}
+
+		final LoadKey key = new LoadKey( new CollectionKey( persister, id ), session.getTenantIdentifier() );
+		final CompletableFuture<Object> load = new CompletableFuture<>();
+		final CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent( key, load );
+		if ( inFlightLoad != null ) {
+			final Object state = await( inFlightLoad );
+			if ( state == NOT_SHARED ) {
+				loader.run();
+				return false;
+			}
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev(
+						"Collection load coalesced: {0}",
+						MessageHelper.collectionInfoString( persister, collection, id, session )
+				);
+			}
+			final StatisticsImplementor statistics = session.getFactory().getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.collectionLoadCoalesced();
+			}
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			( (CollectionCacheEntry) state ).assemble(
+					collection,
+					persister,
+					persistenceContext.getCollectionOwner( id, persister )
+			);
+			persistenceContext.getCollectionEntry( collection ).postInitialize( collection );
+			return true;
+		}
+
+		Object state = NOT_SHARED;
+		leading.set( Boolean.TRUE );
+		try {
+			loader.run();
+			if ( collection.wasInitialized() ) {
+				state = new CollectionCacheEntry( collection, persister );
+			}
+			return false;
+		}
+		finally {
+			leading.remove();
+			inFlightLoads.remove( key, load );
+			load.complete( state );
+		}
+	}
+
+	private boolean canCoalesce(SharedSessionContractImplementor session, LockMode lockMode) {
+		return session.getPersistenceContextInternal().isDefaultReadOnly()
+				&& lockMode.lessThan( LockMode.READ )
+				&& leading.get() == null;
+	}
+
+	private static Object disassemble(Object entity, SharedSessionContractImplementor session) {
+		final EntityEntry entry = session.getPersistenceContextInternal().getEntry( entity );
+		if ( entry == null ) {
+			return NOT_SHARED;
+		}
+		final EntityPersister persister = entry.getPersister();
+		return new StandardCacheEntryImpl(
+				persister.getPropertyValues( entity ),
+				persister,
+				entry.getVersion(),
+				session,
+				entity
+		);
+	}
+
+	private Object await(CompletableFuture<Object> inFlightLoad) {
+		try {
+			return inFlightLoad.get( timeout, TimeUnit.MILLISECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return NOT_SHARED;
+		}
+		catch (ExecutionException e) {
+			return NOT_SHARED;
+		}
+		catch (TimeoutException e) {
+			LOG.debugf( "The concurrent load did not complete within %s ms, loading independently", timeout );
+			return NOT_SHARED;
+		}
+	}
+
+	private static final class LoadKey {
+		private final Object key;
+		private final String tenantIdentifier;
+		private final int hashCode;
+
+		private LoadKey(Object key, String tenantIdentifier) {
+			this.key = key;
+			this.tenantIdentifier = tenantIdentifier;
+			this.hashCode = 31 * key.hashCode() + Objects.hashCode( tenantIdentifier );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof LoadKey ) ) {
+				return false;
+			}
+			final LoadKey that = (LoadKey) o;
+			return key.equals( that.key ) && Objects.equals( tenantIdentifier, that.tenantIdentifier );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -106,6 +106,19 @@ public abstract class AbstractBatchImpl implements Batch {
 		return statements;
 	}
 
+	/**
+	 * Hands over the batch's statements, which are no longer managed by this batch: the statements
+	 * for the rows added from now on are prepared anew.  The caller is responsible for
+	 * {@link #releaseStatements(LinkedHashMap) releasing} the detached statements.
+	 *
+	 * @return The detached statements (keyed by SQL statement string).
+	 */
+	protected LinkedHashMap<String,PreparedStatement> detachStatements() {
+		final LinkedHashMap<String,PreparedStatement> detached = statements;
+		statements = new LinkedHashMap<>();
+		return detached;
+	}
+
 	@Override
 	public final BatchKey getKey() {
 		return key;
@@ -134,7 +147,7 @@ public abstract class AbstractBatchImpl implements Batch {
 	}
 
 	private PreparedStatement buildBatchStatement(String sql, boolean callable) {
-		return jdbcCoordinator.getStatementPreparer().prepareStatement( sql, callable );
+		return jdbcCoordinator.getStatementPreparer().prepareBatchStatement( sql, callable );
 	}
 
 	@Override
@@ -153,7 +166,10 @@ public abstract class AbstractBatchImpl implements Batch {
 	}
 
 	protected void releaseStatements() {
-		final LinkedHashMap<String, PreparedStatement> statements = getStatements();
+		releaseStatements( getStatements() );
+	}
+
+	protected void releaseStatements(LinkedHashMap<String, PreparedStatement> statements) {
 		final ResourceRegistry resourceRegistry = jdbcCoordinator.getResourceRegistry();
 		for ( PreparedStatement statement : statements.values() ) {
 			clearBatch( statement );
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A builder for {@link Batch} instances which adapts the batch size of each {@link BatchKey} to the
+ * observed {@code executeBatch} latency.
+ * <p/>
+ * The configured {@link AvailableSettings#STATEMENT_BATCH_SIZE batch size} is used as the starting
+ * point and {@link AvailableSettings#ADAPTIVE_BATCH_MAX_SIZE} bounds the sizes which may be chosen.
+ * A batch size explicitly set on the session ({@link org.hibernate.Session#setJdbcBatchSize}) is
+ * used as is.
+ *
+ * @see AdaptiveBatchSize
+ */
+public class AdaptiveBatchBuilderImpl extends BatchBuilderImpl {
+	private int maximumJdbcBatchSize;
+
+	private final ConcurrentHashMap<BatchKey, AdaptiveBatchSize> adaptiveBatchSizes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a AdaptiveBatchBuilderImpl
+	 *
+	 * @param jdbcBatchSize The batch size to start from.
+	 * @param maximumJdbcBatchSize The largest batch size which may be chosen.
+	 */
+	public AdaptiveBatchBuilderImpl(int jdbcBatchSize, int maximumJdbcBatchSize) {
+		super( jdbcBatchSize );
+		this.maximumJdbcBatchSize = maximumJdbcBatchSize;
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		super.configure( configurationValues );
+		maximumJdbcBatchSize = ConfigurationHelper.getInt(
+				AvailableSettings.ADAPTIVE_BATCH_MAX_SIZE,
+				configurationValues,
+				maximumJdbcBatchSize
+		);
+	}
+
+	public int getMaximumJdbcBatchSize() {
+		return maximumJdbcBatchSize;
+	}
+
+	@Override
+	public void setJdbcBatchSize(int jdbcBatchSize) {
+		super.setJdbcBatchSize( jdbcBatchSize );
+		// start over from the new size
+		adaptiveBatchSizes.clear();
+	}
+
+	@Override
+	public Map<String, Integer> getAdaptiveJdbcBatchSizes() {
+		final Map<String, Integer> batchSizes = new TreeMap<>();
+		for ( Map.Entry<BatchKey, AdaptiveBatchSize> entry : adaptiveBatchSizes.entrySet() ) {
+			batchSizes.put( entry.getKey().toString(), entry.getValue().getBatchSize() );
+		}
+		return batchSizes;
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		final Integer sessionJdbcBatchSize = jdbcCoordinator.getJdbcSessionOwner().getJdbcBatchSize();
+		if ( sessionJdbcBatchSize != null || getJdbcBatchSize() <= 1 ) {
+			return super.buildBatch( key, jdbcCoordinator );
+		}
+
+		final AdaptiveBatchSize adaptiveBatchSize = adaptiveBatchSizes.computeIfAbsent(
+				key,
+				k -> new AdaptiveBatchSize( getJdbcBatchSize(), maximumJdbcBatchSize )
+		);
+		return new AdaptiveBatchingBatch( key, jdbcCoordinator, adaptiveBatchSize );
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+/**
+ * Chooses the batch size for one {@link org.hibernate.engine.jdbc.batch.spi.BatchKey} based on the
+ * observed {@code executeBatch} latency.
+ * <p/>
+ * This is a simple hill climbing search on the execution time per row: the time spent in full batches
+ * is sampled at the current size, and after a few samples the size is moved a step further in the same
+ * direction if the cost per row went down, or turned around with a smaller step if it went up.  The size
+ * therefore settles where adding rows to a batch no longer pays for itself (round trips saved versus
+ * driver and server side work per batch), while staying within the configured maximum.
+ * <p/>
+ * Instances are shared by all sessions of a SessionFactory.
+ */
+public class AdaptiveBatchSize {
+	/**
+	 * The number of executed batches sampled at a given size before moving to another size.
+	 */
+	public static final int SAMPLES_PER_STEP = 5;
+
+	private final int maximumSize;
+
+	private int size;
+	private int step;
+	private boolean growing = true;
+	private double previousNanosPerRow = -1;
+
+	private int samples;
+	private long sampledRows;
+	private long sampledNanos;
+
+	/**
+	 * Constructs a AdaptiveBatchSize
+	 *
+	 * @param initialSize The batch size to start from
+	 * @param maximumSize The largest batch size which may be chosen
+	 */
+	public AdaptiveBatchSize(int initialSize, int maximumSize) {
+		this.maximumSize = Math.max( 1, maximumSize );
+		this.size = Math.max( 1, Math.min( initialSize, this.maximumSize ) );
+		this.step = Math.max( 1, size / 2 );
+	}
+
+	/**
+	 * The batch size currently chosen.
+	 *
+	 * @return The number of rows (per statement) to collect before executing a batch
+	 */
+	public synchronized int getBatchSize() {
+		return size;
+	}
+
+	/**
+	 * Records the execution of a batch.  Only batches holding exactly the currently chosen number
+	 * of rows are sampled, as partially filled batches (executed at flush time) or batches built
+	 * with a previous size are not comparable.
+	 *
+	 * @param rowCount The number of rows (per statement) in the executed batch
+	 * @param executionNanos The time spent in {@code executeBatch}
+	 */
+	public synchronized void batchExecuted(int rowCount, long executionNanos) {
+		if ( rowCount != size ) {
+			return;
+		}
+
+		sampledRows += rowCount;
+		sampledNanos += executionNanos;
+		if ( ++samples < SAMPLES_PER_STEP ) {
+			return;
+		}
+
+		final double nanosPerRow = (double) sampledNanos / sampledRows;
+		samples = 0;
+		sampledRows = 0;
+		sampledNanos = 0;
+
+		if ( previousNanosPerRow >= 0 && nanosPerRow > previousNanosPerRow ) {
+			// the last move made things worse: turn around, with a smaller step
+			growing = !growing;
+			step = Math.max( 1, step / 2 );
+		}
+		previousNanosPerRow = nanosPerRow;
+
+		size = growing
+				? Math.min( maximumSize, size + step )
+				: Math.max( 1, size - step );
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "AdaptiveBatchSize(" + size + '/' + maximumSize + ')';
+	}
+}
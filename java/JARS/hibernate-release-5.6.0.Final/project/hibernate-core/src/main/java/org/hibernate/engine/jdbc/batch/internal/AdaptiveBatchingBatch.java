@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link BatchingBatch} whose batch size is chosen by an {@link AdaptiveBatchSize}, which in turn is fed
+ * with the time spent executing this batch.
+ */
+public class AdaptiveBatchingBatch extends BatchingBatch {
+	private final AdaptiveBatchSize adaptiveBatchSize;
+
+	/**
+	 * Constructs a AdaptiveBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param adaptiveBatchSize The batch size chosen for the key
+	 */
+	public AdaptiveBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			AdaptiveBatchSize adaptiveBatchSize) {
+		super( key, jdbcCoordinator, adaptiveBatchSize.getBatchSize() );
+		this.adaptiveBatchSize = adaptiveBatchSize;
+	}
+
+	@Override
+	protected void afterExecution(int rowCount, long executionNanos) {
+		adaptiveBatchSize.batchExecuted( rowCount / Math.max( 1, getStatements().size() ), executionNanos );
+		setConfiguredBatchSize( adaptiveBatchSize.getBatchSize() );
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.io.Serializable;
+
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.jdbc.Expectation;
 
@@ -18,6 +20,8 @@ public class BasicBatchKey implements BatchKey {
 	private final String comparison;
 	private final int statementCount;
 	private final Expectation expectation;
+	private final Serializable[] affectedTables;
+	private final Serializable[] referencedTables;
 
 	/**
 	 * Constructs a BasicBatchKey
@@ -26,9 +30,27 @@ public class BasicBatchKey implements BatchKey {
 	 * @param expectation The expectation for the batch
 	 */
 	public BasicBatchKey(String comparison, Expectation expectation) {
+		this( comparison, expectation, null, null );
+	}
+
+	/**
+	 * Constructs a BasicBatchKey which knows the tables its statements write and depend upon.
+	 *
+	 * @param comparison A string used to compare batch keys.
+	 * @param expectation The expectation for the batch
+	 * @param affectedTables The tables written by the batched statements
+	 * @param referencedTables The tables referenced (by foreign key) from the batched statements
+	 */
+	public BasicBatchKey(
+			String comparison,
+			Expectation expectation,
+			Serializable[] affectedTables,
+			Serializable[] referencedTables) {
 		this.comparison = comparison;
 		this.statementCount = 1;
 		this.expectation = expectation;
+		this.affectedTables = affectedTables;
+		this.referencedTables = referencedTables;
 	}
 
 	@Override
@@ -41,6 +63,16 @@ public class BasicBatchKey implements BatchKey {
 		return statementCount;
 	}
 
+	@Override
+	public Serializable[] getAffectedTables() {
+		return affectedTables;
+	}
+
+	@Override
+	public Serializable[] getReferencedTables() {
+		return referencedTables;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if ( this == o ) {
@@ -59,4 +91,9 @@ public class BasicBatchKey implements BatchKey {
 		return comparison.hashCode();
 	}
 
+	@Override
+	public String toString() {
+		return comparison;
+	}
+
 }
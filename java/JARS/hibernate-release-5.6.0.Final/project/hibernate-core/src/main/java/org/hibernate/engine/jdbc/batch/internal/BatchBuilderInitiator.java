@@ -41,9 +41,14 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 	public BatchBuilder initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BUILDER );
 		if ( builder == null ) {
-			return new BatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
-			);
+			final int jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+			if ( ConfigurationHelper.getBoolean( Environment.ADAPTIVE_BATCH_SIZE, configurationValues ) ) {
+				return new AdaptiveBatchBuilderImpl(
+						jdbcBatchSize,
+						ConfigurationHelper.getInt( Environment.ADAPTIVE_BATCH_MAX_SIZE, configurationValues, jdbcBatchSize * 10 )
+				);
+			}
+			return new BatchBuilderImpl( jdbcBatchSize );
 		}
 
 		if ( BatchBuilder.class.isInstance( builder ) ) {
@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.Map;
+
 /**
  * The BatchBuilderImpl JMX management interface
  *
@@ -14,4 +16,11 @@ package org.hibernate.engine.jdbc.batch.internal;
 public interface BatchBuilderMXBean {
 	int getJdbcBatchSize();
 	void setJdbcBatchSize(int size);
+
+	/**
+	 * The batch sizes currently chosen per batch key when adaptive batch sizing is enabled.
+	 *
+	 * @return The batch sizes, keyed by batch key; empty if batch sizes are not adaptive
+	 */
+	Map<String, Integer> getAdaptiveJdbcBatchSizes();
 }
@@ -8,14 +8,20 @@ package org.hibernate.engine.jdbc.batch.internal;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.CoreMessageLogger;
 
 import org.hibernate.resource.jdbc.spi.JdbcObserver;
+import org.hibernate.stat.spi.StatisticsImplementor;
 import org.jboss.logging.Logger;
 
 /**
@@ -30,10 +36,12 @@ public class BatchingBatch extends AbstractBatchImpl {
 			BatchingBatch.class.getName()
 	);
 
-	// IMPL NOTE : Until HHH-5797 is fixed, there will only be 1 statement in a batch
+	// IMPL NOTE : a batch only ever holds the statements of a single BatchKey; keeping batches for
+	//		several keys open at once (and executing them in the right order) is handled by the
+	//		JdbcCoordinator, see AvailableSettings#BATCH_MULTIPLE_TABLES
 
 	private int batchSize;
-	private final int configuredBatchSize;
+	private int configuredBatchSize;
 	private int batchPosition;
 	private boolean batchExecuted;
 	private int statementPosition;
@@ -62,6 +70,11 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	@Override
 	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		final PipelinedBatchExecutor pipelinedBatchExecutor = pipelinedBatchExecutor();
+		if ( pipelinedBatchExecutor != null ) {
+			// the statement is about to be bound, which must not happen while a batch is executed on the connection
+			pipelinedBatchExecutor.await();
+		}
 		currentStatementSql = sql;
 		int previousBatchSize = getStatements().size();
 		currentStatement = super.getBatchStatement( sql, callable );
@@ -85,9 +98,15 @@ public class BatchingBatch extends AbstractBatchImpl {
 		statementPosition++;
 		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
 			batchPosition++;
-			if ( batchPosition == batchSize ) {
+			if ( batchPosition >= batchSize ) {
 				notifyObserversImplicitExecution();
-				performExecution();
+				final PipelinedBatchExecutor pipelinedBatchExecutor = pipelinedBatchExecutor();
+				if ( pipelinedBatchExecutor != null ) {
+					performPipelinedExecution( pipelinedBatchExecutor );
+				}
+				else {
+					performExecution();
+				}
 				batchPosition = 0;
 				batchExecuted = true;
 			}
@@ -107,23 +126,59 @@ public class BatchingBatch extends AbstractBatchImpl {
 		}
 	}
 
+	/**
+	 * Changes the number of rows (per statement) collected before the batch is implicitly executed.
+	 *
+	 * @param configuredBatchSize The new batch size
+	 */
+	protected void setConfiguredBatchSize(int configuredBatchSize) {
+		this.configuredBatchSize = configuredBatchSize;
+		this.batchSize = configuredBatchSize * Math.max( 1, getStatements().size() );
+	}
+
+	/**
+	 * Callback after the batch has been successfully executed.
+	 * <p/>
+	 * The execution time is measured within the {@link JdbcObserver#jdbcExecuteBatchStart()} and
+	 * {@link JdbcObserver#jdbcExecuteBatchEnd()} notifications around each {@code executeBatch}, rather than
+	 * by a JdbcObserver: these notifications identify neither the batch nor its row count, and the observer is
+	 * the session's, whose listeners would otherwise be timed as well.
+	 *
+	 * @param rowCount The number of rows which were executed, for all statements
+	 * @param executionNanos The time spent executing the statements of the batch
+	 */
+	protected void afterExecution(int rowCount, long executionNanos) {
+	}
+
 	private void performExecution() {
+		final PipelinedBatchExecutor pipelinedBatchExecutor = pipelinedBatchExecutor();
+		if ( pipelinedBatchExecutor != null ) {
+			// the statements must not be executed ahead of a batch still in flight
+			pipelinedBatchExecutor.await();
+		}
+
 		LOG.debugf( "Executing batch size: %s", batchPosition );
 		final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+		final StatisticsImplementor statistics = statistics();
+		long executionNanos = 0;
 		try {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				final String sql = entry.getKey();
 				try {
 					final PreparedStatement statement = entry.getValue();
 					final int[] rowCounts;
+					observer.jdbcExecuteBatchStart();
+					final long start = System.nanoTime();
 					try {
-						observer.jdbcExecuteBatchStart();
 						rowCounts = statement.executeBatch();
 					}
 					finally {
+						final long nanos = System.nanoTime() - start;
 						observer.jdbcExecuteBatchEnd();
+						executionNanos += nanos;
+						recordExecution( statistics, nanos );
 					}
-					checkRowCounts( rowCounts, statement, sql );
+					checkRowCounts( rowCounts, statement, sql, batchPosition, getStatements().size() );
 				}
 				catch ( SQLException e ) {
 					abortBatch();
@@ -136,19 +191,149 @@ public class BatchingBatch extends AbstractBatchImpl {
 					throw re;
 				}
 			}
+			afterExecution( batchPosition, executionNanos );
 		}
 		finally {
 			batchPosition = 0;
 		}
 	}
 
-	private void checkRowCounts(int[] rowCounts, PreparedStatement ps, String statementSQL) throws SQLException, HibernateException {
+	private PipelinedBatchExecutor pipelinedBatchExecutor() {
+		final JdbcCoordinator jdbcCoordinator = getJdbcCoordinator();
+		return jdbcCoordinator instanceof JdbcCoordinatorImpl
+				? ( (JdbcCoordinatorImpl) jdbcCoordinator ).getPipelinedBatchExecutor()
+				: null;
+	}
+
+	private StatisticsImplementor statistics() {
+		return getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getSessionFactory().getStatistics();
+	}
+
+	private static void recordExecution(StatisticsImplementor statistics, long nanos) {
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.batchExecutionLatency( TimeUnit.MICROSECONDS.convert( nanos, TimeUnit.NANOSECONDS ) );
+		}
+	}
+
+	private void performPipelinedExecution(PipelinedBatchExecutor pipelinedBatchExecutor) {
+		LOG.debugf( "Handing off batch size: %s", batchPosition );
+		final PipelinedExecution execution = new PipelinedExecution( detachStatements(), batchPosition );
+		currentStatement = null;
+		execution.start();
+		pipelinedBatchExecutor.submit( execution );
+	}
+
+	private void checkRowCounts(
+			int[] rowCounts,
+			PreparedStatement ps,
+			String statementSQL,
+			int rowCount,
+			int statementCount) throws SQLException, HibernateException {
 		final int numberOfRowCounts = rowCounts.length;
-		if ( batchPosition != 0 && numberOfRowCounts != batchPosition / getStatements().size() ) {
+		if ( rowCount != 0 && numberOfRowCounts != rowCount / statementCount ) {
 			LOG.unexpectedRowCounts();
 		}
 		for ( int i = 0; i < numberOfRowCounts; i++ ) {
 			getKey().getExpectation().verifyOutcome( rowCounts[i], ps, i, statementSQL );
 		}
 	}
+
+	/**
+	 * The execution of the statements detached from this batch once it was full, on the thread of the
+	 * {@link PipelinedBatchExecutor}.  The outcome is checked, as for a synchronous execution, by
+	 * {@link #complete()} on the session's thread.
+	 */
+	private class PipelinedExecution implements PipelinedBatchExecutor.Execution {
+		private final LinkedHashMap<String,PreparedStatement> statements;
+		private final int rowCount;
+
+		private final List<int[]> rowCounts;
+		private final StatisticsImplementor statistics;
+		private long executionNanos;
+		private String failedStatementSql;
+		private Exception failure;
+
+		private PipelinedExecution(LinkedHashMap<String,PreparedStatement> statements, int rowCount) {
+			this.statements = statements;
+			this.rowCount = rowCount;
+			this.rowCounts = new ArrayList<>( statements.size() );
+			this.statistics = statistics();
+		}
+
+		private JdbcObserver observer() {
+			return getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+		}
+
+		private void start() {
+			final JdbcObserver observer = observer();
+			for ( int i = 0; i < statements.size(); i++ ) {
+				observer.jdbcExecuteBatchStart();
+			}
+		}
+
+		@Override
+		public void run() {
+			for ( Map.Entry<String,PreparedStatement> entry : statements.entrySet() ) {
+				final long start = System.nanoTime();
+				try {
+					rowCounts.add( entry.getValue().executeBatch() );
+				}
+				catch (SQLException | RuntimeException e) {
+					failedStatementSql = entry.getKey();
+					failure = e;
+					return;
+				}
+				finally {
+					final long nanos = System.nanoTime() - start;
+					executionNanos += nanos;
+					recordExecution( statistics, nanos );
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			try {
+				end();
+				if ( failure instanceof SQLException ) {
+					throw (SQLException) failure;
+				}
+				else if ( failure != null ) {
+					throw (RuntimeException) failure;
+				}
+				int i = 0;
+				for ( Map.Entry<String,PreparedStatement> entry : statements.entrySet() ) {
+					failedStatementSql = entry.getKey();
+					checkRowCounts( rowCounts.get( i++ ), entry.getValue(), failedStatementSql, rowCount, statements.size() );
+				}
+				afterExecution( rowCount, executionNanos );
+			}
+			catch ( SQLException e ) {
+				releaseStatements( statements );
+				abortBatch();
+				LOG.unableToExecuteBatch( e, failedStatementSql );
+				throw sqlExceptionHelper().convert( e, "could not execute batch", failedStatementSql );
+			}
+			catch ( RuntimeException e ) {
+				releaseStatements( statements );
+				abortBatch();
+				LOG.unableToExecuteBatch( e, failedStatementSql );
+				throw e;
+			}
+			releaseStatements( statements );
+		}
+
+		@Override
+		public void discard() {
+			end();
+			releaseStatements( statements );
+		}
+
+		private void end() {
+			final JdbcObserver observer = observer();
+			for ( int i = 0; i < statements.size(); i++ ) {
+				observer.jdbcExecuteBatchEnd();
+			}
+		}
+	}
 }
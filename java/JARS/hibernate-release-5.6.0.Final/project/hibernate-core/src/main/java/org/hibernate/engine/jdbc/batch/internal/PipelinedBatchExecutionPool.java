@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.internal.util.DaemonThreadFactory;
+import org.hibernate.service.Service;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+ * The threads executing the batches handed off by the {@link PipelinedBatchExecutor}s of the sessions of a
+ * SessionFactory.
+ * <p/>
+ * The number of threads is bounded; when they are all busy, the batches handed off are queued.  The queue is
+ * bounded as well, by the number of open sessions, as each session has at most one batch in flight.  The
+ * threads are daemon threads, created on demand, released when idle and stopped along with the SessionFactory.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PIPELINED_BATCH_EXECUTION_THREADS
+ */
+public class PipelinedBatchExecutionPool implements Service, Stoppable {
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Constructs a PipelinedBatchExecutionPool
+	 *
+	 * @param threadCount The maximum number of threads
+	 */
+	public PipelinedBatchExecutionPool(int threadCount) {
+		this.executor = new ThreadPoolExecutor(
+				threadCount,
+				threadCount,
+				KEEP_ALIVE_SECONDS,
+				TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				new DaemonThreadFactory( "hibernate-batch-execution" )
+		);
+		this.executor.allowCoreThreadTimeOut( true );
+	}
+
+	/**
+	 * Schedules the execution of a batch.
+	 *
+	 * @param execution The execution of a batch
+	 *
+	 * @return The future completed once the batch is executed
+	 */
+	public Future<?> submit(Runnable execution) {
+		return executor.submit( execution );
+	}
+
+	@Override
+	public void stop() {
+		// the batches still in flight are executed: their sessions wait for them
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.SessionFactoryServiceInitiator;
+
+/**
+ * Initiator for the {@link PipelinedBatchExecutionPool} service
+ */
+public class PipelinedBatchExecutionPoolInitiator implements SessionFactoryServiceInitiator<PipelinedBatchExecutionPool> {
+	/**
+	 * Singleton access
+	 */
+	public static final PipelinedBatchExecutionPoolInitiator INSTANCE = new PipelinedBatchExecutionPoolInitiator();
+
+	@Override
+	public Class<PipelinedBatchExecutionPool> getServiceInitiated() {
+		return PipelinedBatchExecutionPool.class;
+	}
+
+	@Override
+	public PipelinedBatchExecutionPool initiateService(
+			SessionFactoryImplementor sessionFactory,
+			SessionFactoryOptions sessionFactoryOptions,
+			ServiceRegistryImplementor registry) {
+		final int threadCount = ConfigurationHelper.getInt(
+				AvailableSettings.PIPELINED_BATCH_EXECUTION_THREADS,
+				registry.getService( ConfigurationService.class ).getSettings(),
+				Runtime.getRuntime().availableProcessors()
+		);
+		return new PipelinedBatchExecutionPool( Math.max( 1, threadCount ) );
+	}
+}
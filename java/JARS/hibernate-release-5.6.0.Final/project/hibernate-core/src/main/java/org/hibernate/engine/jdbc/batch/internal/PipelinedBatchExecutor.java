@@ -0,0 +1,155 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.hibernate.HibernateException;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Executes the full batches of one session on a thread of the {@link PipelinedBatchExecutionPool}, so that the
+ * flushing thread can go on with the work of the flush which does not involve JDBC in the meantime.
+ * <p/>
+ * A connection must not be used by two threads at once, so the session's thread waits for the batch in flight
+ * before it uses the connection again, be it to prepare a statement or to bind the rows of a batch: see
+ * {@link org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl#awaitPipelinedBatch()}.
+ * <p/>
+ * At most one batch is in flight: handing off a batch first waits for the previous one, which keeps
+ * the statements in the order they were added and bounds the memory held by the driver.  The outcome
+ * of a batch (row count checks, exceptions, releasing its statements) is always processed by the
+ * session's thread, when it {@link #await() waits} for the batch; the pool's thread does nothing
+ * but {@code executeBatch}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PIPELINED_BATCH_EXECUTION
+ */
+public class PipelinedBatchExecutor {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( PipelinedBatchExecutor.class );
+
+	/**
+	 * The execution of a batch handed off to the pool.
+	 */
+	public interface Execution extends Runnable {
+		/**
+		 * Processes the outcome of the execution, once it has run.  Called by the session's thread.
+		 */
+		void complete();
+
+		/**
+		 * Releases the resources of the execution, once it has run, ignoring its outcome.  Called by
+		 * the session's thread.
+		 */
+		void discard();
+	}
+
+	private final PipelinedBatchExecutionPool pool;
+
+	private Execution pendingExecution;
+	private Future<?> pendingFuture;
+
+	/**
+	 * Constructs a PipelinedBatchExecutor
+	 *
+	 * @param pool The pool of the SessionFactory
+	 */
+	public PipelinedBatchExecutor(PipelinedBatchExecutionPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Hands the given execution to the pool, after the batch currently in flight (if any) has been
+	 * {@link #await() waited for}.
+	 *
+	 * @param execution The execution of a batch
+	 */
+	public void submit(Execution execution) {
+		await();
+		pendingFuture = pool.submit( execution );
+		pendingExecution = execution;
+	}
+
+	/**
+	 * Is a batch in flight?
+	 *
+	 * @return {@code true} if a batch was handed off and not waited for yet
+	 */
+	public boolean hasPendingExecution() {
+		return pendingExecution != null;
+	}
+
+	/**
+	 * Waits for the batch in flight (if any) and processes its outcome, throwing the exception
+	 * which its execution raised, if any.
+	 */
+	public void await() {
+		final Execution execution = pendingExecution;
+		if ( execution == null ) {
+			return;
+		}
+		final Future<?> future = pendingFuture;
+		pendingExecution = null;
+		pendingFuture = null;
+
+		try {
+			waitFor( future );
+		}
+		catch ( RuntimeException e ) {
+			execution.discard();
+			throw e;
+		}
+		execution.complete();
+	}
+
+	/**
+	 * Waits for the batch in flight (if any) and releases it, ignoring its outcome.
+	 */
+	public void discard() {
+		final Execution execution = pendingExecution;
+		if ( execution == null ) {
+			return;
+		}
+		final Future<?> future = pendingFuture;
+		pendingExecution = null;
+		pendingFuture = null;
+
+		try {
+			waitFor( future );
+		}
+		catch ( RuntimeException e ) {
+			LOG.debugf( e, "Discarding failed batch execution" );
+		}
+		finally {
+			execution.discard();
+		}
+	}
+
+	private static void waitFor(Future<?> future) {
+		// the connection is in use until the execution is over, so an interrupt does not stop the wait
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					future.get();
+					return;
+				}
+				catch ( InterruptedException e ) {
+					interrupted = true;
+				}
+				catch ( ExecutionException e ) {
+					throw new HibernateException( "Unexpected failure of pipelined batch execution", e.getCause() );
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
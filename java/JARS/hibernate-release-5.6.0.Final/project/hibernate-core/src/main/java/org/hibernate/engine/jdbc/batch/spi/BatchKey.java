@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.jdbc.batch.spi;
 
+import java.io.Serializable;
+
 import org.hibernate.jdbc.Expectation;
 
 /**
@@ -29,4 +31,28 @@ public interface BatchKey {
 	 * @return The expectations
 	 */
 	Expectation getExpectation();
+
+	/**
+	 * The tables written by the statements of this batch.
+	 * <p/>
+	 * Together with {@link #getReferencedTables()} this allows a batch to stay open while statements for
+	 * other batches are collected (see {@link org.hibernate.cfg.AvailableSettings#BATCH_MULTIPLE_TABLES}).
+	 * {@code null}, the default, means the tables are not known and the batch is never executed out of order.
+	 *
+	 * @return The written tables, or {@code null}
+	 */
+	default Serializable[] getAffectedTables() {
+		return null;
+	}
+
+	/**
+	 * The tables holding rows which the statements of this batch may depend upon (foreign key targets).
+	 * A statement of this batch is only ever executed ahead of statements of other pending batches which
+	 * do not write to any of these tables.
+	 *
+	 * @return The referenced tables, or {@code null} if not known
+	 */
+	default Serializable[] getReferencedTables() {
+		return null;
+	}
 }
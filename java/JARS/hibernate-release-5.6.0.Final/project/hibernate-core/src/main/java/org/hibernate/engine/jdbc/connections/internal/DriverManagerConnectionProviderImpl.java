@@ -6,16 +6,30 @@
  */
 package org.hibernate.engine.jdbc.connections.internal;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.Driver;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -29,6 +43,7 @@ import org.hibernate.internal.log.ConnectionPoolingLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.UnknownUnwrapTypeException;
 import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.service.spi.ServiceException;
 import org.hibernate.service.spi.ServiceRegistryAwareService;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
@@ -36,9 +51,13 @@ import org.hibernate.service.spi.Stoppable;
 
 /**
  * A connection provider that uses the {@link java.sql.DriverManager} directly to open connections and provides
- * a very rudimentary connection pool.
+ * a simple connection pool.
  * <p/>
- * IMPL NOTE : not intended for production use!
+ * Borrowing a connection does not lock: a thread first tries the connection it returned last, then the other idle
+ * ones.  By default, a thread fails right away when all the connections are in use; with an
+ * {@link #ACQUISITION_TIMEOUT acquisition timeout}, it waits for one in FIFO order.  The pool can also
+ * {@link #LEAK_DETECTION_THRESHOLD detect the connections which are not returned}, and
+ * {@link #STATEMENT_CACHE_SIZE cache the prepared statements} of its connections.
  * <p/>
  * Thanks to Oleg Varaksin and his article on object pooling using the {@link java.util.concurrent} package, from
  * which much of the pooling code here is derived.  See http://ovaraksin.blogspot.com/2013/08/simple-and-lightweight-pool.html
@@ -47,7 +66,8 @@ import org.hibernate.service.spi.Stoppable;
  * @author Steve Ebersole
  */
 public class DriverManagerConnectionProviderImpl
-		implements ConnectionProvider, Configurable, Stoppable, ServiceRegistryAwareService, ConnectionValidator {
+		implements ConnectionProvider, Configurable, Stoppable, ServiceRegistryAwareService, ConnectionValidator,
+		Manageable, DriverManagerConnectionProviderMXBean {
 
 	private static final ConnectionPoolingLogger log = ConnectionPoolingLogger.CONNECTIONS_LOGGER;
 
@@ -55,6 +75,11 @@ public class DriverManagerConnectionProviderImpl
 	public static final String INITIAL_SIZE = "hibernate.connection.initial_pool_size";
 	// in TimeUnit.SECONDS
 	public static final String VALIDATION_INTERVAL = "hibernate.connection.pool_validation_interval";
+	// in TimeUnit.MILLISECONDS
+	public static final String ACQUISITION_TIMEOUT = "hibernate.connection.acquisition_timeout";
+	// in TimeUnit.MILLISECONDS
+	public static final String LEAK_DETECTION_THRESHOLD = "hibernate.connection.leak_detection_threshold";
+	public static final String STATEMENT_CACHE_SIZE = "hibernate.connection.statement_cache_size";
 
 	private volatile PoolState state;
 
@@ -72,7 +97,8 @@ public class DriverManagerConnectionProviderImpl
 		log.usingHibernateBuiltInConnectionPool();
 		PooledConnections pool = buildPool( configurationValues, serviceRegistry );
 		final long validationInterval = ConfigurationHelper.getLong( VALIDATION_INTERVAL, configurationValues, 30 );
-		PoolState newstate = new PoolState( pool, validationInterval );
+		final long leakDetectionThreshold = ConfigurationHelper.getLong( LEAK_DETECTION_THRESHOLD, configurationValues, 0 );
+		PoolState newstate = new PoolState( pool, validationInterval, leakDetectionThreshold );
 		this.state = newstate;
 	}
 
@@ -94,6 +120,15 @@ public class DriverManagerConnectionProviderImpl
 		pooledConnectionBuilder.initialSize( initialSize );
 		pooledConnectionBuilder.minSize( minSize );
 		pooledConnectionBuilder.maxSize( maxSize );
+		pooledConnectionBuilder.acquisitionTimeout(
+				ConfigurationHelper.getLong( ACQUISITION_TIMEOUT, configurationValues, 0 )
+		);
+		pooledConnectionBuilder.leakDetectionThreshold(
+				ConfigurationHelper.getLong( LEAK_DETECTION_THRESHOLD, configurationValues, 0 )
+		);
+		pooledConnectionBuilder.statementCacheSize(
+				ConfigurationHelper.getInt( STATEMENT_CACHE_SIZE, configurationValues, 0 )
+		);
 		pooledConnectionBuilder.validator( this );
 		return pooledConnectionBuilder.build();
 	}
@@ -206,7 +241,7 @@ public class DriverManagerConnectionProviderImpl
 	}
 
 	protected void validateConnectionsReturned() {
-		int allocationCount = state.pool.allConnections.size() - state.pool.availableConnections.size();
+		int allocationCount = state.pool.getActiveCount();
 		if ( allocationCount != 0 ) {
 			log.error( "Connection leak detected: there are " + allocationCount + " unclosed connections!");
 		}
@@ -241,15 +276,90 @@ public class DriverManagerConnectionProviderImpl
 		return connectionCreator.getConnectionProperties();
 	}
 
+	/**
+	 * Exposed to facilitate testing only: runs the leak detection, as the validation thread does.
+	 */
+	public void detectLeaks() {
+		if ( state != null ) {
+			state.pool.detectLeaks();
+		}
+	}
+
 	@Override
 	public boolean isValid(Connection connection) throws SQLException {
 		return true;
 	}
 
+	@Override
+	public int getConnectionCount() {
+		return state == null ? 0 : state.pool.getConnectionCount();
+	}
+
+	@Override
+	public int getActiveConnectionCount() {
+		return state == null ? 0 : state.pool.getActiveCount();
+	}
+
+	@Override
+	public int getIdleConnectionCount() {
+		return state == null ? 0 : state.pool.size();
+	}
+
+	@Override
+	public int getPendingAcquisitionCount() {
+		return state == null ? 0 : state.pool.getPendingAcquisitionCount();
+	}
+
+	@Override
+	public long getAcquisitionCount() {
+		return state == null ? 0 : state.pool.getAcquisitionCount();
+	}
+
+	@Override
+	public long getAcquisitionWaitCount() {
+		return state == null ? 0 : state.pool.getAcquisitionWaitCount();
+	}
+
+	@Override
+	public long getAcquisitionTimeoutCount() {
+		return state == null ? 0 : state.pool.getAcquisitionTimeoutCount();
+	}
+
+	@Override
+	public long getMaxAcquisitionWaitTime() {
+		return state == null ? 0 : state.pool.getMaxAcquisitionWaitTime();
+	}
+
+	@Override
+	public long getLeakedConnectionCount() {
+		return state == null ? 0 : state.pool.getLeakedConnectionCount();
+	}
+
+	@Override
+	public long getStatementCacheHitCount() {
+		return state == null ? 0 : state.pool.getStatementCacheHitCount();
+	}
+
+	@Override
+	public long getStatementCacheMissCount() {
+		return state == null ? 0 : state.pool.getStatementCacheMissCount();
+	}
+
 	public static class PooledConnections {
 
-		private final ConcurrentLinkedQueue<Connection> allConnections = new ConcurrentLinkedQueue<Connection>();
-		private final ConcurrentLinkedQueue<Connection> availableConnections = new ConcurrentLinkedQueue<Connection>();
+		private static final int IDLE = 0;
+		private static final int IN_USE = 1;
+		private static final int REMOVED = -1;
+
+		// the settings of a statement restored before it goes back to the statement cache, by setter name
+		private static final Map<String, Method> RESETTABLE_STATEMENT_SETTINGS = resettableStatementSettings();
+
+		private final CopyOnWriteArrayList<PooledConnection> allConnections = new CopyOnWriteArrayList<>();
+		// the connection the current thread returned last, most likely still in the caches of its core; weakly
+		// referenced, so that the value of the thread local does not keep the pool, nor its thread local key, alive
+		private final ThreadLocal<WeakReference<PooledConnection>> lastConnection = new ThreadLocal<>();
+		// bounds the number of connections in use, and queues the threads waiting for one in FIFO order
+		private final Semaphore permits;
 
 		private static final CoreMessageLogger log = CoreLogging.messageLogger( DriverManagerConnectionProviderImpl.class );
 
@@ -258,6 +368,17 @@ public class DriverManagerConnectionProviderImpl
 		private final boolean autoCommit;
 		private final int minSize;
 		private final int maxSize;
+		private final long acquisitionTimeout;
+		private final long leakDetectionThreshold;
+		private final int statementCacheSize;
+
+		private final LongAdder acquisitionCount = new LongAdder();
+		private final LongAdder acquisitionWaitCount = new LongAdder();
+		private final LongAdder acquisitionTimeoutCount = new LongAdder();
+		private final AtomicLong maxAcquisitionWaitTime = new AtomicLong();
+		private final LongAdder leakedConnectionCount = new LongAdder();
+		private final LongAdder statementCacheHitCount = new LongAdder();
+		private final LongAdder statementCacheMissCount = new LongAdder();
 
 		private volatile boolean primed;
 
@@ -271,7 +392,17 @@ public class DriverManagerConnectionProviderImpl
 			autoCommit = builder.autoCommit;
 			maxSize = builder.maxSize;
 			minSize = builder.minSize;
+			acquisitionTimeout = builder.acquisitionTimeout;
+			leakDetectionThreshold = builder.leakDetectionThreshold;
+			statementCacheSize = builder.statementCacheSize;
+			permits = new Semaphore( maxSize, true );
 			log.hibernateConnectionPoolSize( maxSize, minSize );
+			log.debugf(
+					"Connection pool acquisition timeout: %s ms, leak detection threshold: %s ms, statement cache size: %s",
+					acquisitionTimeout,
+					leakDetectionThreshold,
+					statementCacheSize
+			);
 			addConnections( builder.initialSize );
 		}
 
@@ -297,10 +428,52 @@ public class DriverManagerConnectionProviderImpl
 			}
 		}
 
+		/**
+		 * Logs the connections which have been in use for longer than the leak detection threshold, along with the
+		 * stack trace of their acquisition.  Each leaked connection is reported once.
+		 */
+		public void detectLeaks() {
+			final long now = System.nanoTime();
+			for ( PooledConnection pooled : allConnections ) {
+				final Throwable acquisition = pooled.acquisition;
+				if ( acquisition != null && !pooled.leakReported
+						&& now - pooled.acquisitionTime > TimeUnit.MILLISECONDS.toNanos( leakDetectionThreshold ) ) {
+					pooled.leakReported = true;
+					leakedConnectionCount.increment();
+					log.warnf(
+							acquisition,
+							"Connection leak detected: a connection of pool %s has been in use for more than %s ms",
+							getUrl(),
+							leakDetectionThreshold
+					);
+				}
+			}
+		}
+
 		public void add(Connection conn) throws SQLException {
-			final Connection connection = releaseConnection( conn );
-			if ( connection != null ) {
-				availableConnections.offer( connection );
+			final PooledConnection pooled = find( conn );
+			if ( pooled == null ) {
+				// not a connection of this pool, adopt it
+				final Connection connection = releaseConnection( conn );
+				if ( connection != null ) {
+					allConnections.add( newPooledConnection( connection, IDLE ) );
+				}
+				return;
+			}
+			if ( pooled.state.get() != IN_USE ) {
+				log.debug( "Connection returned to the pool while not in use; ignoring" );
+				return;
+			}
+
+			try {
+				pooled.acquisition = null;
+				if ( releaseConnection( pooled.connection ) != null ) {
+					pooled.state.set( IDLE );
+					lastConnection.set( new WeakReference<>( pooled ) );
+				}
+			}
+			finally {
+				permits.release();
 			}
 		}
 
@@ -322,22 +495,117 @@ public class DriverManagerConnectionProviderImpl
 		}
 
 		public Connection poll() throws SQLException {
-			Connection conn;
-			do {
-				conn = availableConnections.poll();
-				if ( conn == null ) {
-					synchronized (allConnections) {
-						if ( allConnections.size() < maxSize ) {
-							addConnections( 1 );
-							return poll();
-						}
+			acquirePermit();
+			boolean acquired = false;
+			try {
+				final Connection connection = borrow();
+				acquired = true;
+				return connection;
+			}
+			finally {
+				if ( !acquired ) {
+					permits.release();
+				}
+			}
+		}
+
+		private void acquirePermit() {
+			acquisitionCount.increment();
+			try {
+				// unlike tryAcquire(), which barges even on a fair semaphore, does not take a permit ahead of
+				// the threads already waiting for one
+				if ( permits.tryAcquire( 0, TimeUnit.NANOSECONDS ) ) {
+					return;
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted while waiting for a connection of the internal connection pool", e );
+			}
+
+			if ( acquisitionTimeout > 0 ) {
+				acquisitionWaitCount.increment();
+				final long start = System.nanoTime();
+				final boolean acquired;
+				try {
+					acquired = permits.tryAcquire( acquisitionTimeout, TimeUnit.MILLISECONDS );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new HibernateException( "Interrupted while waiting for a connection of the internal connection pool", e );
+				}
+				finally {
+					final long waitTime = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+					//noinspection StatementWithEmptyBody
+					for ( long max = maxAcquisitionWaitTime.get();
+							waitTime > max && !maxAcquisitionWaitTime.compareAndSet( max, waitTime );
+							max = maxAcquisitionWaitTime.get() ) {
 					}
-					throw new HibernateException(
-							"The internal connection pool has reached its maximum size and no connection is currently available!" );
 				}
-				conn = prepareConnection( conn );
-			} while ( conn == null );
-			return conn;
+				if ( acquired ) {
+					return;
+				}
+				acquisitionTimeoutCount.increment();
+				throw new HibernateException(
+						"The internal connection pool has reached its maximum size and no connection became available within "
+								+ acquisitionTimeout + " ms!" );
+			}
+
+			acquisitionTimeoutCount.increment();
+			throw new HibernateException(
+					"The internal connection pool has reached its maximum size and no connection is currently available!" );
+		}
+
+		private Connection borrow() {
+			while ( true ) {
+				PooledConnection pooled = reserve();
+				if ( pooled == null ) {
+					// the permit guarantees the pool does not grow beyond its max size
+					pooled = newPooledConnection( connectionCreator.createConnection(), IN_USE );
+					allConnections.add( pooled );
+				}
+				if ( prepareConnection( pooled.connection ) != null ) {
+					if ( leakDetectionThreshold > 0 ) {
+						pooled.leakReported = false;
+						pooled.acquisitionTime = System.nanoTime();
+						pooled.acquisition = new Exception( "Connection acquisition" );
+					}
+					return pooled.handle();
+				}
+			}
+		}
+
+		private PooledConnection reserve() {
+			final WeakReference<PooledConnection> lastReference = lastConnection.get();
+			final PooledConnection last = lastReference == null ? null : lastReference.get();
+			if ( last != null && last.state.compareAndSet( IDLE, IN_USE ) ) {
+				return last;
+			}
+			for ( PooledConnection pooled : allConnections ) {
+				if ( pooled.state.compareAndSet( IDLE, IN_USE ) ) {
+					return pooled;
+				}
+			}
+			return null;
+		}
+
+		private PooledConnection newPooledConnection(Connection connection, int state) {
+			return new PooledConnection(
+					connection,
+					state,
+					statementCacheSize,
+					statementCacheHitCount,
+					statementCacheMissCount
+			);
+		}
+
+		private PooledConnection find(Connection conn) {
+			for ( PooledConnection pooled : allConnections ) {
+				if ( pooled.connection == conn || pooled.proxy == conn ) {
+					return pooled;
+				}
+			}
+			return null;
 		}
 
 		protected Connection prepareConnection(Connection conn) {
@@ -367,39 +635,59 @@ public class DriverManagerConnectionProviderImpl
 				}
 			}
 			finally {
-				allConnections.remove( conn );
+				allConnections.removeIf( pooled -> pooled.connection == conn );
 			}
 		}
 
 		public void close() throws SQLException {
 			try {
-				int allocationCount = allConnections.size() - availableConnections.size();
+				int allocationCount = getActiveCount();
 				if(allocationCount > 0) {
 					log.error( "Connection leak detected: there are " + allocationCount + " unclosed connections upon shutting down pool " + getUrl());
 				}
 			}
 			finally {
-				for ( Connection connection : allConnections ) {
-					connection.close();
+				// the entries of the other threads go away with the pool, or once the connections are collected
+				lastConnection.remove();
+				for ( PooledConnection pooled : allConnections ) {
+					pooled.connection.close();
 				}
 			}
 		}
 
 		public int size() {
-			return availableConnections.size();
+			return countConnections( IDLE );
+		}
+
+		public int getActiveCount() {
+			return countConnections( IN_USE );
+		}
+
+		private int countConnections(int state) {
+			int count = 0;
+			for ( PooledConnection pooled : allConnections ) {
+				if ( pooled.state.get() == state ) {
+					count++;
+				}
+			}
+			return count;
 		}
 
 		protected void removeConnections(int numberToBeRemoved) {
-			for ( int i = 0; i < numberToBeRemoved; i++ ) {
-				Connection connection = availableConnections.poll();
-				try {
-					if ( connection != null ) {
-						connection.close();
-					}
-					allConnections.remove( connection );
+			int removed = 0;
+			for ( PooledConnection pooled : allConnections ) {
+				if ( removed == numberToBeRemoved ) {
+					break;
 				}
-				catch (SQLException e) {
-					log.unableToCloseConnection( e );
+				if ( pooled.state.compareAndSet( IDLE, REMOVED ) ) {
+					removed++;
+					allConnections.remove( pooled );
+					try {
+						pooled.connection.close();
+					}
+					catch (SQLException e) {
+						log.unableToCloseConnection( e );
+					}
 				}
 			}
 		}
@@ -407,8 +695,7 @@ public class DriverManagerConnectionProviderImpl
 		protected void addConnections(int numberOfConnections) {
 			for ( int i = 0; i < numberOfConnections; i++ ) {
 				Connection connection = connectionCreator.createConnection();
-				allConnections.add( connection );
-				availableConnections.add( connection );
+				allConnections.add( newPooledConnection( connection, IDLE ) );
 			}
 		}
 
@@ -416,6 +703,311 @@ public class DriverManagerConnectionProviderImpl
 			return connectionCreator.getUrl();
 		}
 
+		public int getConnectionCount() {
+			return allConnections.size();
+		}
+
+		public int getPendingAcquisitionCount() {
+			return permits.getQueueLength();
+		}
+
+		public long getAcquisitionCount() {
+			return acquisitionCount.sum();
+		}
+
+		public long getAcquisitionWaitCount() {
+			return acquisitionWaitCount.sum();
+		}
+
+		public long getAcquisitionTimeoutCount() {
+			return acquisitionTimeoutCount.sum();
+		}
+
+		public long getMaxAcquisitionWaitTime() {
+			return maxAcquisitionWaitTime.get();
+		}
+
+		public long getLeakedConnectionCount() {
+			return leakedConnectionCount.sum();
+		}
+
+		public long getStatementCacheHitCount() {
+			return statementCacheHitCount.sum();
+		}
+
+		public long getStatementCacheMissCount() {
+			return statementCacheMissCount.sum();
+		}
+
+		private static Map<String, Method> resettableStatementSettings() {
+			final Map<String, Method> settings = new HashMap<>();
+			for ( String setting : new String[] {
+					"MaxRows", "LargeMaxRows", "FetchSize", "FetchDirection", "QueryTimeout", "MaxFieldSize" } ) {
+				try {
+					settings.put( "set" + setting, Statement.class.getMethod( "get" + setting ) );
+				}
+				catch (NoSuchMethodException e) {
+					throw new IllegalStateException( e );
+				}
+			}
+			return settings;
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke( target, args );
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		/**
+		 * A connection of the pool.  Its state is switched from idle to in use by a compare-and-set, which is all it
+		 * takes to borrow it.
+		 * <p/>
+		 * When statements are cached, the pool hands out a proxy of the connection, whose prepared statements are kept
+		 * open when closed, until the same SQL is prepared again.
+		 * <p/>
+		 * It does not reference its pool, as the pool keeps the connection last returned by each thread in a thread
+		 * local.
+		 */
+		private static final class PooledConnection implements InvocationHandler {
+			private final Connection connection;
+			private final Connection proxy;
+			private final AtomicInteger state;
+			private final Map<StatementKey, PreparedStatement> statements;
+			private final LongAdder statementCacheHitCount;
+			private final LongAdder statementCacheMissCount;
+
+			// the leak detection state, written by the borrowing thread and read by the validation thread
+			private volatile long acquisitionTime;
+			private volatile Throwable acquisition;
+			private volatile boolean leakReported;
+
+			private PooledConnection(
+					Connection connection,
+					int state,
+					int statementCacheSize,
+					LongAdder statementCacheHitCount,
+					LongAdder statementCacheMissCount) {
+				this.connection = connection;
+				this.state = new AtomicInteger( state );
+				this.statementCacheHitCount = statementCacheHitCount;
+				this.statementCacheMissCount = statementCacheMissCount;
+				if ( statementCacheSize > 0 ) {
+					this.statements = new LinkedHashMap<StatementKey, PreparedStatement>() {
+						@Override
+						protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+							if ( size() > statementCacheSize ) {
+								closeStatement( eldest.getValue() );
+								return true;
+							}
+							return false;
+						}
+					};
+					this.proxy = (Connection) Proxy.newProxyInstance(
+							PooledConnections.class.getClassLoader(),
+							new Class[] { Connection.class },
+							this
+					);
+				}
+				else {
+					this.statements = null;
+					this.proxy = null;
+				}
+			}
+
+			private Connection handle() {
+				return proxy == null ? connection : proxy;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				switch ( method.getName() ) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode( proxy );
+					case "toString":
+						return "PooledConnection[" + connection + "]";
+					case "prepareStatement":
+						return prepareStatement( method, args );
+					default:
+						return PooledConnections.invoke( connection, method, args );
+				}
+			}
+
+			private PreparedStatement prepareStatement(Method method, Object[] args) throws Throwable {
+				final StatementKey key = new StatementKey( method, args );
+				PreparedStatement statement;
+				synchronized ( statements ) {
+					statement = statements.remove( key );
+				}
+				if ( statement == null ) {
+					statementCacheMissCount.increment();
+					statement = (PreparedStatement) PooledConnections.invoke( connection, method, args );
+				}
+				else {
+					statementCacheHitCount.increment();
+				}
+				return (PreparedStatement) Proxy.newProxyInstance(
+						PooledConnections.class.getClassLoader(),
+						new Class[] { PreparedStatement.class },
+						new CachedStatement( this, key, statement )
+				);
+			}
+
+			private void cacheStatement(StatementKey key, PreparedStatement statement) {
+				final PreparedStatement replaced;
+				synchronized ( statements ) {
+					replaced = statements.put( key, statement );
+				}
+				if ( replaced != null ) {
+					closeStatement( replaced );
+				}
+			}
+
+			private void closeStatement(PreparedStatement statement) {
+				try {
+					statement.close();
+				}
+				catch (SQLException e) {
+					log.debug( "Unable to close cached statement", e );
+				}
+			}
+		}
+
+		/**
+		 * The handle of a cached prepared statement, given to a single user of the statement.  Closing it returns
+		 * the statement to the cache, after resetting the parameters and the settings changed through the handle.
+		 */
+		private static final class CachedStatement implements InvocationHandler {
+			private final PooledConnection owner;
+			private final StatementKey key;
+			private final PreparedStatement statement;
+
+			private Map<Method, Object> changedSettings;
+			private boolean batched;
+			private boolean cacheable = true;
+			private boolean closed;
+
+			private CachedStatement(PooledConnection owner, StatementKey key, PreparedStatement statement) {
+				this.owner = owner;
+				this.key = key;
+				this.statement = statement;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				final String name = method.getName();
+				switch ( name ) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode( proxy );
+					case "toString":
+						return "CachedStatement[" + statement + "]";
+					case "close":
+						close();
+						return null;
+					case "isClosed":
+						return closed || statement.isClosed();
+					case "getConnection":
+						return owner.proxy;
+					default:
+						if ( closed ) {
+							throw new SQLException( "Statement is closed" );
+						}
+				}
+
+				if ( method.getDeclaringClass() == Statement.class ) {
+					if ( name.startsWith( "set" ) || name.equals( "closeOnCompletion" ) ) {
+						final Method getter = RESETTABLE_STATEMENT_SETTINGS.get( name );
+						if ( getter == null ) {
+							cacheable = false;
+						}
+						else {
+							if ( changedSettings == null ) {
+								changedSettings = new HashMap<>();
+							}
+							if ( !changedSettings.containsKey( method ) ) {
+								changedSettings.put( method, getter.invoke( statement ) );
+							}
+						}
+					}
+					else if ( name.equals( "addBatch" ) ) {
+						batched = true;
+					}
+				}
+				return PooledConnections.invoke( statement, method, args );
+			}
+
+			private void close() throws SQLException {
+				if ( closed ) {
+					return;
+				}
+				closed = true;
+				if ( cacheable && reset() ) {
+					owner.cacheStatement( key, statement );
+				}
+				else {
+					statement.close();
+				}
+			}
+
+			private boolean reset() {
+				try {
+					statement.clearParameters();
+					if ( batched ) {
+						statement.clearBatch();
+					}
+					statement.clearWarnings();
+					if ( changedSettings != null ) {
+						for ( Map.Entry<Method, Object> setting : changedSettings.entrySet() ) {
+							setting.getKey().invoke( statement, setting.getValue() );
+						}
+					}
+					return !statement.isClosed();
+				}
+				catch (Exception e) {
+					log.debug( "Unable to reset cached statement, closing it", e );
+					return false;
+				}
+			}
+		}
+
+		private static final class StatementKey {
+			private final Method method;
+			private final Object[] args;
+			private final int hashCode;
+
+			private StatementKey(Method method, Object[] args) {
+				this.method = method;
+				this.args = args;
+				this.hashCode = 31 * method.hashCode() + Arrays.deepHashCode( args );
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				if ( this == o ) {
+					return true;
+				}
+				if ( !( o instanceof StatementKey ) ) {
+					return false;
+				}
+				final StatementKey that = (StatementKey) o;
+				return hashCode == that.hashCode
+						&& method.equals( that.method )
+						&& Arrays.deepEquals( args, that.args );
+			}
+
+			@Override
+			public int hashCode() {
+				return hashCode;
+			}
+		}
+
 		public static class Builder {
 			private final ConnectionCreator connectionCreator;
 			private ConnectionValidator connectionValidator;
@@ -423,6 +1015,9 @@ public class DriverManagerConnectionProviderImpl
 			private int initialSize = 1;
 			private int minSize = 1;
 			private int maxSize = 20;
+			private long acquisitionTimeout;
+			private long leakDetectionThreshold;
+			private int statementCacheSize;
 
 			public Builder(ConnectionCreator connectionCreator, boolean autoCommit) {
 				this.connectionCreator = connectionCreator;
@@ -444,6 +1039,21 @@ public class DriverManagerConnectionProviderImpl
 				return this;
 			}
 
+			public Builder acquisitionTimeout(long acquisitionTimeout) {
+				this.acquisitionTimeout = acquisitionTimeout;
+				return this;
+			}
+
+			public Builder leakDetectionThreshold(long leakDetectionThreshold) {
+				this.leakDetectionThreshold = leakDetectionThreshold;
+				return this;
+			}
+
+			public Builder statementCacheSize(int statementCacheSize) {
+				this.statementCacheSize = statementCacheSize;
+				return this;
+			}
+
 			public Builder validator(ConnectionValidator connectionValidator) {
 				this.connectionValidator = connectionValidator;
 				return this;
@@ -464,10 +1074,12 @@ public class DriverManagerConnectionProviderImpl
 
 		private final PooledConnections pool;
 		private final long validationInterval;
+		private final long leakDetectionThreshold;
 
-		public PoolState(PooledConnections pool, long validationInterval) {
+		public PoolState(PooledConnections pool, long validationInterval, long leakDetectionThreshold) {
 			this.pool = pool;
 			this.validationInterval = validationInterval;
+			this.leakDetectionThreshold = leakDetectionThreshold;
 		}
 
 		private void startIfNeeded() {
@@ -486,6 +1098,14 @@ public class DriverManagerConnectionProviderImpl
 						validationInterval,
 						TimeUnit.SECONDS
 				);
+				if ( leakDetectionThreshold > 0 ) {
+					executorService.scheduleWithFixedDelay(
+							pool::detectLeaks,
+							leakDetectionThreshold,
+							leakDetectionThreshold,
+							TimeUnit.MILLISECONDS
+					);
+				}
 				active = true;
 			}
 			finally {
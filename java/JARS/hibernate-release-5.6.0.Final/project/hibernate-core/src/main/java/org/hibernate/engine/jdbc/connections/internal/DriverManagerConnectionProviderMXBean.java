@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.connections.internal;
+
+/**
+ * The DriverManagerConnectionProviderImpl JMX management interface, exposing the metrics of its connection pool.
+ */
+public interface DriverManagerConnectionProviderMXBean {
+	/**
+	 * The number of connections of the pool, in use or idle.
+	 */
+	int getConnectionCount();
+
+	int getActiveConnectionCount();
+
+	int getIdleConnectionCount();
+
+	/**
+	 * The number of threads currently waiting for a connection.
+	 */
+	int getPendingAcquisitionCount();
+
+	long getAcquisitionCount();
+
+	/**
+	 * The number of acquisitions which had to wait for a connection to be returned.
+	 */
+	long getAcquisitionWaitCount();
+
+	/**
+	 * The number of acquisitions which failed as no connection was available in time.
+	 */
+	long getAcquisitionTimeoutCount();
+
+	/**
+	 * The longest time, in milliseconds, an acquisition waited for a connection.
+	 */
+	long getMaxAcquisitionWaitTime();
+
+	long getLeakedConnectionCount();
+
+	long getStatementCacheHitCount();
+
+	long getStatementCacheMissCount();
+}
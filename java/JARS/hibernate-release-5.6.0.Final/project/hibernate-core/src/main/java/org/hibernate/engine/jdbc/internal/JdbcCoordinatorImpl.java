@@ -9,22 +9,30 @@ package org.hibernate.engine.jdbc.internal;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.HibernateException;
 import org.hibernate.TransactionException;
+import org.hibernate.engine.jdbc.batch.internal.PipelinedBatchExecutionPool;
+import org.hibernate.engine.jdbc.batch.internal.PipelinedBatchExecutor;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
 import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
 import org.hibernate.engine.jdbc.spi.InvalidatableWrapper;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
@@ -65,6 +73,18 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	private transient Batch currentBatch;
 
+	/**
+	 * The batches which have been started but not yet executed, in the order in which they
+	 * have to be executed.  Only used when batching for multiple tables is enabled.
+	 */
+	private transient LinkedHashMap<BatchKey, Batch> pendingBatches;
+
+	/**
+	 * Executes full batches while the flush goes on with its work not involving JDBC.  Only used when pipelined
+	 * batch execution is enabled.
+	 */
+	private transient PipelinedBatchExecutor pipelinedBatchExecutor;
+
 	private transient long transactionTimeOutInstant = -1;
 
 	private Statement lastQuery;
@@ -166,7 +186,15 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		LOG.tracev( "Closing JDBC container [{0}]", this );
 		Connection connection;
 		try {
-			if ( currentBatch != null ) {
+			if ( pipelinedBatchExecutor != null ) {
+				pipelinedBatchExecutor.discard();
+				pipelinedBatchExecutor = null;
+			}
+			if ( pendingBatches != null && !pendingBatches.isEmpty() ) {
+				LOG.closingUnreleasedBatch();
+				releasePendingBatches();
+			}
+			else if ( currentBatch != null ) {
 				LOG.closingUnreleasedBatch();
 				currentBatch.release();
 			}
@@ -179,6 +207,9 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	@Override
 	public Batch getBatch(BatchKey key) {
+		if ( isMultiTableBatchingEnabled() ) {
+			return getPendingBatch( key );
+		}
 		if ( currentBatch != null ) {
 			if ( currentBatch.getKey().equals( key ) ) {
 				return currentBatch;
@@ -194,20 +225,192 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	@Override
 	public void executeBatch() {
-		if ( currentBatch != null ) {
+		// reports the failure of the batch in flight, if any
+		awaitPipelinedBatch();
+		if ( pendingBatches != null ) {
+			executePendingBatches( null );
+		}
+		else if ( currentBatch != null ) {
 			currentBatch.execute();
 			// needed?
 			currentBatch.release();
 		}
 	}
 
+	/**
+	 * Waits for the batch in flight, if any, and processes its outcome.  JDBC does not allow a connection to be
+	 * used by several threads at once, so this is called before any use of the physical connection by the
+	 * session's thread: preparing a statement, binding the rows of a batch, handing out the connection or
+	 * completing the transaction.  A flush failing for another reason than JDBC
+	 * {@link #abortPipelinedBatch() aborts} it instead.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PIPELINED_BATCH_EXECUTION
+	 */
+	public void awaitPipelinedBatch() {
+		if ( pipelinedBatchExecutor != null ) {
+			pipelinedBatchExecutor.await();
+		}
+	}
+
+	/**
+	 * Waits for the batch in flight, if any, and releases it, ignoring its outcome.  Called when a flush fails,
+	 * so that the rollback which follows does not use the connection while the batch is executing.
+	 */
+	public void abortPipelinedBatch() {
+		if ( pipelinedBatchExecutor != null ) {
+			pipelinedBatchExecutor.discard();
+		}
+	}
+
 	@Override
 	public void abortBatch() {
-		if ( currentBatch != null ) {
+		if ( pipelinedBatchExecutor != null ) {
+			pipelinedBatchExecutor.discard();
+		}
+		if ( pendingBatches != null ) {
+			releasePendingBatches();
+		}
+		else if ( currentBatch != null ) {
 			currentBatch.release();
 		}
 	}
 
+	/**
+	 * The executor to which full batches are handed off, when pipelined batch execution is enabled.
+	 *
+	 * @return The executor, or {@code null} if batches are executed by the session's thread
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PIPELINED_BATCH_EXECUTION
+	 */
+	public PipelinedBatchExecutor getPipelinedBatchExecutor() {
+		if ( pipelinedBatchExecutor == null
+				&& sessionFactory().getSessionFactoryOptions().isPipelinedBatchExecutionEnabled() ) {
+			pipelinedBatchExecutor = new PipelinedBatchExecutor(
+					sessionFactory().getServiceRegistry().getService( PipelinedBatchExecutionPool.class )
+			);
+		}
+		return pipelinedBatchExecutor;
+	}
+
+	private boolean isMultiTableBatchingEnabled() {
+		return sessionFactory().getSessionFactoryOptions().isMultiTableBatchingEnabled();
+	}
+
+	private Batch getPendingBatch(BatchKey key) {
+		if ( currentBatch != null && currentBatch.getKey().equals( key ) ) {
+			return currentBatch;
+		}
+		if ( pendingBatches == null ) {
+			pendingBatches = new LinkedHashMap<>();
+		}
+
+		final Batch pendingBatch = pendingBatches.get( key );
+		if ( pendingBatch == null ) {
+			// a new batch is executed after all pending ones, so the statement order is preserved
+			return startPendingBatch( key );
+		}
+		if ( canBeExecutedAhead( key ) ) {
+			// the statements added from now on are executed ahead of those in the batches
+			// started later, which we know do not write to any table they depend upon
+			currentBatch = pendingBatch;
+			return pendingBatch;
+		}
+
+		executePendingBatches( null );
+		return startPendingBatch( key );
+	}
+
+	private Batch startPendingBatch(BatchKey key) {
+		final Batch batch = batchBuilder().buildBatch( key, this );
+		batch.addObserver(
+				new BatchObserver() {
+					@Override
+					public void batchExplicitlyExecuted() {
+					}
+
+					@Override
+					public void batchImplicitlyExecuted() {
+						// the batches started before this one need to be executed first
+						executePendingBatches( batch );
+					}
+				}
+		);
+		pendingBatches.put( key, batch );
+		currentBatch = batch;
+		return batch;
+	}
+
+	private boolean canBeExecutedAhead(BatchKey key) {
+		final Serializable[] referencedTables = key.getReferencedTables();
+		if ( referencedTables == null ) {
+			return false;
+		}
+		boolean startedLater = false;
+		for ( BatchKey pendingKey : pendingBatches.keySet() ) {
+			if ( startedLater ) {
+				final Serializable[] affectedTables = pendingKey.getAffectedTables();
+				if ( affectedTables == null || containsAny( affectedTables, referencedTables ) ) {
+					return false;
+				}
+			}
+			else if ( pendingKey.equals( key ) ) {
+				startedLater = true;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsAny(Serializable[] tables, Serializable[] candidates) {
+		for ( Serializable table : tables ) {
+			for ( Serializable candidate : candidates ) {
+				if ( table.equals( candidate ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Executes, in order, the pending batches started before the given one, or all of
+	 * them if {@code null} is passed.
+	 */
+	private void executePendingBatches(Batch stopAt) {
+		final List<Batch> batches = new ArrayList<>( pendingBatches.size() );
+		final Iterator<Batch> itr = pendingBatches.values().iterator();
+		while ( itr.hasNext() ) {
+			final Batch batch = itr.next();
+			if ( batch == stopAt ) {
+				break;
+			}
+			batches.add( batch );
+			itr.remove();
+		}
+		if ( stopAt == null ) {
+			currentBatch = null;
+		}
+
+		try {
+			for ( Batch batch : batches ) {
+				batch.execute();
+			}
+		}
+		finally {
+			for ( Batch batch : batches ) {
+				batch.release();
+			}
+		}
+	}
+
+	private void releasePendingBatches() {
+		final List<Batch> batches = new ArrayList<>( pendingBatches.values() );
+		pendingBatches.clear();
+		currentBatch = null;
+		for ( Batch batch : batches ) {
+			batch.release();
+		}
+	}
+
 	private transient StatementPreparer statementPreparer;
 
 	@Override
@@ -303,6 +506,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	}
 	@Override
 	public <T> T coordinateWork(WorkExecutorVisitable<T> work) {
+		awaitPipelinedBatch();
 		final Connection connection = getLogicalConnection().getPhysicalConnection();
 		try {
 			final T result = work.accept( new WorkExecutor<T>(), connection );
@@ -447,6 +651,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	@Override
 	public void beforeTransactionCompletion() {
 		this.owner.beforeTransactionCompletion();
+		// the transaction completes on the connection the batch in flight, if any, is executing on
+		awaitPipelinedBatch();
 		this.logicalConnection.beforeTransactionCompletion();
 	}
 
@@ -47,6 +47,8 @@ class StatementPreparerImpl implements StatementPreparer {
 	}
 
 	protected final Connection connection() {
+		// the connection must not be used while a batch is executed on it by another thread
+		jdbcCoordinator.awaitPipelinedBatch();
 		return logicalConnection().getPhysicalConnection();
 	}
 
@@ -81,6 +83,15 @@ class StatementPreparerImpl implements StatementPreparer {
 		return buildPreparedStatementPreparationTemplate( sql, isCallable ).prepareStatement();
 	}
 
+	@Override
+	public PreparedStatement prepareBatchStatement(String sql, boolean isCallable) {
+		if ( !settings().isMultiTableBatchingEnabled() ) {
+			jdbcCoordinator.executeBatch();
+		}
+		// otherwise the pending batches stay open: the JdbcCoordinator executes them in order
+		return buildPreparedStatementPreparationTemplate( sql, isCallable ).prepareStatement();
+	}
+
 	private StatementPreparationTemplate buildPreparedStatementPreparationTemplate(String sql, final boolean isCallable) {
 		return new StatementPreparationTemplate( sql ) {
 			@Override
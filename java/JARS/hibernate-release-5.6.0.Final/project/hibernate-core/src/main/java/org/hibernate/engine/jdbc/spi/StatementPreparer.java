@@ -44,6 +44,18 @@ public interface StatementPreparer {
 	 */
 	public PreparedStatement prepareStatement(String sql, boolean isCallable);
 
+	/**
+	 * Prepare a statement which is to be added to one of the batches of the {@link JdbcCoordinator}.
+	 *
+	 * @param sql The SQL the statement to be prepared
+	 * @param isCallable Whether to prepare as a callable statement.
+	 *
+	 * @return the prepared statement
+	 */
+	default PreparedStatement prepareBatchStatement(String sql, boolean isCallable) {
+		return prepareStatement( sql, isCallable );
+	}
+
 	/**
 	 * Prepare an INSERT statement, specifying how auto-generated (by the database) keys should be handled.  Really this
 	 * is a boolean, but JDBC opted to define it instead using 2 int constants:<ul>
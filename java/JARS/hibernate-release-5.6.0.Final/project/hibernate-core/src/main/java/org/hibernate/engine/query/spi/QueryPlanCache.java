@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -26,8 +27,11 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.internal.util.config.ConfigurationException;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.query.ParameterMetadata;
+import org.hibernate.query.criteria.internal.compile.CompilationKey;
+import org.hibernate.query.criteria.internal.compile.RenderedCriteria;
 import org.hibernate.query.internal.ParameterMetadataImpl;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
@@ -36,6 +40,8 @@ import org.hibernate.stat.spi.StatisticsImplementor;
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_EVICTION
+ * @see Environment#CRITERIA_COMPILATION_CACHE_MAX_SIZE
  *
  * @author Steve Ebersole
  */
@@ -74,6 +80,10 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap<ParameterMetadataKey,ParameterMetadataImpl> parameterMetadataCache;
 
+	/**
+	 * cache of the JPQL rendered for criteria queries, keyed by their structure; {@code null} if disabled
+	 */
+	private final BoundedConcurrentHashMap<CompilationKey,RenderedCriteria> criteriaCompilationCache;
 
 	private NativeQueryInterpreter nativeQueryInterpreter;
 
@@ -110,16 +120,80 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		final BoundedConcurrentHashMap.Eviction eviction = interpretEviction(
+				ConfigurationHelper.getString( Environment.QUERY_PLAN_CACHE_EVICTION, factory.getProperties() )
+		);
+
+		queryPlanCache = new BoundedConcurrentHashMap(
+				maxQueryPlanCount,
+				20,
+				eviction,
+				new QueryPlanEvictionListener( factory )
+		);
 		parameterMetadataCache = new BoundedConcurrentHashMap<>(
 				maxParameterMetadataCount,
 				20,
-				BoundedConcurrentHashMap.Eviction.LIRS
+				eviction
 		);
 
+		final int maxCriteriaCompilationCount = ConfigurationHelper.getInt(
+				Environment.CRITERIA_COMPILATION_CACHE_MAX_SIZE,
+				factory.getProperties(),
+				0
+		);
+		criteriaCompilationCache = maxCriteriaCompilationCount > 0
+				? new BoundedConcurrentHashMap<>( maxCriteriaCompilationCount, 20, eviction )
+				: null;
+
 		nativeQueryInterpreter = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
 	}
 
+	private static BoundedConcurrentHashMap.Eviction interpretEviction(String setting) {
+		if ( setting == null ) {
+			return BoundedConcurrentHashMap.Eviction.LIRS;
+		}
+		try {
+			final BoundedConcurrentHashMap.Eviction eviction = BoundedConcurrentHashMap.Eviction.valueOf(
+					setting.trim().toUpperCase( Locale.ROOT )
+			);
+			if ( eviction != BoundedConcurrentHashMap.Eviction.NONE ) {
+				return eviction;
+			}
+		}
+		catch (IllegalArgumentException ignore) {
+		}
+		throw new ConfigurationException(
+				"Unrecognized query plan cache eviction policy [" + setting
+						+ "]; expecting one of lirs, lru or w_tiny_lfu"
+		);
+	}
+
+	public boolean isCriteriaCompilationCacheEnabled() {
+		return criteriaCompilationCache != null;
+	}
+
+	/**
+	 * Obtain the rendition of the criteria queries of the given structure, if cached.
+	 *
+	 * @param key The structure of the criteria query
+	 * @return The rendition, or {@code null}
+	 */
+	public RenderedCriteria getRenderedCriteria(CompilationKey key) {
+		return criteriaCompilationCache == null ? null : criteriaCompilationCache.get( key );
+	}
+
+	/**
+	 * Cache the rendition of the criteria queries of the given structure.
+	 *
+	 * @param key The structure of the criteria query
+	 * @param renderedCriteria The rendition
+	 */
+	public void putRenderedCriteria(CompilationKey key, RenderedCriteria renderedCriteria) {
+		if ( criteriaCompilationCache != null ) {
+			criteriaCompilationCache.putIfAbsent( key, renderedCriteria );
+		}
+	}
+
 	/**
 	 * Obtain the parameter metadata for given native-sql query.
 	 * <p/>
@@ -270,6 +344,9 @@ public class QueryPlanCache implements Serializable {
 		LOG.trace( "Cleaning QueryPlan Cache" );
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
+		if ( criteriaCompilationCache != null ) {
+			criteriaCompilationCache.clear();
+		}
 	}
 
 	public NativeQueryInterpreter getNativeQueryInterpreter() {
@@ -470,4 +547,28 @@ public class QueryPlanCache implements Serializable {
 			return hashCode;
 		}
 	}
+
+	/**
+	 * Reports the query plans evicted from the cache to the statistics.
+	 */
+	private static class QueryPlanEvictionListener implements BoundedConcurrentHashMap.EvictionListener {
+		private final SessionFactoryImplementor factory;
+
+		private QueryPlanEvictionListener(SessionFactoryImplementor factory) {
+			this.factory = factory;
+		}
+
+		@Override
+		public void onEntryEviction(Map evicted) {
+			final StatisticsImplementor statistics = factory.getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.queryPlanCacheEviction( evicted.size() );
+			}
+		}
+
+		@Override
+		public void onEntryChosenForEviction(Object internalCacheEntry) {
+			// Do nothing.
+		}
+	}
 }
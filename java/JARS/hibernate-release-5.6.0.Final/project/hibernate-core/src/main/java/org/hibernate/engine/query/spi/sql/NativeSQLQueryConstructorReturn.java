@@ -6,6 +6,7 @@
  */
 package org.hibernate.engine.query.spi.sql;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -13,7 +14,8 @@ import java.util.List;
  *
  * @author Steve Ebersole
  */
-public class NativeSQLQueryConstructorReturn implements NativeSQLQueryReturn {
+public class NativeSQLQueryConstructorReturn implements NativeSQLQueryReturn, Serializable {
+	private static final long serialVersionUID = 1L;
 	private final Class targetClass;
 	private final NativeSQLQueryScalarReturn[] columnReturns;
 
@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.query.spi.sql;
 
+import java.io.Serializable;
+
 import org.hibernate.type.Type;
 
 /**
@@ -13,7 +15,8 @@ import org.hibernate.type.Type;
  *
  * @author gloegl
  */
-public class NativeSQLQueryScalarReturn implements NativeSQLQueryReturn {
+public class NativeSQLQueryScalarReturn implements NativeSQLQueryReturn, Serializable {
+	private static final long serialVersionUID = 1L;
 	private final Type type;
 	private final String columnAlias;
 	private final int hashCode;
@@ -11,13 +11,16 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -42,6 +45,7 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.QuerySpacePartitions;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
@@ -397,7 +401,16 @@ public class ActionQueue {
 			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
 		}
 		if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
-			invalidateSpaces( convertTimestampSpaces( executable.getPropertySpaces() ) );
+			final QuerySpacePartitions partitions = session.getFactory().getCache().getQuerySpacePartitions();
+			if ( partitions.isEmpty() ) {
+				invalidateSpaces( convertTimestampSpaces( executable.getPropertySpaces() ) );
+			}
+			else {
+				final Set<Serializable> propertySpaces = new HashSet<>();
+				Collections.addAll( propertySpaces, executable.getPropertySpaces() );
+				collectPartitionSpaces( executable, partitions, propertySpaces );
+				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+			}
 		}
 		if ( executable.getAfterTransactionCompletionProcess() != null ) {
 			if ( afterTransactionProcesses == null ) {
@@ -624,7 +637,14 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set propertySpaces = list.getQuerySpaces();
+				Set<Serializable> propertySpaces = list.getQuerySpaces();
+				final QuerySpacePartitions partitions = session.getFactory().getCache().getQuerySpacePartitions();
+				if ( !partitions.isEmpty() ) {
+					propertySpaces = new HashSet<>( propertySpaces );
+					for ( E e : list ) {
+						collectPartitionSpaces( e, partitions, propertySpaces );
+					}
+				}
 				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
 			}
 		}
@@ -637,6 +657,31 @@ public class ActionQueue {
 		return (String[]) spaces.toArray( new String[ spaces.size() ] );
 	}
 
+	/**
+	 * Collect the spaces of the partitions changed by the given action, see {@link QuerySpacePartitions}.
+	 */
+	private void collectPartitionSpaces(
+			Executable executable,
+			QuerySpacePartitions partitions,
+			Set<Serializable> spaces) {
+		if ( executable instanceof EntityUpdateAction ) {
+			final EntityUpdateAction action = (EntityUpdateAction) executable;
+			partitions.collectSpacesToInvalidate( action.getPersister(), action.getState(), session, spaces );
+			partitions.collectSpacesToInvalidate( action.getPersister(), action.getPreviousState(), session, spaces );
+		}
+		else if ( executable instanceof AbstractEntityInsertAction ) {
+			final AbstractEntityInsertAction action = (AbstractEntityInsertAction) executable;
+			partitions.collectSpacesToInvalidate( action.getPersister(), action.getState(), session, spaces );
+		}
+		else if ( executable instanceof EntityDeleteAction ) {
+			final EntityDeleteAction action = (EntityDeleteAction) executable;
+			partitions.collectSpacesToInvalidate( action.getPersister(), action.getState(), session, spaces );
+		}
+		else {
+			partitions.collectSpacesToInvalidate( executable.getPropertySpaces(), spaces );
+		}
+	}
+
 	/**
 	 * @param executable The action to execute
 	 */
@@ -1028,7 +1073,7 @@ public class ActionQueue {
 	 *
 	 * @author Jay Erb
 	 */
-	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
+	static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
 		/**
 		 * Singleton access
 		 */
@@ -1038,6 +1083,7 @@ public class ActionQueue {
 
 			private final String entityName;
 			private final String rootEntityName;
+			private final int position;
 
 			private Set<String> parentEntityNames = new HashSet<>( );
 
@@ -1045,9 +1091,18 @@ public class ActionQueue {
 
 			private BatchIdentifier parent;
 
-			BatchIdentifier(String entityName, String rootEntityName) {
+			private BatchIdentifier lastAncestor;
+
+			private final List<AbstractEntityInsertAction> actions = new ArrayList<>();
+
+			private final List<BatchIdentifier> dependents = new ArrayList<>();
+
+			private int unsortedParentCount;
+
+			BatchIdentifier(String entityName, String rootEntityName, int position) {
 				this.entityName = entityName;
 				this.rootEntityName = rootEntityName;
+				this.position = position;
 			}
 
 			public BatchIdentifier getParent() {
@@ -1083,6 +1138,10 @@ public class ActionQueue {
 				return rootEntityName;
 			}
 
+			int getPosition() {
+				return position;
+			}
+
 			Set<String> getParentEntityNames() {
 				return parentEntityNames;
 			}
@@ -1101,37 +1160,24 @@ public class ActionQueue {
 			}
 
 			/**
-			 * Check if this {@link BatchIdentifier} has a parent or grand parent
-			 * matching the given {@link BatchIdentifier} reference.
-			 *
-			 * @param batchIdentifier {@link BatchIdentifier} reference
-			 *
-			 * @return This {@link BatchIdentifier} has a parent matching the given {@link BatchIdentifier} reference
+			 * Resolve the ancestor whose parents are also parents of this batch, that is the last one reached by
+			 * following the parents, before a root or an ancestor already visited.  Must be called once the dependency
+			 * graph is built, so that resolving the parents does not walk the chain of parents again.
 			 */
-			boolean hasParent(BatchIdentifier batchIdentifier) {
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-					|| ( parentEntityNames.contains( batchIdentifier.getRootEntityName() ) && !this.getEntityName().equals( batchIdentifier.getRootEntityName() ) )
-					|| parent != null && parent.hasParent( batchIdentifier, new ArrayList<>() )
-				);
-			}
-
-			private boolean hasParent(BatchIdentifier batchIdentifier, List<BatchIdentifier> stack) {
-				if ( !stack.contains( this ) && parent != null ) {
-					stack.add( this );
-					return parent.hasParent( batchIdentifier, stack );
+			void resolveLastAncestor() {
+				if ( parent == null ) {
+					lastAncestor = null;
+					return;
 				}
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-				);
+				final Set<BatchIdentifier> visited = new HashSet<>();
+				BatchIdentifier ancestor = parent;
+				while ( ancestor.parent != null && visited.add( ancestor ) ) {
+					ancestor = ancestor.parent;
+				}
+				lastAncestor = ancestor;
 			}
 		}
 
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<BatchIdentifier, List<AbstractEntityInsertAction>> actionBatches;
-
 		public InsertActionSorter() {
 		}
 
@@ -1139,34 +1185,25 @@ public class ActionQueue {
 		 * Sort the insert actions.
 		 */
 		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.actionBatches = new HashMap<>();
-
-			// the mapping of entity names to their latest batch numbers.
-			final List<BatchIdentifier> latestBatches = new ArrayList<>();
+			// the mapping of entity names to their batches, in the order of their first insertion.
+			final Map<String, BatchIdentifier> batchesByEntityName = new LinkedHashMap<>();
 
 			for ( AbstractEntityInsertAction action : insertions ) {
-				BatchIdentifier batchIdentifier = new BatchIdentifier(
-						action.getEntityName(),
-						action.getSession()
-								.getFactory()
-								.getMetamodel()
-								.entityPersister( action.getEntityName() )
-								.getRootEntityName()
-				);
-
-				int index = latestBatches.indexOf( batchIdentifier );
-
-				if ( index != -1 )  {
-					batchIdentifier = latestBatches.get( index );
-				}
-				else {
-					latestBatches.add( batchIdentifier );
+				BatchIdentifier batchIdentifier = batchesByEntityName.get( action.getEntityName() );
+				if ( batchIdentifier == null ) {
+					batchIdentifier = new BatchIdentifier(
+							action.getEntityName(),
+							action.getPersister().getRootEntityName(),
+							batchesByEntityName.size()
+					);
+					batchesByEntityName.put( action.getEntityName(), batchIdentifier );
 				}
 				addParentChildEntityNames( action, batchIdentifier );
-				addToBatch( batchIdentifier, action );
+				batchIdentifier.actions.add( action );
 			}
 
+			final List<BatchIdentifier> latestBatches = new ArrayList<>( batchesByEntityName.values() );
+
 			// Examine each entry in the batch list, and build the dependency graph.
 			for ( int i = 0; i < latestBatches.size(); i++ ) {
 				BatchIdentifier batchIdentifier = latestBatches.get( i );
@@ -1195,58 +1232,115 @@ public class ActionQueue {
 				}
 			}
 
-			boolean sorted = false;
-
-			long maxIterations = latestBatches.size() * latestBatches.size();
-			long iterations = 0;
-
-			sort:
-			do {
-				// Examine each entry in the batch list, sorting them based on parent/child association
-				// as depicted by the dependency graph.
-				iterations++;
+			final List<BatchIdentifier> sortedBatches = sortTopologically( latestBatches, batchesByEntityName );
 
-				for ( int i = 0; i < latestBatches.size(); i++ ) {
-					BatchIdentifier batchIdentifier = latestBatches.get( i );
+			// Now, rebuild the insertions list. There is a batch for each entry in the name list.
+			if ( sortedBatches != null ) {
+				insertions.clear();
 
-					// Iterate next batches and make sure that children types are after parents.
-					// Since the outer loop looks at each batch entry individually and the prior loop will reorder
-					// entries as well, we need to look and verify if the current batch is a child of the next
-					// batch or if the current batch is seen as a parent or child of the next batch.
-					for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-						BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
+				for ( BatchIdentifier batchIdentifier : sortedBatches ) {
+					insertions.addAll( batchIdentifier.actions );
+				}
+			}
+		}
 
-						if ( batchIdentifier.hasParent( nextBatchIdentifier ) ) {
-							if ( nextBatchIdentifier.hasParent( batchIdentifier ) ) {
-								//cycle detected, no need to continue
-								break sort;
-							}
+		/**
+		 * Order the batches so that each one comes after the batches it has a parent in, as depicted by the
+		 * dependency graph, keeping the order of their first insertion among the batches independent of each other.
+		 *
+		 * @param batches The batches, in the order of their first insertion
+		 * @param batchesByEntityName The batches by entity name
+		 *
+		 * @return The sorted batches, or {@code null} if their dependencies are circular
+		 */
+		private static List<BatchIdentifier> sortTopologically(
+				List<BatchIdentifier> batches,
+				Map<String, BatchIdentifier> batchesByEntityName) {
+			final Map<String, List<BatchIdentifier>> batchesByRootEntityName = new HashMap<>();
+			for ( BatchIdentifier batchIdentifier : batches ) {
+				batchIdentifier.resolveLastAncestor();
+				batchesByRootEntityName.computeIfAbsent( batchIdentifier.getRootEntityName(), k -> new ArrayList<>() )
+						.add( batchIdentifier );
+			}
+			for ( BatchIdentifier batchIdentifier : batches ) {
+				for ( BatchIdentifier parent : resolveParents( batchIdentifier, batchesByEntityName, batchesByRootEntityName ) ) {
+					parent.dependents.add( batchIdentifier );
+					batchIdentifier.unsortedParentCount++;
+				}
+			}
 
-							latestBatches.remove( batchIdentifier );
-							latestBatches.add( j, batchIdentifier );
+			final PriorityQueue<BatchIdentifier> sortable = new PriorityQueue<>(
+					Comparator.comparingInt( BatchIdentifier::getPosition )
+			);
+			for ( BatchIdentifier batchIdentifier : batches ) {
+				if ( batchIdentifier.unsortedParentCount == 0 ) {
+					sortable.add( batchIdentifier );
+				}
+			}
 
-							continue sort;
-						}
+			final List<BatchIdentifier> sortedBatches = new ArrayList<>( batches.size() );
+			while ( !sortable.isEmpty() ) {
+				final BatchIdentifier batchIdentifier = sortable.poll();
+				sortedBatches.add( batchIdentifier );
+				for ( BatchIdentifier dependent : batchIdentifier.dependents ) {
+					if ( --dependent.unsortedParentCount == 0 ) {
+						sortable.add( dependent );
 					}
 				}
-				sorted = true;
 			}
-			while ( !sorted && iterations <= maxIterations );
 
-			if ( iterations > maxIterations ) {
-				LOG.warn( "The batch containing " + latestBatches.size() + " statements could not be sorted after " + maxIterations + " iterations. " +
-								"This might indicate a circular entity relationship." );
+			if ( sortedBatches.size() < batches.size() ) {
+				LOG.debugf(
+						"The insertions of %s entity types could not be sorted, as they have a circular dependency",
+						batches.size()
+				);
+				return null;
 			}
+			return sortedBatches;
+		}
 
-			// Now, rebuild the insertions list. There is a batch for each entry in the name list.
-			if ( sorted ) {
-				insertions.clear();
-
-				for ( BatchIdentifier rootIdentifier : latestBatches ) {
-					List<AbstractEntityInsertAction> batch = actionBatches.get( rootIdentifier );
-					insertions.addAll( batch );
+		/**
+		 * Resolve the batches the given batch has a parent or grand parent in, through the names it references
+		 * rather than by checking every other batch.  A batch has a parent in another one when:
+		 * <ul>
+		 *     <li>the other batch is its parent in the dependency graph,</li>
+		 *     <li>it references the entity name of the other batch,</li>
+		 *     <li>it references the root entity name of the other batch, which is not its own entity name,</li>
+		 *     <li>or its last ancestor has the other batch as parent, or references its entity name.</li>
+		 * </ul>
+		 */
+		private static Set<BatchIdentifier> resolveParents(
+				BatchIdentifier batchIdentifier,
+				Map<String, BatchIdentifier> batchesByEntityName,
+				Map<String, List<BatchIdentifier>> batchesByRootEntityName) {
+			final Set<BatchIdentifier> parents = new LinkedHashSet<>();
+			if ( batchIdentifier.parent != null ) {
+				parents.add( batchIdentifier.parent );
+			}
+			for ( String parentEntityName : batchIdentifier.getParentEntityNames() ) {
+				addIfNotNull( parents, batchesByEntityName.get( parentEntityName ) );
+				if ( !batchIdentifier.getEntityName().equals( parentEntityName ) ) {
+					final List<BatchIdentifier> subclassBatches = batchesByRootEntityName.get( parentEntityName );
+					if ( subclassBatches != null ) {
+						parents.addAll( subclassBatches );
+					}
 				}
 			}
+			final BatchIdentifier lastAncestor = batchIdentifier.lastAncestor;
+			if ( lastAncestor != null ) {
+				addIfNotNull( parents, lastAncestor.parent );
+				for ( String parentEntityName : lastAncestor.getParentEntityNames() ) {
+					addIfNotNull( parents, batchesByEntityName.get( parentEntityName ) );
+				}
+			}
+			parents.remove( batchIdentifier );
+			return parents;
+		}
+
+		private static void addIfNotNull(Set<BatchIdentifier> batches, BatchIdentifier batchIdentifier) {
+			if ( batchIdentifier != null ) {
+				batches.add( batchIdentifier );
+			}
 		}
 
 		/**
@@ -1337,16 +1431,6 @@ public class ActionQueue {
 			}
 		}
 
-		private void addToBatch(BatchIdentifier batchIdentifier, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchIdentifier );
-
-			if ( actions == null ) {
-				actions = new LinkedList<>();
-				actionBatches.put( batchIdentifier, actions );
-			}
-			actions.add( action );
-		}
-
 	}
 
 	private abstract static class ListProvider<T extends Executable & Comparable & Serializable> {
@@ -74,6 +74,10 @@ public final class CollectionKey implements Serializable {
 		return key;
 	}
 
+	public Type getKeyType() {
+		return keyType;
+	}
+
 	@Override
 	public String toString() {
 		return "CollectionKey"
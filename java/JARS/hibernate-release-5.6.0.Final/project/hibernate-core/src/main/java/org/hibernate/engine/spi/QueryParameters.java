@@ -51,6 +51,7 @@ public final class QueryParameters {
 	private RowSelection rowSelection;
 	private boolean cacheable;
 	private String cacheRegion;
+	private Object cachePartition;
 	private String comment;
 	private List<String> queryHints;
 	private ScrollMode scrollMode;
@@ -342,6 +343,19 @@ public final class QueryParameters {
 		this.cacheRegion = cacheRegion;
 	}
 
+	/**
+	 * The value of the partition attribute of the rows of the partitioned entities read by the query.
+	 *
+	 * @see org.hibernate.cache.spi.QuerySpacePartitions
+	 */
+	public Object getCachePartition() {
+		return cachePartition;
+	}
+
+	public void setCachePartition(Object cachePartition) {
+		this.cachePartition = cachePartition;
+	}
+
 	public void validateParameters() throws QueryException {
 		final int types = positionalParameterTypes == null ? 0 : positionalParameterTypes.length;
 		final int values = positionalParameterValues == null ? 0 : positionalParameterValues.length;
@@ -654,6 +668,7 @@ public final class QueryParameters {
 		copy.processedPositionalParameterTypes = this.processedPositionalParameterTypes;
 		copy.processedPositionalParameterValues = this.processedPositionalParameterValues;
 		copy.passDistinctThrough = this.passDistinctThrough;
+		copy.cachePartition = this.cachePartition;
 		return copy;
 	}
 
@@ -19,6 +19,7 @@ import org.hibernate.action.internal.QueuedOperationCollectionAction;
 import org.hibernate.engine.internal.Cascade;
 import org.hibernate.engine.internal.CascadePoint;
 import org.hibernate.engine.internal.Collections;
+import org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.spi.ActionQueue;
 import org.hibernate.engine.spi.CascadingAction;
@@ -343,6 +344,19 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 			actionQueue.prepareActions();
 			actionQueue.executeActions();
 		}
+		catch (RuntimeException e) {
+			// a failure not raised by JDBC may leave a batch executing on the connection, which the
+			// transaction is about to roll back
+			if ( jdbcCoordinator instanceof JdbcCoordinatorImpl ) {
+				try {
+					( (JdbcCoordinatorImpl) jdbcCoordinator ).abortPipelinedBatch();
+				}
+				catch (RuntimeException suppressed) {
+					e.addSuppressed( suppressed );
+				}
+			}
+			throw e;
+		}
 		finally {
 			persistenceContext.setFlushing( false );
 			jdbcCoordinator.flushEnding();
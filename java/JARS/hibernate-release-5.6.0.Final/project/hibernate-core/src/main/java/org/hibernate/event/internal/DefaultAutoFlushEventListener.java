@@ -6,6 +6,8 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.ActionQueue;
@@ -47,6 +49,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final ActionQueue actionQueue = source.getActionQueue();
 				final int oldSize = actionQueue.numberOfCollectionRemovals();
+				final StatisticsImplementor statistics = source.getFactory().getStatistics();
+				final long startTime = statistics.isStatisticsEnabled() ? System.nanoTime() : 0L;
 				flushEverythingToExecutions( event );
 				if ( flushIsReallyNeeded( event, source ) ) {
 					LOG.trace( "Need to execute flush" );
@@ -59,9 +63,11 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 					postPostFlush( source );
 
-					final StatisticsImplementor statistics = source.getFactory().getStatistics();
 					if ( statistics.isStatisticsEnabled() ) {
 						statistics.flush();
+						if ( startTime != 0L ) {
+							statistics.flushLatency( TimeUnit.MICROSECONDS.convert( System.nanoTime() - startTime, TimeUnit.NANOSECONDS ) );
+						}
 					}
 				}
 				else {
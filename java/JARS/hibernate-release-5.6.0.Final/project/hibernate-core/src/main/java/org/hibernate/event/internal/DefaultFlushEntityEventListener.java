@@ -22,6 +22,7 @@ import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.ExtendedSelfDirtinessTracker;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
@@ -157,7 +158,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final Status status = entry.getStatus();
 		final Type[] types = persister.getPropertyTypes();
 
-		final boolean mightBeDirty = entry.requiresDirtyCheck( entity );
+		final boolean mightBeDirty = !isTrackedAsNonDirty( entity, entry, session ) && entry.requiresDirtyCheck( entity );
 
 		final Object[] values = getValues( entity, entry, mightBeDirty, session );
 
@@ -186,6 +187,26 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	/**
+	 * Can the entity be trusted not to be dirty without looking at its state, as enabled by
+	 * {@link org.hibernate.cfg.AvailableSettings#TRUST_DIRTY_TRACKING}?  Only a managed, enhanced entity
+	 * tracking the changes to its attributes and collections, and reporting none, can.
+	 */
+	private static boolean isTrackedAsNonDirty(Object entity, EntityEntry entry, SessionImplementor session) {
+		if ( !( entity instanceof ExtendedSelfDirtinessTracker )
+				|| entry.getStatus() != Status.MANAGED
+				|| entry.getLoadedState() == null
+				|| !session.getFactory().getSessionFactoryOptions().isDirtyTrackingTrusted() ) {
+			return false;
+		}
+		if ( entity instanceof PersistentAttributeInterceptable
+				&& ( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor() instanceof EnhancementAsProxyLazinessInterceptor ) {
+			// the enhanced proxies have their own checks
+			return false;
+		}
+		return !( (ExtendedSelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+	}
+
 	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
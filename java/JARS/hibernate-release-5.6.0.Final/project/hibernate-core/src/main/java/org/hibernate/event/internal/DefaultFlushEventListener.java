@@ -6,6 +6,8 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
@@ -33,6 +35,8 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntriesSize() > 0 ) {
 
+			final StatisticsImplementor statistics = source.getFactory().getStatistics();
+			final long startTime = statistics.isStatisticsEnabled() ? System.nanoTime() : 0L;
 			try {
 				source.getEventListenerManager().flushStart();
 
@@ -49,9 +53,11 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 
 			postPostFlush( source );
 
-			final StatisticsImplementor statistics = source.getFactory().getStatistics();
 			if ( statistics.isStatisticsEnabled() ) {
 				statistics.flush();
+				if ( startTime != 0L ) {
+					statistics.flushLatency( TimeUnit.MICROSECONDS.convert( System.nanoTime() - startTime, TimeUnit.NANOSECONDS ) );
+				}
 			}
 		}
 	}
@@ -13,6 +13,7 @@ import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.LoadCoalescer;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -73,13 +74,28 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 				if ( LOG.isTraceEnabled() ) {
 					LOG.trace( "Collection not cached" );
 				}
-				ceLoadedPersister.initialize( ce.getLoadedKey(), source );
+				final Serializable loadedKey = ce.getLoadedKey();
+				final LoadCoalescer loadCoalescer = source.getFactory().getFastSessionServices().loadCoalescer;
+				final boolean coalesced;
+				if ( loadCoalescer == null ) {
+					ceLoadedPersister.initialize( loadedKey, source );
+					coalesced = false;
+				}
+				else {
+					coalesced = loadCoalescer.initializeCollection(
+							collection,
+							ceLoadedPersister,
+							loadedKey,
+							source,
+							() -> ceLoadedPersister.initialize( loadedKey, source )
+					);
+				}
 				if ( LOG.isTraceEnabled() ) {
-					LOG.trace( "Collection initialized" );
+					LOG.trace( coalesced ? "Collection initialized from a concurrent load" : "Collection initialized" );
 				}
 
 				final StatisticsImplementor statistics = source.getFactory().getStatistics();
-				if ( statistics.isStatisticsEnabled() ) {
+				if ( statistics.isStatisticsEnabled() && !coalesced ) {
 					statistics.fetchCollection(
 							ceLoadedPersister.getRole()
 					);
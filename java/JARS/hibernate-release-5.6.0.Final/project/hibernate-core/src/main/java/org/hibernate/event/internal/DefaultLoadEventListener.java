@@ -7,6 +7,7 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -16,6 +17,7 @@ import org.hibernate.TypeMismatchException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.internal.LoadCoalescer;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -536,7 +538,18 @@ public class DefaultLoadEventListener implements LoadEventListener {
 						MessageHelper.infoString( persister, event.getEntityId(), session.getFactory() )
 				);
 			}
-			entity = loadFromDatasource( event, persister );
+			final LoadCoalescer loadCoalescer = session.getFactory().getFastSessionServices().loadCoalescer;
+			if ( loadCoalescer == null ) {
+				entity = loadFromDatasource( event, persister );
+			}
+			else {
+				entity = loadCoalescer.loadEntity(
+						event,
+						persister,
+						keyToLoad,
+						() -> loadFromDatasource( event, persister )
+				);
+			}
 		}
 
 		if ( entity != null && persister.hasNaturalIdentifier() ) {
@@ -568,6 +581,9 @@ public class DefaultLoadEventListener implements LoadEventListener {
 	protected Object loadFromDatasource(
 			final LoadEvent event,
 			final EntityPersister persister) {
+		final StatisticsImplementor statistics = event.getSession().getFactory().getStatistics();
+		final long startTime = statistics.isStatisticsEnabled() ? System.nanoTime() : 0L;
+
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
@@ -576,9 +592,16 @@ public class DefaultLoadEventListener implements LoadEventListener {
 				event.getReadOnly()
 		);
 
-		final StatisticsImplementor statistics = event.getSession().getFactory().getStatistics();
-		if ( event.isAssociationFetch() && statistics.isStatisticsEnabled() ) {
-			statistics.fetchEntity( event.getEntityClassName() );
+		if ( statistics.isStatisticsEnabled() ) {
+			if ( event.isAssociationFetch() ) {
+				statistics.fetchEntity( event.getEntityClassName() );
+			}
+			if ( startTime != 0L ) {
+				statistics.entityLoadLatency(
+						persister.getEntityName(),
+						TimeUnit.MICROSECONDS.convert( System.nanoTime() - startTime, TimeUnit.NANOSECONDS )
+				);
+			}
 		}
 
 		return entity;
@@ -1083,6 +1083,10 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 						0,
 						milliseconds
 				);
+				statistics.queryExecutionLatency(
+						"HQL: " + queryString,
+						TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS )
+				);
 			}
 
 			return result;
@@ -57,6 +57,8 @@ public class HiLoOptimizer extends AbstractOptimizer {
 		private IntegralDataTypeHolder lastSourceValue;
 		private IntegralDataTypeHolder upperLimit;
 		private IntegralDataTypeHolder value;
+		// the values of the current bucket after value, handed out without locking
+		private volatile ValueRange range;
 	}
 
 
@@ -77,9 +79,34 @@ public class HiLoOptimizer extends AbstractOptimizer {
 	}
 
 	@Override
-	public synchronized Serializable generate(AccessCallback callback) {
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = findGenerationState( callback.getTenantIdentifier() );
+		if ( generationState != null ) {
+			final ValueRange range = generationState.range;
+			if ( range != null ) {
+				final Serializable value = range.next();
+				if ( value != null ) {
+					return value;
+				}
+			}
+		}
+		return generateFromNextBucket( callback );
+	}
+
+	private synchronized Serializable generateFromNextBucket(AccessCallback callback) {
 		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
 
+		final ValueRange range = generationState.range;
+		if ( range != null ) {
+			// another thread may have defined the next bucket in the meantime
+			final Serializable value = range.next();
+			if ( value != null ) {
+				return value;
+			}
+			generationState.value.initialize( range.getNextValue() );
+			generationState.range = null;
+		}
+
 		if ( generationState.lastSourceValue == null ) {
 			// first call, so initialize ourselves.  we need to read the database
 			// value and set up the 'bucket' boundaries
@@ -97,11 +124,23 @@ public class HiLoOptimizer extends AbstractOptimizer {
 			generationState.upperLimit = generationState.lastSourceValue.copy().multiplyBy( incrementSize ).increment();
 			generationState.value = generationState.upperLimit.copy().subtract( incrementSize );
 		}
-		return generationState.value.makeValueThenIncrement();
+		final Serializable value = generationState.value.makeValueThenIncrement();
+		generationState.range = ValueRange.of( generationState.value, generationState.upperLimit );
+		return value;
 	}
 
-	private GenerationState noTenantState;
-	private Map<String,GenerationState> tenantSpecificState;
+	private volatile GenerationState noTenantState;
+	private volatile Map<String,GenerationState> tenantSpecificState;
+
+	private GenerationState findGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		else {
+			final Map<String,GenerationState> tenantSpecificState = this.tenantSpecificState;
+			return tenantSpecificState == null ? null : tenantSpecificState.get( tenantIdentifier );
+		}
+	}
 
 	private GenerationState locateGenerationState(String tenantIdentifier) {
 		if ( tenantIdentifier == null ) {
@@ -153,7 +192,11 @@ public class HiLoOptimizer extends AbstractOptimizer {
 	 * @return Value for property 'lastValue'.
 	 */
 	public synchronized IntegralDataTypeHolder getLastValue() {
-		return noTenantGenerationState().value.copy().decrement();
+		final GenerationState generationState = noTenantGenerationState();
+		final ValueRange range = generationState.range;
+		return range == null
+				? generationState.value.copy().decrement()
+				: generationState.value.copy().initialize( range.getNextValue() - 1 );
 	}
 
 	/**
@@ -36,6 +36,8 @@ public class PooledLoOptimizer extends AbstractOptimizer {
 		private IntegralDataTypeHolder value;
 		// the value at which we'll hit the db again
 		private IntegralDataTypeHolder upperLimitValue;
+		// the values of the current bucket after value, handed out without locking
+		private volatile ValueRange range;
 	}
 
 	/**
@@ -53,9 +55,34 @@ public class PooledLoOptimizer extends AbstractOptimizer {
 	}
 
 	@Override
-	public synchronized Serializable generate(AccessCallback callback) {
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = findGenerationState( callback.getTenantIdentifier() );
+		if ( generationState != null ) {
+			final ValueRange range = generationState.range;
+			if ( range != null ) {
+				final Serializable value = range.next();
+				if ( value != null ) {
+					return value;
+				}
+			}
+		}
+		return generateFromNextBucket( callback );
+	}
+
+	private synchronized Serializable generateFromNextBucket(AccessCallback callback) {
 		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
 
+		final ValueRange range = generationState.range;
+		if ( range != null ) {
+			// another thread may have defined the next bucket in the meantime
+			final Serializable value = range.next();
+			if ( value != null ) {
+				return value;
+			}
+			generationState.value.initialize( range.getNextValue() );
+			generationState.range = null;
+		}
+
 		if ( generationState.lastSourceValue == null
 				|| ! generationState.value.lt( generationState.upperLimitValue ) ) {
 			generationState.lastSourceValue = callback.getNextValue();
@@ -66,11 +93,23 @@ public class PooledLoOptimizer extends AbstractOptimizer {
 				generationState.value.increment();
 			}
 		}
-		return generationState.value.makeValueThenIncrement();
+		final Serializable value = generationState.value.makeValueThenIncrement();
+		generationState.range = ValueRange.of( generationState.value, generationState.upperLimitValue );
+		return value;
 	}
 
-	private GenerationState noTenantState;
-	private Map<String,GenerationState> tenantSpecificState;
+	private volatile GenerationState noTenantState;
+	private volatile Map<String,GenerationState> tenantSpecificState;
+
+	private GenerationState findGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		else {
+			final Map<String,GenerationState> tenantSpecificState = this.tenantSpecificState;
+			return tenantSpecificState == null ? null : tenantSpecificState.get( tenantIdentifier );
+		}
+	}
 
 	private GenerationState locateGenerationState(String tenantIdentifier) {
 		if ( tenantIdentifier == null ) {
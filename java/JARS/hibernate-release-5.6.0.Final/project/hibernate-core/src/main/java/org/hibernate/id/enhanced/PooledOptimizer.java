@@ -40,6 +40,8 @@ public class PooledOptimizer extends AbstractOptimizer implements InitialValueAw
 	private static class GenerationState {
 		private IntegralDataTypeHolder hiValue;
 		private IntegralDataTypeHolder value;
+		// the values of the current bucket after value, handed out without locking
+		private volatile ValueRange range;
 	}
 
 	private long initialValue = -1;
@@ -66,9 +68,34 @@ public class PooledOptimizer extends AbstractOptimizer implements InitialValueAw
 
 
 	@Override
-	public synchronized Serializable generate(AccessCallback callback) {
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = findGenerationState( callback.getTenantIdentifier() );
+		if ( generationState != null ) {
+			final ValueRange range = generationState.range;
+			if ( range != null ) {
+				final Serializable value = range.next();
+				if ( value != null ) {
+					return value;
+				}
+			}
+		}
+		return generateFromNextBucket( callback );
+	}
+
+	private synchronized Serializable generateFromNextBucket(AccessCallback callback) {
 		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
 
+		final ValueRange range = generationState.range;
+		if ( range != null ) {
+			// another thread may have defined the next bucket in the meantime
+			final Serializable value = range.next();
+			if ( value != null ) {
+				return value;
+			}
+			generationState.value.initialize( range.getNextValue() );
+			generationState.range = null;
+		}
+
 		if ( generationState.hiValue == null ) {
 			generationState.value = callback.getNextValue();
 			// unfortunately not really safe to normalize this
@@ -94,11 +121,23 @@ public class PooledOptimizer extends AbstractOptimizer implements InitialValueAw
 			generationState.value = generationState.hiValue.copy().subtract( incrementSize - 1 );
 		}
 
-		return generationState.value.makeValueThenIncrement();
+		final Serializable value = generationState.value.makeValueThenIncrement();
+		generationState.range = ValueRange.of( generationState.value, generationState.hiValue.copy().increment() );
+		return value;
 	}
 
-	private GenerationState noTenantState;
-	private Map<String,GenerationState> tenantSpecificState;
+	private volatile GenerationState noTenantState;
+	private volatile Map<String,GenerationState> tenantSpecificState;
+
+	private GenerationState findGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		else {
+			final Map<String,GenerationState> tenantSpecificState = this.tenantSpecificState;
+			return tenantSpecificState == null ? null : tenantSpecificState.get( tenantIdentifier );
+		}
+	}
 
 	private GenerationState locateGenerationState(String tenantIdentifier) {
 		if ( tenantIdentifier == null ) {
@@ -149,8 +188,12 @@ public class PooledOptimizer extends AbstractOptimizer implements InitialValueAw
 	 *
 	 * @return Value for property 'lastValue'.
 	 */
-	public IntegralDataTypeHolder getLastValue() {
-		return noTenantGenerationState().value.copy().decrement();
+	public synchronized IntegralDataTypeHolder getLastValue() {
+		final GenerationState generationState = noTenantGenerationState();
+		final ValueRange range = generationState.range;
+		return range == null
+				? generationState.value.copy().decrement()
+				: generationState.value.copy().initialize( range.getNextValue() - 1 );
 	}
 
 	@Override
@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * The values left in the current bucket of an optimizer, handed out without locking by atomically incrementing the
+ * next value.  Optimizers only need to lock when the range is exhausted, to define the next bucket.
+ * <p/>
+ * Only the {@code long}, {@code int} and {@code short} values are handed out this way; the optimizers generating
+ * {@link java.math.BigInteger} or {@link java.math.BigDecimal} values define no range and always lock.
+ */
+final class ValueRange {
+	private final AtomicLong nextValue;
+	// exclusive
+	private final long upperLimit;
+	private final Class valueType;
+
+	private ValueRange(long nextValue, long upperLimit, Class valueType) {
+		this.nextValue = new AtomicLong( nextValue );
+		this.upperLimit = upperLimit;
+		this.valueType = valueType;
+	}
+
+	/**
+	 * Defines the range of the values from the next value to return up to the given upper limit.
+	 *
+	 * @param nextValue The next value to return
+	 * @param upperLimit The upper limit of the range, exclusive
+	 *
+	 * @return The range, or {@code null} if there is no value left or if the values are not integers of at most 64 bits
+	 */
+	static ValueRange of(IntegralDataTypeHolder nextValue, IntegralDataTypeHolder upperLimit) {
+		final Number next = nextValue.makeValue();
+		if ( !( next instanceof Long || next instanceof Integer || next instanceof Short ) ) {
+			return null;
+		}
+		final long limit = upperLimit.makeValue().longValue();
+		if ( next.longValue() >= limit ) {
+			return null;
+		}
+		return new ValueRange( next.longValue(), limit, next.getClass() );
+	}
+
+	/**
+	 * Hands out the next value of the range.
+	 *
+	 * @return The value, or {@code null} if the range is exhausted
+	 */
+	Serializable next() {
+		final long value = nextValue.getAndIncrement();
+		if ( value >= upperLimit ) {
+			return null;
+		}
+		if ( valueType == Long.class ) {
+			return value;
+		}
+		else if ( valueType == Integer.class ) {
+			return (int) value;
+		}
+		else {
+			return (short) value;
+		}
+	}
+
+	/**
+	 * The next value of the range, which is the upper limit once the range is exhausted.
+	 */
+	long getNextValue() {
+		return Math.min( nextValue.get(), upperLimit );
+	}
+}
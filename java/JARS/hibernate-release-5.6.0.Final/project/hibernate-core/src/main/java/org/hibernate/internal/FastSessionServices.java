@@ -23,9 +23,11 @@ import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.internal.LoadCoalescer;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.event.internal.DefaultPreLoadEventListener;
 import org.hibernate.event.service.spi.EventListenerGroup;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.AutoFlushEventListener;
@@ -145,6 +147,12 @@ public final class FastSessionServices {
 	public final EventListenerGroup<SaveOrUpdateEventListener> eventListenerGroup_SAVE_UPDATE;
 	public final EventListenerGroup<SaveOrUpdateEventListener> eventListenerGroup_UPDATE;
 
+	//Shared by the read-only sessions to coalesce their concurrent loads; null when not enabled:
+	public final LoadCoalescer loadCoalescer;
+
+	//The pre-load listeners last checked by hasCustomPreLoadListeners(), as listeners may be added after the build:
+	private volatile ListenersCheck preLoadListenersCheck;
+
 	//Intentionally Package private:
 	final boolean disallowOutOfTransactionUpdateOperations;
 	final boolean useStreamForLobBinding;
@@ -236,6 +244,10 @@ public final class FastSessionServices {
 		this.defaultSessionEventListeners = sessionFactoryOptions.getBaselineSessionEventsListenerBuilder();
 		this.defaultLockOptions = initializeDefaultLockOptions( defaultSessionProperties );
 		this.initialSessionFlushMode = initializeDefaultFlushMode( defaultSessionProperties );
+		this.loadCoalescer = sessionFactoryOptions.isLoadCoalescingEnabled()
+				? new LoadCoalescer( sessionFactoryOptions.getLoadCoalescingTimeout() )
+				: null;
+		this.preLoadListenersCheck = new ListenersCheck( eventListenerGroup_PRE_LOAD, DefaultPreLoadEventListener.class );
 
 	}
 
@@ -266,6 +278,56 @@ public final class FastSessionServices {
 		return elr.getEventListenerGroup( type );
 	}
 
+	/**
+	 * Whether any pre-load listener besides the default one could modify the state of the loaded entities.
+	 * Only checked again when the listeners of the group changed since the last call.
+	 */
+	public boolean hasCustomPreLoadListeners() {
+		ListenersCheck check = preLoadListenersCheck;
+		if ( !check.isCurrent( eventListenerGroup_PRE_LOAD ) ) {
+			check = new ListenersCheck( eventListenerGroup_PRE_LOAD, DefaultPreLoadEventListener.class );
+			preLoadListenersCheck = check;
+		}
+		return check.customListeners;
+	}
+
+	/**
+	 * Whether the listeners of a group, as they were when it was built, include others than the default one.
+	 */
+	private static final class ListenersCheck {
+		private final Object[] listeners;
+		private final boolean customListeners;
+
+		private <T> ListenersCheck(EventListenerGroup<T> group, Class<? extends T> defaultListenerClass) {
+			final Object[] listeners = new Object[group.count()];
+			boolean customListeners = false;
+			int i = 0;
+			for ( T listener : group.listeners() ) {
+				if ( i == listeners.length ) {
+					// the group changed in the meantime
+					break;
+				}
+				listeners[i++] = listener;
+				customListeners |= listener.getClass() != defaultListenerClass;
+			}
+			this.listeners = listeners;
+			this.customListeners = customListeners;
+		}
+
+		private boolean isCurrent(EventListenerGroup<?> group) {
+			if ( group.count() != listeners.length ) {
+				return false;
+			}
+			int i = 0;
+			for ( Object listener : group.listeners() ) {
+				if ( i == listeners.length || listener != listeners[i++] ) {
+					return false;
+				}
+			}
+			return i == listeners.length;
+		}
+	}
+
 	SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
 		if ( !sqlTypeDescriptor.canBeRemapped() ) {
 			return sqlTypeDescriptor;
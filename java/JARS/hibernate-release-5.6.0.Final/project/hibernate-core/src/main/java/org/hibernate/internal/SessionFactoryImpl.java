@@ -314,6 +314,11 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 					determineJpaMetaModelPopulationSetting( properties )
 			);
 
+			// resolve the query cache partitions now that the persisters exist, to report the invalid ones right away
+			if ( sessionFactoryOptions.isQueryCacheEnabled() ) {
+				cacheAccess.getQuerySpacePartitions();
+			}
+
 			//Named Queries:
 			this.namedQueryRepository = metadata.buildNamedQueryRepository( this );
 
@@ -581,7 +586,10 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 	}
 
 	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+		return namedQueryRepository.checkNamedQueries(
+				queryPlanCache,
+				sessionFactoryOptions.isParallelInitializationEnabled()
+		);
 	}
 
 	@Override
@@ -78,6 +78,7 @@ import org.hibernate.criterion.NaturalIdentifier;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.engine.jdbc.NonContextualLobCreator;
+import org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.query.spi.FilterQueryPlan;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
@@ -517,7 +518,12 @@ public class SessionImpl
 	@Override
 	public Connection connection() throws HibernateException {
 		checkOpenOrWaitingForAutoClose();
-		return getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+		final JdbcCoordinator jdbcCoordinator = getJdbcCoordinator();
+		if ( jdbcCoordinator instanceof JdbcCoordinatorImpl ) {
+			// the caller may use the connection right away, so it must not be in use by a batch in flight
+			( (JdbcCoordinatorImpl) jdbcCoordinator ).awaitPipelinedBatch();
+		}
+		return jdbcCoordinator.getLogicalConnection().getPhysicalConnection();
 	}
 
 	@Override
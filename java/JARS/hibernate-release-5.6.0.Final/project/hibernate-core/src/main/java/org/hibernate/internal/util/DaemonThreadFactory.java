@@ -0,0 +1,35 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads of the pools owned by Hibernate, named after the pool and numbered, so that they
+ * never prevent the JVM from exiting and are easily told apart in thread dumps.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	private final String namePrefix;
+	private final AtomicInteger threadNumber = new AtomicInteger();
+
+	/**
+	 * Constructs a DaemonThreadFactory
+	 *
+	 * @param poolName The name of the pool, which prefixes the names of its threads
+	 */
+	public DaemonThreadFactory(String poolName) {
+		this.namePrefix = poolName + '-';
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		final Thread thread = new Thread( runnable, namePrefix + threadNumber.incrementAndGet() );
+		thread.setDaemon( true );
+		return thread;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Helpers for spreading independent pieces of work over the threads of the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+ */
+public final class ParallelHelper {
+	private ParallelHelper() {
+	}
+
+	/**
+	 * Applies an action to each of the given elements, spread over the threads of the common pool.  The action is
+	 * applied to every element even if it fails for some, and the failure thrown is that of the first element for
+	 * which the action failed, the failures for the following elements being added to it as suppressed exceptions.
+	 *
+	 * @param elements The elements
+	 * @param action The action, which must be safe to apply to different elements concurrently
+	 * @param <T> The type of the elements
+	 */
+	public static <T> void forEach(List<T> elements, Consumer<? super T> action) {
+		final RuntimeException[] failures = new RuntimeException[elements.size()];
+		IntStream.range( 0, elements.size() ).parallel().forEach(
+				i -> {
+					try {
+						action.accept( elements.get( i ) );
+					}
+					catch (RuntimeException e) {
+						failures[i] = e;
+					}
+				}
+		);
+
+		RuntimeException failure = null;
+		for ( RuntimeException e : failures ) {
+			if ( e == null ) {
+				continue;
+			}
+			if ( failure == null ) {
+				failure = e;
+			}
+			else {
+				failure.addSuppressed( e );
+			}
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+}
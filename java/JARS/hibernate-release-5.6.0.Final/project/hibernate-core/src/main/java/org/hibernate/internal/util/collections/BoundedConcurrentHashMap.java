@@ -33,6 +33,8 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Collections.singletonMap;
@@ -279,6 +281,17 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
 				return new LIRS<K, V>( s, capacity, capacity * 10, lf );
 			}
+		},
+		/**
+		 * Admission window in front of a frequency-based segmented LRU, without any locking on reads.
+		 *
+		 * @see TinyLFU
+		 */
+		W_TINY_LFU {
+			@Override
+			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
+				return new TinyLFU<K, V>( s, capacity );
+			}
 		};
 
 		abstract <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf);
@@ -348,6 +361,18 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 		 */
 		void onEntryRemove(HashEntry<K, V> e);
 
+		/**
+		 * Invoked to notify EvictionPolicy implementation that an entry e has been replaced by a copy in
+		 * Segment, when removing another entry of the same bin.
+		 *
+		 * @param e replaced entry in Segment
+		 * @param replacement the copy of e now in Segment
+		 */
+		default void onEntryReplaced(HashEntry<K, V> e, HashEntry<K, V> replacement) {
+			onEntryRemove( e );
+			onEntryMiss( replacement );
+		}
+
 		/**
 		 * Invoked to notify EvictionPolicy implementation that all Segment entries have been
 		 * cleared.
@@ -1132,6 +1157,397 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 		}
 	}
 
+	/**
+	 * Entry of the {@link TinyLFU} policy, linked in one of its three LRU queues.
+	 */
+	private static final class TinyLFUHashEntry<K, V> extends HashEntry<K, V> {
+		static final byte NOT_LINKED = 0;
+		static final byte WINDOW = 1;
+		static final byte PROBATION = 2;
+		static final byte PROTECTED = 3;
+
+		// only accessed while holding the lock of the segment
+		private TinyLFUHashEntry<K, V> previous;
+		private TinyLFUHashEntry<K, V> next;
+		private byte queue;
+
+		TinyLFUHashEntry(K key, int hash, HashEntry<K, V> next, V value) {
+			super( key, hash, next, value );
+		}
+	}
+
+	/**
+	 * A <a href="https://arxiv.org/abs/1512.00727">W-TinyLFU</a> eviction policy, adapted from the design of
+	 * Caffeine (https://github.com/ben-manes/caffeine).
+	 * <p/>
+	 * New entries enter a small LRU admission window; the entries leaving the window compete with the least
+	 * recently used entry of the main space (a segmented LRU, made of a probation and a protected queue), and
+	 * the one with the higher estimated access frequency stays.  The frequencies are estimated by a
+	 * {@link FrequencySketch}, which forgets history over time.
+	 * <p/>
+	 * Unlike {@link LRU} and {@link LIRS}, a hit never blocks: hits are recorded in a bounded, lossy read
+	 * buffer and replayed against the queues by whichever thread next holds the lock of the segment, or
+	 * manages to {@link ReentrantLock#tryLock() acquire} it once the buffer is half full.  Hits which find
+	 * the buffer full are dropped, as losing some recency information is harmless.
+	 */
+	static final class TinyLFU<K, V> implements EvictionPolicy<K, V> {
+
+		/**
+		 * The percentage of the capacity dedicated to the admission window.
+		 */
+		private static final float WINDOW_PERCENTAGE = 0.01f;
+
+		/**
+		 * The percentage of the main space dedicated to the protected queue.
+		 */
+		private static final float PROTECTED_PERCENTAGE = 0.8f;
+
+		private static final int READ_BUFFER_SIZE = 64;
+		private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+		private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+		/**
+		 * The owning segment
+		 */
+		private final Segment<K, V> segment;
+
+		private final AtomicReferenceArray<TinyLFUHashEntry<K, V>> readBuffer =
+				new AtomicReferenceArray<TinyLFUHashEntry<K, V>>( READ_BUFFER_SIZE );
+		private final AtomicLong readBufferWriteCount = new AtomicLong();
+		private volatile long readBufferReadCount;
+
+		private final FrequencySketch sketch;
+
+		private final TinyLFUHashEntry<K, V> window = newHeader();
+		private final TinyLFUHashEntry<K, V> probation = newHeader();
+		private final TinyLFUHashEntry<K, V> protectedQueue = newHeader();
+
+		private final int maximumWindowSize;
+		private final int maximumMainSize;
+		private final int maximumProtectedSize;
+
+		private int windowSize;
+		private int probationSize;
+		private int protectedSize;
+
+		public TinyLFU(Segment<K, V> s, int capacity) {
+			this.segment = s;
+			this.maximumWindowSize = Math.max( 1, (int) ( capacity * WINDOW_PERCENTAGE ) );
+			this.maximumMainSize = Math.max( 0, capacity - maximumWindowSize );
+			this.maximumProtectedSize = (int) ( maximumMainSize * PROTECTED_PERCENTAGE );
+			this.sketch = new FrequencySketch( capacity );
+		}
+
+		private static <K, V> TinyLFUHashEntry<K, V> newHeader() {
+			TinyLFUHashEntry<K, V> header = new TinyLFUHashEntry<K, V>( null, 0, null, null );
+			header.previous = header;
+			header.next = header;
+			return header;
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> execute() {
+			drainReadBuffer();
+			// the capacity is enforced when entries are added, see onEntryMiss
+			return new HashSet<HashEntry<K, V>>();
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> en) {
+			TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+			drainReadBuffer();
+			sketch.increment( e.hash );
+			linkLast( window, e, TinyLFUHashEntry.WINDOW );
+			windowSize++;
+
+			if ( windowSize <= maximumWindowSize ) {
+				return Collections.emptySet();
+			}
+			TinyLFUHashEntry<K, V> candidate = window.next;
+			unlink( candidate );
+			windowSize--;
+			if ( probationSize + protectedSize < maximumMainSize ) {
+				linkLast( probation, candidate, TinyLFUHashEntry.PROBATION );
+				probationSize++;
+				return Collections.emptySet();
+			}
+
+			TinyLFUHashEntry<K, V> victim = probation.next != probation ? probation.next : protectedQueue.next;
+			TinyLFUHashEntry<K, V> evictedEntry;
+			if ( victim != protectedQueue && sketch.frequency( candidate.hash ) > sketch.frequency( victim.hash ) ) {
+				// the candidate is admitted in place of the victim
+				if ( victim.queue == TinyLFUHashEntry.PROBATION ) {
+					probationSize--;
+				}
+				else {
+					protectedSize--;
+				}
+				unlink( victim );
+				linkLast( probation, candidate, TinyLFUHashEntry.PROBATION );
+				probationSize++;
+				evictedEntry = victim;
+			}
+			else {
+				evictedEntry = candidate;
+			}
+
+			Set<HashEntry<K, V>> evicted = new HashSet<HashEntry<K, V>>();
+			evicted.add( evictedEntry );
+			segment.evictionListener.onEntryChosenForEviction( evictedEntry.value );
+			segment.remove( evictedEntry.key, evictedEntry.hash, null );
+			return evicted;
+		}
+
+		/*
+			   * Invoked without holding a lock on Segment
+			   */
+		@Override
+		public boolean onEntryHit(HashEntry<K, V> e) {
+			if ( recordHit( (TinyLFUHashEntry<K, V>) e ) && segment.tryLock() ) {
+				try {
+					drainReadBuffer();
+				}
+				finally {
+					segment.unlock();
+				}
+			}
+			// draining never evicts, so there is nothing left for the segment to do
+			return false;
+		}
+
+		/**
+		 * Records a hit in the read buffer, unless it is full or another thread is recording at the same time.
+		 *
+		 * @return true if the read buffer should be drained
+		 */
+		private boolean recordHit(TinyLFUHashEntry<K, V> e) {
+			long head = readBufferReadCount;
+			long tail = readBufferWriteCount.get();
+			long size = tail - head;
+			if ( size >= READ_BUFFER_SIZE ) {
+				return true;
+			}
+			if ( readBufferWriteCount.compareAndSet( tail, tail + 1 ) ) {
+				readBuffer.lazySet( (int) ( tail & READ_BUFFER_MASK ), e );
+				return size + 1 >= READ_BUFFER_DRAIN_THRESHOLD;
+			}
+			return false;
+		}
+
+		/**
+		 * Replays the recorded hits against the queues.  Called while holding the lock of the segment.
+		 */
+		private void drainReadBuffer() {
+			long head = readBufferReadCount;
+			long tail = readBufferWriteCount.get();
+			for ( ; head < tail; head++ ) {
+				int index = (int) ( head & READ_BUFFER_MASK );
+				TinyLFUHashEntry<K, V> e = readBuffer.get( index );
+				if ( e == null ) {
+					// recorded, but not published yet
+					break;
+				}
+				readBuffer.lazySet( index, null );
+				onAccess( e );
+			}
+			readBufferReadCount = head;
+		}
+
+		private void onAccess(TinyLFUHashEntry<K, V> e) {
+			if ( e.queue == TinyLFUHashEntry.NOT_LINKED ) {
+				// removed since the hit was recorded
+				return;
+			}
+			sketch.increment( e.hash );
+			if ( e.queue == TinyLFUHashEntry.WINDOW ) {
+				unlink( e );
+				linkLast( window, e, TinyLFUHashEntry.WINDOW );
+			}
+			else if ( e.queue == TinyLFUHashEntry.PROBATION ) {
+				unlink( e );
+				probationSize--;
+				linkLast( protectedQueue, e, TinyLFUHashEntry.PROTECTED );
+				protectedSize++;
+				while ( protectedSize > maximumProtectedSize ) {
+					TinyLFUHashEntry<K, V> demoted = protectedQueue.next;
+					unlink( demoted );
+					protectedSize--;
+					linkLast( probation, demoted, TinyLFUHashEntry.PROBATION );
+					probationSize++;
+				}
+			}
+			else {
+				unlink( e );
+				linkLast( protectedQueue, e, TinyLFUHashEntry.PROTECTED );
+			}
+		}
+
+		/*
+			   * Invoked without holding a lock on Segment
+			   */
+		@Override
+		public boolean thresholdExpired() {
+			return false;
+		}
+
+		@Override
+		public void onEntryRemove(HashEntry<K, V> en) {
+			TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+			switch ( e.queue ) {
+				case TinyLFUHashEntry.WINDOW:
+					windowSize--;
+					break;
+				case TinyLFUHashEntry.PROBATION:
+					probationSize--;
+					break;
+				case TinyLFUHashEntry.PROTECTED:
+					protectedSize--;
+					break;
+				default:
+					// already unlinked, when chosen for eviction
+					return;
+			}
+			unlink( e );
+		}
+
+		@Override
+		public void onEntryReplaced(HashEntry<K, V> en, HashEntry<K, V> replacementEntry) {
+			TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+			TinyLFUHashEntry<K, V> replacement = (TinyLFUHashEntry<K, V>) replacementEntry;
+			if ( e.queue == TinyLFUHashEntry.NOT_LINKED ) {
+				return;
+			}
+			// the replacement takes over the position of the entry
+			replacement.previous = e.previous;
+			replacement.next = e.next;
+			replacement.queue = e.queue;
+			e.previous.next = replacement;
+			e.next.previous = replacement;
+			e.previous = null;
+			e.next = null;
+			e.queue = TinyLFUHashEntry.NOT_LINKED;
+		}
+
+		@Override
+		public void clear() {
+			readBufferReadCount = readBufferWriteCount.get();
+			for ( int i = 0; i < READ_BUFFER_SIZE; i++ ) {
+				readBuffer.lazySet( i, null );
+			}
+			clear( window );
+			clear( probation );
+			clear( protectedQueue );
+			windowSize = 0;
+			probationSize = 0;
+			protectedSize = 0;
+		}
+
+		private static <K, V> void clear(TinyLFUHashEntry<K, V> header) {
+			TinyLFUHashEntry<K, V> e = header.next;
+			while ( e != header ) {
+				TinyLFUHashEntry<K, V> next = e.next;
+				e.previous = null;
+				e.next = null;
+				e.queue = TinyLFUHashEntry.NOT_LINKED;
+				e = next;
+			}
+			header.previous = header;
+			header.next = header;
+		}
+
+		private static <K, V> void linkLast(TinyLFUHashEntry<K, V> header, TinyLFUHashEntry<K, V> e, byte queue) {
+			TinyLFUHashEntry<K, V> last = header.previous;
+			e.previous = last;
+			e.next = header;
+			e.queue = queue;
+			last.next = e;
+			header.previous = e;
+		}
+
+		private static <K, V> void unlink(TinyLFUHashEntry<K, V> e) {
+			e.previous.next = e.next;
+			e.next.previous = e.previous;
+			e.previous = null;
+			e.next = null;
+			e.queue = TinyLFUHashEntry.NOT_LINKED;
+		}
+
+		@Override
+		public Eviction strategy() {
+			return Eviction.W_TINY_LFU;
+		}
+
+		@Override
+		public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
+			return new TinyLFUHashEntry<K, V>( key, hash, next, value );
+		}
+	}
+
+	/**
+	 * A count-min sketch of 4-bit counters, estimating how often the keys of a {@link TinyLFU} segment were
+	 * accessed.  All the counters are halved once the number of increments reaches ten times the capacity,
+	 * so that the estimates follow changes in the access pattern.  Only accessed while holding the lock of
+	 * the segment.
+	 */
+	static final class FrequencySketch {
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int size;
+
+		FrequencySketch(int capacity) {
+			int maximum = Math.max( 16, Math.min( capacity, MAXIMUM_CAPACITY >>> 2 ) );
+			int length = 1;
+			while ( length < maximum ) {
+				length <<= 1;
+			}
+			this.table = new long[length];
+			this.tableMask = length - 1;
+			this.sampleSize = 10 * maximum;
+		}
+
+		int frequency(int hash) {
+			int start = ( hash & 3 ) << 2;
+			int frequency = 15;
+			for ( int i = 0; i < 4; i++ ) {
+				int index = indexOf( hash, i );
+				int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+				frequency = Math.min( frequency, count );
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			int start = ( hash & 3 ) << 2;
+			boolean added = false;
+			for ( int i = 0; i < 4; i++ ) {
+				int index = indexOf( hash, i );
+				long mask = 0xfL << ( ( start + i ) << 2 );
+				if ( ( table[index] & mask ) != mask ) {
+					table[index] += 1L << ( ( start + i ) << 2 );
+					added = true;
+				}
+			}
+			if ( added && ++size == sampleSize ) {
+				for ( int i = 0; i < table.length; i++ ) {
+					table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+				}
+				size >>>= 1;
+			}
+		}
+
+		private int indexOf(int hash, int i) {
+			long h = ( hash + SEEDS[i] ) * SEEDS[i];
+			h += h >>> 32;
+			return ( (int) h ) & tableMask;
+		}
+	}
+
 	/**
 	 * Segments are specialized versions of hash tables.  This
 	 * subclasses from ReentrantLock opportunistically, just to
@@ -1538,11 +1954,9 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 						HashEntry<K, V> newFirst = e.next;
 						for ( HashEntry<K, V> p = first; p != e; p = p.next ) {
 							// TODO A remove operation makes the map behave like all the other keys in the bucket were just added???
-							// allow p to be GC-ed
-							eviction.onEntryRemove( p );
 							newFirst = eviction.createNewEntry( p.key, p.hash, newFirst, p.value );
-							// and notify eviction algorithm about new hash entries
-							eviction.onEntryMiss( newFirst );
+							// allow p to be GC-ed, and notify eviction algorithm about new hash entries
+							eviction.onEntryReplaced( p, newFirst );
 						}
 
 						tab[index] = newFirst;
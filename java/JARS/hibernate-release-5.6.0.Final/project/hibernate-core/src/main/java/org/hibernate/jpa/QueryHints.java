@@ -13,6 +13,7 @@ import org.hibernate.graph.GraphSemantic;
 
 import static org.hibernate.annotations.QueryHints.CACHEABLE;
 import static org.hibernate.annotations.QueryHints.CACHE_MODE;
+import static org.hibernate.annotations.QueryHints.CACHE_PARTITION;
 import static org.hibernate.annotations.QueryHints.CACHE_REGION;
 import static org.hibernate.annotations.QueryHints.COMMENT;
 import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
@@ -70,6 +71,12 @@ public class QueryHints {
 	 */
 	public static final String HINT_CACHE_REGION = CACHE_REGION;
 
+	/**
+	 * The hint key for specifying the value of the partition attribute of the rows of the partitioned entities read by
+	 * the query, so that its cached results are only invalidated by the changes to these rows.
+	 */
+	public static final String HINT_CACHE_PARTITION = CACHE_PARTITION;
+
 	/**
 	 * The hint key for specifying that objects loaded into the persistence context as a result of this query execution
 	 * should be associated with the persistence context as read-only.
@@ -139,6 +146,7 @@ public class QueryHints {
 		hints.add( HINT_COMMENT );
 		hints.add( HINT_FETCH_SIZE );
 		hints.add( HINT_CACHE_REGION );
+		hints.add( HINT_CACHE_PARTITION );
 		hints.add( HINT_CACHEABLE );
 		hints.add( HINT_READONLY );
 		hints.add( HINT_CACHE_MODE );
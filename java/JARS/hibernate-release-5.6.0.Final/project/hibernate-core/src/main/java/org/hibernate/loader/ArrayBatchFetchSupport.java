@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+/**
+ * Helps the loaders of {@link BatchFetchStyle#ARRAY} restrict their key column to the elements of an array bound as
+ * a single parameter.
+ */
+public final class ArrayBatchFetchSupport {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ArrayBatchFetchSupport.class );
+
+	private final String elementTypeName;
+	private final int sqlTypeCode;
+
+	/**
+	 * The array bound by the thread, until the statement is executed: the loaders are shared by the sessions.
+	 */
+	private final ThreadLocal<Array> boundArray = new ThreadLocal<>();
+
+	private ArrayBatchFetchSupport(String elementTypeName, int sqlTypeCode) {
+		this.elementTypeName = elementTypeName;
+		this.sqlTypeCode = sqlTypeCode;
+	}
+
+	/**
+	 * Resolves the array binding of the given key.
+	 *
+	 * @param keyColumnNames The key columns
+	 * @param keyType The key type
+	 * @param factory The SessionFactory
+	 * @param influencers Any influencers that should affect the built query
+	 *
+	 * @return The array binding, or {@code null} if the key cannot be bound as an array parameter, in which case the
+	 * batches should be loaded as for {@link BatchFetchStyle#PADDED}.
+	 */
+	public static ArrayBatchFetchSupport resolve(
+			String[] keyColumnNames,
+			Type keyType,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		// the key values go into the array as they are, and the parameters of enabled filters would precede it
+		if ( keyColumnNames.length != 1 || influencers.hasEnabledFilters() || !isBoundAsIs( keyType ) ) {
+			return null;
+		}
+		final int sqlTypeCode = keyType.sqlTypes( factory )[0];
+		final String elementTypeName = factory.getJdbcServices().getDialect().getArrayParameterElementTypeName( sqlTypeCode );
+		return elementTypeName == null ? null : new ArrayBatchFetchSupport( elementTypeName, sqlTypeCode );
+	}
+
+	private static boolean isBoundAsIs(Type keyType) {
+		return keyType instanceof LongType
+				|| keyType instanceof IntegerType
+				|| keyType instanceof ShortType
+				|| keyType instanceof StringType;
+	}
+
+	/**
+	 * Renders the restriction of the key column to the elements of the array parameter.
+	 *
+	 * @param alias The alias of the table of the key column
+	 * @param columnName The key column
+	 * @param dialect The Dialect
+	 *
+	 * @return The restriction
+	 */
+	public StringBuilder whereString(String alias, String columnName, Dialect dialect) {
+		return new StringBuilder(
+				dialect.getArrayParameterRestriction( StringHelper.qualify( alias, columnName ), sqlTypeCode )
+		);
+	}
+
+	/**
+	 * Binds the keys to load as the array parameter.  The array must be {@link #release() released} once the
+	 * statement is executed.
+	 *
+	 * @param statement The statement
+	 * @param index The index of the array parameter
+	 * @param keys The keys to load
+	 *
+	 * @throws SQLException Indicates a problem creating or binding the array
+	 */
+	public void bind(PreparedStatement statement, int index, Object[] keys) throws SQLException {
+		release();
+		final Array array = statement.getConnection().createArrayOf( elementTypeName, keys );
+		boundArray.set( array );
+		statement.setArray( index, array );
+	}
+
+	/**
+	 * Frees the array bound by the current thread, if any, once the statement is executed.
+	 */
+	public void release() {
+		final Array array = boundArray.get();
+		if ( array != null ) {
+			boundArray.remove();
+			try {
+				array.free();
+			}
+			catch (SQLException e) {
+				LOG.debugf( e, "Unable to free the array of keys to load" );
+			}
+		}
+	}
+}
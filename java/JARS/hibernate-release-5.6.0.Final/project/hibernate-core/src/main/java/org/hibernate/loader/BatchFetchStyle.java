@@ -39,7 +39,14 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Binds all the identifiers of a batch as a single array parameter, using the restriction of
+	 * {@link org.hibernate.dialect.Dialect#getArrayParameterRestriction}, so that a single SQL statement serves any
+	 * number of identifiers up to the batch-size.  Falls back to {@link #PADDED} where the Dialect does not support
+	 * array parameters, or the identifier is not a single long, integer, short or string.
+	 */
+	ARRAY;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
@@ -2702,7 +2702,13 @@ public abstract class Loader {
 		List result = getResultFromQueryCache(
 				session,
 				queryParameters,
-				querySpaces,
+				queryParameters.getCachePartition() == null
+						? querySpaces
+						: factory.getCache().getQuerySpacePartitions().toPartitionSpaces(
+								querySpaces,
+								queryParameters.getCachePartition(),
+								session
+						),
 				resultTypes,
 				queryCache,
 				key
@@ -2883,6 +2889,10 @@ public abstract class Loader {
 					result.size(),
 					milliseconds
 			);
+			statistics.queryExecutionLatency(
+					getQueryIdentifier(),
+					TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS )
+			);
 		}
 
 		return result;
@@ -2959,6 +2969,10 @@ public abstract class Loader {
 						0,
 						milliseconds
 				);
+				statistics.queryExecutionLatency(
+						getQueryIdentifier(),
+						TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS )
+				);
 			}
 
 			if ( needsFetchingScroll() ) {
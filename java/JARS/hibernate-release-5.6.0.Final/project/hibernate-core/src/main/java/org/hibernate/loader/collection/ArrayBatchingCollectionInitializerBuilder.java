@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.collection;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayBatchFetchSupport;
+import org.hibernate.loader.JoinWalker;
+import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.collection.QueryableCollection;
+
+/**
+ * A BatchingCollectionInitializerBuilder that builds CollectionInitializer instances binding the keys of the
+ * collections to batch-fetch as a single array parameter, so that a single SQL statement serves any number of keys.
+ * Falls back to {@link PaddedBatchingCollectionInitializerBuilder} where the key cannot be bound as an array.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+ */
+public class ArrayBatchingCollectionInitializerBuilder extends BatchingCollectionInitializerBuilder {
+	public static final ArrayBatchingCollectionInitializerBuilder INSTANCE = new ArrayBatchingCollectionInitializerBuilder();
+
+	@Override
+	protected CollectionInitializer createRealBatchingCollectionInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		final ArrayBatchFetchSupport arraySupport = resolveArraySupport( persister, factory, influencers );
+		if ( arraySupport == null ) {
+			return PaddedBatchingCollectionInitializerBuilder.INSTANCE.createBatchingCollectionInitializer(
+					persister,
+					maxBatchSize,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingCollectionInitializer( persister, maxBatchSize, arraySupport, factory, influencers );
+	}
+
+	@Override
+	protected CollectionInitializer createRealBatchingOneToManyInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		final ArrayBatchFetchSupport arraySupport = resolveArraySupport( persister, factory, influencers );
+		if ( arraySupport == null ) {
+			return PaddedBatchingCollectionInitializerBuilder.INSTANCE.createBatchingOneToManyInitializer(
+					persister,
+					maxBatchSize,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingCollectionInitializer( persister, maxBatchSize, arraySupport, factory, influencers );
+	}
+
+	private static ArrayBatchFetchSupport resolveArraySupport(
+			QueryableCollection persister,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return ArrayBatchFetchSupport.resolve( persister.getKeyColumnNames(), persister.getKeyType(), factory, influencers );
+	}
+
+	public static class ArrayBatchingCollectionInitializer extends BatchingCollectionInitializer {
+		private final int maxBatchSize;
+		private final ArrayBatchingCollectionLoader batchLoader;
+
+		public ArrayBatchingCollectionInitializer(
+				QueryableCollection collectionPersister,
+				int maxBatchSize,
+				ArrayBatchFetchSupport arraySupport,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			super( collectionPersister );
+			this.maxBatchSize = maxBatchSize;
+			this.batchLoader = new ArrayBatchingCollectionLoader( collectionPersister, arraySupport, factory, influencers );
+		}
+
+		@Override
+		public void initialize(Serializable id, SharedSessionContractImplementor session) throws HibernateException {
+			final Serializable[] batch = session.getPersistenceContextInternal()
+					.getBatchFetchQueue()
+					.getCollectionBatch( collectionPersister(), id, maxBatchSize );
+			final int numberOfIds = ArrayHelper.countNonNull( batch );
+
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
+
+			batchLoader.loadCollectionBatch( session, idsToLoad, collectionPersister().getKeyType() );
+		}
+	}
+
+	private static class ArrayBatchingCollectionLoader extends CollectionLoader {
+		private final ArrayBatchFetchSupport arraySupport;
+
+		ArrayBatchingCollectionLoader(
+				QueryableCollection collectionPersister,
+				ArrayBatchFetchSupport arraySupport,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			super( collectionPersister, factory, influencers );
+			this.arraySupport = arraySupport;
+
+			initFromWalker( buildJoinWalker( collectionPersister, arraySupport, factory, influencers ) );
+			postInstantiate();
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Static select for array batch-fetching of collection [%s]: %s",
+						collectionPersister.getRole(),
+						getSQLString()
+				);
+			}
+		}
+
+		private static JoinWalker buildJoinWalker(
+				QueryableCollection collectionPersister,
+				ArrayBatchFetchSupport arraySupport,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			if ( collectionPersister.isOneToMany() ) {
+				return new OneToManyJoinWalker( collectionPersister, -1, null, factory, influencers ) {
+					@Override
+					protected StringBuilder whereString(String alias, String[] columnNames, String subselect, int batchSize) {
+						return arraySupport.whereString( alias, columnNames[0], getDialect() );
+					}
+				};
+			}
+			else {
+				return new BasicCollectionJoinWalker( collectionPersister, -1, null, factory, influencers ) {
+					@Override
+					protected StringBuilder whereString(String alias, String[] columnNames, String subselect, int batchSize) {
+						return arraySupport.whereString( alias, columnNames[0], getDialect() );
+					}
+				};
+			}
+		}
+
+		@Override
+		protected int bindParameterValues(
+				PreparedStatement statement,
+				QueryParameters queryParameters,
+				int startIndex,
+				SharedSessionContractImplementor session) throws SQLException {
+			arraySupport.bind( statement, startIndex, queryParameters.getPositionalParameterValues() );
+			return 1;
+		}
+
+		@Override
+		protected SqlStatementWrapper executeQueryStatement(
+				String sqlStatement,
+				QueryParameters queryParameters,
+				boolean scroll,
+				List<AfterLoadAction> afterLoadActions,
+				SharedSessionContractImplementor session) throws SQLException {
+			try {
+				return super.executeQueryStatement( sqlStatement, queryParameters, scroll, afterLoadActions, session );
+			}
+			finally {
+				arraySupport.release();
+			}
+		}
+	}
+}
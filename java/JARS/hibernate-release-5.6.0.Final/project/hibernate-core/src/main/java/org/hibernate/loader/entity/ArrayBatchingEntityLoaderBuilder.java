@@ -0,0 +1,207 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.internal.BatchFetchQueueHelper;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayBatchFetchSupport;
+import org.hibernate.loader.entity.plan.AbstractBatchingEntityLoaderBuilder;
+import org.hibernate.loader.entity.plan.BatchingEntityLoader;
+import org.hibernate.loader.entity.plan.PaddedBatchingEntityLoaderBuilder;
+import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+
+/**
+ * A BatchingEntityLoaderBuilder that builds entity-loader instances binding the identifiers of the entities to
+ * batch-fetch as a single array parameter, so that a single SQL statement serves any number of identifiers.  Falls
+ * back to {@link PaddedBatchingEntityLoaderBuilder} where the identifier cannot be bound as an array.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+ */
+public class ArrayBatchingEntityLoaderBuilder extends AbstractBatchingEntityLoaderBuilder {
+	/**
+	 * Singleton access
+	 */
+	public static final ArrayBatchingEntityLoaderBuilder INSTANCE = new ArrayBatchingEntityLoaderBuilder();
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return buildBatchingLoader( persister, batchSize, LockOptions.interpret( lockMode ), factory, influencers );
+	}
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		final ArrayBatchFetchSupport arraySupport = ArrayBatchFetchSupport.resolve(
+				persister.getIdentifierColumnNames(),
+				persister.getIdentifierType(),
+				factory,
+				influencers
+		);
+		if ( arraySupport == null ) {
+			return PaddedBatchingEntityLoaderBuilder.INSTANCE.buildLoader(
+					persister,
+					batchSize,
+					lockOptions,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingEntityLoader( persister, batchSize, arraySupport, lockOptions, factory, influencers );
+	}
+
+	public static class ArrayBatchingEntityLoader extends BatchingEntityLoader {
+		private final int maxBatchSize;
+		private final ArrayEntityLoader batchLoader;
+
+		public ArrayBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				ArrayBatchFetchSupport arraySupport,
+				LockOptions lockOptions,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister );
+			this.maxBatchSize = maxBatchSize;
+			this.batchLoader = new ArrayEntityLoader( persister, arraySupport, lockOptions, factory, loadQueryInfluencers );
+		}
+
+		@Override
+		public Object load(
+				Serializable id,
+				Object optionalObject,
+				SharedSessionContractImplementor session,
+				LockOptions lockOptions) {
+			return load( id, optionalObject, session, lockOptions, null );
+		}
+
+		@Override
+		public Object load(
+				Serializable id,
+				Object optionalObject,
+				SharedSessionContractImplementor session,
+				LockOptions lockOptions,
+				Boolean readOnly) {
+			final Serializable[] batch = session.getPersistenceContextInternal()
+					.getBatchFetchQueue()
+					.getEntityBatch( persister(), id, maxBatchSize, persister().getEntityMode() );
+
+			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
+
+			final List<?> results = batchLoader.loadEntityBatch(
+					session,
+					idsToLoad,
+					persister().getIdentifierType(),
+					optionalObject,
+					persister().getEntityName(),
+					id,
+					persister(),
+					lockOptions,
+					readOnly
+			);
+
+			// The EntityKey for any entity that is not found will remain in the batch.
+			// Explicitly remove the EntityKeys for entities that were not found to
+			// avoid including them in future batches that get executed.
+			BatchFetchQueueHelper.removeNotFoundBatchLoadableEntityKeys(
+					idsToLoad,
+					results,
+					persister(),
+					session
+			);
+
+			return getObjectFromList( results, id, session );
+		}
+	}
+
+	private static class ArrayEntityLoader extends AbstractEntityLoader {
+		private final ArrayBatchFetchSupport arraySupport;
+
+		ArrayEntityLoader(
+				OuterJoinLoadable persister,
+				ArrayBatchFetchSupport arraySupport,
+				LockOptions lockOptions,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister, persister.getIdentifierType(), factory, loadQueryInfluencers );
+			this.arraySupport = arraySupport;
+
+			initFromWalker(
+					new EntityJoinWalker(
+							persister,
+							persister.getIdentifierColumnNames(),
+							-1,
+							lockOptions,
+							factory,
+							loadQueryInfluencers
+					) {
+						@Override
+						protected StringBuilder whereString(String alias, String[] columnNames, int batchSize) {
+							return arraySupport.whereString( alias, columnNames[0], getDialect() );
+						}
+					}
+			);
+			postInstantiate();
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf( "Static select for array batch-fetching of entity %s: %s", entityName, getSQLString() );
+			}
+		}
+
+		@Override
+		protected boolean isSingleRowLoader() {
+			return false;
+		}
+
+		@Override
+		protected int bindParameterValues(
+				PreparedStatement statement,
+				QueryParameters queryParameters,
+				int startIndex,
+				SharedSessionContractImplementor session) throws SQLException {
+			arraySupport.bind( statement, startIndex, queryParameters.getPositionalParameterValues() );
+			return 1;
+		}
+
+		@Override
+		protected SqlStatementWrapper executeQueryStatement(
+				String sqlStatement,
+				QueryParameters queryParameters,
+				boolean scroll,
+				List<AfterLoadAction> afterLoadActions,
+				SharedSessionContractImplementor session) throws SQLException {
+			try {
+				return super.executeQueryStatement( sqlStatement, queryParameters, scroll, afterLoadActions, session );
+			}
+			finally {
+				arraySupport.release();
+			}
+		}
+	}
+}
@@ -33,6 +33,9 @@ public abstract class BatchingEntityLoaderBuilder {
 			case DYNAMIC: {
 				return DynamicBatchingEntityLoaderBuilder.INSTANCE;
 			}
+			case ARRAY: {
+				return ArrayBatchingEntityLoaderBuilder.INSTANCE;
+			}
 			default: {
 				return LegacyBatchingEntityLoaderBuilder.INSTANCE;
 			}
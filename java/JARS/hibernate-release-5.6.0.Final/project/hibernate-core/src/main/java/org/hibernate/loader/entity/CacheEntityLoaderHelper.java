@@ -171,18 +171,36 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			}
 		}
 		else {
-			Object entity = convertCacheEntryToEntity( entry, event.getEntityId(), persister, event, entityKey );
+			return loadFromCacheEntry( event, persister, entry, entityKey );
+		}
+	}
 
-			if ( !persister.isInstance( entity ) ) {
-				throw new WrongClassException(
-						"loaded object was of wrong class " + entity.getClass(),
-						event.getEntityId(),
-						persister.getEntityName()
-				);
-			}
+	/**
+	 * Builds the entity from a disassembled entry, the way it is built from an entry of the second-level cache.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param entry The disassembled entry, not a reference entry
+	 * @param entityKey The EntityKey representing the entity to be loaded.
+	 *
+	 * @return The entity
+	 */
+	public Object loadFromCacheEntry(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final CacheEntry entry,
+			final EntityKey entityKey) {
+		Object entity = convertCacheEntryToEntity( entry, event.getEntityId(), persister, event, entityKey );
 
-			return entity;
+		if ( !persister.isInstance( entity ) ) {
+			throw new WrongClassException(
+					"loaded object was of wrong class " + entity.getClass(),
+					event.getEntityId(),
+					persister.getEntityName()
+			);
 		}
+
+		return entity;
 	}
 
 	private Object getFromSharedCache(
@@ -588,6 +588,10 @@ public class QueryLoader extends BasicLoader {
 						0,
 						milliseconds
 				);
+				statistics.queryExecutionLatency(
+						getQueryIdentifier(),
+						TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS )
+				);
 			}
 
 			return result;
@@ -5,6 +5,7 @@
  * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
  */
 package org.hibernate.mapping;
+import java.io.Serializable;
 import java.util.LinkedHashSet;
 
 /**
@@ -17,7 +18,8 @@ import java.util.LinkedHashSet;
  *
  * @see org.hibernate.engine.profile.FetchProfile
  */
-public class FetchProfile {
+public class FetchProfile implements Serializable {
+	private static final long serialVersionUID = 1L;
 	private final String name;
 	private final MetadataSource source;
 	private LinkedHashSet<Fetch> fetches = new LinkedHashSet<Fetch>();
@@ -94,7 +96,8 @@ public class FetchProfile {
 	/**
 	 * Defines an individual association fetch within the given profile.
 	 */
-	public static class Fetch {
+	public static class Fetch implements Serializable {
+		private static final long serialVersionUID = 1L;
 		private final String entity;
 		private final String association;
 		private final String style;
@@ -5,6 +5,7 @@
  * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
  */
 package org.hibernate.mapping;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -26,7 +27,8 @@ import java.util.List;
  *
  * @author Emmanuel Bernard
  */
-public class MappedSuperclass {
+public class MappedSuperclass implements Serializable {
+	private static final long serialVersionUID = 1L;
 	private final MappedSuperclass superMappedSuperclass;
 	private final PersistentClass superPersistentClass;
 	private final List declaredProperties;
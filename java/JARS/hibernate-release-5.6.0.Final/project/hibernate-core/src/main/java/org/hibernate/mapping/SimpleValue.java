@@ -263,7 +263,7 @@ public class SimpleValue implements KeyValue {
 		}
 	}
 
-	private IdentifierGenerator identifierGenerator;
+	private transient IdentifierGenerator identifierGenerator;
 
 	/**
 	 * Returns the cached identifierGenerator.
@@ -801,7 +801,9 @@ public class SimpleValue implements KeyValue {
 		}
 	}
 
-	private static final class ParameterTypeImpl implements DynamicParameterizedType.ParameterType {
+	private static final class ParameterTypeImpl implements DynamicParameterizedType.ParameterType, Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		private final Class returnedClass;
 		private final Annotation[] annotationsMethod;
@@ -50,6 +50,7 @@ import org.hibernate.graph.spi.RootGraphImplementor;
 import org.hibernate.graph.spi.SubGraphImplementor;
 import org.hibernate.internal.EntityManagerMessageLogger;
 import org.hibernate.internal.HEMLogging;
+import org.hibernate.internal.util.ParallelHelper;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
@@ -253,11 +254,21 @@ public class MetamodelImpl implements MetamodelImplementor, Serializable {
 		// after *all* persisters and named queries are registered
 		entityPersisterMap.values().forEach( EntityPersister::generateEntityDefinition );
 
-		for ( EntityPersister persister : entityPersisterMap.values() ) {
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister, entityNameResolvers );
+		if ( sessionFactory.getSessionFactoryOptions().isParallelInitializationEnabled() ) {
+			// each persister generates its own SQL and loaders, only reading the other persisters
+			ParallelHelper.forEach( new ArrayList<>( entityPersisterMap.values() ), EntityPersister::postInstantiate );
+			for ( EntityPersister persister : entityPersisterMap.values() ) {
+				registerEntityNameResolvers( persister, entityNameResolvers );
+			}
+			ParallelHelper.forEach( new ArrayList<>( collectionPersisterMap.values() ), CollectionPersister::postInstantiate );
+		}
+		else {
+			for ( EntityPersister persister : entityPersisterMap.values() ) {
+				persister.postInstantiate();
+				registerEntityNameResolvers( persister, entityNameResolvers );
+			}
+			collectionPersisterMap.values().forEach( CollectionPersister::postInstantiate );
 		}
-		collectionPersisterMap.values().forEach( CollectionPersister::postInstantiate );
 
 		if ( jpaMetaModelPopulationSetting != JpaMetaModelPopulationSetting.DISABLED ) {
 			MetadataContext context = new MetadataContext(
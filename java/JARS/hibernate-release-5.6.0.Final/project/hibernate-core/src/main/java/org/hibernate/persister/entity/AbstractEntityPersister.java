@@ -51,7 +51,9 @@ import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
+import org.hibernate.cache.spi.entry.SharedStateCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
@@ -116,6 +118,7 @@ import org.hibernate.mapping.Formula;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Selectable;
+import org.hibernate.mapping.RootClass;
 import org.hibernate.mapping.Subclass;
 import org.hibernate.mapping.Table;
 import org.hibernate.metadata.ClassMetadata;
@@ -311,6 +314,7 @@ public abstract class AbstractEntityPersister
 	protected final BasicEntityPropertyMapping propertyMapping;
 
 	private final boolean useReferenceCacheEntries;
+	private final boolean useSharedStateCacheEntries;
 
 	protected void addDiscriminatorToInsert(Insert insert) {
 	}
@@ -944,6 +948,9 @@ public abstract class AbstractEntityPersister
 		}
 
 		useReferenceCacheEntries = refCacheEntries;
+		useSharedStateCacheEntries = !refCacheEntries
+				&& factory.getSessionFactoryOptions().isSharedStateCacheEntriesEnabled()
+				&& canShareCachedState( persistentClass.getRootClass() );
 
 		this.cacheEntryHelper = buildCacheEntryHelper();
 
@@ -956,6 +963,26 @@ public abstract class AbstractEntityPersister
 
 	}
 
+	/**
+	 * The cached state of the entities of a hierarchy may be shared if they are immutable and unversioned, and if
+	 * all their attributes are eager and have a {@link SharedStateCacheEntryImpl#isShareable shareable} type.  The
+	 * whole hierarchy is checked, so that all the entities of the cache region of the hierarchy get the same kind
+	 * of entries.
+	 */
+	private static boolean canShareCachedState(RootClass rootClass) {
+		if ( !rootClass.isMutable() && !rootClass.isVersioned() ) {
+			final Iterator<Property> properties = rootClass.getSubclassPropertyClosureIterator();
+			while ( properties.hasNext() ) {
+				final Property property = properties.next();
+				if ( property.isLazy() || !SharedStateCacheEntryImpl.isShareable( new Type[] { property.getType() } ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
 	@SuppressWarnings("RedundantIfStatement")
 	private boolean determineWhetherToInvalidateCache(
 			PersistentClass persistentClass,
@@ -1033,8 +1060,16 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
-		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
-				? new StructuredCacheEntryHelper( this )
+		if ( useSharedStateCacheEntries ) {
+			return new SharedStateCacheEntryHelper( this );
+		}
+
+		if ( factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this );
+		}
+
+		return factory.getSessionFactoryOptions().isCompactCacheEntriesEnabled()
+				? new CompactCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
 	}
 
@@ -3299,6 +3334,32 @@ public abstract class AbstractEntityPersister
 
 	private BasicBatchKey inserBatchKey;
 
+	/**
+	 * The tables an insert of this entity may reference through foreign keys, i.e. the tables
+	 * of all entities associated through the identifier or the (possibly embedded) properties.
+	 */
+	private Serializable[] getInsertReferencedTables() {
+		final Set<Serializable> referencedTables = new HashSet<>();
+		collectReferencedTables( getIdentifierType(), referencedTables );
+		for ( Type propertyType : getPropertyTypes() ) {
+			collectReferencedTables( propertyType, referencedTables );
+		}
+		return referencedTables.toArray( new Serializable[ referencedTables.size() ] );
+	}
+
+	private void collectReferencedTables(Type type, Set<Serializable> referencedTables) {
+		if ( type.isEntityType() ) {
+			final EntityPersister associatedPersister = getFactory().getMetamodel()
+					.entityPersister( ( (EntityType) type ).getAssociatedEntityName() );
+			Collections.addAll( referencedTables, associatedPersister.getPropertySpaces() );
+		}
+		else if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				collectReferencedTables( subtype, referencedTables );
+			}
+		}
+	}
+
 	/**
 	 * Perform an SQL INSERT.
 	 * <p/>
@@ -3341,7 +3402,9 @@ public abstract class AbstractEntityPersister
 		if ( useBatch && inserBatchKey == null ) {
 			inserBatchKey = new BasicBatchKey(
 					getEntityName() + "#INSERT",
-					expectation
+					expectation,
+					getPropertySpaces(),
+					getInsertReferencedTables()
 			);
 		}
 		final boolean callable = isInsertCallable( j );
@@ -5869,6 +5932,30 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class SharedStateCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+
+		private SharedStateCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return UnstructuredCacheEntry.INSTANCE;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new SharedStateCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class StructuredCacheEntryHelper implements CacheEntryHelper {
 		private final EntityPersister persister;
 		private final StructuredCacheEntry structure;
@@ -5895,6 +5982,32 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class CompactCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final CompactCacheEntry structure;
+
+		private CompactCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+			this.structure = new CompactCacheEntry( persister );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
@@ -8,6 +8,7 @@ package org.hibernate.proxy.pojo.bytebuddy;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -27,6 +28,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.TypeCache;
 import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.SuperMethodCall;
@@ -37,6 +39,8 @@ public class ByteBuddyProxyHelper implements Serializable {
 
 	private static final CoreMessageLogger LOG = messageLogger( ByteBuddyProxyHelper.class );
 	private static final String PROXY_NAMING_SUFFIX = Environment.useLegacyProxyClassnames() ? "HibernateProxy$" : "HibernateProxy";
+	private static final String PREGENERATED_PROXY_NAMING_SUFFIX = "$HibernateProxy$Pregenerated";
+	private static final Class[] DEFAULT_PROXY_INTERFACES = new Class[] { HibernateProxy.class };
 
 	private final ByteBuddyState byteBuddyState;
 
@@ -52,9 +56,44 @@ public class ByteBuddyProxyHelper implements Serializable {
 		}
 		key.addAll( Arrays.<Class<?>>asList( interfaces ) );
 
+		if ( Arrays.equals( interfaces, DEFAULT_PROXY_INTERFACES ) ) {
+			return byteBuddyState.loadProxy(
+					persistentClass,
+					new TypeCache.SimpleKey( key ),
+					() -> resolvePregeneratedProxy( persistentClass ),
+					proxyBuilder( persistentClass, interfaces )
+			);
+		}
 		return byteBuddyState.loadProxy( persistentClass, new TypeCache.SimpleKey( key ), proxyBuilder( persistentClass, interfaces ) );
 	}
 
+	/**
+	 * Build the proxy of an entity which only implements {@link HibernateProxy}, named so that
+	 * {@link #buildProxy} picks it up instead of generating it when it is found next to the entity class.
+	 *
+	 * @param persistentClass The entity class
+	 * @return The unloaded proxy
+	 */
+	public DynamicType.Unloaded<?> buildUnloadedPregeneratedProxy(final Class<?> persistentClass) {
+		final String proxyClassName = pregeneratedProxyClassName( persistentClass );
+		return byteBuddyState.make(
+				proxyBuilder(
+						persistentClass,
+						DEFAULT_PROXY_INTERFACES,
+						new NamingStrategy.AbstractBase() {
+							@Override
+							protected String name(TypeDescription superClass) {
+								return proxyClassName;
+							}
+						}
+				)
+		);
+	}
+
+	public static String pregeneratedProxyClassName(Class<?> persistentClass) {
+		return persistentClass.getName() + PREGENERATED_PROXY_NAMING_SUFFIX;
+	}
+
 	/**
 	 * Do not remove: used by Quarkus
 	 */
@@ -64,9 +103,17 @@ public class ByteBuddyProxyHelper implements Serializable {
 	}
 
 	private Function<ByteBuddy, DynamicType.Builder<?>> proxyBuilder(Class persistentClass, Class[] interfaces) {
+		return proxyBuilder(
+				persistentClass,
+				interfaces,
+				new NamingStrategy.SuffixingRandom( PROXY_NAMING_SUFFIX, new NamingStrategy.SuffixingRandom.BaseNameResolver.ForFixedValue( persistentClass.getName() ) )
+		);
+	}
+
+	private Function<ByteBuddy, DynamicType.Builder<?>> proxyBuilder(Class persistentClass, Class[] interfaces, NamingStrategy namingStrategy) {
 		return byteBuddy -> byteBuddy
 				.ignore( byteBuddyState.getProxyDefinitionHelpers().getGroovyGetMetaClassFilter() )
-				.with( new NamingStrategy.SuffixingRandom( PROXY_NAMING_SUFFIX, new NamingStrategy.SuffixingRandom.BaseNameResolver.ForFixedValue( persistentClass.getName() ) ) )
+				.with( namingStrategy )
 				.subclass( interfaces.length == 1 ? persistentClass : Object.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_OPENING )
 				.implement( (Type[]) interfaces )
 				.method( byteBuddyState.getProxyDefinitionHelpers().getVirtualNotFinalizerFilter() )
@@ -78,6 +125,87 @@ public class ByteBuddyProxyHelper implements Serializable {
 						.intercept( byteBuddyState.getProxyDefinitionHelpers().getInterceptorFieldAccessor() );
 	}
 
+	private static Class<?> resolvePregeneratedProxy(Class<?> persistentClass) {
+		final Class<?> proxyClass = ByteBuddyState.findPregeneratedClass( persistentClass, pregeneratedProxyClassName( persistentClass ) );
+		if ( proxyClass == null ) {
+			return null;
+		}
+		if ( proxyClass.getSuperclass() != persistentClass
+				|| !ProxyConfiguration.class.isAssignableFrom( proxyClass )
+				|| !HibernateProxy.class.isAssignableFrom( proxyClass )
+				|| !overridesAllMethods( proxyClass, persistentClass ) ) {
+			// the entity class changed since the proxy was generated
+			LOG.debugf( "Ignoring the proxy class %s generated at build time, as it does not match the entity class", proxyClass.getName() );
+			return null;
+		}
+		LOG.debugf( "Using the proxy class %s generated at build time", proxyClass.getName() );
+		return proxyClass;
+	}
+
+	private static boolean overridesAllMethods(Class<?> proxyClass, Class<?> persistentClass) {
+		for ( Class<?> clazz = persistentClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass() ) {
+			for ( Method method : clazz.getDeclaredMethods() ) {
+				final int modifiers = method.getModifiers();
+				if ( Modifier.isStatic( modifiers ) || Modifier.isPrivate( modifiers ) || Modifier.isFinal( modifiers )
+						|| method.isSynthetic() ) {
+					continue;
+				}
+				if ( !Modifier.isPublic( modifiers ) && !Modifier.isProtected( modifiers )
+						&& !packageName( clazz ).equals( packageName( persistentClass ) ) ) {
+					// package private methods of another package cannot be overridden
+					continue;
+				}
+				try {
+					proxyClass.getDeclaredMethod( method.getName(), method.getParameterTypes() );
+				}
+				catch (NoSuchMethodException e) {
+					return false;
+				}
+			}
+		}
+		// and that the entity class still declares every method the proxy overrides
+		for ( Method method : proxyClass.getDeclaredMethods() ) {
+			if ( method.isSynthetic() ) {
+				continue;
+			}
+			if ( !declaresMethod( persistentClass, method ) && !declaresMethod( proxyClass.getInterfaces(), method ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean declaresMethod(Class<?> persistentClass, Method method) {
+		for ( Class<?> clazz = persistentClass; clazz != null; clazz = clazz.getSuperclass() ) {
+			try {
+				clazz.getDeclaredMethod( method.getName(), method.getParameterTypes() );
+				return true;
+			}
+			catch (NoSuchMethodException e) {
+				// look in the superclass
+			}
+		}
+		return false;
+	}
+
+	private static boolean declaresMethod(Class<?>[] interfaces, Method method) {
+		for ( Class<?> proxyInterface : interfaces ) {
+			try {
+				proxyInterface.getMethod( method.getName(), method.getParameterTypes() );
+				return true;
+			}
+			catch (NoSuchMethodException e) {
+				// look in the next interface
+			}
+		}
+		return false;
+	}
+
+	private static String packageName(Class<?> clazz) {
+		final int index = clazz.getName().lastIndexOf( '.' );
+		return index < 0 ? "" : clazz.getName().substring( 0, index );
+	}
+
 	public HibernateProxy deserializeProxy(SerializableProxy serializableProxy) {
 		final ByteBuddyInterceptor interceptor = new ByteBuddyInterceptor(
 				serializableProxy.getEntityName(),
@@ -100,8 +100,17 @@ public abstract class AbstractManipulationCriteriaQuery<T> implements Compilable
 
 	@Override
 	public CriteriaInterpretation interpret(RenderingContext renderingContext) {
-		final String jpaqlString = renderQuery( renderingContext );
+		return interpret( renderQuery( renderingContext ) );
+	}
+
+	@Override
+	public CriteriaInterpretation interpret(final String jpaqlString) {
 		return new CriteriaInterpretation() {
+			@Override
+			public String getJpaqlString() {
+				return jpaqlString;
+			}
+
 			@Override
 			@SuppressWarnings("unchecked")
 			public QueryImplementor buildCompiledQuery(
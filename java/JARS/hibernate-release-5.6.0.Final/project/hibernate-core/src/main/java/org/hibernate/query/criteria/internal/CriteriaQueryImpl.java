@@ -27,6 +27,7 @@ import javax.persistence.metamodel.EntityType;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.jpa.spi.HibernateEntityManagerImplementor;
 import org.hibernate.query.criteria.internal.compile.CompilableCriteria;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.CriteriaInterpretation;
 import org.hibernate.query.criteria.internal.compile.CriteriaQueryTypeQueryAdapter;
 import org.hibernate.query.criteria.internal.compile.ImplicitParameterBinding;
@@ -302,7 +303,38 @@ public class CriteriaQueryImpl<T> extends AbstractNode implements CriteriaQuery<
 
 		log.debugf( "Rendered criteria query -> %s", jpaqlString );
 
+		return interpret( jpaqlString );
+	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		queryStructure.appendStructure( keyBuilder );
+
+		keyBuilder.append( getOrderList().size() );
+		if ( getOrderList().isEmpty() ) {
+			return;
+		}
+
+		keyBuilder.getClauseStack().push( Clause.ORDER );
+		try {
+			for ( Order orderSpec : getOrderList() ) {
+				keyBuilder.append( orderSpec.isAscending() );
+				keyBuilder.appendStructureOf( orderSpec.getExpression() );
+			}
+		}
+		finally {
+			keyBuilder.getClauseStack().pop();
+		}
+	}
+
+	@Override
+	public CriteriaInterpretation interpret(final String jpaqlString) {
 		return new CriteriaInterpretation() {
+			@Override
+			public String getJpaqlString() {
+				return jpaqlString;
+			}
+
 			@Override
 			@SuppressWarnings("unchecked")
 			public QueryImplementor buildCompiledQuery(
@@ -7,6 +7,7 @@
 package org.hibernate.query.criteria.internal;
 import javax.persistence.criteria.From;
 
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -18,6 +19,14 @@ public interface FromImplementor<Z,X> extends PathImplementor<X>, From<Z,X> {
 	void prepareAlias(RenderingContext renderingContext);
 	String renderTableExpression(RenderingContext renderingContext);
 
+	/**
+	 * Describe the structure of this node as part of the {@code FROM} clause, following the same path as
+	 * {@link #renderTableExpression}.
+	 */
+	default void appendTableExpressionStructure(CompilationKeyBuilder keyBuilder) {
+		keyBuilder.unsupported();
+	}
+
 
 	FromImplementor<Z,X> correlateTo(CriteriaSubqueryImpl subquery);
 	void prepareCorrelationDelegate(FromImplementor<Z,X> parent);
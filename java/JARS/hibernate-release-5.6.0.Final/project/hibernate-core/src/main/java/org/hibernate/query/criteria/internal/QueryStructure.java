@@ -28,6 +28,7 @@ import javax.persistence.criteria.Selection;
 import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.EntityType;
 
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.path.RootImpl;
 import org.hibernate.query.criteria.internal.path.RootImpl.TreatedRoot;
@@ -485,4 +486,151 @@ public class QueryStructure<T> implements Serializable {
 			renderFetches( jpaqlQuery, renderingContext, fetch.getFetches() );
 		}
 	}
+
+	/**
+	 * Describe the structure of the query, following the same path as {@link #render}.  The nodes of the
+	 * {@code FROM} clause are registered up-front, as the {@code SELECT} clause may refer to them; sub-queries are
+	 * not described.
+	 *
+	 * @param keyBuilder The builder of the structural key
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( isSubQuery ) {
+			keyBuilder.unsupported();
+			return;
+		}
+
+		keyBuilder.append( getRoots().size() );
+		for ( Root root : getRoots() ) {
+			keyBuilder.appendFrom( (FromImplementor) root );
+		}
+		for ( Root root : getRoots() ) {
+			appendJoinFroms( keyBuilder, root.getJoins() );
+			appendFetchFroms( keyBuilder, root.getFetches() );
+		}
+
+		keyBuilder.getClauseStack().push( Clause.SELECT );
+		try {
+			keyBuilder.append( isDistinct() );
+			if ( getSelection() == null ) {
+				keyBuilder.appendStructureOf( locateImplicitSelection() );
+			}
+			else {
+				keyBuilder.appendStructureOf( getSelection() );
+			}
+		}
+		finally {
+			keyBuilder.getClauseStack().pop();
+		}
+
+		keyBuilder.getClauseStack().push( Clause.FROM );
+		try {
+			for ( Root root : getRoots() ) {
+				( (FromImplementor) root ).appendTableExpressionStructure( keyBuilder );
+			}
+			for ( Root root : getRoots() ) {
+				appendJoinsStructure( keyBuilder, root.getJoins() );
+				appendFetchesStructure( keyBuilder, root.getFetches() );
+			}
+		}
+		finally {
+			keyBuilder.getClauseStack().pop();
+		}
+
+		if ( getRestriction() == null ) {
+			keyBuilder.append( null );
+		}
+		else {
+			keyBuilder.getClauseStack().push( Clause.WHERE );
+			try {
+				keyBuilder.appendStructureOf( getRestriction() );
+			}
+			finally {
+				keyBuilder.getClauseStack().pop();
+			}
+		}
+
+		keyBuilder.append( getGroupings().size() );
+		if ( !getGroupings().isEmpty() ) {
+			keyBuilder.getClauseStack().push( Clause.GROUP );
+			try {
+				for ( Expression grouping : getGroupings() ) {
+					keyBuilder.appendStructureOf( grouping );
+				}
+
+				if ( getHaving() == null ) {
+					keyBuilder.append( null );
+				}
+				else {
+					keyBuilder.getClauseStack().push( Clause.HAVING );
+					try {
+						keyBuilder.appendStructureOf( getHaving() );
+					}
+					finally {
+						keyBuilder.getClauseStack().pop();
+					}
+				}
+			}
+			finally {
+				keyBuilder.getClauseStack().pop();
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private void appendJoinFroms(CompilationKeyBuilder keyBuilder, Collection<? extends Join<?,?>> joins) {
+		if ( joins == null ) {
+			return;
+		}
+
+		for ( Join join : joins ) {
+			keyBuilder.appendFrom( (FromImplementor) join );
+			appendJoinFroms( keyBuilder, join.getJoins() );
+			appendFetchFroms( keyBuilder, join.getFetches() );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private void appendFetchFroms(CompilationKeyBuilder keyBuilder, Collection<? extends Fetch> fetches) {
+		if ( fetches == null ) {
+			return;
+		}
+
+		for ( Fetch fetch : fetches ) {
+			keyBuilder.appendFrom( (FromImplementor) fetch );
+			appendFetchFroms( keyBuilder, fetch.getFetches() );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private void appendJoinsStructure(CompilationKeyBuilder keyBuilder, Collection<? extends Join<?,?>> joins) {
+		if ( joins == null ) {
+			keyBuilder.append( 0 );
+			return;
+		}
+
+		keyBuilder.append( joins.size() );
+		for ( Join join : joins ) {
+			keyBuilder.append( join.getJoinType() );
+			( (FromImplementor) join ).appendTableExpressionStructure( keyBuilder );
+			appendJoinsStructure( keyBuilder, join.getJoins() );
+			appendFetchesStructure( keyBuilder, join.getFetches() );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private void appendFetchesStructure(CompilationKeyBuilder keyBuilder, Collection<? extends Fetch> fetches) {
+		if ( fetches == null ) {
+			keyBuilder.append( 0 );
+			return;
+		}
+
+		keyBuilder.append( fetches.size() );
+		for ( Fetch fetch : fetches ) {
+			keyBuilder.append( fetch.getJoinType() );
+			( (FromImplementor) fetch ).appendTableExpressionStructure( keyBuilder );
+			appendFetchesStructure( keyBuilder, fetch.getFetches() );
+		}
+	}
 }
@@ -7,6 +7,7 @@
 package org.hibernate.query.criteria.internal;
 
 
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -21,4 +22,14 @@ public interface Renderable {
 	 * Perform the rendering, returning the rendition
 	 */
 	String render(RenderingContext renderingContext);
+
+	/**
+	 * Describe everything the rendering depends on (except the values of the literals bound as parameters),
+	 * following the same path as {@link #render}.  Nodes which do not override it (and so do subclasses
+	 * rendering differently from the class they extend) make the query unsupported by the
+	 * {@link org.hibernate.cfg.AvailableSettings#CRITERIA_COMPILATION_CACHE_MAX_SIZE compilation cache}.
+	 */
+	default void appendStructure(CompilationKeyBuilder keyBuilder) {
+		keyBuilder.unsupported();
+	}
 }
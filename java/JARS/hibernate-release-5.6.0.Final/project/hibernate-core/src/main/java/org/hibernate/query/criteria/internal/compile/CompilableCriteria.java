@@ -14,4 +14,24 @@ public interface CompilableCriteria {
 	public void validate();
 
 	public CriteriaInterpretation interpret(RenderingContext renderingContext);
+
+	/**
+	 * Describe the structure of this criteria, which determines its rendition.  By default, the criteria
+	 * cannot be described and is always rendered.
+	 *
+	 * @param keyBuilder The builder of the structural key
+	 */
+	default void appendStructure(CompilationKeyBuilder keyBuilder) {
+		keyBuilder.unsupported();
+	}
+
+	/**
+	 * Interpret this criteria given the JPQL rendered for it, or for a criteria of the same
+	 * {@link #appendStructure structure}.
+	 *
+	 * @param jpaqlString The rendered JPQL
+	 *
+	 * @return The interpretation
+	 */
+	public CriteriaInterpretation interpret(String jpaqlString);
 }
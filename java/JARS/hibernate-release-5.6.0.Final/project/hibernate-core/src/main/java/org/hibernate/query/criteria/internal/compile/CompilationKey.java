@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.criteria.internal.compile;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The structure of a criteria query, as described by a {@link CompilationKeyBuilder}.  Criteria queries with
+ * equal keys render the same JPQL.
+ */
+public final class CompilationKey implements Serializable {
+	private final Object[] parts;
+	private final int hashCode;
+
+	CompilationKey(Object[] parts) {
+		this.parts = parts;
+		this.hashCode = Arrays.hashCode( parts );
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final CompilationKey that = (CompilationKey) o;
+		return hashCode == that.hashCode
+				&& Arrays.equals( parts, that.parts );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "CompilationKey" + Arrays.toString( parts );
+	}
+}
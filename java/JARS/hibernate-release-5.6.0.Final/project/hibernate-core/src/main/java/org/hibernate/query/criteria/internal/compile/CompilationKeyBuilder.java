@@ -0,0 +1,254 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.criteria.internal.compile;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.criteria.ParameterExpression;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.collections.Stack;
+import org.hibernate.internal.util.collections.StandardStack;
+import org.hibernate.query.criteria.LiteralHandlingMode;
+import org.hibernate.query.criteria.internal.FromImplementor;
+import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.expression.function.FunctionExpression;
+import org.hibernate.sql.ast.Clause;
+
+/**
+ * Builds the {@link CompilationKey} of a criteria query: a description of everything its rendering depends on,
+ * except the values of the literals which are bound as parameters.
+ * <p/>
+ * Each node of the criteria tree describes itself through {@link Renderable#appendStructure}, following the
+ * same path as its {@link Renderable#render rendering}.  A node which cannot describe itself marks the query as
+ * {@link #unsupported() unsupported}, in which case it is simply rendered.
+ * <p/>
+ * Literals are described by their rendition, the builder acting as their {@link RenderingContext}: the literals
+ * it is asked to bind are collected, in order, as the values to bind to the JPQL of an equal key.  The explicit
+ * parameters and the {@code FROM} nodes are collected likewise, the generated parameter names and aliases being
+ * taken over from the criteria query which was rendered.
+ */
+public class CompilationKeyBuilder implements RenderingContext {
+	private final SessionFactoryImplementor sessionFactory;
+	private final Dialect dialect;
+	private final LiteralHandlingMode criteriaLiteralHandlingMode;
+
+	private final Stack<Clause> clauseStack = new StandardStack<>();
+	private final Stack<FunctionExpression> functionContextStack = new StandardStack<>();
+
+	private final List<Object> parts = new ArrayList<>();
+	private boolean unsupported;
+
+	private final List<Object> literals = new ArrayList<>();
+	private final List<Class> literalTypes = new ArrayList<>();
+	private final Map<ParameterExpression<?>, Integer> parameters = new IdentityHashMap<>();
+	private final List<ParameterExpression<?>> parameterList = new ArrayList<>();
+	private final Map<FromImplementor<?, ?>, Integer> froms = new IdentityHashMap<>();
+	private final List<FromImplementor<?, ?>> fromList = new ArrayList<>();
+
+	public CompilationKeyBuilder(
+			SessionFactoryImplementor sessionFactory,
+			Dialect dialect,
+			LiteralHandlingMode criteriaLiteralHandlingMode) {
+		this.sessionFactory = sessionFactory;
+		this.dialect = dialect;
+		this.criteriaLiteralHandlingMode = criteriaLiteralHandlingMode;
+	}
+
+	/**
+	 * Marks the criteria query as not describable.
+	 */
+	public void unsupported() {
+		unsupported = true;
+	}
+
+	public boolean isUnsupported() {
+		return unsupported;
+	}
+
+	/**
+	 * Starts the description of a node whose structure is described by the given class; a node of any other
+	 * class (a subclass rendering differently, typically) marks the query as {@link #unsupported() unsupported}.
+	 *
+	 * @param node The node
+	 * @param nodeClass The class describing the structure of the node
+	 *
+	 * @return {@code true} if the structure of the node is to be described; {@code false} otherwise.
+	 */
+	public boolean appendNode(Renderable node, Class<?> nodeClass) {
+		if ( unsupported ) {
+			return false;
+		}
+		if ( node.getClass() != nodeClass ) {
+			unsupported();
+			return false;
+		}
+		parts.add( nodeClass );
+		return true;
+	}
+
+	/**
+	 * Appends a piece of state the rendering depends on.
+	 *
+	 * @param part The state, which must implement {@code equals} and {@code hashCode}
+	 */
+	public void append(Object part) {
+		parts.add( part );
+	}
+
+	/**
+	 * Appends the structure of a nested node.
+	 *
+	 * @param node The nested node, typically an expression or a predicate
+	 */
+	public void appendStructureOf(Object node) {
+		if ( unsupported ) {
+			return;
+		}
+		if ( node instanceof Renderable ) {
+			( (Renderable) node ).appendStructure( this );
+		}
+		else {
+			unsupported();
+		}
+	}
+
+	/**
+	 * Appends a reference to an explicit parameter.  The parameters are distinguished by identity, as they are
+	 * by the {@link #registerExplicitParameter rendering}.
+	 *
+	 * @param parameter The parameter
+	 */
+	public void appendParameter(ParameterExpression<?> parameter) {
+		final Integer index = parameters.get( parameter );
+		if ( index != null ) {
+			parts.add( index );
+		}
+		else {
+			parameters.put( parameter, parameterList.size() );
+			parameterList.add( parameter );
+			parts.add( parameter.getName() );
+			parts.add( parameter.getPosition() );
+			parts.add( parameter.getJavaType() );
+		}
+	}
+
+	/**
+	 * Appends a node of the {@code FROM} clause, which may then be {@link #appendFromReference referenced}.
+	 *
+	 * @param from The node
+	 */
+	public void appendFrom(FromImplementor<?, ?> from) {
+		if ( froms.containsKey( from ) ) {
+			unsupported();
+			return;
+		}
+		froms.put( from, fromList.size() );
+		fromList.add( from );
+		parts.add( from.getAlias() );
+	}
+
+	/**
+	 * Appends a reference to a node of the {@code FROM} clause.  A reference to a node which is not part of the
+	 * {@code FROM} clause (of another query, typically) marks the query as {@link #unsupported() unsupported}.
+	 *
+	 * @param from The node
+	 */
+	public void appendFromReference(FromImplementor<?, ?> from) {
+		final Integer index = froms.get( from );
+		if ( index == null ) {
+			unsupported();
+		}
+		else {
+			parts.add( index );
+		}
+	}
+
+	public CompilationKey build() {
+		if ( unsupported ) {
+			throw new IllegalStateException( "Criteria query structure cannot be described" );
+		}
+		return new CompilationKey( parts.toArray() );
+	}
+
+	/**
+	 * The literals bound as parameters, in the order of description.
+	 */
+	public List<Object> getLiterals() {
+		return literals;
+	}
+
+	/**
+	 * The java types as which the {@link #getLiterals() literals} are bound.
+	 */
+	public List<Class> getLiteralTypes() {
+		return literalTypes;
+	}
+
+	/**
+	 * The distinct explicit parameters, in the order of description.
+	 */
+	public List<ParameterExpression<?>> getParameters() {
+		return parameterList;
+	}
+
+	/**
+	 * The nodes of the {@code FROM} clause, in the order of description.
+	 */
+	public List<FromImplementor<?, ?>> getFroms() {
+		return fromList;
+	}
+
+
+	// RenderingContext ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public String generateAlias() {
+		throw new IllegalStateException( "Aliases are not generated when describing a criteria query" );
+	}
+
+	@Override
+	public ExplicitParameterInfo registerExplicitParameter(ParameterExpression<?> criteriaQueryParameter) {
+		throw new IllegalStateException( "Parameters are not registered when describing a criteria query" );
+	}
+
+	@Override
+	public String registerLiteralParameterBinding(Object literal, Class javaType) {
+		literals.add( literal );
+		literalTypes.add( javaType );
+		parts.add( javaType );
+		return "";
+	}
+
+	@Override
+	public String getCastType(Class javaType) {
+		return CriteriaCompiler.getCastType( sessionFactory, javaType );
+	}
+
+	@Override
+	public Dialect getDialect() {
+		return dialect;
+	}
+
+	@Override
+	public LiteralHandlingMode getCriteriaLiteralHandlingMode() {
+		return criteriaLiteralHandlingMode;
+	}
+
+	@Override
+	public Stack<Clause> getClauseStack() {
+		return clauseStack;
+	}
+
+	@Override
+	public Stack<FunctionExpression> getFunctionStack() {
+		return functionContextStack;
+	}
+}
@@ -16,15 +16,18 @@ import javax.persistence.criteria.ParameterExpression;
 
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.Stack;
 import org.hibernate.internal.util.collections.StandardStack;
 import org.hibernate.query.criteria.LiteralHandlingMode;
+import org.hibernate.query.criteria.internal.FromImplementor;
 import org.hibernate.query.criteria.internal.expression.function.FunctionExpression;
 import org.hibernate.query.spi.QueryImplementor;
 import org.hibernate.sql.ast.Clause;
+import org.hibernate.stat.spi.StatisticsImplementor;
 import org.hibernate.type.Type;
 
 /**
@@ -51,9 +54,6 @@ public class CriteriaCompiler implements Serializable {
 			throw new IllegalArgumentException( "Error occurred validating the Criteria", ise );
 		}
 
-		final Map<ParameterExpression<?>, ExplicitParameterInfo<?>> explicitParameterInfoMap = new HashMap<>();
-		final List<ImplicitParameterBinding> implicitParameterBindings = new ArrayList<>();
-
 		final SessionFactoryImplementor sessionFactory = entityManager.getFactory();
 
 		final LiteralHandlingMode criteriaLiteralHandlingMode = sessionFactory
@@ -62,107 +62,105 @@ public class CriteriaCompiler implements Serializable {
 
 		final Dialect dialect = sessionFactory.getServiceRegistry().getService( JdbcServices.class ).getDialect();
 
-		RenderingContext renderingContext = new RenderingContext() {
-			private int aliasCount;
-			private int explicitParameterCount;
-
-			private final Stack<Clause> clauseStack = new StandardStack<>();
-			private final Stack<FunctionExpression> functionContextStack = new StandardStack<>();
-
-			public String generateAlias() {
-				return "generatedAlias" + aliasCount++;
-			}
+		final QueryPlanCache queryPlanCache = sessionFactory.getQueryPlanCache();
+		if ( !queryPlanCache.isCriteriaCompilationCacheEnabled() ) {
+			return render( criteria, dialect, criteriaLiteralHandlingMode );
+		}
 
-			public String generateParameterName() {
-				return "param" + explicitParameterCount++;
-			}
+		final CompilationKeyBuilder keyBuilder = new CompilationKeyBuilder(
+				sessionFactory,
+				dialect,
+				criteriaLiteralHandlingMode
+		);
+		criteria.appendStructure( keyBuilder );
 
-			@Override
-			public Stack<Clause> getClauseStack() {
-				return clauseStack;
+		final StatisticsImplementor statistics = sessionFactory.getStatistics();
+		if ( keyBuilder.isUnsupported() ) {
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.criteriaCompilationCacheMiss();
 			}
+			return render( criteria, dialect, criteriaLiteralHandlingMode );
+		}
 
-			@Override
-			public Stack<FunctionExpression> getFunctionStack() {
-				return functionContextStack;
+		final CompilationKey key = keyBuilder.build();
+		final RenderedCriteria renderedCriteria = queryPlanCache.getRenderedCriteria( key );
+		if ( renderedCriteria != null && renderedCriteria != RenderedCriteria.NOT_REUSABLE ) {
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.criteriaCompilationCacheHit();
 			}
+			return compile( criteria, keyBuilder, renderedCriteria );
+		}
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.criteriaCompilationCacheMiss();
+		}
 
-			@Override
-			@SuppressWarnings("unchecked")
-			public ExplicitParameterInfo registerExplicitParameter(ParameterExpression<?> criteriaQueryParameter) {
-				ExplicitParameterInfo parameterInfo = explicitParameterInfoMap.get( criteriaQueryParameter );
-				if ( parameterInfo == null ) {
-					if ( StringHelper.isNotEmpty( criteriaQueryParameter.getName() ) ) {
-						parameterInfo = new ExplicitParameterInfo(
-								criteriaQueryParameter.getName(),
-								null,
-								criteriaQueryParameter.getJavaType()
-						);
-					}
-					else if ( criteriaQueryParameter.getPosition() != null ) {
-						parameterInfo = new ExplicitParameterInfo(
-								null,
-								criteriaQueryParameter.getPosition(),
-								criteriaQueryParameter.getJavaType()
-						);
-					}
-					else {
-						parameterInfo = new ExplicitParameterInfo(
-								generateParameterName(),
-								null,
-								criteriaQueryParameter.getJavaType()
-						);
-					}
-
-					explicitParameterInfoMap.put( criteriaQueryParameter, parameterInfo );
-				}
-
-				return parameterInfo;
-			}
+		// the aliases of the FROM nodes are assigned by the rendering where not given by the application
+		final List<FromImplementor<?, ?>> froms = keyBuilder.getFroms();
+		final boolean[] unaliased = new boolean[froms.size()];
+		for ( int i = 0; i < unaliased.length; i++ ) {
+			unaliased[i] = froms.get( i ).getAlias() == null;
+		}
 
-			public String registerLiteralParameterBinding(final Object literal, final Class javaType) {
-				final String parameterName = generateParameterName();
-				final ImplicitParameterBinding binding = new ImplicitParameterBinding() {
-					public String getParameterName() {
-						return parameterName;
-					}
+		final CriteriaRenderingContext renderingContext = new CriteriaRenderingContext(
+				dialect,
+				criteriaLiteralHandlingMode
+		);
+		final CriteriaInterpretation interpretation = criteria.interpret( renderingContext );
 
-					public Class getJavaType() {
-						return javaType;
-					}
+		if ( renderedCriteria == null ) {
+			queryPlanCache.putRenderedCriteria(
+					key,
+					renderingContext.toRenderedCriteria( interpretation, keyBuilder, unaliased )
+			);
+		}
 
-					public void bind(TypedQuery typedQuery) {
-						typedQuery.setParameter( parameterName, literal );
-					}
-				};
+		return interpretation.buildCompiledQuery( entityManager, renderingContext );
+	}
 
-				implicitParameterBindings.add( binding );
-				return parameterName;
-			}
+	private QueryImplementor render(
+			CompilableCriteria criteria,
+			Dialect dialect,
+			LiteralHandlingMode criteriaLiteralHandlingMode) {
+		final CriteriaRenderingContext renderingContext = new CriteriaRenderingContext(
+				dialect,
+				criteriaLiteralHandlingMode
+		);
+		return criteria.interpret( renderingContext ).buildCompiledQuery( entityManager, renderingContext );
+	}
 
-			public String getCastType(Class javaType) {
-				SessionFactoryImplementor factory = entityManager.getFactory();
-				Type hibernateType = factory.getTypeResolver().heuristicType( javaType.getName() );
-				if ( hibernateType == null ) {
-					throw new IllegalArgumentException(
-							"Could not convert java type [" + javaType.getName() + "] to Hibernate type"
-					);
-				}
-				return hibernateType.getName();
-			}
+	/**
+	 * Compiles the criteria query from the rendition of an earlier criteria query of the same structure.
+	 */
+	private QueryImplementor compile(
+			CompilableCriteria criteria,
+			CompilationKeyBuilder keyBuilder,
+			RenderedCriteria renderedCriteria) {
+		final Map<ParameterExpression<?>, ExplicitParameterInfo<?>> explicitParameterInfoMap = new HashMap<>();
+		final ExplicitParameterInfo<?>[] explicitParameterInfos = renderedCriteria.getExplicitParameterInfos();
+		final List<ParameterExpression<?>> parameters = keyBuilder.getParameters();
+		for ( int i = 0; i < explicitParameterInfos.length; i++ ) {
+			explicitParameterInfoMap.put( parameters.get( i ), explicitParameterInfos[i] );
+		}
 
-			@Override
-			public Dialect getDialect() {
-				return dialect;
-			}
+		final String[] literalParameterNames = renderedCriteria.getLiteralParameterNames();
+		final List<ImplicitParameterBinding> implicitParameterBindings = new ArrayList<>( literalParameterNames.length );
+		final List<Object> literals = keyBuilder.getLiterals();
+		final List<Class> literalTypes = keyBuilder.getLiteralTypes();
+		for ( int i = 0; i < literalParameterNames.length; i++ ) {
+			implicitParameterBindings.add(
+					new LiteralParameterBinding( literalParameterNames[i], literalTypes.get( i ), literals.get( i ) )
+			);
+		}
 
-			@Override
-			public LiteralHandlingMode getCriteriaLiteralHandlingMode() {
-				return criteriaLiteralHandlingMode;
+		final String[] generatedAliases = renderedCriteria.getGeneratedAliases();
+		final List<FromImplementor<?, ?>> froms = keyBuilder.getFroms();
+		for ( int i = 0; i < generatedAliases.length; i++ ) {
+			if ( generatedAliases[i] != null ) {
+				froms.get( i ).alias( generatedAliases[i] );
 			}
-		};
+		}
 
-		return criteria.interpret( renderingContext ).buildCompiledQuery(
+		return criteria.interpret( renderedCriteria.getJpaqlString() ).buildCompiledQuery(
 				entityManager,
 				new InterpretedParameterMetadata() {
 					@Override
@@ -178,4 +176,185 @@ public class CriteriaCompiler implements Serializable {
 		);
 	}
 
+	static String getCastType(SessionFactoryImplementor factory, Class javaType) {
+		Type hibernateType = factory.getTypeResolver().heuristicType( javaType.getName() );
+		if ( hibernateType == null ) {
+			throw new IllegalArgumentException(
+					"Could not convert java type [" + javaType.getName() + "] to Hibernate type"
+			);
+		}
+		return hibernateType.getName();
+	}
+
+	private class CriteriaRenderingContext implements RenderingContext, InterpretedParameterMetadata {
+		private final Dialect dialect;
+		private final LiteralHandlingMode criteriaLiteralHandlingMode;
+
+		private final Map<ParameterExpression<?>, ExplicitParameterInfo<?>> explicitParameterInfoMap = new HashMap<>();
+		private final List<ImplicitParameterBinding> implicitParameterBindings = new ArrayList<>();
+
+		private int aliasCount;
+		private int explicitParameterCount;
+
+		private final Stack<Clause> clauseStack = new StandardStack<>();
+		private final Stack<FunctionExpression> functionContextStack = new StandardStack<>();
+
+		private CriteriaRenderingContext(Dialect dialect, LiteralHandlingMode criteriaLiteralHandlingMode) {
+			this.dialect = dialect;
+			this.criteriaLiteralHandlingMode = criteriaLiteralHandlingMode;
+		}
+
+		public String generateAlias() {
+			return "generatedAlias" + aliasCount++;
+		}
+
+		public String generateParameterName() {
+			return "param" + explicitParameterCount++;
+		}
+
+		@Override
+		public Stack<Clause> getClauseStack() {
+			return clauseStack;
+		}
+
+		@Override
+		public Stack<FunctionExpression> getFunctionStack() {
+			return functionContextStack;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public ExplicitParameterInfo registerExplicitParameter(ParameterExpression<?> criteriaQueryParameter) {
+			ExplicitParameterInfo parameterInfo = explicitParameterInfoMap.get( criteriaQueryParameter );
+			if ( parameterInfo == null ) {
+				if ( StringHelper.isNotEmpty( criteriaQueryParameter.getName() ) ) {
+					parameterInfo = new ExplicitParameterInfo(
+							criteriaQueryParameter.getName(),
+							null,
+							criteriaQueryParameter.getJavaType()
+					);
+				}
+				else if ( criteriaQueryParameter.getPosition() != null ) {
+					parameterInfo = new ExplicitParameterInfo(
+							null,
+							criteriaQueryParameter.getPosition(),
+							criteriaQueryParameter.getJavaType()
+					);
+				}
+				else {
+					parameterInfo = new ExplicitParameterInfo(
+							generateParameterName(),
+							null,
+							criteriaQueryParameter.getJavaType()
+					);
+				}
+
+				explicitParameterInfoMap.put( criteriaQueryParameter, parameterInfo );
+			}
+
+			return parameterInfo;
+		}
+
+		public String registerLiteralParameterBinding(final Object literal, final Class javaType) {
+			final String parameterName = generateParameterName();
+			implicitParameterBindings.add( new LiteralParameterBinding( parameterName, javaType, literal ) );
+			return parameterName;
+		}
+
+		public String getCastType(Class javaType) {
+			return CriteriaCompiler.getCastType( entityManager.getFactory(), javaType );
+		}
+
+		@Override
+		public Dialect getDialect() {
+			return dialect;
+		}
+
+		@Override
+		public LiteralHandlingMode getCriteriaLiteralHandlingMode() {
+			return criteriaLiteralHandlingMode;
+		}
+
+		@Override
+		public Map<ParameterExpression<?>, ExplicitParameterInfo<?>> explicitParameterInfoMap() {
+			return explicitParameterInfoMap;
+		}
+
+		@Override
+		public List<ImplicitParameterBinding> implicitParameterBindings() {
+			return implicitParameterBindings;
+		}
+
+		/**
+		 * Matches the rendition with the description of the criteria query: the rendition is reusable for the
+		 * criteria queries of the same structure only if the very same literals and parameters were met, in the
+		 * same order for the literals.
+		 */
+		private RenderedCriteria toRenderedCriteria(
+				CriteriaInterpretation interpretation,
+				CompilationKeyBuilder keyBuilder,
+				boolean[] unaliased) {
+			final String jpaqlString = interpretation.getJpaqlString();
+			final List<Object> literals = keyBuilder.getLiterals();
+			final List<Class> literalTypes = keyBuilder.getLiteralTypes();
+			final List<ParameterExpression<?>> parameters = keyBuilder.getParameters();
+			if ( jpaqlString == null
+					|| implicitParameterBindings.size() != literals.size()
+					|| explicitParameterInfoMap.size() != parameters.size() ) {
+				return RenderedCriteria.NOT_REUSABLE;
+			}
+
+			final String[] literalParameterNames = new String[literals.size()];
+			for ( int i = 0; i < literalParameterNames.length; i++ ) {
+				final LiteralParameterBinding binding = (LiteralParameterBinding) implicitParameterBindings.get( i );
+				if ( binding.literal != literals.get( i ) || binding.javaType != literalTypes.get( i ) ) {
+					return RenderedCriteria.NOT_REUSABLE;
+				}
+				literalParameterNames[i] = binding.parameterName;
+			}
+
+			final ExplicitParameterInfo<?>[] explicitParameterInfos = new ExplicitParameterInfo<?>[parameters.size()];
+			for ( int i = 0; i < explicitParameterInfos.length; i++ ) {
+				explicitParameterInfos[i] = explicitParameterInfoMap.get( parameters.get( i ) );
+				if ( explicitParameterInfos[i] == null ) {
+					return RenderedCriteria.NOT_REUSABLE;
+				}
+			}
+
+			final List<FromImplementor<?, ?>> froms = keyBuilder.getFroms();
+			final String[] generatedAliases = new String[froms.size()];
+			for ( int i = 0; i < generatedAliases.length; i++ ) {
+				if ( unaliased[i] ) {
+					generatedAliases[i] = froms.get( i ).getAlias();
+				}
+			}
+
+			return new RenderedCriteria( jpaqlString, literalParameterNames, explicitParameterInfos, generatedAliases );
+		}
+	}
+
+	private static class LiteralParameterBinding implements ImplicitParameterBinding {
+		private final String parameterName;
+		private final Class javaType;
+		private final Object literal;
+
+		private LiteralParameterBinding(String parameterName, Class javaType, Object literal) {
+			this.parameterName = parameterName;
+			this.javaType = javaType;
+			this.literal = literal;
+		}
+
+		public String getParameterName() {
+			return parameterName;
+		}
+
+		public Class getJavaType() {
+			return javaType;
+		}
+
+		@SuppressWarnings("unchecked")
+		public void bind(TypedQuery typedQuery) {
+			typedQuery.setParameter( parameterName, literal );
+		}
+	}
 }
@@ -26,4 +26,13 @@ public interface CriteriaInterpretation {
 	 * @return The created Query instance.
 	 */
 	QueryImplementor buildCompiledQuery(SharedSessionContractImplementor entityManager, InterpretedParameterMetadata interpretedParameterMetadata);
+
+	/**
+	 * The JPQL the criteria was rendered as, if it is to be made available for reuse.
+	 *
+	 * @return The JPQL, or {@code null}
+	 */
+	default String getJpaqlString() {
+		return null;
+	}
 }
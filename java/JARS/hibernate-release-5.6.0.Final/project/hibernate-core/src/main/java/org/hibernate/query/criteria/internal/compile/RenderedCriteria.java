@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.criteria.internal.compile;
+
+import java.io.Serializable;
+
+/**
+ * The rendition of a criteria query, cached by its {@link CompilationKey} and reused for the criteria queries of
+ * the same structure.  Besides the JPQL, it keeps the names given, in order of description, to the literals
+ * bound as parameters and to the explicit parameters, as well as the aliases generated for the nodes of the
+ * {@code FROM} clause.
+ */
+public class RenderedCriteria implements Serializable {
+	/**
+	 * Marks a structure whose rendition could not be matched with its description; queries of that structure
+	 * are always rendered.
+	 */
+	public static final RenderedCriteria NOT_REUSABLE = new RenderedCriteria( null, null, null, null );
+
+	private final String jpaqlString;
+	private final String[] literalParameterNames;
+	private final ExplicitParameterInfo<?>[] explicitParameterInfos;
+	private final String[] generatedAliases;
+
+	public RenderedCriteria(
+			String jpaqlString,
+			String[] literalParameterNames,
+			ExplicitParameterInfo<?>[] explicitParameterInfos,
+			String[] generatedAliases) {
+		this.jpaqlString = jpaqlString;
+		this.literalParameterNames = literalParameterNames;
+		this.explicitParameterInfos = explicitParameterInfos;
+		this.generatedAliases = generatedAliases;
+	}
+
+	public String getJpaqlString() {
+		return jpaqlString;
+	}
+
+	/**
+	 * The names of the parameters to which the literals are bound, in order of description.
+	 */
+	public String[] getLiteralParameterNames() {
+		return literalParameterNames;
+	}
+
+	/**
+	 * The information of the distinct explicit parameters, in order of description.
+	 */
+	public ExplicitParameterInfo<?>[] getExplicitParameterInfos() {
+		return explicitParameterInfos;
+	}
+
+	/**
+	 * The aliases of the nodes of the {@code FROM} clause, in order of description; {@code null} for the nodes
+	 * whose alias was not generated.
+	 */
+	public String[] getGeneratedAliases() {
+		return generatedAliases;
+	}
+}
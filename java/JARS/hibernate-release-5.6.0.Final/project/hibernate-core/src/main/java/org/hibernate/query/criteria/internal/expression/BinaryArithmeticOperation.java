@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.predicate.ImplicitNumericExpressionTypeDeterminer;
 
@@ -213,4 +214,13 @@ public class BinaryArithmeticOperation<N extends Number>
 				( (Renderable) getRightHandOperand() ).render( renderingContext )
 		);
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, BinaryArithmeticOperation.class ) ) {
+			keyBuilder.append( getOperator() );
+			keyBuilder.appendStructureOf( getLeftHandOperand() );
+			keyBuilder.appendStructureOf( getRightHandOperand() );
+		}
+	}
 }
@@ -15,6 +15,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -76,4 +77,14 @@ public class CoalesceExpression<T> extends ExpressionImpl<T> implements Coalesce
 		}
 		return buffer.append( ")" ).toString();
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, CoalesceExpression.class ) ) {
+			keyBuilder.append( getExpressions().size() );
+			for ( Expression expression : getExpressions() ) {
+				keyBuilder.appendStructureOf( expression );
+			}
+		}
+	}
 }
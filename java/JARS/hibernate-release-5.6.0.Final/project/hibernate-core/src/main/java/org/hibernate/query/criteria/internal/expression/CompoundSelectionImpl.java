@@ -18,6 +18,7 @@ import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
 import org.hibernate.query.criteria.internal.TupleElementImplementor;
 import org.hibernate.query.criteria.internal.ValueHandlerFactory;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -90,4 +91,15 @@ public class CompoundSelectionImpl<X>
 
 		return buff.toString();
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, CompoundSelectionImpl.class ) ) {
+			keyBuilder.append( isConstructor ? getJavaType().getName() : null );
+			keyBuilder.append( selectionItems.size() );
+			for ( Selection selection : selectionItems ) {
+				keyBuilder.appendStructureOf( selection );
+			}
+		}
+	}
 }
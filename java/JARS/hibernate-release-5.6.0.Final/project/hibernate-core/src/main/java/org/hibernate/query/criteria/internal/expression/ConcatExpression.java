@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -68,4 +69,12 @@ public class ConcatExpression extends ExpressionImpl<String> implements Serializ
 				+ " || "
 				+ ( (Renderable) getString2() ).render( renderingContext ) + ')' ;
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, ConcatExpression.class ) ) {
+			keyBuilder.appendStructureOf( getString1() );
+			keyBuilder.appendStructureOf( getString2() );
+		}
+	}
 }
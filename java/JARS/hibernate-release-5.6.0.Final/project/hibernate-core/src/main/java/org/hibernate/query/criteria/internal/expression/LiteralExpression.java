@@ -14,6 +14,7 @@ import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.ValueHandlerFactory;
 import org.hibernate.query.criteria.internal.ValueHandlerFactory.ValueHandler;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -76,6 +77,14 @@ public class LiteralExpression<T> extends ExpressionImpl<T> implements Serializa
 		}
 	}
 
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, LiteralExpression.class ) ) {
+			// a bound literal only contributes its type, see CompilationKeyBuilder#registerLiteralParameterBinding
+			keyBuilder.append( render( keyBuilder ) );
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private String normalRender(RenderingContext renderingContext, LiteralHandlingMode literalHandlingMode) {
 		switch ( literalHandlingMode ) {
@@ -10,6 +10,7 @@ import java.io.Serializable;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.function.CastFunction;
 import org.hibernate.sql.ast.Clause;
@@ -38,4 +39,11 @@ public class NullLiteralExpression<T> extends ExpressionImpl<T> implements Seria
 		// otherwise, just render `null`
 		return "null";
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, NullLiteralExpression.class ) ) {
+			keyBuilder.append( render( keyBuilder ) );
+		}
+	}
 }
@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -67,4 +68,12 @@ public class NullifExpression<T> extends ExpressionImpl<T> implements Serializab
 				+ ( (Renderable) getSecondaryExpression() ).render( renderingContext )
 				+ ")";
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, NullifExpression.class ) ) {
+			keyBuilder.appendStructureOf( getPrimaryExpression() );
+			keyBuilder.appendStructureOf( getSecondaryExpression() );
+		}
+	}
 }
@@ -11,6 +11,7 @@ import javax.persistence.criteria.ParameterExpression;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.ExplicitParameterInfo;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
@@ -77,4 +78,11 @@ public class ParameterExpressionImpl<T>
 		final ExplicitParameterInfo parameterInfo = renderingContext.registerExplicitParameter( this );
 		return parameterInfo.render();
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, ParameterExpressionImpl.class ) ) {
+			keyBuilder.appendParameter( this );
+		}
+	}
 }
@@ -16,6 +16,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -125,4 +126,21 @@ public class SearchedCaseExpression<R>
 
 		return caseStatement.toString();
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, SearchedCaseExpression.class ) ) {
+			keyBuilder.append( getWhenClauses().size() );
+			for ( WhenClause whenClause : getWhenClauses() ) {
+				keyBuilder.appendStructureOf( whenClause.getCondition() );
+				keyBuilder.appendStructureOf( whenClause.getResult() );
+			}
+			if ( getOtherwiseResult() == null ) {
+				keyBuilder.append( null );
+			}
+			else {
+				keyBuilder.appendStructureOf( getOtherwiseResult() );
+			}
+		}
+	}
 }
@@ -15,6 +15,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -134,4 +135,17 @@ public class SimpleCaseExpression<C,R>
 
 		return caseExpr.toString();
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, SimpleCaseExpression.class ) ) {
+			keyBuilder.appendStructureOf( getExpression() );
+			keyBuilder.append( getWhenClauses().size() );
+			for ( WhenClause whenClause : getWhenClauses() ) {
+				keyBuilder.appendStructureOf( whenClause.getCondition() );
+				keyBuilder.appendStructureOf( whenClause.getResult() );
+			}
+			keyBuilder.appendStructureOf( getOtherwiseResult() );
+		}
+	}
 }
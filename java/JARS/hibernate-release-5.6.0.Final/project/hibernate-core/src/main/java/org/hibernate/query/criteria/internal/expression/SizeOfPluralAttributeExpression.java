@@ -10,6 +10,7 @@ import java.io.Serializable;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.path.PluralAttributePath;
 
@@ -50,4 +51,11 @@ public class SizeOfPluralAttributeExpression
 	public String render(RenderingContext renderingContext) {
 		return "size(" + getPluralAttributePath().render( renderingContext ) + ")";
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, SizeOfPluralAttributeExpression.class ) ) {
+			keyBuilder.appendStructureOf( getPluralAttributePath() );
+		}
+	}
 }
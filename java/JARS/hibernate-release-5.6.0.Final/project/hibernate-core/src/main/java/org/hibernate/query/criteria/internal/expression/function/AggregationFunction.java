@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 
@@ -108,6 +109,12 @@ public class AggregationFunction<T>
 			super.renderArguments(buffer, renderingContext);
 		}
 
+		@Override
+		protected void appendArgumentsStructure(CompilationKeyBuilder keyBuilder) {
+			keyBuilder.append( isDistinct() );
+			super.appendArgumentsStructure( keyBuilder );
+		}
+
 		public boolean isDistinct() {
 			return distinct;
 		}
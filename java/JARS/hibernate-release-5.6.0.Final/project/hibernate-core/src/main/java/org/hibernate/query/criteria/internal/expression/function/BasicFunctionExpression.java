@@ -10,6 +10,7 @@ import java.io.Serializable;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.ExpressionImpl;
 
@@ -51,4 +52,12 @@ public class BasicFunctionExpression<X>
 	public String render(RenderingContext renderingContext) {
 		return getFunctionName() + "()";
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		// the subclasses which render differently describe themselves differently as well
+		if ( keyBuilder.appendNode( this, getClass() ) ) {
+			keyBuilder.append( getFunctionName() );
+		}
+	}
 }
@@ -11,6 +11,7 @@ import java.util.Locale;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.ExpressionImpl;
 
@@ -61,4 +62,12 @@ public class CastFunction<T,Y>
 			renderingContext.getFunctionStack().pop();
 		}
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, CastFunction.class ) ) {
+			keyBuilder.appendStructureOf( castSource );
+			keyBuilder.append( getJavaType() );
+		}
+	}
 }
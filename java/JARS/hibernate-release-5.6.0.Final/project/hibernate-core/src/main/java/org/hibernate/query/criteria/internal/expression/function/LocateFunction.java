@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 
@@ -108,4 +109,18 @@ public class LocateFunction
 			renderingContext.getFunctionStack().pop();
 		}
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, LocateFunction.class ) ) {
+			keyBuilder.appendStructureOf( getPattern() );
+			keyBuilder.appendStructureOf( getString() );
+			if ( getStart() == null ) {
+				keyBuilder.append( null );
+			}
+			else {
+				keyBuilder.appendStructureOf( getStart() );
+			}
+		}
+	}
 }
@@ -15,6 +15,7 @@ import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterContainer;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -115,6 +116,22 @@ public class ParameterizedFunctionExpression<X>
 		}
 	}
 
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, getClass() ) ) {
+			keyBuilder.append( getFunctionName() );
+			keyBuilder.append( isStandardJpaFunction() );
+			appendArgumentsStructure( keyBuilder );
+		}
+	}
+
+	protected void appendArgumentsStructure(CompilationKeyBuilder keyBuilder) {
+		keyBuilder.append( argumentExpressions.size() );
+		for ( Expression argument : argumentExpressions ) {
+			keyBuilder.appendStructureOf( argument );
+		}
+	}
+
 	protected void renderArguments(StringBuilder buffer, RenderingContext renderingContext) {
 		String sep = "";
 		for ( Expression argument : argumentExpressions ) {
@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 
@@ -112,4 +113,18 @@ public class SubstringFunction
 			renderingContext.getFunctionStack().pop();
 		}
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, SubstringFunction.class ) ) {
+			keyBuilder.appendStructureOf( getValue() );
+			keyBuilder.appendStructureOf( getStart() );
+			if ( getLength() == null ) {
+				keyBuilder.append( null );
+			}
+			else {
+				keyBuilder.appendStructureOf( getLength() );
+			}
+		}
+	}
 }
@@ -13,6 +13,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 
@@ -129,4 +130,20 @@ public class TrimFunction
 			renderingContext.getFunctionStack().pop();
 		}
 	}
+
+	@Override
+	@SuppressWarnings({ "unchecked" })
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, TrimFunction.class ) ) {
+			keyBuilder.append( trimspec );
+			if ( trimCharacter.getClass().isAssignableFrom( LiteralExpression.class ) ) {
+				// rendered inline
+				keyBuilder.append( ( (LiteralExpression<Character>) trimCharacter ).getLiteral().toString() );
+			}
+			else {
+				keyBuilder.appendStructureOf( trimCharacter );
+			}
+			keyBuilder.appendStructureOf( trimSource );
+		}
+	}
 }
@@ -38,6 +38,7 @@ import org.hibernate.query.criteria.internal.ListJoinImplementor;
 import org.hibernate.query.criteria.internal.MapJoinImplementor;
 import org.hibernate.query.criteria.internal.PathSource;
 import org.hibernate.query.criteria.internal.SetJoinImplementor;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -96,6 +97,13 @@ public abstract class AbstractFromImpl<Z, X>
 		return getAlias();
 	}
 
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, getDescribedClass() ) ) {
+			keyBuilder.appendFromReference( this );
+		}
+	}
+
 	@Override
 	public Attribute<?, ?> getAttribute() {
 		return null;
@@ -18,6 +18,7 @@ import org.hibernate.query.criteria.internal.CriteriaSubqueryImpl;
 import org.hibernate.query.criteria.internal.FromImplementor;
 import org.hibernate.query.criteria.internal.JoinImplementor;
 import org.hibernate.query.criteria.internal.PathSource;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.predicate.PredicateImplementor;
 
@@ -88,6 +89,20 @@ public abstract class AbstractJoinImpl<Z, X>
 		return tableExpression.toString();
 	}
 
+	@Override
+	public void appendTableExpressionStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, getDescribedClass() ) ) {
+			keyBuilder.appendFromReference( (FromImplementor) getParent() );
+			keyBuilder.append( getAttribute().getName() );
+			if ( suppliedJoinCondition == null ) {
+				keyBuilder.append( null );
+			}
+			else {
+				keyBuilder.appendStructureOf( suppliedJoinCondition );
+			}
+		}
+	}
+
 	@Override
 	public JoinImplementor<Z, X> correlateTo(CriteriaSubqueryImpl subquery) {
 		return (JoinImplementor<Z, X>) super.correlateTo( subquery );
@@ -18,9 +18,11 @@ import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
+import org.hibernate.query.criteria.internal.FromImplementor;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.PathImplementor;
 import org.hibernate.query.criteria.internal.PathSource;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.ExpressionImpl;
 import org.hibernate.query.criteria.internal.expression.PathTypeExpression;
@@ -247,4 +249,28 @@ public abstract class AbstractPathImpl<X>
 			return getAttribute().getName();
 		}
 	}
+
+	/**
+	 * The class whose structure {@link #appendStructure} describes.  Subclasses which render as the class they
+	 * extend return that class; any other subclass (a treated path, typically) is thereby not describable.
+	 *
+	 * @return The described class
+	 */
+	protected Class<?> getDescribedClass() {
+		return AbstractPathImpl.class;
+	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, getDescribedClass() ) ) {
+			final PathSource<?> source = getPathSource();
+			if ( source instanceof FromImplementor ) {
+				keyBuilder.appendFromReference( (FromImplementor<?, ?>) source );
+			}
+			else {
+				keyBuilder.appendStructureOf( source );
+			}
+			keyBuilder.append( getAttribute().getName() );
+		}
+	}
 }
@@ -79,6 +79,11 @@ public class CollectionAttributeJoin<O,E>
 		return new TreatedCollectionAttributeJoin<O,T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return CollectionAttributeJoin.class;
+	}
+
 	public static class TreatedCollectionAttributeJoin<O,T> extends CollectionAttributeJoin<O, T> {
 		private final CollectionAttributeJoin<O, ? super T> original;
 		private final Class<T> treatAsType;
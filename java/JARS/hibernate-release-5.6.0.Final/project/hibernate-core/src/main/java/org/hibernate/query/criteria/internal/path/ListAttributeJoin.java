@@ -87,6 +87,11 @@ public class ListAttributeJoin<O,E>
 		return new TreatedListAttributeJoin<O,T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return ListAttributeJoin.class;
+	}
+
 	public static class TreatedListAttributeJoin<O,T> extends ListAttributeJoin<O, T> {
 		private final ListAttributeJoin<O, ? super T> original;
 		private final Class<T> treatAsType;
@@ -108,6 +108,11 @@ public class MapAttributeJoin<O,K,V>
 		return new TreatedMapAttributeJoin<O,K,T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return MapAttributeJoin.class;
+	}
+
 	public static class TreatedMapAttributeJoin<O, K, T> extends MapAttributeJoin<O, K, T> {
 		private final MapAttributeJoin<O, K, ? super T> original;
 		protected final Class<T> treatAsType;
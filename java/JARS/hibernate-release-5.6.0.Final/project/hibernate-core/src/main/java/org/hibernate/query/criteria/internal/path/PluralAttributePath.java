@@ -174,4 +174,9 @@ public class PluralAttributePath<X> extends AbstractPathImpl<X> implements Seria
 		}
 		return entityTypeNearestDeclaringType;
 	}
+
+	@Override
+	protected Class<?> getDescribedClass() {
+		return PluralAttributePath.class;
+	}
 }
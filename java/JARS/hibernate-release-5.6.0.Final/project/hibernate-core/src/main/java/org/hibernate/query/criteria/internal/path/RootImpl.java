@@ -18,6 +18,7 @@ import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.CriteriaSubqueryImpl;
 import org.hibernate.query.criteria.internal.FromImplementor;
 import org.hibernate.query.criteria.internal.PathSource;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -80,6 +81,18 @@ public class RootImpl<X> extends AbstractFromImpl<X,X> implements Root<X>, Seria
 		return getModel().getName() + " as " + getAlias();
 	}
 
+	@Override
+	public void appendTableExpressionStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, getDescribedClass() ) ) {
+			if ( !treats.isEmpty() ) {
+				// the joins of the treated roots are rendered along with ours
+				keyBuilder.unsupported();
+				return;
+			}
+			keyBuilder.append( getModel().getName() );
+		}
+	}
+
 	@Override
 	public String getPathIdentifier() {
 		return getAlias();
@@ -102,6 +115,11 @@ public class RootImpl<X> extends AbstractFromImpl<X,X> implements Root<X>, Seria
 		return treatedRoot;
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return RootImpl.class;
+	}
+
 	public static class TreatedRoot<T> extends RootImpl<T> {
 		private final RootImpl<? super T> original;
 		private final Class<T> treatAsType;
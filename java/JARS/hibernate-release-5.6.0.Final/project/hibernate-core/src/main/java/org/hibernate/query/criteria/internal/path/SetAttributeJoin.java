@@ -84,6 +84,11 @@ public class SetAttributeJoin<O,E>
 		return new TreatedSetAttributeJoin<O,T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return SetAttributeJoin.class;
+	}
+
 	public static class TreatedSetAttributeJoin<O,T> extends SetAttributeJoin<O, T> {
 		private final SetAttributeJoin<O, ? super T> original;
 		private final Class<T> treatAsType;
@@ -115,6 +115,11 @@ public class SingularAttributeJoin<O,X> extends AbstractJoinImpl<O,X> {
 		return new TreatedSingularAttributeJoin<O,T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return SingularAttributeJoin.class;
+	}
+
 	public static class TreatedSingularAttributeJoin<O,T> extends SingularAttributeJoin<O, T> {
 		private final SingularAttributeJoin<O, ? super T> original;
 		private final Class<T> treatAsType;
@@ -82,6 +82,11 @@ public class SingularAttributePath<X> extends AbstractPathImpl<X> implements Ser
 		return new TreatedSingularAttributePath<T>( this, treatAsType );
 	}
 
+	@Override
+	protected Class<?> getDescribedClass() {
+		return SingularAttributePath.class;
+	}
+
 	public static class TreatedSingularAttributePath<T> extends SingularAttributePath<T> {
 		private final SingularAttributePath<? super T> original;
 		private final Class<T> treatAsType;
@@ -12,6 +12,7 @@ import java.util.List;
 import javax.persistence.criteria.Expression;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -48,4 +49,9 @@ public abstract class AbstractSimplePredicate
 		return render( isNegated(), renderingContext );
 	}
 
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		appendStructure( isNegated(), keyBuilder );
+	}
+
 }
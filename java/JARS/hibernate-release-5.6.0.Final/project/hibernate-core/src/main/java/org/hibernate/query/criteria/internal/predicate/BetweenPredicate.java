@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -78,4 +79,14 @@ public class BetweenPredicate<Y>
 				+ " and "
 				+ ( (Renderable) getUpperBound() ).render( renderingContext );
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, BetweenPredicate.class ) ) {
+			keyBuilder.append( isNegated );
+			keyBuilder.appendStructureOf( getExpression() );
+			keyBuilder.appendStructureOf( getLowerBound() );
+			keyBuilder.appendStructureOf( getUpperBound() );
+		}
+	}
 }
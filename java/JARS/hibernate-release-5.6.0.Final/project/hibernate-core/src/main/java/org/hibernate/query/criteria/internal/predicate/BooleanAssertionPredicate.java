@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -61,4 +62,13 @@ public class BooleanAssertionPredicate
 				+ operator
 				+ assertionLiteral;
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, BooleanAssertionPredicate.class ) ) {
+			keyBuilder.append( isNegated );
+			keyBuilder.append( assertedValue );
+			keyBuilder.appendStructureOf( expression );
+		}
+	}
 }
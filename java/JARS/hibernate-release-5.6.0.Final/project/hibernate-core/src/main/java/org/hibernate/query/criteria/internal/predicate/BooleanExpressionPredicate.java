@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -47,4 +48,11 @@ public class BooleanExpressionPredicate
 	public String render(boolean isNegated, RenderingContext renderingContext) {
 		return ( (Renderable) getExpression() ).render( renderingContext );
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, BooleanExpressionPredicate.class ) ) {
+			keyBuilder.appendStructureOf( getExpression() );
+		}
+	}
 }
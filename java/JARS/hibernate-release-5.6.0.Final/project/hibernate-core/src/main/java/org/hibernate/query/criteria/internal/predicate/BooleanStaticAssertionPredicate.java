@@ -10,6 +10,7 @@ import java.io.Serializable;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -47,4 +48,11 @@ public class BooleanStaticAssertionPredicate
 		return isTrue ? "1=1" : "0=1";
 	}
 
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, BooleanStaticAssertionPredicate.class ) ) {
+			keyBuilder.append( isNegated != getAssertedValue() );
+		}
+	}
+
 }
@@ -13,6 +13,7 @@ import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
 import org.hibernate.query.criteria.internal.ValueHandlerFactory;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.BinaryOperatorExpression;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
@@ -171,4 +172,13 @@ public class ComparisonPredicate
 				+ getComparisonOperator( isNegated ).rendered()
 				+ ( (Renderable) getRightHandOperand() ).render( renderingContext );
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, ComparisonPredicate.class ) ) {
+			keyBuilder.appendStructureOf( getLeftHandOperand() );
+			keyBuilder.append( getComparisonOperator( isNegated ) );
+			keyBuilder.appendStructureOf( getRightHandOperand() );
+		}
+	}
 }
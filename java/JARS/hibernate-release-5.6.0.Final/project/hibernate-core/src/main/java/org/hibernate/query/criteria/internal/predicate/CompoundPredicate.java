@@ -16,6 +16,7 @@ import javax.persistence.criteria.Predicate;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 
 /**
@@ -118,6 +119,18 @@ public class CompoundPredicate
 		return render( this, renderingContext );
 	}
 
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, CompoundPredicate.class ) ) {
+			appendStructure( this, keyBuilder );
+		}
+	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		appendStructure( keyBuilder );
+	}
+
 	/**
 	 * Create negation of compound predicate by using logic rules:
 	 * 1. not (x || y) is (not x && not y)
@@ -169,6 +182,14 @@ public class CompoundPredicate
 		return buffer.toString();
 	}
 
+	public static void appendStructure(PredicateImplementor predicate, CompilationKeyBuilder keyBuilder) {
+		keyBuilder.append( predicate.getOperator() );
+		keyBuilder.append( predicate.getExpressions().size() );
+		for ( Expression expression : predicate.getExpressions() ) {
+			keyBuilder.appendStructureOf( expression );
+		}
+	}
+
 	private static String operatorTextWithSeparator(BooleanOperator operator) {
 		return operator == BooleanOperator.AND
 				? " and "
@@ -19,6 +19,7 @@ import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
 import org.hibernate.query.criteria.internal.ValueHandlerFactory;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 import org.hibernate.query.criteria.internal.expression.ParameterExpressionImpl;
@@ -210,4 +211,16 @@ public class InPredicate<T>
 		}
 		return buffer.toString();
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, InPredicate.class ) ) {
+			keyBuilder.appendStructureOf( getExpression() );
+			keyBuilder.append( isNegated );
+			keyBuilder.append( getValues().size() );
+			for ( Expression value : getValues() ) {
+				keyBuilder.appendStructureOf( value );
+			}
+		}
+	}
 }
@@ -11,6 +11,7 @@ import java.util.Collection;
 
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.UnaryOperatorExpression;
 import org.hibernate.query.criteria.internal.path.PluralAttributePath;
@@ -48,4 +49,12 @@ public class IsEmptyPredicate<C extends Collection>
 		final String operator = isNegated ? " is not empty" : " is empty";
 		return getOperand().render( renderingContext ) + operator;
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, IsEmptyPredicate.class ) ) {
+			keyBuilder.append( isNegated );
+			keyBuilder.appendStructureOf( getOperand() );
+		}
+	}
 }
@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 
@@ -120,4 +121,19 @@ public class LikePredicate extends AbstractSimplePredicate implements Serializab
 		}
 		return buffer.toString();
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, LikePredicate.class ) ) {
+			keyBuilder.append( isNegated );
+			keyBuilder.appendStructureOf( getMatchExpression() );
+			keyBuilder.appendStructureOf( getPattern() );
+			if ( escapeCharacter == null ) {
+				keyBuilder.append( null );
+			}
+			else {
+				keyBuilder.appendStructureOf( getEscapeCharacter() );
+			}
+		}
+	}
 }
@@ -13,6 +13,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.LiteralExpression;
 import org.hibernate.query.criteria.internal.path.PluralAttributePath;
@@ -69,4 +70,13 @@ public class MemberOfPredicate<E, C extends Collection<E>>
 				+ ( isNegated ? " not" : "" ) + " member of "
 				+ getCollectionPath().render( renderingContext );
 	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, MemberOfPredicate.class ) ) {
+			keyBuilder.appendStructureOf( elementExpression );
+			keyBuilder.append( isNegated );
+			keyBuilder.appendStructureOf( getCollectionPath() );
+		}
+	}
 }
@@ -16,6 +16,7 @@ import javax.persistence.criteria.Predicate;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterContainer;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.ExpressionImpl;
 
@@ -102,4 +103,21 @@ public class NegatedPredicateWrapper extends ExpressionImpl<Boolean> implements
 	public String render(RenderingContext renderingContext) {
 		return render( isNegated(), renderingContext );
 	}
+
+	@Override
+	public void appendStructure(CompilationKeyBuilder keyBuilder) {
+		appendStructure( isNegated(), keyBuilder );
+	}
+
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( isJunction() ) {
+			if ( keyBuilder.appendNode( this, NegatedPredicateWrapper.class ) ) {
+				CompoundPredicate.appendStructure( this, keyBuilder );
+			}
+		}
+		else {
+			predicate.appendStructure( isNegated, keyBuilder );
+		}
+	}
 }
@@ -12,6 +12,7 @@ import javax.persistence.criteria.Expression;
 import org.hibernate.query.criteria.internal.CriteriaBuilderImpl;
 import org.hibernate.query.criteria.internal.ParameterRegistry;
 import org.hibernate.query.criteria.internal.Renderable;
+import org.hibernate.query.criteria.internal.compile.CompilationKeyBuilder;
 import org.hibernate.query.criteria.internal.compile.RenderingContext;
 import org.hibernate.query.criteria.internal.expression.UnaryOperatorExpression;
 
@@ -57,6 +58,14 @@ public class NullnessPredicate
 		return ( (Renderable) operand ).render( renderingContext ) + check( isNegated );
 	}
 
+	@Override
+	public void appendStructure(boolean isNegated, CompilationKeyBuilder keyBuilder) {
+		if ( keyBuilder.appendNode( this, NullnessPredicate.class ) ) {
+			keyBuilder.append( isNegated );
+			keyBuilder.appendStructureOf( operand );
+		}
+	}
+
 	private String check(boolean negated) {
 		return negated ? " is not null" : " is null";
 	}
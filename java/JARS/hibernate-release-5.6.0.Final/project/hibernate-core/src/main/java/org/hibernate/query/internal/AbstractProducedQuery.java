@@ -49,7 +49,10 @@ import org.hibernate.NonUniqueResultException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.QueryParameterException;
 import org.hibernate.ScrollMode;
+import org.hibernate.StatelessSession;
 import org.hibernate.TypeMismatchException;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.spi.ExceptionConverter;
@@ -101,6 +104,7 @@ import static org.hibernate.cfg.AvailableSettings.JPA_SHARED_CACHE_STORE_MODE;
 import static org.hibernate.jpa.AvailableSettings.ALIAS_SPECIFIC_LOCK_MODE;
 import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_PARTITION;
 import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
 import static org.hibernate.jpa.QueryHints.HINT_COMMENT;
 import static org.hibernate.jpa.QueryHints.HINT_FETCHGRAPH;
@@ -131,6 +135,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 	private CacheRetrieveMode cacheRetrieveMode;
 	private boolean cacheable;
 	private String cacheRegion;
+	private Object cachePartition;
 	private Boolean readOnly;
 
 	private LockOptions lockOptions = new LockOptions();
@@ -1049,6 +1054,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		if ( isCacheable() ) {
 			hints.put( HINT_CACHEABLE, true );
 			putIfNotNull( hints, HINT_CACHE_REGION, getCacheRegion() );
+			putIfNotNull( hints, HINT_CACHE_PARTITION, cachePartition );
 		}
 
 		if ( isReadOnly() ) {
@@ -1104,6 +1110,9 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			else if ( HINT_CACHE_REGION.equals( hintName ) ) {
 				applied = applyCacheRegionHint( (String) value );
 			}
+			else if ( HINT_CACHE_PARTITION.equals( hintName ) ) {
+				applied = applyCachePartitionHint( value );
+			}
 			else if ( HINT_READONLY.equals( hintName ) ) {
 				applied = applyReadOnlyHint( ConfigurationHelper.getBoolean( value ) );
 			}
@@ -1281,6 +1290,18 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return true;
 	}
 
+	/**
+	 * Apply the cache partition hint
+	 *
+	 * @param partitionValue The value of the partition attribute specified as a hint
+	 *
+	 * @return {@code true} if the hint was "applied"
+	 */
+	protected boolean applyCachePartitionHint(Object partitionValue) {
+		this.cachePartition = partitionValue;
+		return true;
+	}
+
 	/**
 	 * Apply the read-only (true/false) hint.
 	 *
@@ -1471,6 +1492,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		if ( passDistinctThrough != null ) {
 			queryParameters.setPassDistinctThrough( passDistinctThrough );
 		}
+		queryParameters.setCachePartition( cachePartition );
 		return queryParameters;
 	}
 
@@ -1595,7 +1617,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			final Spliterator<R> spliterator = Spliterators.emptySpliterator();
 			return StreamSupport.stream( spliterator, false );
 		}
-		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
+		final ScrollableResultsImplementor scrollableResults = scrollForStream();
 		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
 		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
 
@@ -1605,6 +1627,45 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		);
 	}
 
+	private ScrollableResultsImplementor scrollForStream() {
+		final Integer streamingFetchSize = determineStreamingFetchSize();
+		if ( streamingFetchSize == null ) {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+
+		// the hint only applies to the statement executed for the stream
+		queryOptions.setFetchSize( streamingFetchSize );
+		try {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+		finally {
+			queryOptions.setFetchSize( (Integer) null );
+		}
+	}
+
+	/**
+	 * A stateless session keeps nothing from one row of a stream to the next, so when this is enabled and unless
+	 * the application chose a fetch size, the dialect is asked for the one which keeps the driver from buffering
+	 * the whole result set.  It is opt-in, as some drivers then forbid any other statement until the stream is
+	 * closed, like the secondary selects of EAGER associations.
+	 *
+	 * @see Dialect#getStreamingFetchSize()
+	 * @see org.hibernate.cfg.AvailableSettings#USE_STREAMING_FETCH_SIZE
+	 */
+	private Integer determineStreamingFetchSize() {
+		final SharedSessionContractImplementor producer = getProducer();
+		if ( !( producer instanceof StatelessSession ) ) {
+			return null;
+		}
+		final SessionFactoryOptions options = producer.getFactory().getSessionFactoryOptions();
+		if ( !options.isStreamingFetchSizeEnabled()
+				|| queryOptions.getFetchSize() != null
+				|| options.getJdbcFetchSize() != null ) {
+			return null;
+		}
+		return producer.getJdbcServices().getDialect().getStreamingFetchSize();
+	}
+
 	@Override
 	public Optional<R> uniqueResultOptional() {
 		return Optional.ofNullable( uniqueResult() );
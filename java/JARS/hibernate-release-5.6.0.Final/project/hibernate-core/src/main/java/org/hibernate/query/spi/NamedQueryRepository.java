@@ -6,9 +6,13 @@
  */
 package org.hibernate.query.spi;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Incubating;
@@ -18,6 +22,7 @@ import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.NamedQueryDefinition;
 import org.hibernate.engine.spi.NamedSQLQueryDefinition;
+import org.hibernate.internal.util.ParallelHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.procedure.ProcedureCallMemento;
 
@@ -165,57 +170,97 @@ public class NamedQueryRepository {
 	}
 
 	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache) {
-		Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		return checkNamedQueries( queryPlanCache, false );
+	}
+
+	/**
+	 * Checks the named queries by compiling their plans.
+	 *
+	 * @param queryPlanCache The cache of the query plans
+	 * @param parallel Whether to spread the queries over the threads of the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}, in which case the failures are sorted by
+	 * query name
+	 *
+	 * @return The failures, by name of the failing query
+	 */
+	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache, boolean parallel) {
+		final Map<String,HibernateException> errors = parallel
+				? new ConcurrentHashMap<String,HibernateException>()
+				: new HashMap<String,HibernateException>();
 
 		// Check named HQL queries
 		log.debugf( "Checking %s named HQL queries", namedQueryDefinitionMap.size() );
-		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
-			}
-			catch ( HibernateException e ) {
-				errors.put( namedQueryDefinition.getName(), e );
-			}
+		final Consumer<NamedQueryDefinition> hqlQueryCheck =
+				namedQueryDefinition -> checkNamedQuery( namedQueryDefinition, queryPlanCache, errors );
+		if ( parallel ) {
+			ParallelHelper.forEach( new ArrayList<>( namedQueryDefinitionMap.values() ), hqlQueryCheck );
+		}
+		else {
+			namedQueryDefinitionMap.values().forEach( hqlQueryCheck );
 		}
 
 		// Check native-sql queries
 		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
-		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
-					}
-					spec = new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							definition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
-				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							namedSQLQueryDefinition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
+		final Consumer<NamedSQLQueryDefinition> sqlQueryCheck =
+				namedSQLQueryDefinition -> checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache, errors );
+		if ( parallel ) {
+			ParallelHelper.forEach( new ArrayList<>( namedSqlQueryDefinitionMap.values() ), sqlQueryCheck );
+			return new TreeMap<String,HibernateException>( errors );
+		}
+		else {
+			namedSqlQueryDefinitionMap.values().forEach( sqlQueryCheck );
+			return errors;
+		}
+	}
+
+	private void checkNamedQuery(
+			NamedQueryDefinition namedQueryDefinition,
+			QueryPlanCache queryPlanCache,
+			Map<String,HibernateException> errors) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
+			//TODO: BUG! this currently fails for named queries for non-POJO entities
+			queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+		}
+		catch ( HibernateException e ) {
+			errors.put( namedQueryDefinition.getName(), e );
+		}
+	}
+
+	private void checkNamedSQLQuery(
+			NamedSQLQueryDefinition namedSQLQueryDefinition,
+			QueryPlanCache queryPlanCache,
+			Map<String,HibernateException> errors) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
+			// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+			// currently not doable though because of the resultset-ref stuff...
+			NativeSQLQuerySpecification spec;
+			if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
+				ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+				if ( definition == null ) {
+					throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
 				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
+				spec = new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						definition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
-			catch ( HibernateException e ) {
-				errors.put( namedSQLQueryDefinition.getName(), e );
+			else {
+				spec =  new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						namedSQLQueryDefinition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
+			queryPlanCache.getNativeSQLQueryPlan( spec );
+		}
+		catch ( HibernateException e ) {
+			errors.put( namedSQLQueryDefinition.getName(), e );
 		}
-
-		return errors;
 	}
 
 }
@@ -50,4 +50,15 @@ public interface EntityStatistics extends CacheableDataStatistics, Serializable
 	 * has experienced an optimistic lock failure.
 	 */
 	long getOptimisticFailureCount();
+
+	/**
+	 * The distribution of the times, in microseconds, taken to load this entity from the database by its
+	 * identifier.  Unlike {@link #getLoadCount()}, the entities loaded by queries are not accounted for.
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getLoadLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
 }
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * The distribution of the times taken by an operation, in microseconds, exposing its tail latency.
+ * <p/>
+ * Times are recorded in buckets whose width is at most 1/16th of the times they hold, so that a percentile is
+ * reported with a precision of about 6%, and never above the {@link #getMaxTime() max time}.
+ */
+public interface LatencyHistogram extends Serializable {
+	/**
+	 * How many times has the operation been recorded?
+	 */
+	long getCount();
+
+	/**
+	 * What is the max amount of time, in microseconds, taken by the operation?
+	 */
+	long getMaxTime();
+
+	/**
+	 * The amount of time, in microseconds, not exceeded by the given percentage of the operations.
+	 *
+	 * @param percentile The percentage, between {@code 0} and {@code 100}
+	 *
+	 * @return The time, or {@code 0} if no operation was recorded
+	 */
+	long getTimeAtPercentile(double percentile);
+
+	/**
+	 * The median amount of time, in microseconds, taken by the operation.
+	 */
+	default long getMedianTime() {
+		return getTimeAtPercentile( 50 );
+	}
+
+	/**
+	 * The amount of time, in microseconds, not exceeded by 95% of the operations.
+	 */
+	default long getPercentile95Time() {
+		return getTimeAtPercentile( 95 );
+	}
+
+	/**
+	 * The amount of time, in microseconds, not exceeded by 99% of the operations.
+	 */
+	default long getPercentile99Time() {
+		return getTimeAtPercentile( 99 );
+	}
+
+	/**
+	 * The amount of time, in microseconds, not exceeded by 99.9% of the operations.
+	 */
+	default long getPercentile999Time() {
+		return getTimeAtPercentile( 99.9 );
+	}
+}
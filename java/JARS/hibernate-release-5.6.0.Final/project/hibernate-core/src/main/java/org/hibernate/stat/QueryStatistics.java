@@ -99,4 +99,14 @@ public interface QueryStatistics extends Serializable {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * The distribution of the times, in microseconds, taken to execute this query.
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getExecutionLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
 }
@@ -386,4 +386,93 @@ public interface Statistics {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * Get the global number of query plans evicted from cache
+	 */
+	default long getQueryPlanCacheEvictionCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of criteria query renditions successfully retrieved from cache
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CRITERIA_COMPILATION_CACHE_MAX_SIZE
+	 */
+	default long getCriteriaCompilationCacheHitCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of criteria query renditions *not* found in cache
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CRITERIA_COMPILATION_CACHE_MAX_SIZE
+	 */
+	default long getCriteriaCompilationCacheMissCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of entity loads served by the identical load of another session
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#COALESCE_LOADS
+	 */
+	default long getCoalescedEntityLoadCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of collection loads served by the identical load of another session
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#COALESCE_LOADS
+	 */
+	default long getCoalescedCollectionLoadCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the distribution of the times, in microseconds, taken by the queries executed to the database
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getQueryExecutionLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
+
+	/**
+	 * Get the distribution of the times, in microseconds, taken to load an entity from the database by its
+	 * identifier
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getEntityLoadLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
+
+	/**
+	 * Get the distribution of the times, in microseconds, taken by the flushes
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getFlushLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
+
+	/**
+	 * Get the distribution of the times, in microseconds, taken by the executions of JDBC batches
+	 *
+	 * @return The histogram, or {@code null} if latencies are not recorded
+	 */
+	default LatencyHistogram getBatchExecutionLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
 }
@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.stat.LatencyHistogram;
+
+/**
+ * A {@link LatencyHistogram} of fixed size, with log-linear buckets: times below 32 microseconds have a bucket of
+ * their own, above which each power of two is divided in 16 buckets.  Times above 2^32 microseconds (more than an
+ * hour) all fall in the last bucket.
+ * <p/>
+ * Recording a time neither allocates nor locks.  The percentiles are computed from the counts of the buckets,
+ * which are not read atomically with respect to concurrent recordings.
+ */
+public class LatencyHistogramImpl implements LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+	private static final int MAX_EXPONENT = 32;
+
+	// the linear buckets cover the exponents up to SUB_BUCKET_BITS, the last bucket holds the times above MAX_EXPONENT
+	private static final int BUCKET_COUNT =
+			LINEAR_BUCKET_COUNT + ( MAX_EXPONENT - SUB_BUCKET_BITS - 1 ) * SUB_BUCKET_COUNT + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKET_COUNT );
+	private final LongAdder count = new LongAdder();
+	private final AtomicLong maxTime = new AtomicLong();
+
+	/**
+	 * Records the time taken by an operation.
+	 *
+	 * @param microseconds The time; negative times are recorded as {@code 0}
+	 */
+	public void record(long microseconds) {
+		final long time = Math.max( 0L, microseconds );
+		counts.incrementAndGet( bucketIndex( time ) );
+		count.increment();
+		//noinspection StatementWithEmptyBody
+		for ( long old = maxTime.get(); time > old && !maxTime.compareAndSet( old, time ); old = maxTime.get() ) {
+		}
+	}
+
+	/**
+	 * Resets the histogram, discarding the recorded times.
+	 */
+	public void reset() {
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counts.set( i, 0L );
+		}
+		count.reset();
+		maxTime.set( 0L );
+	}
+
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	@Override
+	public long getTimeAtPercentile(double percentile) {
+		if ( percentile < 0 || percentile > 100 ) {
+			throw new IllegalArgumentException( "Percentile must be between 0 and 100: " + percentile );
+		}
+
+		final long[] snapshot = new long[BUCKET_COUNT];
+		long total = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			snapshot[i] = counts.get( i );
+			total += snapshot[i];
+		}
+		if ( total == 0 ) {
+			return 0L;
+		}
+
+		final long rank = Math.max( 1L, (long) Math.ceil( total * percentile / 100 ) );
+		long seen = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			seen += snapshot[i];
+			if ( seen >= rank ) {
+				return Math.min( highestTimeOf( i ), getMaxTime() );
+			}
+		}
+		return getMaxTime();
+	}
+
+	static int bucketIndex(long microseconds) {
+		if ( microseconds < LINEAR_BUCKET_COUNT ) {
+			return (int) microseconds;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros( microseconds );
+		if ( exponent >= MAX_EXPONENT ) {
+			return BUCKET_COUNT - 1;
+		}
+		final int subBucket = (int) ( microseconds >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKET_COUNT - 1 );
+		return LINEAR_BUCKET_COUNT + ( exponent - SUB_BUCKET_BITS - 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestTimeOf(int bucketIndex) {
+		if ( bucketIndex < LINEAR_BUCKET_COUNT ) {
+			return bucketIndex;
+		}
+		if ( bucketIndex == BUCKET_COUNT - 1 ) {
+			return Long.MAX_VALUE;
+		}
+		final int exponent = ( bucketIndex - LINEAR_BUCKET_COUNT ) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+		final int subBucket = ( bucketIndex - LINEAR_BUCKET_COUNT ) % SUB_BUCKET_COUNT;
+		final int shift = exponent - SUB_BUCKET_BITS;
+		return ( ( (long) ( SUB_BUCKET_COUNT + subBucket + 1 ) ) << shift ) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram"
+				+ "[count=" + getCount()
+				+ ",medianTime=" + getMedianTime()
+				+ ",percentile95Time=" + getPercentile95Time()
+				+ ",percentile99Time=" + getPercentile99Time()
+				+ ",percentile999Time=" + getPercentile999Time()
+				+ ",maxTime=" + getMaxTime()
+				+ ']';
+	}
+}
@@ -37,6 +37,8 @@ public class QueryStatisticsImpl implements QueryStatistics {
 	private final LongAdder planCacheMissCount = new LongAdder();
 	private final AtomicLong planCompilationTotalMicroseconds = new AtomicLong();
 
+	private final LatencyHistogramImpl executionLatencyHistogram = new LatencyHistogramImpl();
+
 
 	private final Lock readLock;
 	private final Lock writeLock;
@@ -153,6 +155,11 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		return planCompilationTotalMicroseconds.get();
 	}
 
+	@Override
+	public LatencyHistogramImpl getExecutionLatencyHistogram() {
+		return executionLatencyHistogram;
+	}
+
 	/**
 	 * add statistics report of a DB query
 	 *
@@ -186,6 +193,10 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		planCompilationTotalMicroseconds.addAndGet( microseconds );
 	}
 
+	void executionLatency(long microseconds) {
+		executionLatencyHistogram.record( microseconds );
+	}
+
 	void incrementCacheHitCount() {
 		cacheHitCount.increment();
 	}
@@ -219,6 +230,7 @@ public class QueryStatisticsImpl implements QueryStatistics {
 				+ ",executionAvgTime=" + this.getExecutionAvgTime()
 				+ ",executionMaxTime=" + this.executionMaxTime
 				+ ",executionMinTime=" + this.executionMinTime
+				+ ",executionLatency=" + this.executionLatencyHistogram
 				+ ']';
 	}
 }
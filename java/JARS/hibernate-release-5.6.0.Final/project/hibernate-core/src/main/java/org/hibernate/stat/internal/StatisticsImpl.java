@@ -87,6 +87,13 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 	private final LongAdder queryPlanCacheHitCount = new LongAdder();
 	private final LongAdder queryPlanCacheMissCount = new LongAdder();
+	private final LongAdder queryPlanCacheEvictionCount = new LongAdder();
+
+	private final LongAdder criteriaCompilationCacheHitCount = new LongAdder();
+	private final LongAdder criteriaCompilationCacheMissCount = new LongAdder();
+
+	private final LongAdder coalescedEntityLoadCount = new LongAdder();
+	private final LongAdder coalescedCollectionLoadCount = new LongAdder();
 
 	private final LongAdder updateTimestampsCacheHitCount = new LongAdder();
 	private final LongAdder updateTimestampsCacheMissCount = new LongAdder();
@@ -97,6 +104,11 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 	private final LongAdder optimisticFailureCount = new LongAdder();
 
+	private final LatencyHistogramImpl queryExecutionLatencyHistogram = new LatencyHistogramImpl();
+	private final LatencyHistogramImpl entityLoadLatencyHistogram = new LatencyHistogramImpl();
+	private final LatencyHistogramImpl flushLatencyHistogram = new LatencyHistogramImpl();
+	private final LatencyHistogramImpl batchExecutionLatencyHistogram = new LatencyHistogramImpl();
+
 	private final StatsNamedContainer<EntityStatisticsImpl> entityStatsMap = new StatsNamedContainer();
 	private final StatsNamedContainer<NaturalIdStatisticsImpl> naturalIdQueryStatsMap = new StatsNamedContainer();
 	private final StatsNamedContainer<CollectionStatisticsImpl> collectionStatsMap = new StatsNamedContainer();
@@ -191,6 +203,18 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 		queryPlanCacheHitCount.reset();
 		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
+
+		criteriaCompilationCacheHitCount.reset();
+		criteriaCompilationCacheMissCount.reset();
+
+		coalescedEntityLoadCount.reset();
+		coalescedCollectionLoadCount.reset();
+
+		queryExecutionLatencyHistogram.reset();
+		entityLoadLatencyHistogram.reset();
+		flushLatencyHistogram.reset();
+		batchExecutionLatencyHistogram.reset();
 
 		resetStartTime();
 	}
@@ -298,6 +322,17 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		getEntityStatistics( entityName ).incrementOptimisticFailureCount();
 	}
 
+	@Override
+	public LatencyHistogramImpl getEntityLoadLatencyHistogram() {
+		return entityLoadLatencyHistogram;
+	}
+
+	@Override
+	public void entityLoadLatency(String entityName, long microseconds) {
+		entityLoadLatencyHistogram.record( microseconds );
+		getEntityStatistics( entityName ).loadLatency( microseconds );
+	}
+
 	@Override
 	public void entityCachePut(NavigableRole entityName, String regionName) {
 		secondLevelCachePutCount.increment();
@@ -709,6 +744,19 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		}
 	}
 
+	@Override
+	public LatencyHistogramImpl getQueryExecutionLatencyHistogram() {
+		return queryExecutionLatencyHistogram;
+	}
+
+	@Override
+	public void queryExecutionLatency(String hql, long microseconds) {
+		queryExecutionLatencyHistogram.record( microseconds );
+		if ( hql != null ) {
+			getQueryStatistics( hql ).executionLatency( microseconds );
+		}
+	}
+
 	@Override
 	public void queryCacheHit(String hql, String regionName) {
 		LOG.tracef( "Statistics#queryCacheHit( `%s`, `%s` )", hql, regionName );
@@ -758,6 +806,21 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		return queryPlanCacheMissCount.sum();
 	}
 
+	@Override
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.sum();
+	}
+
+	@Override
+	public long getCriteriaCompilationCacheHitCount() {
+		return criteriaCompilationCacheHitCount.sum();
+	}
+
+	@Override
+	public long getCriteriaCompilationCacheMissCount() {
+		return criteriaCompilationCacheMissCount.sum();
+	}
+
 	@Override
 	public void queryCompiled(String hql, long microseconds) {
 		queryPlanCacheMissCount.increment();
@@ -785,6 +848,41 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		}
 	}
 
+	@Override
+	public void queryPlanCacheEviction(int count) {
+		queryPlanCacheEvictionCount.add( count );
+	}
+
+	@Override
+	public void criteriaCompilationCacheHit() {
+		criteriaCompilationCacheHitCount.increment();
+	}
+
+	@Override
+	public void criteriaCompilationCacheMiss() {
+		criteriaCompilationCacheMissCount.increment();
+	}
+
+	@Override
+	public long getCoalescedEntityLoadCount() {
+		return coalescedEntityLoadCount.sum();
+	}
+
+	@Override
+	public long getCoalescedCollectionLoadCount() {
+		return coalescedCollectionLoadCount.sum();
+	}
+
+	@Override
+	public void entityLoadCoalesced() {
+		coalescedEntityLoadCount.increment();
+	}
+
+	@Override
+	public void collectionLoadCoalesced() {
+		coalescedCollectionLoadCount.increment();
+	}
+
 	private CacheRegionStatisticsImpl getQueryRegionStats(String regionName) {
 		return l2CacheStatsMap.getOrCompute(
 				regionName,
@@ -850,6 +948,26 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		flushCount.increment();
 	}
 
+	@Override
+	public LatencyHistogramImpl getFlushLatencyHistogram() {
+		return flushLatencyHistogram;
+	}
+
+	@Override
+	public void flushLatency(long microseconds) {
+		flushLatencyHistogram.record( microseconds );
+	}
+
+	@Override
+	public LatencyHistogramImpl getBatchExecutionLatencyHistogram() {
+		return batchExecutionLatencyHistogram;
+	}
+
+	@Override
+	public void batchExecutionLatency(long microseconds) {
+		batchExecutionLatencyHistogram.record( microseconds );
+	}
+
 	@Override
 	public void connect() {
 		connectCount.increment();
@@ -958,6 +1076,15 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
 				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
 				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan cache evictions=" ).append( queryPlanCacheEvictionCount )
+				.append( ",criteria compilation cache hits=" ).append( criteriaCompilationCacheHitCount )
+				.append( ",criteria compilation cache misses=" ).append( criteriaCompilationCacheMissCount )
+				.append( ",coalesced entity loads=" ).append( coalescedEntityLoadCount )
+				.append( ",coalesced collection loads=" ).append( coalescedCollectionLoadCount )
+				.append( ",query execution latency=" ).append( queryExecutionLatencyHistogram )
+				.append( ",entity load latency=" ).append( entityLoadLatencyHistogram )
+				.append( ",flush latency=" ).append( flushLatencyHistogram )
+				.append( ",batch execution latency=" ).append( batchExecutionLatencyHistogram )
 				.append( ']' )
 				.toString();
 	}
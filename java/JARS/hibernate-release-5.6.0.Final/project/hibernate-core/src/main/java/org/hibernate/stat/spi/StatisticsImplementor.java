@@ -266,6 +266,43 @@ public interface StatisticsImplementor extends Statistics, Service {
 		//For backward compatibility
 	}
 
+	/**
+	 * Callback indicating query plans were evicted from the query plan cache.
+	 *
+	 * @param count The number of evicted query plans
+	 */
+	default void queryPlanCacheEviction(int count) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the rendition of a criteria query was found in the criteria compilation cache.
+	 */
+	default void criteriaCompilationCacheHit() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the rendition of a criteria query was not found in the criteria compilation cache.
+	 */
+	default void criteriaCompilationCacheMiss() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating an entity load was served by the identical load of another session.
+	 */
+	default void entityLoadCoalesced() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating a collection load was served by the identical load of another session.
+	 */
+	default void collectionLoadCoalesced() {
+		//For backward compatibility
+	}
+
 	/**
 	 * Callback indicating compilation of a sql/hql query
 	 *
@@ -275,4 +312,43 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Callback indicating the time taken to execute a sql/hql query, with microsecond precision.  Unlike the time
+	 * passed to {@link #queryExecuted}, it is recorded in the latency histograms.
+	 *
+	 * @param hql The query
+	 * @param microseconds execution time
+	 */
+	default void queryExecutionLatency(String hql, long microseconds) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the time taken to load an entity from the database by its identifier.
+	 *
+	 * @param entityName The name of the entity loaded
+	 * @param microseconds load time
+	 */
+	default void entityLoadLatency(String entityName, long microseconds) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the time taken by a flush which was performed.
+	 *
+	 * @param microseconds flush time
+	 */
+	default void flushLatency(long microseconds) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the time taken to execute a JDBC batch.
+	 *
+	 * @param microseconds execution time
+	 */
+	default void batchExecutionLatency(long microseconds) {
+		//For backward compatibility
+	}
 }
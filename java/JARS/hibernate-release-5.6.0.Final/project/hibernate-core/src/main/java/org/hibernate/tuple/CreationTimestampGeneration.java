@@ -6,6 +6,10 @@
  */
 package org.hibernate.tuple;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
 import org.hibernate.annotations.CreationTimestamp;
 
 /**
@@ -13,12 +17,21 @@ import org.hibernate.annotations.CreationTimestamp;
  *
  * @author Gunnar Morling
  */
-public class CreationTimestampGeneration implements AnnotationValueGeneration<CreationTimestamp> {
+public class CreationTimestampGeneration implements AnnotationValueGeneration<CreationTimestamp>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
-	private ValueGenerator<?> generator;
+	private Class<?> propertyType;
+	private transient ValueGenerator<?> generator;
 
 	@Override
 	public void initialize(CreationTimestamp annotation, Class<?> propertyType) {
+		this.propertyType = propertyType;
+		generator = TimestampGenerators.get(propertyType);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
 		generator = TimestampGenerators.get(propertyType);
 	}
 
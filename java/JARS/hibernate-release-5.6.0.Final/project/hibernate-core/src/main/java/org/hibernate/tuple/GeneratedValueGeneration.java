@@ -6,6 +6,8 @@
  */
 package org.hibernate.tuple;
 
+import java.io.Serializable;
+
 import org.hibernate.annotations.Generated;
 
 /**
@@ -14,7 +16,9 @@ import org.hibernate.annotations.Generated;
  * @author Steve Ebersole
  * @author Gunnar Morling
  */
-public class GeneratedValueGeneration implements AnnotationValueGeneration<Generated> {
+public class GeneratedValueGeneration implements AnnotationValueGeneration<Generated>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private GenerationTiming timing;
 
@@ -6,6 +6,10 @@
  */
 package org.hibernate.tuple;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
 import org.hibernate.annotations.UpdateTimestamp;
 
 /**
@@ -13,12 +17,21 @@ import org.hibernate.annotations.UpdateTimestamp;
  *
  * @author Gunnar Morling
  */
-public class UpdateTimestampGeneration implements AnnotationValueGeneration<UpdateTimestamp> {
+public class UpdateTimestampGeneration implements AnnotationValueGeneration<UpdateTimestamp>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
-	private ValueGenerator<?> generator;
+	private Class<?> propertyType;
+	private transient ValueGenerator<?> generator;
 
 	@Override
 	public void initialize(UpdateTimestamp annotation, Class<?> propertyType) {
+		this.propertyType = propertyType;
+		generator = TimestampGenerators.get(propertyType);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
 		generator = TimestampGenerators.get(propertyType);
 	}
 
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.bytecode.internal.bytebuddy;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.bytecode.spi.ByteCodeHelper;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.ProxyConfiguration;
+import org.hibernate.proxy.pojo.bytebuddy.ByteBuddyProxyHelper;
+import org.junit.Test;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.ModifierAdjustment;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the classes generated ahead of time by the build plugins, and their pick up at runtime.
+ */
+public class PregeneratedClassesTest {
+
+	private static final String PROXY_NAME = SimpleEntity.class.getName() + "$HibernateProxy$Pregenerated";
+	private static final String INSTANTIATOR_NAME = SimpleEntity.class.getName() + "$HibernateInstantiator$Pregenerated";
+
+	@Test
+	public void generateClassesAheadOfTime() {
+		Map<String, byte[]> classes = new BytecodeProviderImpl().generateClassesAheadOfTime( SimpleEntity.class );
+		assertTrue( classes.containsKey( PROXY_NAME ) );
+		assertTrue( classes.containsKey( INSTANTIATOR_NAME ) );
+	}
+
+	@Test
+	public void usePregeneratedClasses() throws Exception {
+		Map<String, byte[]> classes = new HashMap<>( new BytecodeProviderImpl().generateClassesAheadOfTime( SimpleEntity.class ) );
+		classes.put( SimpleEntity.class.getName(), readByteCode( SimpleEntity.class ) );
+		Class<?> entityClass = new DefiningClassLoader( classes ).loadClass( SimpleEntity.class.getName() );
+
+		Class<?> proxyClass = new ByteBuddyProxyHelper( new ByteBuddyState() )
+				.buildProxy( entityClass, new Class[] { HibernateProxy.class } );
+		assertEquals( PROXY_NAME, proxyClass.getName() );
+		assertTrue( proxyClass.getConstructor().newInstance() instanceof ProxyConfiguration );
+
+		ReflectionOptimizer reflectionOptimizer = new BytecodeProviderImpl().getReflectionOptimizer( entityClass,
+				new String[]{ "getId", "getName" }, new String[]{ "setId", "setName" },
+				new Class<?>[]{ Long.class, String.class } );
+		assertEquals( INSTANTIATOR_NAME, reflectionOptimizer.getInstantiationOptimizer().getClass().getName() );
+		assertEquals( entityClass, reflectionOptimizer.getInstantiationOptimizer().newInstance().getClass() );
+	}
+
+	@Test
+	public void ignoreStaleProxy() throws Exception {
+		Map<String, byte[]> classes = new HashMap<>( new BytecodeProviderImpl().generateClassesAheadOfTime( SimpleEntity.class ) );
+		// a method added to the entity since the proxy was generated
+		classes.put( SimpleEntity.class.getName(), new ByteBuddy().redefine( SimpleEntity.class )
+				.defineMethod( "getDescription", String.class, Visibility.PUBLIC )
+				.intercept( FixedValue.value( "description" ) )
+				.make()
+				.getBytes() );
+		Class<?> entityClass = new DefiningClassLoader( classes ).loadClass( SimpleEntity.class.getName() );
+
+		Class<?> proxyClass = new ByteBuddyProxyHelper( new ByteBuddyState() )
+				.buildProxy( entityClass, new Class[] { HibernateProxy.class } );
+		assertNotEquals( PROXY_NAME, proxyClass.getName() );
+		assertNotNull( proxyClass.getDeclaredMethod( "getDescription" ) );
+	}
+
+	@Test
+	public void ignoreStaleInstantiator() throws Exception {
+		Map<String, byte[]> classes = new HashMap<>( new BytecodeProviderImpl().generateClassesAheadOfTime( SimpleEntity.class ) );
+		// a constructor made private since the instantiator was generated
+		classes.put( SimpleEntity.class.getName(), new ByteBuddy().redefine( SimpleEntity.class )
+				.visit( new ModifierAdjustment().withConstructorModifiers( ElementMatchers.isDefaultConstructor(), Visibility.PRIVATE ) )
+				.make()
+				.getBytes() );
+		Class<?> entityClass = new DefiningClassLoader( classes ).loadClass( SimpleEntity.class.getName() );
+		assertTrue( Modifier.isPrivate( entityClass.getDeclaredConstructor().getModifiers() ) );
+
+		ReflectionOptimizer reflectionOptimizer = new BytecodeProviderImpl().getReflectionOptimizer( entityClass,
+				new String[]{ "getId", "getName" }, new String[]{ "setId", "setName" },
+				new Class<?>[]{ Long.class, String.class } );
+		assertNull( reflectionOptimizer.getInstantiationOptimizer() );
+	}
+
+	private static byte[] readByteCode(Class<?> clazz) throws IOException {
+		return ByteCodeHelper.readByteCode( clazz.getClassLoader()
+				.getResourceAsStream( clazz.getName().replace( '.', '/' ) + ".class" ) );
+	}
+
+	/**
+	 * Defines the given classes itself, standing for the class loader of the application built with the plugins.
+	 */
+	private static class DefiningClassLoader extends ClassLoader {
+		private final Map<String, byte[]> classes;
+
+		private DefiningClassLoader(Map<String, byte[]> classes) {
+			super( PregeneratedClassesTest.class.getClassLoader() );
+			this.classes = classes;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized ( getClassLoadingLock( name ) ) {
+				final byte[] bytes = classes.get( name );
+				if ( bytes == null ) {
+					return super.loadClass( name, resolve );
+				}
+				Class<?> clazz = findLoadedClass( name );
+				if ( clazz == null ) {
+					clazz = defineClass( name, bytes, 0, bytes.length );
+				}
+				if ( resolve ) {
+					resolveClass( clazz );
+				}
+				return clazz;
+			}
+		}
+	}
+}
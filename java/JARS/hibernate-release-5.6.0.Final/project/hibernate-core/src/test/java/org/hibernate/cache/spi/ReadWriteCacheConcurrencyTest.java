@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reads and updates read-write cached entities from concurrent threads, each thread updating its own entity, which
+ * the cache must never return stale.
+ */
+public class ReadWriteCacheConcurrencyTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int THREADS = 4;
+	private static final int UPDATES = 50;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Counter.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testConcurrentReadsAndUpdates() throws Exception {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < THREADS; i++ ) {
+				session.persist( new Counter( i ) );
+			}
+		} );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+		try {
+			final List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for ( int i = 0; i < THREADS; i++ ) {
+				final int id = i;
+				futures.add( CompletableFuture.runAsync( () -> {
+					for ( int update = 1; update <= UPDATES; update++ ) {
+						final int expected = update - 1;
+						doInHibernate( this::sessionFactory, session -> {
+							final Counter counter = session.get( Counter.class, id );
+							// the entity of this thread is only updated by this thread
+							assertEquals( expected, counter.value );
+							counter.value++;
+						} );
+						doInHibernate( this::sessionFactory, session -> {
+							for ( int other = 0; other < THREADS; other++ ) {
+								session.get( Counter.class, other );
+							}
+						} );
+					}
+				}, executor ) );
+			}
+			CompletableFuture.allOf( futures.toArray( new CompletableFuture[0] ) ).get( 60, TimeUnit.SECONDS );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < THREADS; i++ ) {
+				assertEquals( UPDATES, session.get( Counter.class, i ).value );
+			}
+		} );
+		assertTrue( statistics.getSecondLevelCacheHitCount() > 0 );
+	}
+
+	@Entity(name = "Counter")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Counter {
+		@Id
+		private Integer id;
+
+		private int value;
+
+		public Counter() {
+		}
+
+		public Counter(Integer id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.hibernate.cache.spi.DomainDataRegion;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Tests the deprecated locks of all the stripes of {@link AbstractReadWriteAccess}, which must behave as the
+ * reentrant read-write lock they replace while excluding the accesses to the stripes of the keys.
+ */
+@SuppressWarnings("deprecation")
+public class ReadWriteAccessLocksTest extends BaseUnitTestCase {
+
+	private static final Object KEY = "key";
+
+	private AbstractReadWriteAccess access;
+	private ExecutorService otherThread;
+
+	@Before
+	public void setUp() {
+		access = mock(
+				AbstractReadWriteAccess.class,
+				withSettings()
+						.useConstructor( mock( DomainDataRegion.class ), mock( DomainDataStorageAccess.class ) )
+						.defaultAnswer( CALLS_REAL_METHODS )
+		);
+		otherThread = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		otherThread.shutdownNow();
+	}
+
+	@Test
+	public void testReentrancy() throws Exception {
+		access.readLock().lock();
+		access.readLock().lock();
+		access.readLock().unlock();
+		assertFalse( inOtherThread( () -> tryLockAndUnlock( access.writeLock( KEY ) ) ) );
+		access.readLock().unlock();
+		assertTrue( inOtherThread( () -> tryLockAndUnlock( access.writeLock( KEY ) ) ) );
+
+		access.writeLock().lock();
+		access.writeLock().lock();
+		// the stripe of the key is held already
+		assertSame( access.writeLock(), access.writeLock( KEY ) );
+		access.writeLock( KEY ).lock();
+		access.writeLock( KEY ).unlock();
+		access.writeLock().unlock();
+		assertFalse( inOtherThread( () -> tryLockAndUnlock( access.writeLock( KEY ) ) ) );
+		access.writeLock().unlock();
+
+		assertNotSame( access.writeLock(), access.writeLock( KEY ) );
+		assertTrue( inOtherThread( () -> tryLockAndUnlock( access.writeLock() ) ) );
+	}
+
+	@Test
+	public void testDowngrade() throws Exception {
+		access.writeLock().lock();
+		access.readLock().lock();
+		access.writeLock().unlock();
+
+		// the stripes are still read locked
+		assertFalse( inOtherThread( () -> tryLockAndUnlock( access.writeLock( KEY ) ) ) );
+		assertTrue( inOtherThread( () -> tryLockAndUnlock( access.readLock() ) ) );
+
+		access.readLock().unlock();
+		assertTrue( inOtherThread( () -> tryLockAndUnlock( access.writeLock() ) ) );
+	}
+
+	@Test
+	public void testTryLockWithTimeout() throws Exception {
+		final StampedLock stripe = access.lockFor( KEY );
+		final StampedLock otherStripe = otherStripe( stripe );
+
+		final long stamp = stripe.writeLock();
+		try {
+			final long start = System.nanoTime();
+			assertFalse( inOtherThread( () -> tryLockAndUnlock( access.writeLock(), 50 ) ) );
+			assertTrue( System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 50 ) );
+			assertFalse( inOtherThread( () -> tryLockAndUnlock( access.readLock(), 0 ) ) );
+
+			// the stripes taken before the timeout were released, along with the hold
+			final long otherStamp = otherStripe.tryWriteLock();
+			assertNotEquals( 0L, otherStamp );
+			otherStripe.unlockWrite( otherStamp );
+		}
+		finally {
+			stripe.unlockWrite( stamp );
+		}
+
+		assertTrue( inOtherThread( () -> tryLockAndUnlock( access.writeLock(), 10_000 ) ) );
+		assertTrue( access.writeLock().tryLock( 10, TimeUnit.SECONDS ) );
+		access.writeLock().unlock();
+	}
+
+	@Test
+	public void testConditionsAreNotSupported() {
+		try {
+			access.writeLock().newCondition();
+			fail( "Conditions of all the stripes should not be supported" );
+		}
+		catch (UnsupportedOperationException expected) {
+			assertTrue( expected.getMessage().contains( "conditions" ) );
+		}
+	}
+
+	private StampedLock otherStripe(StampedLock stripe) {
+		for ( int i = 0; ; i++ ) {
+			final StampedLock candidate = access.lockFor( i );
+			if ( candidate != stripe ) {
+				return candidate;
+			}
+		}
+	}
+
+	private static boolean tryLockAndUnlock(Lock lock) {
+		if ( lock.tryLock() ) {
+			lock.unlock();
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean tryLockAndUnlock(Lock lock, long timeoutMillis) throws InterruptedException {
+		if ( lock.tryLock( timeoutMillis, TimeUnit.MILLISECONDS ) ) {
+			lock.unlock();
+			return true;
+		}
+		return false;
+	}
+
+	private <T> T inOtherThread(Callable<T> task) throws Exception {
+		return otherThread.submit( task ).get( 30, TimeUnit.SECONDS );
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.connection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the bounded waits, leak detection, statement cache and metrics of the built-in connection pool.
+ */
+@RequiresDialect(H2Dialect.class)
+public class DriverManagerConnectionProviderPoolTest extends BaseUnitTestCase {
+
+	private DriverManagerConnectionProviderImpl connectionProvider;
+
+	@After
+	public void stop() {
+		if ( connectionProvider != null ) {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testLastConnectionIsReused() throws Exception {
+		configure( 3, new Properties() );
+
+		final Connection first = connectionProvider.getConnection();
+		final Connection second = connectionProvider.getConnection();
+		assertNotSame( first, second );
+		connectionProvider.closeConnection( second );
+		connectionProvider.closeConnection( first );
+
+		final Connection reused = connectionProvider.getConnection();
+		assertSame( first, reused );
+		assertEquals( 1, connectionProvider.getActiveConnectionCount() );
+		assertEquals( 1, connectionProvider.getIdleConnectionCount() );
+		connectionProvider.closeConnection( reused );
+	}
+
+	@Test
+	public void testAcquisitionFailsRightAwayByDefault() throws Exception {
+		configure( 1, new Properties() );
+
+		final Connection connection = connectionProvider.getConnection();
+		try {
+			connectionProvider.getConnection();
+			fail( "The pool should be exhausted" );
+		}
+		catch (HibernateException expected) {
+			assertEquals( 1, connectionProvider.getAcquisitionTimeoutCount() );
+			assertEquals( 0, connectionProvider.getAcquisitionWaitCount() );
+		}
+		finally {
+			connectionProvider.closeConnection( connection );
+		}
+	}
+
+	@Test
+	public void testAcquisitionTimeout() throws Exception {
+		final Properties settings = new Properties();
+		settings.put( DriverManagerConnectionProviderImpl.ACQUISITION_TIMEOUT, "100" );
+		configure( 1, settings );
+
+		final Connection connection = connectionProvider.getConnection();
+		final long start = System.nanoTime();
+		try {
+			connectionProvider.getConnection();
+			fail( "The pool should be exhausted" );
+		}
+		catch (HibernateException expected) {
+			assertTrue( System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 100 ) );
+			assertEquals( 1, connectionProvider.getAcquisitionTimeoutCount() );
+			assertEquals( 1, connectionProvider.getAcquisitionWaitCount() );
+		}
+		finally {
+			connectionProvider.closeConnection( connection );
+		}
+	}
+
+	@Test
+	public void testAcquisitionWaitsForReturnedConnection() throws Exception {
+		final Properties settings = new Properties();
+		settings.put( DriverManagerConnectionProviderImpl.ACQUISITION_TIMEOUT, "10000" );
+		configure( 1, settings );
+
+		final Connection connection = connectionProvider.getConnection();
+		final CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync( () -> {
+			try {
+				return connectionProvider.getConnection();
+			}
+			catch (Exception e) {
+				throw new RuntimeException( e );
+			}
+		} );
+		while ( connectionProvider.getPendingAcquisitionCount() == 0 ) {
+			Thread.sleep( 10 );
+		}
+		connectionProvider.closeConnection( connection );
+
+		final Connection acquired = waiting.get( 10, TimeUnit.SECONDS );
+		assertSame( connection, acquired );
+		assertEquals( 1, connectionProvider.getAcquisitionWaitCount() );
+		assertEquals( 0, connectionProvider.getAcquisitionTimeoutCount() );
+		connectionProvider.closeConnection( acquired );
+	}
+
+	@Test
+	public void testWaitingAcquisitionIsServedBeforeLateArrival() throws Exception {
+		final Properties settings = new Properties();
+		settings.put( DriverManagerConnectionProviderImpl.ACQUISITION_TIMEOUT, "10000" );
+		configure( 1, settings );
+
+		final List<String> acquisitionOrder = new CopyOnWriteArrayList<>();
+		final Connection connection = connectionProvider.getConnection();
+		final CompletableFuture<Void> waiting = CompletableFuture.runAsync( () -> {
+			try {
+				final Connection acquired = connectionProvider.getConnection();
+				acquisitionOrder.add( "waiting" );
+				connectionProvider.closeConnection( acquired );
+			}
+			catch (Exception e) {
+				throw new RuntimeException( e );
+			}
+		} );
+		while ( connectionProvider.getPendingAcquisitionCount() == 0 ) {
+			Thread.sleep( 10 );
+		}
+
+		// the returned connection goes to the queued thread, even though this one asks for it first
+		connectionProvider.closeConnection( connection );
+		final Connection late = connectionProvider.getConnection();
+		acquisitionOrder.add( "late" );
+		connectionProvider.closeConnection( late );
+		waiting.get( 10, TimeUnit.SECONDS );
+
+		assertEquals( Arrays.asList( "waiting", "late" ), acquisitionOrder );
+		assertEquals( 2, connectionProvider.getAcquisitionWaitCount() );
+		assertEquals( 0, connectionProvider.getAcquisitionTimeoutCount() );
+	}
+
+	@Test
+	public void testLeakDetection() throws Exception {
+		final Properties settings = new Properties();
+		settings.put( DriverManagerConnectionProviderImpl.LEAK_DETECTION_THRESHOLD, "50" );
+		configure( 2, settings );
+
+		final Connection connection = connectionProvider.getConnection();
+		final long acquired = System.nanoTime();
+		while ( System.nanoTime() - acquired <= TimeUnit.MILLISECONDS.toNanos( 50 ) ) {
+			Thread.sleep( 10 );
+		}
+		// whether or not the validation thread detected the leak first
+		connectionProvider.detectLeaks();
+		assertEquals( 1, connectionProvider.getLeakedConnectionCount() );
+
+		// a leak is reported once
+		connectionProvider.detectLeaks();
+		assertEquals( 1, connectionProvider.getLeakedConnectionCount() );
+		connectionProvider.closeConnection( connection );
+	}
+
+	@Test
+	public void testStatementCache() throws Exception {
+		final Properties settings = new Properties();
+		settings.put( DriverManagerConnectionProviderImpl.STATEMENT_CACHE_SIZE, "2" );
+		configure( 1, settings );
+
+		final Connection connection = connectionProvider.getConnection();
+		final PreparedStatement first = connection.prepareStatement( "select ? from INFORMATION_SCHEMA.TABLES" );
+		first.setInt( 1, 1 );
+		first.setMaxRows( 1 );
+		try ( ResultSet resultSet = first.executeQuery() ) {
+			assertTrue( resultSet.next() );
+			assertFalse( resultSet.next() );
+		}
+		final PreparedStatement physical = first.unwrap( PreparedStatement.class );
+		first.close();
+		assertTrue( first.isClosed() );
+
+		final PreparedStatement second = connection.prepareStatement( "select ? from INFORMATION_SCHEMA.TABLES" );
+		assertNotSame( first, second );
+		assertSame( physical, second.unwrap( PreparedStatement.class ) );
+		assertFalse( second.isClosed() );
+		assertEquals( 0, second.getMaxRows() );
+		assertSame( connection, second.getConnection() );
+		second.close();
+
+		assertEquals( 1, connectionProvider.getStatementCacheHitCount() );
+		assertEquals( 1, connectionProvider.getStatementCacheMissCount() );
+
+		// the statements prepared with other arguments are cached separately
+		connection.prepareStatement(
+				"select ? from INFORMATION_SCHEMA.TABLES",
+				ResultSet.TYPE_SCROLL_INSENSITIVE,
+				ResultSet.CONCUR_READ_ONLY
+		).close();
+		assertEquals( 2, connectionProvider.getStatementCacheMissCount() );
+
+		connectionProvider.closeConnection( connection );
+		assertSame( connection, connectionProvider.getConnection() );
+		connectionProvider.closeConnection( connection );
+	}
+
+	private void configure(int poolSize, Properties settings) {
+		final Properties properties = new Properties();
+		properties.putAll( Environment.getProperties() );
+		properties.put( AvailableSettings.POOL_SIZE, String.valueOf( poolSize ) );
+		properties.put( DriverManagerConnectionProviderImpl.MIN_SIZE, "1" );
+		properties.put( DriverManagerConnectionProviderImpl.INITIAL_SIZE, "1" );
+		properties.putAll( settings );
+
+		connectionProvider = new DriverManagerConnectionProviderImpl();
+		connectionProvider.configure( properties );
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+import org.hibernate.type.UUIDBinaryType;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link IdentifierKeyMap} against a {@link HashMap}.
+ */
+public class IdentifierKeyMapTest extends BaseUnitTestCase {
+
+	private final EntityPersister longPersister = persister( "LongEntity", LongType.INSTANCE );
+	private final EntityPersister longSubclassPersister = persister( "LongEntity", LongType.INSTANCE );
+	private final EntityPersister otherLongPersister = persister( "OtherLongEntity", LongType.INSTANCE );
+	private final EntityPersister integerPersister = persister( "IntegerEntity", IntegerType.INSTANCE );
+	private final EntityPersister uuidPersister = persister( "UuidEntity", UUIDBinaryType.INSTANCE );
+	private final EntityPersister stringPersister = persister( "StringEntity", StringType.INSTANCE );
+
+	private static EntityPersister persister(String rootEntityName, Type identifierType) {
+		final EntityPersister persister = mock( EntityPersister.class );
+		when( persister.getRootEntityName() ).thenReturn( rootEntityName );
+		when( persister.getEntityName() ).thenReturn( rootEntityName );
+		when( persister.getIdentifierType() ).thenReturn( identifierType );
+		return persister;
+	}
+
+	@Test
+	public void testBasicOperations() {
+		final IdentifierKeyMap<EntityKey, Object> map = IdentifierKeyMap.forEntityKeys();
+		final EntityKey key = new EntityKey( 1L, longPersister );
+
+		assertNull( map.put( key, "a" ) );
+		assertEquals( "a", map.put( new EntityKey( 1L, longSubclassPersister ), "b" ) );
+		assertEquals( 1, map.size() );
+		assertEquals( "b", map.get( new EntityKey( 1L, longPersister ) ) );
+		assertTrue( map.containsKey( new EntityKey( 1L, longSubclassPersister ) ) );
+		// the original key is kept
+		assertTrue( map.keySet().iterator().next() == key );
+
+		assertFalse( map.containsKey( new EntityKey( 1L, otherLongPersister ) ) );
+		assertFalse( map.containsKey( new EntityKey( 2L, longPersister ) ) );
+		assertFalse( map.containsKey( "not a key" ) );
+
+		assertEquals( "b", map.remove( new EntityKey( 1L, longPersister ) ) );
+		assertTrue( map.isEmpty() );
+		assertNull( map.remove( new EntityKey( 1L, longPersister ) ) );
+	}
+
+	@Test
+	public void testUuidIdentifiers() {
+		final IdentifierKeyMap<EntityKey, Object> map = IdentifierKeyMap.forEntityKeys();
+		final UUID first = new UUID( 1L, 2L );
+		final UUID second = new UUID( 1L, 3L );
+		map.put( new EntityKey( first, uuidPersister ), "first" );
+		map.put( new EntityKey( second, uuidPersister ), "second" );
+
+		assertEquals( "first", map.get( new EntityKey( new UUID( 1L, 2L ), uuidPersister ) ) );
+		assertEquals( "second", map.get( new EntityKey( new UUID( 1L, 3L ), uuidPersister ) ) );
+		assertNull( map.get( new EntityKey( new UUID( 2L, 2L ), uuidPersister ) ) );
+	}
+
+	@Test
+	public void testInterleavedGroups() {
+		final IdentifierKeyMap<EntityKey, Object> map = IdentifierKeyMap.forEntityKeys();
+		final EntityPersister[] persisters = new EntityPersister[50];
+		for ( int i = 0; i < persisters.length; i++ ) {
+			persisters[i] = persister( "Entity" + i, i % 2 == 0 ? LongType.INSTANCE : IntegerType.INSTANCE );
+		}
+
+		for ( int id = 0; id < 20; id++ ) {
+			for ( int i = 0; i < persisters.length; i++ ) {
+				map.put( new EntityKey( identifier( persisters[i], id ), persisters[i] ), i + ":" + id );
+			}
+		}
+		assertEquals( persisters.length * 20, map.size() );
+
+		for ( int id = 0; id < 20; id++ ) {
+			for ( int i = persisters.length - 1; i >= 0; i-- ) {
+				final EntityKey key = new EntityKey( identifier( persisters[i], id ), persisters[i] );
+				assertEquals( i + ":" + id, map.get( key ) );
+				if ( id % 2 == 0 ) {
+					assertEquals( i + ":" + id, map.remove( key ) );
+					assertFalse( map.containsKey( key ) );
+				}
+			}
+		}
+		assertEquals( persisters.length * 10, map.size() );
+		map.clear();
+		assertFalse( map.containsKey( new EntityKey( 1L, persisters[0] ) ) );
+	}
+
+	private static Serializable identifier(EntityPersister persister, int id) {
+		return persister.getIdentifierType() == LongType.INSTANCE ? (Serializable) (long) id : (Serializable) id;
+	}
+
+	@Test
+	public void testRandomOperations() {
+		final IdentifierKeyMap<EntityKey, Object> map = IdentifierKeyMap.forEntityKeys();
+		final Map<EntityKey, Object> expected = new HashMap<>();
+		final Random random = new Random( 42 );
+
+		for ( int i = 0; i < 50_000; i++ ) {
+			final EntityKey key = randomKey( random );
+			final int operation = random.nextInt( 10 );
+			if ( operation < 5 ) {
+				assertEquals( expected.put( key, i ), map.put( key, i ) );
+			}
+			else if ( operation < 8 ) {
+				assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				assertEquals( expected.get( key ), map.get( key ) );
+				assertEquals( expected.containsKey( key ), map.containsKey( key ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		assertEquals( map, expected );
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final IdentifierKeyMap<EntityKey, Object> map = IdentifierKeyMap.forEntityKeys();
+		final Map<EntityKey, Object> expected = new HashMap<>();
+		final Random random = new Random( 7 );
+		for ( int i = 0; i < 5_000; i++ ) {
+			final EntityKey key = randomKey( random );
+			map.put( key, i );
+			expected.put( key, i );
+		}
+
+		final int size = map.size();
+		int visited = 0;
+		final Iterator<Map.Entry<EntityKey, Object>> iterator = map.entrySet().iterator();
+		while ( iterator.hasNext() ) {
+			final Map.Entry<EntityKey, Object> entry = iterator.next();
+			assertEquals( expected.get( entry.getKey() ), entry.getValue() );
+			visited++;
+			if ( random.nextBoolean() ) {
+				iterator.remove();
+				expected.remove( entry.getKey() );
+			}
+			else {
+				entry.setValue( "updated" );
+				expected.put( entry.getKey(), "updated" );
+			}
+		}
+		assertEquals( size, visited );
+		assertEquals( expected, map );
+	}
+
+	private EntityKey randomKey(Random random) {
+		// a small range of identifiers, so that keys are often found
+		final int id = random.nextInt( 3_000 );
+		switch ( random.nextInt( 6 ) ) {
+			case 0:
+				return new EntityKey( (long) id, longPersister );
+			case 1:
+				return new EntityKey( (long) id, longSubclassPersister );
+			case 2:
+				return new EntityKey( (long) id, otherLongPersister );
+			case 3:
+				return new EntityKey( id, integerPersister );
+			case 4:
+				return new EntityKey( new UUID( id % 7, id ), uuidPersister );
+			default:
+				return new EntityKey( (Serializable) ( "id" + id ), stringPersister );
+		}
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.spi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.action.internal.AbstractEntityInsertAction;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ManyToOneType;
+import org.hibernate.type.Type;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the batches of the {@link ActionQueue.InsertActionSorter} with the ones of the sorter it replaced, which
+ * moved the batches around until none had a parent after it.
+ *
+ * @see org.hibernate.test.insertordering
+ */
+public class InsertActionSorterTest extends BaseUnitTestCase {
+
+	private final Map<String, EntityPersister> persisters = new HashMap<>();
+	private final Map<String, String[]> referencedEntityNames = new HashMap<>();
+
+	private MetamodelImplementor metamodel;
+	private SharedSessionContractImplementor session;
+
+	@Before
+	public void setUp() {
+		metamodel = mock( MetamodelImplementor.class );
+		final SessionFactoryImplementor sessionFactory = mock( SessionFactoryImplementor.class );
+		when( sessionFactory.getMetamodel() ).thenReturn( metamodel );
+		session = mock( SharedSessionContractImplementor.class );
+		when( session.getFactory() ).thenReturn( sessionFactory );
+	}
+
+	@Test
+	public void testChildrenInsertedBeforeParents() {
+		entity( "A", "A" );
+		entity( "B", "B", "A" );
+		entity( "C", "C", "B" );
+
+		assertSortedAsLegacySorter( inserts( "C", "B", "A", "C", "B", "A" ) );
+	}
+
+	@Test
+	public void testWideGraph() {
+		entity( "Root", "Root" );
+		entity( "Child1", "Child1", "Root" );
+		entity( "Child2", "Child2", "Root" );
+		entity( "Child3", "Child3", "Root" );
+		entity( "Child4", "Child4", "Root" );
+		entity( "Leaf", "Leaf", "Child1", "Child3" );
+
+		assertSortedAsLegacySorter( inserts( "Leaf", "Child3", "Child1", "Root", "Child2", "Child4", "Leaf", "Root" ) );
+	}
+
+	@Test
+	public void testDiamond() {
+		entity( "A", "A" );
+		entity( "B", "B", "A" );
+		entity( "C", "C", "A" );
+		entity( "D", "D", "B", "C" );
+
+		assertSortedAsLegacySorter( inserts( "D", "B", "C", "A", "D", "C" ) );
+	}
+
+	@Test
+	public void testSubclassesOfReferencedRootEntity() {
+		entity( "Base", "Base" );
+		entity( "Sub1", "Base" );
+		entity( "Sub2", "Base" );
+		entity( "Owner", "Owner", "Base" );
+
+		assertSortedAsLegacySorter( inserts( "Owner", "Sub1", "Owner", "Sub2" ) );
+	}
+
+	@Test
+	public void testCircularDependencyKeepsInsertionOrder() {
+		entity( "A", "A", "B" );
+		entity( "B", "B", "A" );
+
+		final List<AbstractEntityInsertAction> insertions = inserts( "A", "B", "A", "B" );
+		final List<AbstractEntityInsertAction> legacyInsertions = new ArrayList<>( insertions );
+		final List<AbstractEntityInsertAction> unsortedInsertions = new ArrayList<>( insertions );
+		new LegacyInsertActionSorter().sort( legacyInsertions );
+		new ActionQueue.InsertActionSorter().sort( insertions );
+
+		assertEquals( unsortedInsertions, legacyInsertions );
+		assertEquals( unsortedInsertions, insertions );
+	}
+
+	private void assertSortedAsLegacySorter(List<AbstractEntityInsertAction> insertions) {
+		final List<AbstractEntityInsertAction> legacyInsertions = new ArrayList<>( insertions );
+		new LegacyInsertActionSorter().sort( legacyInsertions );
+		new ActionQueue.InsertActionSorter().sort( insertions );
+
+		final List<List<AbstractEntityInsertAction>> legacyBatches = batches( legacyInsertions );
+		final List<List<AbstractEntityInsertAction>> batches = batches( insertions );
+		assertEquals( "Batch count differs from the legacy sorter", legacyBatches.size(), batches.size() );
+		assertEquals( "Batches differ from the legacy sorter", new HashSet<>( legacyBatches ), new HashSet<>( batches ) );
+
+		// the order of the batches independent of each other may differ, but no batch may come before its parents
+		for ( int i = 0; i < batches.size(); i++ ) {
+			final String entityName = batches.get( i ).get( 0 ).getEntityName();
+			for ( String referencedEntityName : referencedEntityNames.get( entityName ) ) {
+				for ( List<AbstractEntityInsertAction> nextBatch : batches.subList( i + 1, batches.size() ) ) {
+					final EntityPersister nextPersister = nextBatch.get( 0 ).getPersister();
+					assertFalse(
+							entityName + " inserted before " + nextPersister.getEntityName(),
+							referencedEntityName.equals( nextPersister.getEntityName() )
+									|| referencedEntityName.equals( nextPersister.getRootEntityName() )
+					);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The runs of insertions of the same entity, which are batched together.
+	 */
+	private static List<List<AbstractEntityInsertAction>> batches(List<AbstractEntityInsertAction> insertions) {
+		final List<List<AbstractEntityInsertAction>> batches = new ArrayList<>();
+		List<AbstractEntityInsertAction> batch = null;
+		for ( AbstractEntityInsertAction insertion : insertions ) {
+			if ( batch == null || !batch.get( 0 ).getEntityName().equals( insertion.getEntityName() ) ) {
+				batch = new ArrayList<>();
+				batches.add( batch );
+			}
+			batch.add( insertion );
+		}
+		return batches;
+	}
+
+	/**
+	 * Maps an entity whose properties are many-to-one associations to the given entities.
+	 */
+	private void entity(String entityName, String rootEntityName, String... referencedEntityNames) {
+		final Type[] propertyTypes = new Type[referencedEntityNames.length];
+		for ( int i = 0; i < referencedEntityNames.length; i++ ) {
+			final ManyToOneType propertyType = mock( ManyToOneType.class );
+			when( propertyType.isEntityType() ).thenReturn( true );
+			when( propertyType.getName() ).thenReturn( referencedEntityNames[i] );
+			propertyTypes[i] = propertyType;
+		}
+		final Type identifierType = mock( Type.class );
+		final ClassMetadata classMetadata = mock( ClassMetadata.class );
+		when( classMetadata.getPropertyTypes() ).thenReturn( propertyTypes );
+		when( classMetadata.getIdentifierType() ).thenReturn( identifierType );
+
+		final EntityPersister persister = mock( EntityPersister.class );
+		when( persister.getEntityName() ).thenReturn( entityName );
+		when( persister.getRootEntityName() ).thenReturn( rootEntityName );
+		when( persister.getClassMetadata() ).thenReturn( classMetadata );
+		when( metamodel.entityPersister( entityName ) ).thenReturn( persister );
+
+		persisters.put( entityName, persister );
+		this.referencedEntityNames.put( entityName, referencedEntityNames );
+	}
+
+	private List<AbstractEntityInsertAction> inserts(String... entityNames) {
+		final List<AbstractEntityInsertAction> insertions = new ArrayList<>();
+		for ( String entityName : entityNames ) {
+			final Object[] state = new Object[referencedEntityNames.get( entityName ).length];
+			Arrays.fill( state, new Object() );
+
+			final AbstractEntityInsertAction insertion = mock( AbstractEntityInsertAction.class );
+			when( insertion.getEntityName() ).thenReturn( entityName );
+			when( insertion.getPersister() ).thenReturn( persisters.get( entityName ) );
+			when( insertion.getState() ).thenReturn( state );
+			when( insertion.getSession() ).thenReturn( session );
+			insertions.add( insertion );
+		}
+		return insertions;
+	}
+
+	/**
+	 * The sorting of the batches of the former InsertActionSorter, for the many-to-one associations only.
+	 */
+	private static class LegacyInsertActionSorter {
+
+		private static class BatchIdentifier {
+			private final String entityName;
+			private final String rootEntityName;
+			private final Set<String> parentEntityNames = new HashSet<>();
+			private final List<AbstractEntityInsertAction> actions = new ArrayList<>();
+			private BatchIdentifier parent;
+
+			BatchIdentifier(String entityName, String rootEntityName) {
+				this.entityName = entityName;
+				this.rootEntityName = rootEntityName;
+			}
+
+			boolean hasAnyParentEntityNames(BatchIdentifier batchIdentifier) {
+				return parentEntityNames.contains( batchIdentifier.entityName )
+						|| parentEntityNames.contains( batchIdentifier.rootEntityName );
+			}
+
+			boolean hasParent(BatchIdentifier batchIdentifier) {
+				return parent == batchIdentifier
+						|| parentEntityNames.contains( batchIdentifier.entityName )
+						|| ( parentEntityNames.contains( batchIdentifier.rootEntityName )
+								&& !entityName.equals( batchIdentifier.rootEntityName ) )
+						|| parent != null && parent.hasParent( batchIdentifier, new ArrayList<>() );
+			}
+
+			private boolean hasParent(BatchIdentifier batchIdentifier, List<BatchIdentifier> stack) {
+				if ( !stack.contains( this ) && parent != null ) {
+					stack.add( this );
+					return parent.hasParent( batchIdentifier, stack );
+				}
+				return parent == batchIdentifier || parentEntityNames.contains( batchIdentifier.entityName );
+			}
+		}
+
+		void sort(List<AbstractEntityInsertAction> insertions) {
+			final Map<String, BatchIdentifier> batchesByEntityName = new HashMap<>();
+			final List<BatchIdentifier> latestBatches = new ArrayList<>();
+			for ( AbstractEntityInsertAction action : insertions ) {
+				BatchIdentifier batchIdentifier = batchesByEntityName.get( action.getEntityName() );
+				if ( batchIdentifier == null ) {
+					batchIdentifier = new BatchIdentifier(
+							action.getEntityName(),
+							action.getPersister().getRootEntityName()
+					);
+					batchesByEntityName.put( action.getEntityName(), batchIdentifier );
+					latestBatches.add( batchIdentifier );
+				}
+				addParentEntityNames( action, batchIdentifier );
+				batchIdentifier.actions.add( action );
+			}
+
+			for ( int i = 0; i < latestBatches.size(); i++ ) {
+				final BatchIdentifier batchIdentifier = latestBatches.get( i );
+				for ( int j = i - 1; j >= 0; j-- ) {
+					final BatchIdentifier prevBatchIdentifier = latestBatches.get( j );
+					if ( prevBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
+						prevBatchIdentifier.parent = batchIdentifier;
+					}
+				}
+				for ( int j = i + 1; j < latestBatches.size(); j++ ) {
+					final BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
+					if ( nextBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
+						nextBatchIdentifier.parent = batchIdentifier;
+						nextBatchIdentifier.parentEntityNames.add( batchIdentifier.entityName );
+					}
+				}
+			}
+
+			boolean sorted = false;
+			final long maxIterations = latestBatches.size() * latestBatches.size();
+			long iterations = 0;
+			sort:
+			do {
+				iterations++;
+				for ( int i = 0; i < latestBatches.size(); i++ ) {
+					final BatchIdentifier batchIdentifier = latestBatches.get( i );
+					for ( int j = i + 1; j < latestBatches.size(); j++ ) {
+						final BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
+						if ( batchIdentifier.hasParent( nextBatchIdentifier ) ) {
+							if ( nextBatchIdentifier.hasParent( batchIdentifier ) ) {
+								break sort;
+							}
+							latestBatches.remove( batchIdentifier );
+							latestBatches.add( j, batchIdentifier );
+							continue sort;
+						}
+					}
+				}
+				sorted = true;
+			}
+			while ( !sorted && iterations <= maxIterations );
+
+			if ( sorted ) {
+				insertions.clear();
+				for ( BatchIdentifier batchIdentifier : latestBatches ) {
+					insertions.addAll( batchIdentifier.actions );
+				}
+			}
+		}
+
+		private static void addParentEntityNames(AbstractEntityInsertAction action, BatchIdentifier batchIdentifier) {
+			final Object[] propertyValues = action.getState();
+			final Type[] propertyTypes = action.getPersister().getClassMetadata().getPropertyTypes();
+			for ( int i = 0; i < propertyValues.length; i++ ) {
+				final String entityName = ( (ManyToOneType) propertyTypes[i] ).getName();
+				final String rootEntityName = action.getSession().getFactory().getMetamodel()
+						.entityPersister( entityName ).getRootEntityName();
+				if ( !batchIdentifier.entityName.equals( entityName ) ) {
+					batchIdentifier.parentEntityNames.add( entityName );
+				}
+				final String valueClass = propertyValues[i].getClass().getName();
+				if ( !valueClass.equals( entityName ) ) {
+					batchIdentifier.parentEntityNames.add( valueClass );
+				}
+				if ( !rootEntityName.equals( entityName ) ) {
+					batchIdentifier.parentEntityNames.add( rootEntityName );
+				}
+			}
+		}
+	}
+}
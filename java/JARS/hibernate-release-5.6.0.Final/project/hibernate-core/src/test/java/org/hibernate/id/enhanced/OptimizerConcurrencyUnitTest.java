@@ -7,6 +7,7 @@
 package org.hibernate.id.enhanced;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -24,6 +25,7 @@ import org.hibernate.AssertionFailure;
 
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 import org.hibernate.testing.junit4.CustomParameterized;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -172,6 +174,44 @@ public class OptimizerConcurrencyUnitTest extends BaseUnitTestCase {
 		}
 	}
 
+	@Test
+	public void testConcurrentUsage_contiguousValues() throws InterruptedException {
+		// the optimizers sharing their buckets between the threads neither skip nor repeat values
+		Assume.assumeTrue( optimizerDescriptor == StandardOptimizerDescriptor.HILO
+				|| optimizerDescriptor == StandardOptimizerDescriptor.POOLED
+				|| optimizerDescriptor == StandardOptimizerDescriptor.POOLED_LO );
+
+		final int increment = 10;
+		final int threadCount = 8;
+		final int valueCountPerThread = 1000;
+
+		final Optimizer optimizer = buildOptimizer( 1, increment );
+		final SourceMock sequence = new SourceMock( 1, optimizer.applyIncrementSizeToSourceValues() ? increment : 1 );
+
+		final List<Long> generated = Collections.synchronizedList( new ArrayList<>() );
+		final List<Thread> threads = new ArrayList<>();
+		for ( int i = 0; i < threadCount; i++ ) {
+			threads.add( new Thread( () -> {
+				for ( int j = 0; j < valueCountPerThread; j++ ) {
+					generated.add( (Long) optimizer.generate( sequence ) );
+				}
+			} ) );
+		}
+		for ( Thread thread : threads ) {
+			thread.start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		final List<Long> sorted = new ArrayList<>( generated );
+		Collections.sort( sorted );
+		assertEquals( threadCount * valueCountPerThread, sorted.size() );
+		for ( int i = 0; i < sorted.size(); i++ ) {
+			assertEquals( sorted.get( 0 ) + i, (long) sorted.get( i ) );
+		}
+	}
+
 	private Optimizer buildOptimizer(long initial, int increment) {
 		return OptimizerFactory.buildOptimizer( optimizerDescriptor.getExternalName(), Long.class, increment, initial );
 	}
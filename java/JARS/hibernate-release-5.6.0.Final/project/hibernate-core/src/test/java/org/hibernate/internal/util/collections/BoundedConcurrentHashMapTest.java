@@ -0,0 +1,198 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap.Eviction;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap.EvictionListener;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link Eviction#W_TINY_LFU} eviction of {@link BoundedConcurrentHashMap}
+ */
+public class BoundedConcurrentHashMapTest extends BaseUnitTestCase {
+
+	@Test
+	public void testCapacityIsEnforced() {
+		final CountingEvictionListener<Integer, String> listener = new CountingEvictionListener<>();
+		final BoundedConcurrentHashMap<Integer, String> map = new BoundedConcurrentHashMap<>(
+				128,
+				4,
+				Eviction.W_TINY_LFU,
+				listener
+		);
+		for ( int i = 0; i < 10_000; i++ ) {
+			map.put( i, "value" + i );
+			assertTrue( map.size() <= 128 );
+		}
+		assertEquals( 128, map.size() );
+		assertEquals( 10_000 - 128, listener.evictions.get() );
+		for ( Map.Entry<Integer, String> entry : map.entrySet() ) {
+			assertEquals( "value" + entry.getKey(), entry.getValue() );
+		}
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScan() {
+		final BoundedConcurrentHashMap<Integer, String> map = new BoundedConcurrentHashMap<>(
+				256,
+				2,
+				Eviction.W_TINY_LFU
+		);
+		for ( int i = 0; i < 64; i++ ) {
+			map.put( i, "hot" + i );
+		}
+		for ( int round = 0; round < 20; round++ ) {
+			for ( int i = 0; i < 64; i++ ) {
+				assertEquals( "hot" + i, map.get( i ) );
+			}
+		}
+
+		// a scan of entries used only once must not flush the frequently used ones
+		for ( int i = 1000; i < 5000; i++ ) {
+			map.put( i, "cold" + i );
+		}
+
+		int hits = 0;
+		for ( int i = 0; i < 64; i++ ) {
+			if ( map.get( i ) != null ) {
+				hits++;
+			}
+		}
+		assertTrue( "Only " + hits + " frequently used entries survived", hits >= 60 );
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		final BoundedConcurrentHashMap<Integer, Integer> map = new BoundedConcurrentHashMap<>(
+				64,
+				1,
+				Eviction.W_TINY_LFU
+		);
+		for ( int i = 0; i < 64; i++ ) {
+			map.put( i, i );
+			map.get( i );
+		}
+		for ( int i = 0; i < 64; i += 2 ) {
+			assertEquals( Integer.valueOf( i ), map.remove( i ) );
+		}
+		assertEquals( 32, map.size() );
+		for ( int i = 0; i < 64; i++ ) {
+			assertEquals( i % 2 == 0 ? null : Integer.valueOf( i ), map.get( i ) );
+		}
+
+		// the removed entries free their room
+		for ( int i = 100; i < 132; i++ ) {
+			map.put( i, i );
+		}
+		assertEquals( 64, map.size() );
+		for ( int i = 1; i < 64; i += 2 ) {
+			assertEquals( Integer.valueOf( i ), map.get( i ) );
+		}
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( 1 ) );
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, i );
+		}
+		assertEquals( 64, map.size() );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final int capacity = 512;
+		final CountingEvictionListener<Integer, Integer> listener = new CountingEvictionListener<>();
+		final BoundedConcurrentHashMap<Integer, Integer> map = new BoundedConcurrentHashMap<>(
+				capacity,
+				16,
+				Eviction.W_TINY_LFU,
+				listener
+		);
+		final AtomicInteger misses = new AtomicInteger();
+		final int threadCount = 8;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final ExecutorService executor = Executors.newFixedThreadPool( threadCount );
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for ( int t = 0; t < threadCount; t++ ) {
+				final long seed = t;
+				futures.add(
+						executor.submit(
+								() -> {
+									final Random random = new Random( seed );
+									start.await();
+									for ( int i = 0; i < 200_000; i++ ) {
+										// mostly a small set of hot keys, sometimes a cold one
+										final int key = random.nextInt( 10 ) == 0
+												? random.nextInt( 100_000 )
+												: random.nextInt( 256 );
+										final Integer value = map.get( key );
+										if ( value == null ) {
+											misses.incrementAndGet();
+											map.putIfAbsent( key, key );
+										}
+										else {
+											assertEquals( key, value.intValue() );
+										}
+										if ( i % 1000 == 0 ) {
+											map.remove( key );
+										}
+									}
+									return null;
+								}
+						)
+				);
+			}
+			start.countDown();
+			for ( Future<?> future : futures ) {
+				future.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertTrue( map.size() <= capacity );
+		assertTrue( listener.evictions.get() > 0 );
+		assertTrue( misses.get() < threadCount * 200_000 / 2 );
+		for ( Map.Entry<Integer, Integer> entry : map.entrySet() ) {
+			assertEquals( entry.getKey(), entry.getValue() );
+		}
+		assertFalse( map.isEmpty() );
+	}
+
+	private static class CountingEvictionListener<K, V> implements EvictionListener<K, V> {
+		private final AtomicInteger evictions = new AtomicInteger();
+
+		@Override
+		public void onEntryEviction(Map<K, V> evicted) {
+			evictions.addAndGet( evicted.size() );
+		}
+
+		@Override
+		public void onEntryChosenForEviction(V internalCacheEntry) {
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.jpa.test.criteria.compile;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.query.Query;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInJPA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests the reuse of the rendition of criteria queries of the same structure.
+ *
+ * @see AvailableSettings#CRITERIA_COMPILATION_CACHE_MAX_SIZE
+ */
+public class CriteriaCompilationCacheTest extends BaseEntityManagerFunctionalTestCase {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Author.class,
+				Book.class
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.CRITERIA_COMPILATION_CACHE_MAX_SIZE, "16" );
+		options.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void init() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final Author vlad = new Author( 1, "Vlad", 40 );
+			final Author gavin = new Author( 2, "Gavin", 50 );
+			entityManager.persist( vlad );
+			entityManager.persist( gavin );
+			entityManager.persist( new Book( 1, "High-Performance Java Persistence", vlad ) );
+			entityManager.persist( new Book( 2, "Hibernate in Action", gavin ) );
+			entityManager.persist( new Book( 3, "Java Persistence with Hibernate", gavin ) );
+		} );
+		statistics().clear();
+	}
+
+	@Test
+	public void testBoundLiteralsAreTakenFromEachQuery() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final TypedQuery<Author> vladQuery = authorsNamed( entityManager, "Vlad" );
+			final TypedQuery<Author> gavinQuery = authorsNamed( entityManager, "Gavin" );
+
+			assertEquals( jpql( vladQuery ), jpql( gavinQuery ) );
+			assertEquals( (Integer) 1, vladQuery.getSingleResult().id );
+			assertEquals( (Integer) 2, gavinQuery.getSingleResult().id );
+		} );
+
+		assertEquals( 1, statistics().getCriteriaCompilationCacheMissCount() );
+		assertEquals( 1, statistics().getCriteriaCompilationCacheHitCount() );
+	}
+
+	@Test
+	public void testInlinedLiteralsAreDescribedByValue() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final TypedQuery<Author> olderThan45 = authorsOlderThan( entityManager, 45 );
+			final TypedQuery<Author> olderThan35 = authorsOlderThan( entityManager, 35 );
+
+			assertNotEquals( jpql( olderThan45 ), jpql( olderThan35 ) );
+			assertEquals( 1, olderThan45.getResultList().size() );
+			assertEquals( 2, olderThan35.getResultList().size() );
+		} );
+
+		assertEquals( 2, statistics().getCriteriaCompilationCacheMissCount() );
+		assertEquals( 0, statistics().getCriteriaCompilationCacheHitCount() );
+	}
+
+	@Test
+	public void testSharedParameter() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+				final CriteriaQuery<Author> query = cb.createQuery( Author.class );
+				final Root<Author> author = query.from( Author.class );
+				final ParameterExpression<String> name = cb.parameter( String.class );
+				query.where(
+						cb.or(
+								cb.equal( author.get( "name" ), name ),
+								cb.like( author.get( "name" ), name )
+						)
+				);
+
+				final List<Author> authors = entityManager.createQuery( query )
+						.setParameter( name, i == 0 ? "Vlad" : "Gavin" )
+						.getResultList();
+				assertEquals( 1, authors.size() );
+				assertEquals( (Integer) ( i == 0 ? 1 : 2 ), authors.get( 0 ).id );
+			}
+		} );
+
+		assertEquals( 1, statistics().getCriteriaCompilationCacheHitCount() );
+	}
+
+	@Test
+	public void testGeneratedAliases() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( String name : new String[] { "Vlad", "Gavin" } ) {
+				final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+				final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+				final Root<Book> book = query.from( Book.class );
+				final Join<Book, Author> author = book.join( "author", JoinType.INNER );
+				author.on( cb.equal( author.get( "name" ), cb.literal( name ) ) );
+				query.multiselect( book.get( "title" ).alias( "title" ), author );
+				query.orderBy( cb.asc( book.get( "id" ) ) );
+
+				final List<Tuple> tuples = entityManager.createQuery( query ).getResultList();
+				assertEquals( "generatedAlias0", book.getAlias() );
+				assertEquals( "generatedAlias1", author.getAlias() );
+				assertEquals( name.equals( "Vlad" ) ? 1 : 2, tuples.size() );
+				for ( Tuple tuple : tuples ) {
+					assertEquals( name, tuple.get( 1, Author.class ).name );
+				}
+			}
+		} );
+
+		assertEquals( 1, statistics().getCriteriaCompilationCacheHitCount() );
+	}
+
+	@Test
+	public void testSubqueriesAreAlwaysRendered() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+				final CriteriaQuery<Author> query = cb.createQuery( Author.class );
+				final Root<Author> author = query.from( Author.class );
+				final Subquery<Long> books = query.subquery( Long.class );
+				final Root<Book> book = books.from( Book.class );
+				books.select( cb.count( book ) ).where( cb.equal( book.get( "author" ), author ) );
+				query.where( cb.greaterThan( books, 1L ) );
+
+				assertEquals( (Integer) 2, entityManager.createQuery( query ).getSingleResult().id );
+			}
+		} );
+
+		assertEquals( 2, statistics().getCriteriaCompilationCacheMissCount() );
+		assertEquals( 0, statistics().getCriteriaCompilationCacheHitCount() );
+	}
+
+	private TypedQuery<Author> authorsNamed(EntityManager entityManager, String name) {
+		final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		final CriteriaQuery<Author> query = cb.createQuery( Author.class );
+		final Root<Author> author = query.from( Author.class );
+		query.where( cb.equal( author.get( "name" ), cb.literal( name ) ) );
+		return entityManager.createQuery( query );
+	}
+
+	private TypedQuery<Author> authorsOlderThan(EntityManager entityManager, int age) {
+		final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		final CriteriaQuery<Author> query = cb.createQuery( Author.class );
+		final Root<Author> author = query.from( Author.class );
+		query.where( cb.gt( author.get( "age" ), age ) );
+		return entityManager.createQuery( query );
+	}
+
+	private static String jpql(TypedQuery<?> query) {
+		return query.unwrap( Query.class ).getQueryString();
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory().unwrap( SessionFactoryImplementor.class ).getStatistics();
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		private int age;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name, int age) {
+			this.id = id;
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.jpa.test.packaging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.hibernate.boot.archive.scan.internal.JandexScanner;
+import org.hibernate.boot.archive.scan.internal.StandardScanOptions;
+import org.hibernate.boot.archive.scan.internal.StandardScanParameters;
+import org.hibernate.boot.archive.scan.internal.StandardScanner;
+import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
+import org.hibernate.boot.archive.scan.spi.MappingFileDescriptor;
+import org.hibernate.boot.archive.scan.spi.PackageDescriptor;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
+import org.hibernate.boot.archive.scan.spi.Scanner;
+import org.hibernate.jpa.test.pack.defaultpar.ApplicationServer;
+import org.hibernate.jpa.test.pack.defaultpar.IncrementListener;
+import org.hibernate.jpa.test.pack.defaultpar.Lighter;
+import org.hibernate.jpa.test.pack.defaultpar.Money;
+import org.hibernate.jpa.test.pack.defaultpar.Mouse;
+import org.hibernate.jpa.test.pack.defaultpar.Version;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link JandexScanner} against jars and directories written on the fly, with and without a packaged
+ * {@value JandexScanner#INDEX_NAME}, comparing its results with those of {@link StandardScanner}.
+ */
+public class JandexScannerTest extends BaseUnitTestCase {
+
+	private static final String PACKAGE_INFO = "org/hibernate/jpa/test/pack/defaultpar/package-info.class";
+	private static final String MAPPING_FILE = "org/hibernate/jpa/test/pack/defaultpar/Mouse.hbm.xml";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testJarWithoutIndex() throws Exception {
+		final Map<String, byte[]> entries = defaultEntries();
+		final File jar = writeJar( entries );
+
+		final ScanResult expected = scan( new StandardScanner(), jar );
+		final ScanResult scanResult = scan( new JandexScanner(), jar );
+
+		assertEquals( 3, expected.getLocatedClasses().size() );
+		assertEquals( classNames( expected ), classNames( scanResult ) );
+		assertEquals( packageNames( expected ), packageNames( scanResult ) );
+		assertEquals( mappingFileNames( expected ), mappingFileNames( scanResult ) );
+	}
+
+	@Test
+	public void testJarWithPackagedIndex() throws Exception {
+		final Map<String, byte[]> entries = defaultEntries();
+		// the indexed classes are not read, so their content does not matter
+		entries.put( classEntryName( Version.class ), new byte[] { 0 } );
+		entries.put( JandexScanner.INDEX_NAME, index( ApplicationServer.class, Version.class ) );
+		final File jar = writeJar( entries );
+
+		final ScanResult scanResult = scan( new JandexScanner(), jar );
+
+		final Set<String> expected = new HashSet<>();
+		expected.add( ApplicationServer.class.getName() + ":MODEL" );
+		expected.add( Version.class.getName() + ":MODEL" );
+		// not in the index
+		expected.add( Money.class.getName() + ":MODEL" );
+		assertEquals( expected, classNames( scanResult ) );
+		assertEquals( Collections.singleton( "org.hibernate.jpa.test.pack.defaultpar" ), packageNames( scanResult ) );
+		assertEquals( Collections.singleton( MAPPING_FILE ), mappingFileNames( scanResult ) );
+
+		// the entries are read from the jar only when accessed, here once its visit is over
+		final MappingFileDescriptor mappingFile = scanResult.getLocatedMappingFiles().iterator().next();
+		try ( InputStream stream = mappingFile.getStreamAccess().accessInputStream() ) {
+			assertEquals( "<hibernate-mapping/>", new String( readFully( stream ), StandardCharsets.UTF_8 ) );
+		}
+	}
+
+	@Test
+	public void testDirectoryWithPackagedIndex() throws Exception {
+		final Map<String, byte[]> entries = defaultEntries();
+		// the indexed classes are not read, so their content does not matter
+		entries.put( classEntryName( Version.class ), new byte[] { 0 } );
+		entries.put( JandexScanner.INDEX_NAME, index( ApplicationServer.class, Version.class ) );
+		final File directory = writeDirectory( entries );
+
+		final ScanResult scanResult = scan( new JandexScanner(), directory );
+
+		final Set<String> expected = new HashSet<>();
+		expected.add( ApplicationServer.class.getName() + ":MODEL" );
+		expected.add( Version.class.getName() + ":MODEL" );
+		// not in the index
+		expected.add( Money.class.getName() + ":MODEL" );
+		assertEquals( expected, classNames( scanResult ) );
+		assertEquals( Collections.singleton( MAPPING_FILE ), mappingFileNames( scanResult ) );
+	}
+
+	@Test
+	public void testJarWithStaleIndex() throws Exception {
+		final Map<String, byte[]> entries = defaultEntries();
+		entries.remove( classEntryName( Money.class ) );
+		entries.put( JandexScanner.INDEX_NAME, index( ApplicationServer.class, Money.class ) );
+		final File jar = writeJar( entries );
+
+		final ScanResult scanResult = scan( new JandexScanner(), jar );
+
+		// Money is indexed, but no longer in the archive
+		assertEquals( classNames( scan( new StandardScanner(), jar ) ), classNames( scanResult ) );
+		assertEquals( 2, scanResult.getLocatedClasses().size() );
+	}
+
+	@Test
+	public void testJarWithUnreadableIndex() throws Exception {
+		final Map<String, byte[]> entries = defaultEntries();
+		entries.put( JandexScanner.INDEX_NAME, "not an index".getBytes( StandardCharsets.UTF_8 ) );
+		final File jar = writeJar( entries );
+
+		final ScanResult scanResult = scan( new JandexScanner(), jar );
+
+		assertEquals( classNames( scan( new StandardScanner(), jar ) ), classNames( scanResult ) );
+		assertEquals( 3, scanResult.getLocatedClasses().size() );
+	}
+
+	private static Map<String, byte[]> defaultEntries() throws IOException {
+		final Map<String, byte[]> entries = new LinkedHashMap<>();
+		for ( Class<?> entryClass : new Class<?>[] {
+				ApplicationServer.class,
+				IncrementListener.class,
+				Lighter.class,
+				Money.class,
+				Mouse.class,
+				Version.class
+		} ) {
+			entries.put( classEntryName( entryClass ), read( classEntryName( entryClass ) ) );
+		}
+		entries.put( PACKAGE_INFO, read( PACKAGE_INFO ) );
+		entries.put( MAPPING_FILE, "<hibernate-mapping/>".getBytes( StandardCharsets.UTF_8 ) );
+		return entries;
+	}
+
+	private static String classEntryName(Class<?> entryClass) {
+		return entryClass.getName().replace( '.', '/' ) + ".class";
+	}
+
+	private static byte[] read(String resourceName) throws IOException {
+		try ( InputStream stream = JandexScannerTest.class.getClassLoader().getResourceAsStream( resourceName ) ) {
+			return readFully( stream );
+		}
+	}
+
+	private static byte[] readFully(InputStream stream) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		int read;
+		while ( ( read = stream.read( buffer ) ) != -1 ) {
+			bytes.write( buffer, 0, read );
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] index(Class<?>... indexedClasses) throws IOException {
+		final Indexer indexer = new Indexer();
+		for ( Class<?> indexedClass : indexedClasses ) {
+			try ( InputStream stream = JandexScannerTest.class.getClassLoader()
+					.getResourceAsStream( classEntryName( indexedClass ) ) ) {
+				indexer.index( stream );
+			}
+		}
+		final ByteArrayOutputStream index = new ByteArrayOutputStream();
+		new IndexWriter( index ).write( indexer.complete() );
+		return index.toByteArray();
+	}
+
+	private File writeJar(Map<String, byte[]> entries) throws IOException {
+		final File jar = temporaryFolder.newFile( "scanned.jar" );
+		try ( JarOutputStream stream = new JarOutputStream( new FileOutputStream( jar ) ) ) {
+			for ( Map.Entry<String, byte[]> entry : entries.entrySet() ) {
+				stream.putNextEntry( new ZipEntry( entry.getKey() ) );
+				stream.write( entry.getValue() );
+				stream.closeEntry();
+			}
+		}
+		return jar;
+	}
+
+	private File writeDirectory(Map<String, byte[]> entries) throws IOException {
+		final File directory = temporaryFolder.newFolder( "scanned" );
+		for ( Map.Entry<String, byte[]> entry : entries.entrySet() ) {
+			final File file = new File( directory, entry.getKey() );
+			file.getParentFile().mkdirs();
+			try ( FileOutputStream stream = new FileOutputStream( file ) ) {
+				stream.write( entry.getValue() );
+			}
+		}
+		return directory;
+	}
+
+	private static ScanResult scan(Scanner scanner, File archive) throws IOException {
+		final URL rootUrl = archive.toURI().toURL();
+		final ScanEnvironment environment = new ScanEnvironment() {
+			@Override
+			public URL getRootUrl() {
+				return rootUrl;
+			}
+
+			@Override
+			public List<URL> getNonRootUrls() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedClassNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedMappingFiles() {
+				return Collections.emptyList();
+			}
+		};
+		return scanner.scan( environment, new StandardScanOptions(), StandardScanParameters.INSTANCE );
+	}
+
+	private static Set<String> classNames(ScanResult scanResult) {
+		final Set<String> classNames = new HashSet<>();
+		for ( ClassDescriptor classDescriptor : scanResult.getLocatedClasses() ) {
+			classNames.add( classDescriptor.getName() + ":" + classDescriptor.getCategorization() );
+		}
+		return classNames;
+	}
+
+	private static Set<String> packageNames(ScanResult scanResult) {
+		final Set<String> packageNames = new HashSet<>();
+		for ( PackageDescriptor packageDescriptor : scanResult.getLocatedPackages() ) {
+			packageNames.add( packageDescriptor.getName() );
+		}
+		return packageNames;
+	}
+
+	private static Set<String> mappingFileNames(ScanResult scanResult) {
+		final Set<String> mappingFileNames = new HashSet<>();
+		for ( MappingFileDescriptor mappingFileDescriptor : scanResult.getLocatedMappingFiles() ) {
+			mappingFileNames.add( mappingFileDescriptor.getName() );
+		}
+		return mappingFileNames;
+	}
+}
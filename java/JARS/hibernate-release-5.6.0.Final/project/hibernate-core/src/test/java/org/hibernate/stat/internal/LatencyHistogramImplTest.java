@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramImplTest {
+
+	@Test
+	public void testEmptyHistogram() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getMaxTime() );
+		assertEquals( 0, histogram.getPercentile99Time() );
+	}
+
+	@Test
+	public void testBuckets() {
+		long previousHighestTime = -1;
+		for ( long time = 0; time < 1L << 20; time++ ) {
+			final int index = LatencyHistogramImpl.bucketIndex( time );
+			final long highestTime = LatencyHistogramImpl.highestTimeOf( index );
+			assertTrue( time <= highestTime );
+			assertTrue( highestTime - time <= time / 16 );
+			if ( highestTime != previousHighestTime ) {
+				// a new bucket starts right after the previous one
+				assertEquals( previousHighestTime + 1, time );
+				previousHighestTime = highestTime;
+			}
+		}
+		assertEquals(
+				LatencyHistogramImpl.bucketIndex( 1L << 32 ),
+				LatencyHistogramImpl.bucketIndex( Long.MAX_VALUE )
+		);
+	}
+
+	@Test
+	public void testPercentiles() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl();
+		for ( int time = 1; time <= 10_000; time++ ) {
+			histogram.record( time );
+		}
+
+		assertEquals( 10_000, histogram.getCount() );
+		assertEquals( 10_000, histogram.getMaxTime() );
+		assertWithinPrecision( 5_000, histogram.getMedianTime() );
+		assertWithinPrecision( 9_500, histogram.getPercentile95Time() );
+		assertWithinPrecision( 9_900, histogram.getPercentile99Time() );
+		assertWithinPrecision( 9_990, histogram.getPercentile999Time() );
+		assertEquals( 10_000, histogram.getTimeAtPercentile( 100 ) );
+		assertEquals( 1, histogram.getTimeAtPercentile( 0 ) );
+	}
+
+	@Test
+	public void testTail() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl();
+		for ( int i = 0; i < 990; i++ ) {
+			histogram.record( 100 );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			histogram.record( 250_000 );
+		}
+
+		assertWithinPrecision( 100, histogram.getPercentile95Time() );
+		assertWithinPrecision( 100, histogram.getPercentile99Time() );
+		assertEquals( 250_000, histogram.getPercentile999Time() );
+	}
+
+	@Test
+	public void testReset() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl();
+		histogram.record( 42 );
+		histogram.record( -1 );
+		assertEquals( 2, histogram.getCount() );
+		assertEquals( 0, histogram.getTimeAtPercentile( 50 ) );
+
+		histogram.reset();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getMaxTime() );
+		assertEquals( 0, histogram.getMedianTime() );
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercentile() {
+		new LatencyHistogramImpl().getTimeAtPercentile( 101 );
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue( "Expected about " + expected + " but was " + actual, actual >= expected );
+		assertTrue( "Expected about " + expected + " but was " + actual, actual - expected <= expected / 16 );
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.LatencyHistogram;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the latency histograms of the statistics, and their exposure through JMX.
+ */
+public class LatencyStatisticsTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final String QUERY = "select e from Employee e";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Employee.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "5" );
+		settings.put( AvailableSettings.JMX_ENABLED, "true" );
+		settings.put( AvailableSettings.JMX_PLATFORM_SERVER, "true" );
+		settings.put( AvailableSettings.JMX_SF_NAME, LatencyStatisticsTest.class.getSimpleName() );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void clearStatistics() {
+		statistics().clear();
+	}
+
+	@Test
+	public void testLatencyHistograms() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 10; i++ ) {
+				session.persist( new Employee( i, "employee" + i ) );
+			}
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 10, session.createQuery( QUERY, Employee.class ).getResultList().size() );
+			session.get( Employee.class, 1 );
+		} );
+
+		final Statistics statistics = statistics();
+		assertEquals( 2, statistics.getFlushLatencyHistogram().getCount() );
+		assertEquals( 2, statistics.getBatchExecutionLatencyHistogram().getCount() );
+		assertEquals( 1, statistics.getQueryExecutionLatencyHistogram().getCount() );
+		assertEquals( 0, statistics.getEntityLoadLatencyHistogram().getCount() );
+		assertEquals( 1, statistics.getQueryStatistics( QUERY ).getExecutionLatencyHistogram().getCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( Employee.class, 1 );
+			session.get( Employee.class, 2 );
+		} );
+
+		assertEquals( 2, statistics.getEntityLoadLatencyHistogram().getCount() );
+		final LatencyHistogram entityLoadLatency = statistics.getEntityStatistics( Employee.class.getName() )
+				.getLoadLatencyHistogram();
+		assertEquals( 2, entityLoadLatency.getCount() );
+		assertTrue( entityLoadLatency.getPercentile99Time() <= entityLoadLatency.getMaxTime() );
+
+		statistics.clear();
+		assertEquals( 0, statistics.getEntityLoadLatencyHistogram().getCount() );
+		assertEquals( 0, statistics.getFlushLatencyHistogram().getCount() );
+	}
+
+	@Test
+	public void testJmx() throws Exception {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Employee( 1, "employee" ) );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( QUERY, Employee.class ).getResultList();
+		} );
+
+		final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		final Set<ObjectName> names = mBeanServer.queryNames(
+				new ObjectName( "org.hibernate.core:sessionFactory=LatencyStatisticsTest,serviceRole=*,serviceType=*" ),
+				null
+		);
+		ObjectName statisticsName = null;
+		for ( ObjectName name : names ) {
+			if ( name.getKeyProperty( "serviceRole" ).endsWith( "StatisticsImplementor" ) ) {
+				statisticsName = name;
+			}
+		}
+
+		assertEquals( 1L, mBeanServer.getAttribute( statisticsName, "QueryExecutionCount" ) );
+		final CompositeData latency = (CompositeData) mBeanServer.getAttribute(
+				statisticsName,
+				"QueryExecutionLatencyHistogram"
+		);
+		assertEquals( 1L, latency.get( "count" ) );
+		assertTrue( (Long) latency.get( "percentile99Time" ) <= (Long) latency.get( "maxTime" ) );
+
+		final CompositeData queryStatistics = (CompositeData) mBeanServer.invoke(
+				statisticsName,
+				"getQueryStatistics",
+				new Object[] { QUERY },
+				new String[] { String.class.getName() }
+		);
+		final CompositeData queryLatency = (CompositeData) queryStatistics.get( "executionLatencyHistogram" );
+		assertEquals( 1L, queryLatency.get( "count" ) );
+	}
+
+	private Statistics statistics() {
+		return sessionFactory().getStatistics();
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.Map;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInJPA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the eviction count of the query plan cache, using the W-TinyLFU eviction policy.
+ */
+public class QueryPlanCacheEvictionStatisticsTest extends BaseEntityManagerFunctionalTestCase {
+
+	private static final int QUERY_PLAN_CACHE_MAX_SIZE = 8;
+
+	private Statistics statistics;
+
+	@Override
+	public Class[] getAnnotatedClasses() {
+		return new Class[] {
+				Employee.class
+		};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		options.put( AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, String.valueOf( QUERY_PLAN_CACHE_MAX_SIZE ) );
+		options.put( AvailableSettings.QUERY_PLAN_CACHE_EVICTION, "w_tiny_lfu" );
+	}
+
+	@Override
+	protected void afterEntityManagerFactoryBuilt() {
+		statistics = entityManagerFactory().unwrap( SessionFactory.class ).getStatistics();
+	}
+
+	@Test
+	public void testEvictionCount() {
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryPlanCacheEvictionCount() );
+
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( int i = 0; i < 50; i++ ) {
+				entityManager.createQuery( "select e from Employee e where e.id = " + i ).getResultList();
+			}
+		} );
+
+		assertEquals( 50, statistics.getQueryPlanCacheMissCount() );
+		assertTrue( statistics.getQueryPlanCacheEvictionCount() >= 50 - QUERY_PLAN_CACHE_MAX_SIZE );
+		assertTrue( statistics.getQueryPlanCacheEvictionCount() <= 50 );
+
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			entityManager.createQuery( "select e from Employee e where e.name is null" ).getResultList();
+			entityManager.createQuery( "select e from Employee e where e.name is null" ).getResultList();
+		} );
+
+		assertEquals( 51, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( 1, statistics.getQueryPlanCacheHitCount() );
+	}
+
+	@Entity(name = "Employee")
+	@Table(name = "employee")
+	public static class Employee {
+
+		@Id
+		private Long id;
+
+		private String name;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchSize;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the convergence of {@link AdaptiveBatchSize} on synthetic latencies.
+ */
+public class AdaptiveBatchSizeTest extends BaseUnitTestCase {
+
+	@Test
+	public void testConvergesToCheapestSize() {
+		// a fixed round trip cost plus a per row cost growing with the batch size: cheapest per row around 45
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 10, 200 );
+		for ( int i = 0; i < 1000; i++ ) {
+			final int rows = batchSize.getBatchSize();
+			batchSize.batchExecuted( rows, 1_000_000L + 10_000L * rows + 500L * rows * rows );
+		}
+		final int size = batchSize.getBatchSize();
+		assertTrue( "Unexpected batch size " + size, size >= 35 && size <= 55 );
+	}
+
+	@Test
+	public void testGrowsUpToMaximum() {
+		// only round trip cost: the larger the better
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 10, 50 );
+		for ( int i = 0; i < 1000; i++ ) {
+			batchSize.batchExecuted( batchSize.getBatchSize(), 1_000_000L );
+		}
+		assertEquals( 50, batchSize.getBatchSize() );
+	}
+
+	@Test
+	public void testPartialBatchesAreIgnored() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 10, 50 );
+		for ( int i = 0; i < 100; i++ ) {
+			batchSize.batchExecuted( 3, 1_000_000L );
+		}
+		assertEquals( 10, batchSize.getBatchSize() );
+	}
+}
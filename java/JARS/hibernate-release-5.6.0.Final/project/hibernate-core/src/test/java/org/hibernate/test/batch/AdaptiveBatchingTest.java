@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.BatchExecutionHookConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests batching with {@link AvailableSettings#ADAPTIVE_BATCH_SIZE} enabled, with the execution of the batches
+ * slowed down: by a fixed round trip cost for the messages, and by a cost growing with the square of the row
+ * count for the reports.
+ */
+public class AdaptiveBatchingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int INITIAL_BATCH_SIZE = 5;
+	private static final int MAXIMUM_BATCH_SIZE = 20;
+
+	private final BatchExecutionHookConnectionProvider connectionProvider = new BatchExecutionHookConnectionProvider();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Message.class, Report.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString( INITIAL_BATCH_SIZE ) );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE, "true" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_MAX_SIZE, Integer.toString( MAXIMUM_BATCH_SIZE ) );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+		connectionProvider.setHook( new BatchExecutionHookConnectionProvider.Hook() {
+			@Override
+			public void beforeExecuteBatch(String sql, int rowCount) {
+				if ( sql.startsWith( "insert into Message" ) ) {
+					sleep( 5 );
+				}
+				else if ( sql.startsWith( "insert into Report" ) ) {
+					sleep( rowCount * rowCount / 4 );
+				}
+			}
+		} );
+	}
+
+	@Override
+	public void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testBatchSizeGrowsWhenRoundTripsDominate() {
+		final AdaptiveBatchBuilderImpl batchBuilder = adaptiveBatchBuilder();
+		assertEquals( MAXIMUM_BATCH_SIZE, batchBuilder.getMaximumJdbcBatchSize() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 1000; i++ ) {
+				session.persist( new Message( i, "message " + i ) );
+			}
+		} );
+
+		final int batchSize = batchSize( batchBuilder, Message.class );
+		assertTrue( "Unexpected batch size " + batchSize, batchSize > INITIAL_BATCH_SIZE && batchSize <= MAXIMUM_BATCH_SIZE );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 1000L, session.createQuery( "select count(m) from Message m" ).uniqueResult() );
+		} );
+	}
+
+	@Test
+	public void testBatchSizeShrinksWhenRowsDominate() {
+		final AdaptiveBatchBuilderImpl batchBuilder = adaptiveBatchBuilder();
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 500; i++ ) {
+				session.persist( new Report( i, "report " + i ) );
+			}
+		} );
+
+		final int batchSize = batchSize( batchBuilder, Report.class );
+		assertTrue( "Unexpected batch size " + batchSize, batchSize >= 1 && batchSize < INITIAL_BATCH_SIZE );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 500L, session.createQuery( "select count(r) from Report r" ).uniqueResult() );
+		} );
+	}
+
+	private AdaptiveBatchBuilderImpl adaptiveBatchBuilder() {
+		final BatchBuilder batchBuilder = serviceRegistry().getService( BatchBuilder.class );
+		assertTrue( batchBuilder instanceof AdaptiveBatchBuilderImpl );
+		return (AdaptiveBatchBuilderImpl) batchBuilder;
+	}
+
+	private static int batchSize(AdaptiveBatchBuilderImpl batchBuilder, Class<?> entityClass) {
+		return batchBuilder.getAdaptiveJdbcBatchSizes().get( entityClass.getName() + "#INSERT" );
+	}
+
+	@Entity(name = "Message")
+	public static class Message {
+		@Id
+		private Integer id;
+
+		private String text;
+
+		public Message() {
+		}
+
+		public Message(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+
+	@Entity(name = "Report")
+	public static class Report {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		public Report() {
+		}
+
+		public Report(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests batching of interleaved inserts into several tables with
+ * {@link AvailableSettings#BATCH_MULTIPLE_TABLES} enabled.
+ */
+public class MultiTableBatchingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final String INSERT_AUTHOR = "insert into Author (name, id) values (?, ?)";
+	private static final String INSERT_BOOK = "insert into Book (author_id, title, id) values (?, ?, ?)";
+	private static final String INSERT_DEPARTMENT = "insert into Department (manager_id, name, id) values (?, ?, ?)";
+	private static final String INSERT_EMPLOYEE = "insert into Employee (department_id, name, id) values (?, ?, ?)";
+
+	private final PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider( true, false );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class, Department.class, Employee.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.BATCH_MULTIPLE_TABLES, "true" );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	public void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testInterleavedInserts() throws SQLException {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 5; i++ ) {
+				final Author author = new Author( i, "author " + i );
+				session.persist( author );
+				session.persist( new Book( i, "book " + i, author ) );
+			}
+		} );
+
+		verifyBatch( INSERT_AUTHOR, 5 );
+		verifyBatch( INSERT_BOOK, 5 );
+	}
+
+	@Test
+	public void testDependentInsertIsNotExecutedAhead() throws SQLException {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final Department sales = new Department( 1, "sales" );
+			session.persist( sales );
+			final Employee employee = new Employee( 1, "employee", sales );
+			session.persist( employee );
+			// references a row of a table written by a batch started later: must not be executed ahead of it
+			final Department marketing = new Department( 2, "marketing" );
+			marketing.manager = employee;
+			session.persist( marketing );
+		} );
+
+		final List<PreparedStatement> departmentStatements = connectionProvider.getPreparedStatements( INSERT_DEPARTMENT );
+		assertEquals( 2, departmentStatements.size() );
+		for ( PreparedStatement statement : departmentStatements ) {
+			verify( statement, times( 1 ) ).addBatch();
+			verify( statement, times( 1 ) ).executeBatch();
+		}
+		verifyBatch( INSERT_EMPLOYEE, 1 );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "employee", session.get( Department.class, 2 ).manager.name );
+		} );
+	}
+
+	private void verifyBatch(String sql, int size) throws SQLException {
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements( sql );
+		assertEquals( 1, statements.size() );
+		verify( statements.get( 0 ), times( size ) ).addBatch();
+		verify( statements.get( 0 ), times( 1 ) ).executeBatch();
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity(name = "Department")
+	public static class Department {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne
+		private Employee manager;
+
+		public Department() {
+		}
+
+		public Department(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne
+		private Department department;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, String name, Department department) {
+			this.id = id;
+			this.name = name;
+			this.department = department;
+		}
+	}
+}
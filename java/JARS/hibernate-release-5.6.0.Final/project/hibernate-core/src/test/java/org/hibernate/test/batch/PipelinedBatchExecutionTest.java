@@ -0,0 +1,321 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.FlushMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.BatchExecutionHookConnectionProvider;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.hamcrest.CoreMatchers.everyItem;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests batching with {@link AvailableSettings#PIPELINED_BATCH_EXECUTION} enabled.
+ */
+public class PipelinedBatchExecutionTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final String INSERT_EVENT = "insert into Event (name, id) values (?, ?)";
+
+	private final PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider( true, false );
+	private final BatchExecutionHookConnectionProvider hookConnectionProvider = new BatchExecutionHookConnectionProvider();
+
+	private volatile Consumer<PostInsertEvent> onInsert;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Event.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.PIPELINED_BATCH_EXECUTION, "true" );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		hookConnectionProvider.setConnectionProvider( connectionProvider );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, hookConnectionProvider );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt(SessionFactoryImplementor sessionFactory) {
+		sessionFactory.getServiceRegistry()
+				.getService( EventListenerRegistry.class )
+				.appendListeners( EventType.POST_INSERT, new InsertCallbackListener() );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Override
+	public void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testFullBatchesAreHandedOff() throws SQLException {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 35; i++ ) {
+				session.persist( new Event( i, "event " + i ) );
+			}
+		} );
+
+		// each full batch is executed on its own statement, the rows of the next one being bound to a new statement
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements( INSERT_EVENT );
+		assertEquals( 4, statements.size() );
+		for ( int i = 0; i < statements.size(); i++ ) {
+			verify( statements.get( i ), times( i < 3 ? 10 : 5 ) ).addBatch();
+			verify( statements.get( i ), times( 1 ) ).executeBatch();
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 35L, session.createQuery( "select count(e) from Event e where e.id < 100" ).uniqueResult() );
+		} );
+	}
+
+	@Test
+	public void testConnectionIsNotUsedWhileBatchIsInFlight() {
+		final ConcurrentUseProbe probe = new ConcurrentUseProbe( Thread.currentThread() );
+		hookConnectionProvider.setHook( probe );
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				for ( int i = 200; i < 235; i++ ) {
+					session.persist( new Event( i, "event " + i ) );
+				}
+			} );
+		}
+		finally {
+			hookConnectionProvider.setHook( null );
+		}
+
+		// the 3 full batches are executed by the pool, and the session's thread waits for them before binding the next rows
+		assertEquals( 3, probe.pooledExecutionThreads.size() );
+		assertThat( probe.pooledExecutionThreads, everyItem( startsWith( "hibernate-batch-execution-" ) ) );
+		assertEquals( Collections.emptyList(), probe.concurrentCalls );
+	}
+
+	@Test
+	public void testQueryWaitsForBatchInFlight() {
+		final ConcurrentUseProbe probe = new ConcurrentUseProbe( Thread.currentThread() );
+		final List<Long> counts = new ArrayList<>();
+		hookConnectionProvider.setHook( probe );
+		onInsert = event -> {
+			final Event entity = (Event) event.getEntity();
+			if ( entity.id % 10 == 9 ) {
+				final Number count = (Number) event.getSession()
+						.createNativeQuery( "select count(*) from Event where id >= 300" )
+						.setHibernateFlushMode( FlushMode.MANUAL )
+						.uniqueResult();
+				counts.add( count.longValue() );
+			}
+		};
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				for ( int i = 300; i < 335; i++ ) {
+					session.persist( new Event( i, "event " + i ) );
+				}
+			} );
+		}
+		finally {
+			onInsert = null;
+			hookConnectionProvider.setHook( null );
+		}
+
+		// each query is issued right after a full batch was handed off, and sees its rows as it waits for it
+		assertEquals( 3, probe.pooledExecutionThreads.size() );
+		assertEquals( Arrays.asList( 10L, 20L, 30L ), counts );
+		assertEquals( Collections.emptyList(), probe.concurrentCalls );
+	}
+
+	@Test
+	public void testFailureIsReportedAtFlush() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Event( 105, "existing" ) );
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 100; i < 130; i++ ) {
+				session.persist( new Event( i, "event " + i ) );
+			}
+			try {
+				session.flush();
+				fail( "Expecting the duplicate key to be reported" );
+			}
+			catch (PersistenceException e) {
+				assertTrue( e.getCause() instanceof ConstraintViolationException );
+				session.getTransaction().markRollbackOnly();
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					1L,
+					session.createQuery( "select count(e) from Event e where e.id >= 100" ).uniqueResult()
+			);
+		} );
+	}
+
+	@Test
+	public void testRollbackWaitsForBatchInFlight() {
+		final ConcurrentUseProbe probe = new ConcurrentUseProbe( Thread.currentThread() );
+		hookConnectionProvider.setHook( probe );
+		onInsert = event -> {
+			// fails right after the first full batch was handed off
+			if ( ( (Event) event.getEntity() ).id == 409 ) {
+				throw new ListenerFailure();
+			}
+		};
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				for ( int i = 400; i < 435; i++ ) {
+					session.persist( new Event( i, "event " + i ) );
+				}
+			} );
+			fail( "Expecting the listener failure to be reported" );
+		}
+		catch (RuntimeException e) {
+			Throwable cause = e;
+			while ( cause != null && !( cause instanceof ListenerFailure ) ) {
+				cause = cause.getCause();
+			}
+			assertTrue( cause instanceof ListenerFailure );
+		}
+		finally {
+			onInsert = null;
+			hookConnectionProvider.setHook( null );
+		}
+
+		// the rollback waits for the batch in flight, and undoes it
+		assertEquals( 1, probe.pooledExecutionThreads.size() );
+		assertEquals( Collections.emptyList(), probe.concurrentCalls );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					0L,
+					session.createQuery( "select count(e) from Event e where e.id >= 400" ).uniqueResult()
+			);
+		} );
+	}
+
+	private static class ListenerFailure extends RuntimeException {
+	}
+
+	/**
+	 * Holds each execution on a thread of the pool for a while, and records the calls made on the connection or
+	 * its statements by another thread in the meantime.
+	 */
+	private static class ConcurrentUseProbe implements BatchExecutionHookConnectionProvider.Hook {
+		private static final long HOLD_MILLIS = 100;
+
+		private final Thread sessionThread;
+		private final List<String> pooledExecutionThreads = new ArrayList<>();
+		private final List<String> concurrentCalls = new ArrayList<>();
+		private Thread executingThread;
+
+		private ConcurrentUseProbe(Thread sessionThread) {
+			this.sessionThread = sessionThread;
+		}
+
+		@Override
+		public synchronized void driverCall(String method) {
+			if ( executingThread != null && executingThread != Thread.currentThread() ) {
+				concurrentCalls.add( method );
+			}
+		}
+
+		@Override
+		public void beforeExecuteBatch(String sql, int rowCount) {
+			if ( Thread.currentThread() == sessionThread ) {
+				return;
+			}
+			synchronized ( this ) {
+				executingThread = Thread.currentThread();
+				pooledExecutionThreads.add( executingThread.getName() );
+			}
+			try {
+				// leaves the session's thread the time to use the connection, if it does not wait for the batch
+				Thread.sleep( HOLD_MILLIS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public synchronized void afterExecuteBatch(String sql) {
+			if ( executingThread == Thread.currentThread() ) {
+				executingThread = null;
+			}
+		}
+	}
+
+	/**
+	 * Runs the {@link #onInsert} callback of the running test, if any, after each insert.
+	 */
+	private class InsertCallbackListener implements PostInsertEventListener {
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			final Consumer<PostInsertEvent> callback = onInsert;
+			if ( callback != null ) {
+				callback.accept( event );
+			}
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			return false;
+		}
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Event() {
+		}
+
+		public Event(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
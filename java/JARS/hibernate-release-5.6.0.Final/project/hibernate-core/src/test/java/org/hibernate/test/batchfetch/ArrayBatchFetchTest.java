@@ -0,0 +1,250 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batchfetch;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.loader.BatchFetchStyle;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.jdbc.ConnectionProviderDelegate;
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.internal.util.MockUtil;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests that {@link BatchFetchStyle#ARRAY} batch-fetches any number of entities or collections with the same SQL.
+ */
+@RequiresDialect({ H2Dialect.class, PostgreSQL81Dialect.class })
+public class ArrayBatchFetchTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private final ArrayTrackingConnectionProvider connectionProvider = new ArrayTrackingConnectionProvider();
+
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.ARRAY );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	public void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected void prepareTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long id = 1; id <= 10; id++ ) {
+				final Author author = new Author( id, "author" + id );
+				author.nicknames.add( "nickname" + id );
+				session.persist( author );
+				session.persist( new Book( id, author ) );
+			}
+		} );
+	}
+
+	@Override
+	protected void cleanupTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Book" ).executeUpdate();
+			session.createQuery( "from Author", Author.class ).list().forEach( session::delete );
+		} );
+	}
+
+	@Test
+	public void testEntityBatches() {
+		final Set<String> batchStatements = new HashSet<>();
+		for ( int books = 2; books <= 7; books++ ) {
+			final int maxId = books;
+			doInHibernate( this::sessionFactory, session -> {
+				final List<Book> list = session.createQuery( "from Book where id <= :maxId order by id", Book.class )
+						.setParameter( "maxId", (long) maxId )
+						.list();
+				sqlStatementInterceptor.clear();
+
+				assertEquals( "author1", list.get( 0 ).author.getName() );
+				for ( Book book : list ) {
+					assertEquals( "author" + book.id, book.author.getName() );
+				}
+				sqlStatementInterceptor.assertExecutedCount( 1 );
+				batchStatements.add( sqlStatementInterceptor.getSqlQueries().getFirst() );
+			} );
+		}
+		assertEquals( 1, batchStatements.size() );
+	}
+
+	@Test
+	public void testCollectionBatches() {
+		final Set<String> batchStatements = new HashSet<>();
+		for ( int authors = 2; authors <= 7; authors++ ) {
+			final int maxId = authors;
+			doInHibernate( this::sessionFactory, session -> {
+				final List<Author> list = session.createQuery( "from Author where id <= :maxId order by id", Author.class )
+						.setParameter( "maxId", (long) maxId )
+						.list();
+				sqlStatementInterceptor.clear();
+
+				assertFalse( Hibernate.isInitialized( list.get( 0 ).nicknames ) );
+				Hibernate.initialize( list.get( 0 ).nicknames );
+				for ( Author author : list ) {
+					assertTrue( Hibernate.isInitialized( author.nicknames ) );
+					assertEquals( "nickname" + author.id, author.nicknames.iterator().next() );
+				}
+				sqlStatementInterceptor.assertExecutedCount( 1 );
+				batchStatements.add( sqlStatementInterceptor.getSqlQueries().getFirst() );
+			} );
+		}
+		assertEquals( 1, batchStatements.size() );
+	}
+
+	@Test
+	public void testMissingEntityInBatch() {
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final Author first = session.load( Author.class, 1L );
+			final Author missing = session.load( Author.class, 42L );
+			assertEquals( "author1", first.getName() );
+			assertTrue( Hibernate.isInitialized( first ) );
+			assertFalse( Hibernate.isInitialized( missing ) );
+			sqlStatementInterceptor.assertExecutedCount( 1 );
+		} );
+	}
+
+	@Test
+	public void testArraysAreFreed() throws SQLException {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Book> list = session.createQuery( "from Book order by id", Book.class ).list();
+			connectionProvider.clear();
+
+			assertEquals( "author1", list.get( 0 ).author.getName() );
+			Hibernate.initialize( list.get( 0 ).author.nicknames );
+		} );
+
+		assertEquals( 2, connectionProvider.createdArrays.size() );
+		for ( Array array : connectionProvider.createdArrays ) {
+			verify( array ).free();
+		}
+	}
+
+	/**
+	 * Keeps the arrays created by the connections, so that the test can check they are freed.
+	 */
+	private static class ArrayTrackingConnectionProvider extends ConnectionProviderDelegate {
+		// the spied connections are kept until the provider stops, otherwise their finalizers could close the
+		// connections of the pool
+		private final List<Connection> connections = new ArrayList<>();
+		private final List<Array> createdArrays = new ArrayList<>();
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = Mockito.spy( super.getConnection() );
+			Mockito.doAnswer( invocation -> {
+				final Array array = Mockito.spy( (Array) invocation.callRealMethod() );
+				createdArrays.add( array );
+				return array;
+			} ).when( connection ).createArrayOf( ArgumentMatchers.anyString(), ArgumentMatchers.any() );
+			connections.add( connection );
+			return connection;
+		}
+
+		@Override
+		public void closeConnection(Connection conn) throws SQLException {
+			super.closeConnection( (Connection) MockUtil.getMockSettings( conn ).getSpiedInstance() );
+		}
+
+		@Override
+		public void stop() {
+			clear();
+			connections.clear();
+			super.stop();
+		}
+
+		void clear() {
+			createdArrays.clear();
+		}
+	}
+
+	@Entity(name = "Author")
+	@BatchSize(size = 10)
+	public static class Author {
+		@Id
+		private Long id;
+
+		private String name;
+
+		@ElementCollection
+		@BatchSize(size = 10)
+		private Set<String> nicknames = new HashSet<>();
+
+		public Author() {
+		}
+
+		public Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Long id, Author author) {
+			this.id = id;
+			this.author = author;
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.boot.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.OneToMany;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the initialization of the persisters, and the check of the named queries, by the threads of the common pool.
+ *
+ * @see AvailableSettings#PARALLEL_SESSION_FACTORY_INITIALIZATION
+ */
+public class ParallelSessionFactoryInitializationTest extends BaseUnitTestCase {
+
+	@Test
+	public void testInitialization() {
+		final String sequentialSqlStrings;
+		try (SessionFactory sessionFactory = buildSessionFactory( false, Library.class, Book.class )) {
+			sequentialSqlStrings = sqlStrings( sessionFactory );
+		}
+
+		try (SessionFactory sessionFactory = buildSessionFactory( true, Library.class, Book.class )) {
+			assertEquals( sequentialSqlStrings, sqlStrings( sessionFactory ) );
+
+			doInHibernate( () -> sessionFactory, session -> {
+				final Library library = new Library( 1, "main" );
+				session.persist( library );
+				final Book book = new Book( 1, "title", library );
+				book.tags.add( "tag" );
+				library.books.add( book );
+				session.persist( book );
+			} );
+			doInHibernate( () -> sessionFactory, session -> {
+				final List<Book> books = session.createNamedQuery( "Book.byLibrary", Book.class )
+						.setParameter( "name", "main" )
+						.getResultList();
+				assertEquals( 1, books.size() );
+				assertEquals( 1, books.get( 0 ).tags.size() );
+				assertEquals( 1, session.get( Library.class, 1 ).books.size() );
+			} );
+		}
+	}
+
+	@Test
+	public void testNamedQueryErrorsAreReportedInOrder() {
+		try (SessionFactory sessionFactory = buildSessionFactory( true, Library.class, Book.class, Broken.class )) {
+			fail( "The broken named queries should have been reported" );
+		}
+		catch (HibernateException e) {
+			final String message = e.getMessage();
+			assertTrue( message, message.startsWith( "Errors in named queries: " ) );
+			final int first = message.indexOf( "Broken.first failed" );
+			final int second = message.indexOf( "Broken.second failed" );
+			assertTrue( message, first > 0 && second > first );
+			assertEquals( -1, message.indexOf( "Book.byLibrary" ) );
+		}
+	}
+
+	private static SessionFactory buildSessionFactory(boolean parallel, Class<?>... annotatedClasses) {
+		final StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.PARALLEL_SESSION_FACTORY_INITIALIZATION, parallel )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( serviceRegistry );
+			for ( Class<?> annotatedClass : annotatedClasses ) {
+				metadataSources.addAnnotatedClass( annotatedClass );
+			}
+			return metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+			throw e;
+		}
+	}
+
+	private static String sqlStrings(SessionFactory sessionFactory) {
+		final AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.unwrap( SessionFactoryImplementor.class )
+				.getMetamodel()
+				.entityPersister( Book.class );
+		return persister.getSQLSnapshotSelectString() + persister.getSQLInsertStrings()[0];
+	}
+
+	@Entity(name = "Library")
+	public static class Library {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@OneToMany(mappedBy = "library")
+		private List<Book> books = new ArrayList<>();
+
+		public Library() {
+		}
+
+		public Library(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	@NamedQuery(name = "Book.byLibrary", query = "select b from Book b where b.library.name = :name")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		@ManyToOne
+		private Library library;
+
+		@ElementCollection
+		private List<String> tags = new ArrayList<>();
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Library library) {
+			this.id = id;
+			this.title = title;
+			this.library = library;
+		}
+	}
+
+	@Entity(name = "Broken")
+	@NamedQueries({
+			@NamedQuery(name = "Broken.second", query = "select b from Missing b"),
+			@NamedQuery(name = "Broken.first", query = "select b.missing from Broken b")
+	})
+	public static class Broken {
+		@Id
+		private Integer id;
+	}
+}
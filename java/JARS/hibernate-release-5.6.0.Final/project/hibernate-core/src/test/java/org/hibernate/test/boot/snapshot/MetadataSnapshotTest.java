@@ -0,0 +1,345 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.boot.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.env.spi.IdentifierHelper;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.mapping.SimpleValue;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Tests the snapshot of the bound metadata.
+ *
+ * @see AvailableSettings#METADATA_SNAPSHOT_FILE
+ */
+public class MetadataSnapshotTest extends BaseUnitTestCase {
+	private static final FileTime UNCHANGED = FileTime.fromMillis( 0 );
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private StandardServiceRegistry ssr;
+
+	@After
+	public void destroyRegistry() {
+		if ( ssr != null ) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	@Test
+	public void testSnapshotIsWrittenThenRead() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+
+		buildMetadata( snapshot, "false" );
+		assertTrue( Files.isRegularFile( snapshot ) );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		final Metadata metadata = buildMetadata( snapshot, "false" );
+		assertEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+
+		try ( SessionFactory sessionFactory = metadata.buildSessionFactory() ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				final Author author = new Author( "Jules Verne", "Nantes" );
+				session.persist( author );
+				final Book book = new Book( "Around the World in Eighty Days", Genre.ADVENTURE, Year.of( 1872 ), author );
+				book.tags.add( "travel" );
+				session.persist( book );
+			} );
+			doInHibernate( () -> sessionFactory, session -> {
+				final Book book = session.createQuery( "from Book", Book.class ).getSingleResult();
+				assertEquals( "Around the World in Eighty Days", book.title );
+				assertEquals( Genre.ADVENTURE, book.genre );
+				assertEquals( Year.of( 1872 ), book.published );
+				assertNotNull( book.created );
+				assertEquals( "Nantes", book.author.birthPlace.city );
+				assertEquals( 1, book.tags.size() );
+			} );
+		}
+	}
+
+	@Test
+	public void testSnapshotOfOtherSettingsIsNotRead() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+
+		buildMetadata( snapshot, "false" );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		buildMetadata( snapshot, "true" );
+		assertNotEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+	}
+
+	@Test
+	public void testSnapshotIsReadDespiteOtherSystemProperties() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+
+		// the system properties are part of the settings, as copied by Environment once per process
+		buildMetadata( snapshot, "false", Collections.singletonMap( "PID", "1234" ) );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		buildMetadata( snapshot, "false", Collections.singletonMap( "PID", "5678" ) );
+		assertEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+	}
+
+	@Test
+	public void testSnapshotOfOtherIdentifierCaseIsNotRead() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+
+		buildMetadata( snapshot, "false" );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		// the same settings, but a database storing the unquoted identifiers in lower case
+		final JdbcEnvironment jdbcEnvironment = spy( ssr.getService( JdbcEnvironment.class ) );
+		final IdentifierHelper identifierHelper = spy( jdbcEnvironment.getIdentifierHelper() );
+		doAnswer( invocation -> ( (Identifier) invocation.getArgument( 0 ) ).getText().toLowerCase( Locale.ROOT ) )
+				.when( identifierHelper ).toMetaDataObjectName( any( Identifier.class ) );
+		doReturn( identifierHelper ).when( jdbcEnvironment ).getIdentifierHelper();
+
+		buildMetadata(
+				snapshot,
+				"false",
+				new StandardServiceRegistryBuilder().addService( JdbcEnvironment.class, jdbcEnvironment )
+		);
+		assertNotEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+	}
+
+	@Test
+	public void testUnreadableSnapshotIsReplaced() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+		Files.write( snapshot, new byte[] { 1, 2, 3 } );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		buildMetadata( snapshot, "false" );
+		assertNotEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+	}
+
+	@Test
+	public void testReadMappingReferencesReadMetadata() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+
+		buildMetadata( snapshot, "false" );
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		final MetadataImplementor metadata = (MetadataImplementor) buildMetadata( snapshot, "false" );
+		assertEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+
+		// rather than the metadata collector of the bootstrap, which holds nothing
+		final SimpleValue identifier = (SimpleValue) metadata.getEntityBinding( Book.class.getName() ).getIdentifier();
+		assertSame( metadata, identifier.getMetadata() );
+		assertSame( metadata, metadata.getCollectionBinding( Book.class.getName() + ".tags" ).getMetadata() );
+	}
+
+	@Test
+	public void testSnapshotOfOtherClassesIsNotRead() throws Exception {
+		final Path snapshot = temporaryFolder.getRoot().toPath().resolve( "metadata.ser" );
+		buildMetadata( snapshot, "false" );
+
+		// an up-to-date snapshot, except for the metadata
+		final PriorityQueue<Integer> queue = new PriorityQueue<>( new DeserializationDetectingComparator() );
+		queue.add( 1 );
+		queue.add( 2 );
+		try ( InputStream in = Files.newInputStream( snapshot );
+				ObjectInputStream original = new ObjectInputStream( in ) ) {
+			final String version = original.readUTF();
+			final Object sourcesDigest = original.readObject();
+			final Object classNames = original.readObject();
+			final Object classesDigest = original.readObject();
+			try ( OutputStream out = Files.newOutputStream( snapshot );
+					ObjectOutputStream forged = new ObjectOutputStream( out ) ) {
+				forged.writeUTF( version );
+				forged.writeObject( sourcesDigest );
+				forged.writeObject( classNames );
+				forged.writeObject( classesDigest );
+				forged.writeObject( queue );
+			}
+		}
+		Files.setLastModifiedTime( snapshot, UNCHANGED );
+
+		buildMetadata( snapshot, "false" );
+		assertNotEquals( UNCHANGED, Files.getLastModifiedTime( snapshot ) );
+	}
+
+	private Metadata buildMetadata(Path snapshot, String orderUpdates) {
+		return buildMetadata( snapshot, orderUpdates, Collections.emptyMap() );
+	}
+
+	private Metadata buildMetadata(Path snapshot, String orderUpdates, Map<String, String> otherSettings) {
+		return buildMetadata( snapshot, orderUpdates, new StandardServiceRegistryBuilder().applySettings( otherSettings ) );
+	}
+
+	private Metadata buildMetadata(Path snapshot, String orderUpdates, StandardServiceRegistryBuilder ssrb) {
+		destroyRegistry();
+		ssr = ssrb
+				.applySetting( AvailableSettings.METADATA_SNAPSHOT_FILE, snapshot.toString() )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.ORDER_UPDATES, orderUpdates )
+				.build();
+		return new MetadataSources( ssr )
+				.addAnnotatedClass( Book.class )
+				.addAnnotatedClass( Author.class )
+				.buildMetadata();
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE)
+		private Long id;
+
+		private String title;
+
+		@Enumerated(EnumType.STRING)
+		private Genre genre;
+
+		@Convert(converter = YearConverter.class)
+		private Year published;
+
+		@CreationTimestamp
+		private Date created;
+
+		@ManyToOne
+		private Author author;
+
+		@ElementCollection
+		private List<String> tags = new ArrayList<>();
+
+		public Book() {
+		}
+
+		public Book(String title, Genre genre, Year published, Author author) {
+			this.title = title;
+			this.genre = genre;
+			this.published = published;
+			this.author = author;
+		}
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE)
+		private Long id;
+
+		private String name;
+
+		@Embedded
+		private Place birthPlace;
+
+		public Author() {
+		}
+
+		public Author(String name, String city) {
+			this.name = name;
+			this.birthPlace = new Place( city );
+		}
+	}
+
+	public enum Genre {
+		ADVENTURE,
+		SCIENCE_FICTION
+	}
+
+	public static class YearConverter implements AttributeConverter<Year, Integer> {
+		@Override
+		public Integer convertToDatabaseColumn(Year attribute) {
+			return attribute == null ? null : attribute.getValue();
+		}
+
+		@Override
+		public Year convertToEntityAttribute(Integer dbData) {
+			return dbData == null ? null : Year.of( dbData );
+		}
+	}
+
+	/**
+	 * Fails the test once deserialized and used, as the comparators of the gadget chains starting with a queue.
+	 */
+	public static class DeserializationDetectingComparator implements Comparator<Integer>, Serializable {
+		private transient boolean deserialized;
+
+		@Override
+		public int compare(Integer first, Integer second) {
+			if ( deserialized ) {
+				throw new AssertionError( "The queue should not have been read from the snapshot" );
+			}
+			return first.compareTo( second );
+		}
+
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			deserialized = true;
+		}
+	}
+
+	@Embeddable
+	public static class Place {
+		private String city;
+
+		public Place() {
+		}
+
+		public Place(String city) {
+			this.city = city;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.bytecode.enhancement.dirty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.bytecode.enhancement.BytecodeEnhancerRunner;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the flush of enhanced entities with {@link AvailableSettings#TRUST_DIRTY_TRACKING} enabled.
+ */
+@RunWith( BytecodeEnhancerRunner.class )
+public class TrustedDirtyTrackingTest extends BaseCoreFunctionalTestCase {
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[]{ TaggedEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.TRUST_DIRTY_TRACKING, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long id = 1; id <= 3; id++ ) {
+				TaggedEntity entity = new TaggedEntity();
+				entity.id = id;
+				entity.name = "entity " + id;
+				entity.checksum = new byte[] { 1, 2, 3 };
+				entity.tags = new ArrayList<>( Arrays.asList( "a", "b" ) );
+				session.persist( entity );
+			}
+		} );
+	}
+
+	@Test
+	public void testTrackedChangesAreFlushed() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from TaggedEntity", TaggedEntity.class ).list();
+			TaggedEntity entity = session.get( TaggedEntity.class, 1L );
+			entity.name = "changed";
+			session.get( TaggedEntity.class, 2L ).tags.add( "c" );
+			session.get( TaggedEntity.class, 3L ).checksum = new byte[] { 4, 5, 6 };
+		} );
+
+		assertEquals( 2, statistics.getEntityUpdateCount() );
+		assertEquals( 1, statistics.getCollectionUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "changed", session.get( TaggedEntity.class, 1L ).name );
+			assertEquals( 3, session.get( TaggedEntity.class, 2L ).tags.size() );
+			assertArrayEquals( new byte[] { 4, 5, 6 }, session.get( TaggedEntity.class, 3L ).checksum );
+		} );
+	}
+
+	@Test
+	public void testUntrackedChangesAreSkipped() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			// changing an array element is not tracked by the enhanced entity
+			session.get( TaggedEntity.class, 1L ).checksum[0] = 9;
+		} );
+
+		assertEquals( 0, statistics.getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertArrayEquals( new byte[] { 1, 2, 3 }, session.get( TaggedEntity.class, 1L ).checksum );
+		} );
+	}
+
+	// --- //
+
+	@Entity( name = "TaggedEntity" )
+	@Table( name = "TAGGED_ENTITY" )
+	private static class TaggedEntity {
+
+		@Id
+		Long id;
+
+		String name;
+
+		byte[] checksum;
+
+		@ElementCollection
+		List<String> tags;
+	}
+}
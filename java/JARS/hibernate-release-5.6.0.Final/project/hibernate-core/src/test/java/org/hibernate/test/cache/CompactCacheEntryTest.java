@@ -0,0 +1,287 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import javax.persistence.Cacheable;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the storage of entities into the second-level cache as compact entries.
+ *
+ * @see AvailableSettings#USE_COMPACT_CACHE_ENTRIES
+ */
+public class CompactCacheEntryTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final Timestamp CREATED = new Timestamp( 1_600_000_000_123L );
+	private static final UUID REFERENCE = UUID.randomUUID();
+
+	static {
+		CREATED.setNanos( 123_456_789 );
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class );
+		settings.put( AvailableSettings.USE_COMPACT_CACHE_ENTRIES, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Supplier.class, Product.class, PerishableProduct.class };
+	}
+
+	@Test
+	public void testCacheHit() {
+		inTransaction( session -> {
+			final Supplier supplier = new Supplier( 1L, "ACME" );
+			session.persist( supplier );
+			session.persist( newProduct( new Product(), supplier ) );
+		} );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Product.class );
+		assertThat( persister.getCacheEntryStructure(), instanceOf( CompactCacheEntry.class ) );
+
+		final Object cachedItem = cachedItem( persister, 1L );
+		assertThat( cachedItem, instanceOf( byte[].class ) );
+		final CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( cachedItem, sessionFactory() );
+		assertEquals( Product.class.getName(), entry.getSubclass() );
+		assertEquals( 0, entry.getVersion() );
+		assertTrue(
+				"The compact entry should be smaller than the serialized standard entry",
+				( (byte[]) cachedItem ).length < SerializationHelper.serialize( entry ).length / 2
+		);
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+			assertProduct( product );
+			assertEquals( 1L, (long) product.supplier.id );
+		} );
+	}
+
+	@Test
+	public void testSubclassCacheHit() {
+		inTransaction( session -> {
+			final PerishableProduct product = new PerishableProduct();
+			newProduct( product, null );
+			product.expiry = LocalDate.of( 2030, 1, 31 );
+			session.persist( product );
+		} );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( PerishableProduct.class );
+		final CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure()
+				.destructure( cachedItem( persister, 1L ), sessionFactory() );
+		assertEquals( PerishableProduct.class.getName(), entry.getSubclass() );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+			assertThat( product, instanceOf( PerishableProduct.class ) );
+			assertProduct( product );
+			assertNull( product.supplier );
+			assertEquals( LocalDate.of( 2030, 1, 31 ), ( (PerishableProduct) product ).expiry );
+		} );
+	}
+
+	@Test
+	public void testUpdate() {
+		inTransaction( session -> session.persist( newProduct( new Product(), null ) ) );
+		inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			product.name = null;
+			product.price = new BigDecimal( "-0.25" );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+			assertNull( product.name );
+			assertEquals( new BigDecimal( "-0.25" ), product.price );
+			assertEquals( 1, product.version );
+		} );
+	}
+
+	@Test
+	public void testStringWithUnpairedSurrogatesCacheHit() {
+		inTransaction( session -> {
+			final Product product = newProduct( new Product(), null );
+			product.name = "Caf\uD83D cr\u00E8me\uDE00";
+			session.persist( product );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+			assertEquals( "Caf\uD83D cr\u00E8me\uDE00", product.name );
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	private Object cachedItem(EntityPersister persister, Object id) {
+		final EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+		return fromTransaction( session -> cacheAccess.get(
+				session,
+				cacheAccess.generateCacheKey( id, persister, sessionFactory(), null )
+		) );
+	}
+
+	private static Product newProduct(Product product, Supplier supplier) {
+		product.id = 1L;
+		product.name = "Café crème";
+		product.quantity = 42;
+		product.weight = 0.5d;
+		product.available = true;
+		product.price = new BigDecimal( "1234567890.12" );
+		product.created = CREATED;
+		product.modified = Instant.ofEpochSecond( 1_700_000_000L, 42 );
+		product.reference = REFERENCE;
+		product.category = Category.FOOD;
+		product.dimensions = new Dimensions( 10, 20 );
+		product.supplier = supplier;
+		return product;
+	}
+
+	private static void assertProduct(Product product) {
+		assertEquals( "Café crème", product.name );
+		assertEquals( 42, product.quantity );
+		assertEquals( 0.5d, product.weight, 0d );
+		assertTrue( product.available );
+		assertEquals( new BigDecimal( "1234567890.12" ), product.price );
+		assertEquals( CREATED, product.created );
+		assertEquals( Instant.ofEpochSecond( 1_700_000_000L, 42 ), product.modified );
+		assertEquals( REFERENCE, product.reference );
+		assertSame( Category.FOOD, product.category );
+		assertArrayEquals( new int[] { 10, 20 }, new int[] { product.dimensions.width, product.dimensions.height } );
+	}
+
+	@Entity(name = "Supplier")
+	public static class Supplier {
+		@Id
+		private Long id;
+
+		private String name;
+
+		public Supplier() {
+		}
+
+		public Supplier(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Product")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Product {
+		@Id
+		private Long id;
+
+		@Version
+		private int version;
+
+		private String name;
+
+		private int quantity;
+
+		private double weight;
+
+		private boolean available;
+
+		private BigDecimal price;
+
+		private Timestamp created;
+
+		private Instant modified;
+
+		private UUID reference;
+
+		@Enumerated(EnumType.STRING)
+		private Category category;
+
+		@Embedded
+		private Dimensions dimensions;
+
+		@ManyToOne
+		private Supplier supplier;
+	}
+
+	@Entity(name = "PerishableProduct")
+	public static class PerishableProduct extends Product {
+		private LocalDate expiry;
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private int width;
+
+		private int height;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+	}
+
+	public enum Category {
+		FOOD,
+		TOOLS
+	}
+}
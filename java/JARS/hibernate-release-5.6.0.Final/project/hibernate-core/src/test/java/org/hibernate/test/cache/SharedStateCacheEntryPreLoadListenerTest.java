@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Map;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.SharedStateCacheEntryImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreLoadEvent;
+import org.hibernate.event.spi.PreLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.test.cache.SharedStateCacheEntryTest.Language;
+import org.hibernate.test.cache.SharedStateCacheEntryTest.Script;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the cached state of immutable entities is not shared when a {@link PreLoadEventListener} could modify
+ * it.
+ *
+ * @see AvailableSettings#USE_SHARED_STATE_CACHE_ENTRIES
+ */
+public class SharedStateCacheEntryPreLoadListenerTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class );
+		settings.put( AvailableSettings.USE_SHARED_STATE_CACHE_ENTRIES, "true" );
+	}
+
+	@Override
+	protected void configureBootstrapServiceRegistryBuilder(BootstrapServiceRegistryBuilder bsrb) {
+		super.configureBootstrapServiceRegistryBuilder( bsrb );
+		bsrb.applyIntegrator( new Integrator() {
+			@Override
+			public void integrate(
+					Metadata metadata,
+					SessionFactoryImplementor sessionFactory,
+					SessionFactoryServiceRegistry serviceRegistry) {
+				serviceRegistry.getService( EventListenerRegistry.class )
+						.appendListeners( EventType.PRE_LOAD, new RenamingPreLoadEventListener() );
+			}
+
+			@Override
+			public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+			}
+		} );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Language.class };
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testStateModifiedByPreLoadListenerIsNotShared() {
+		assertTrue( sessionFactory().getFastSessionServices().hasCustomPreLoadListeners() );
+		inTransaction( session -> session.persist( new Language( "it", "Italian", Script.LATIN ) ) );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Language.class );
+		final EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+		final Object cacheKey = cacheAccess.generateCacheKey( "it", persister, sessionFactory(), null );
+		final CacheEntry cacheEntry = fromTransaction( session -> (CacheEntry) cacheAccess.get( session, cacheKey ) );
+		assertThat( cacheEntry, instanceOf( SharedStateCacheEntryImpl.class ) );
+
+		for ( int i = 0; i < 2; i++ ) {
+			inTransaction( session -> {
+				final Language language = session.get( Language.class, "it" );
+				assertNotSame(
+						cacheEntry.getDisassembledState(),
+						session.getPersistenceContextInternal().getEntry( language ).getLoadedState()
+				);
+			} );
+		}
+		final CacheEntry hitEntry = fromTransaction( session -> (CacheEntry) cacheAccess.get( session, cacheKey ) );
+		assertEquals( "Italian", hitEntry.getDisassembledState()[persister.getEntityMetamodel().getPropertyIndex( "name" )] );
+	}
+
+	static class RenamingPreLoadEventListener implements PreLoadEventListener {
+		@Override
+		public void onPreLoad(PreLoadEvent event) {
+			final String[] propertyNames = event.getPersister().getPropertyNames();
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				if ( "name".equals( propertyNames[i] ) ) {
+					event.getState()[i] = "Renamed";
+				}
+			}
+		}
+	}
+}
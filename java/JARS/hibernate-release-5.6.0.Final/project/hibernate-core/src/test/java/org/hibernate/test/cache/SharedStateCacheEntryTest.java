@@ -0,0 +1,245 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.util.Map;
+import javax.persistence.Cacheable;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.SharedStateCacheEntryImpl;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.Type;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the sharing of the cached state of immutable entities by the sessions reading it.
+ *
+ * @see AvailableSettings#USE_SHARED_STATE_CACHE_ENTRIES
+ */
+public class SharedStateCacheEntryTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class );
+		settings.put( AvailableSettings.USE_SHARED_STATE_CACHE_ENTRIES, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Language.class, Currency.class, Rate.class };
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testBasicStateIsShared() {
+		inTransaction( session -> session.persist( new Language( "fr", "French", Script.LATIN ) ) );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Language.class );
+		final CacheEntry cacheEntry = cacheEntry( persister, "fr" );
+		assertThat( cacheEntry, instanceOf( SharedStateCacheEntryImpl.class ) );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		for ( int i = 0; i < 2; i++ ) {
+			inTransaction( session -> {
+				final Language language = session.get( Language.class, "fr" );
+				assertEquals( "French", language.name );
+				assertSame( Script.LATIN, language.script );
+				assertSame( cacheEntry.getDisassembledState(), loadedState( session, language ) );
+			} );
+		}
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+	}
+
+	@Test
+	public void testEmbeddablesAreNotShared() {
+		inTransaction( session -> session.persist( new Currency( "EUR", "Euro", new Symbol( "€", true ) ) ) );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Currency.class );
+		final CacheEntry cacheEntry = cacheEntry( persister, "EUR" );
+		assertThat( cacheEntry, instanceOf( SharedStateCacheEntryImpl.class ) );
+
+		final Symbol first = fromTransaction( session -> {
+			final Currency currency = session.get( Currency.class, "EUR" );
+			assertNotSame( cacheEntry.getDisassembledState(), loadedState( session, currency ) );
+			return currency.symbol;
+		} );
+		first.text = "changed";
+		inTransaction( session -> {
+			final Currency currency = session.get( Currency.class, "EUR" );
+			assertNotSame( first, currency.symbol );
+			assertEquals( "€", currency.symbol.text );
+			assertEquals( true, currency.symbol.prefix );
+		} );
+	}
+
+	@Test
+	public void testStateModifiedByInterceptorIsNotShared() {
+		inTransaction( session -> session.persist( new Language( "de", "German", Script.LATIN ) ) );
+
+		try (Session session = sessionFactory().withOptions().interceptor( new RenamingInterceptor() ).openSession()) {
+			final Language language = session.get( Language.class, "de" );
+			assertEquals( "Renamed", language.name );
+		}
+		inTransaction( session -> assertEquals( "German", session.get( Language.class, "de" ).name ) );
+	}
+
+	@Test
+	public void testMutableEntityStateIsNotShared() {
+		inTransaction( session -> session.persist( new Rate( 1L, "EUR", 1.1d ) ) );
+
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Rate.class );
+		final CacheEntry cacheEntry = cacheEntry( persister, 1L );
+		assertThat( cacheEntry, instanceOf( StandardCacheEntryImpl.class ) );
+		assertThat( cacheEntry, not( instanceOf( SharedStateCacheEntryImpl.class ) ) );
+	}
+
+	private CacheEntry cacheEntry(EntityPersister persister, Object id) {
+		final EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+		return fromTransaction( session -> (CacheEntry) cacheAccess.get(
+				session,
+				cacheAccess.generateCacheKey( id, persister, sessionFactory(), null )
+		) );
+	}
+
+	private static Object[] loadedState(SessionImplementor session, Object entity) {
+		return session.getPersistenceContextInternal().getEntry( entity ).getLoadedState();
+	}
+
+	private static class RenamingInterceptor extends EmptyInterceptor {
+		@Override
+		public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				if ( "name".equals( propertyNames[i] ) ) {
+					state[i] = "Renamed";
+				}
+			}
+			return true;
+		}
+	}
+
+	@Entity(name = "Language")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Language {
+		@Id
+		private String code;
+
+		private String name;
+
+		@Enumerated(EnumType.STRING)
+		private Script script;
+
+		public Language() {
+		}
+
+		public Language(String code, String name, Script script) {
+			this.code = code;
+			this.name = name;
+			this.script = script;
+		}
+	}
+
+	@Entity(name = "Currency")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Currency {
+		@Id
+		private String code;
+
+		private String name;
+
+		@Embedded
+		private Symbol symbol;
+
+		public Currency() {
+		}
+
+		public Currency(String code, String name, Symbol symbol) {
+			this.code = code;
+			this.name = name;
+			this.symbol = symbol;
+		}
+	}
+
+	@Entity(name = "Rate")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Rate {
+		@Id
+		private Long id;
+
+		private String currency;
+
+		private double amount;
+
+		public Rate() {
+		}
+
+		public Rate(Long id, String currency, double amount) {
+			this.id = id;
+			this.currency = currency;
+			this.amount = amount;
+		}
+	}
+
+	@Embeddable
+	public static class Symbol {
+		private String text;
+
+		private boolean prefix;
+
+		public Symbol() {
+		}
+
+		public Symbol(String text, boolean prefix) {
+			this.text = text;
+			this.prefix = prefix;
+		}
+	}
+
+	public enum Script {
+		LATIN,
+		CYRILLIC
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.loader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the coalescing of the concurrent loads of read-only sessions.
+ *
+ * @see AvailableSettings#COALESCE_LOADS
+ */
+public class LoadCoalescingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private final BlockingStatementInspector statementInspector = new BlockingStatementInspector();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Book.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.COALESCE_LOADS, "true" );
+		settings.put( AvailableSettings.COALESCE_LOADS_TIMEOUT, "500" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.STATEMENT_INSPECTOR, statementInspector );
+	}
+
+	@Override
+	protected void prepareTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Book( 1, "title", "fiction", "classic" ) );
+		} );
+	}
+
+	@Override
+	protected void cleanupTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from Book", Book.class ).list().forEach( session::delete );
+		} );
+	}
+
+	@Test
+	public void testEntityLoadIsCoalesced() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final List<String> titles = loadConcurrently( "from Book", true, session -> {
+			return session.get( Book.class, 1 ).title;
+		} );
+
+		assertEquals( Arrays.asList( "title", "title" ), titles );
+		assertEquals( 1, statistics.getCoalescedEntityLoadCount() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testMissingEntityLoadIsCoalesced() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final List<Book> books = loadConcurrently( "from Book", true, session -> {
+			return session.get( Book.class, 2 );
+		} );
+
+		assertNull( books.get( 0 ) );
+		assertNull( books.get( 1 ) );
+		assertEquals( 1, statistics.getCoalescedEntityLoadCount() );
+	}
+
+	@Test
+	public void testCollectionLoadIsCoalesced() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final List<List<String>> tags = loadConcurrently( "from Book_tags", true, session -> {
+			final Book book = session.get( Book.class, 1 );
+			Hibernate.initialize( book.tags );
+			return new ArrayList<>( book.tags );
+		} );
+
+		assertEquals( Arrays.asList( "fiction", "classic" ), tags.get( 0 ) );
+		assertEquals( Arrays.asList( "fiction", "classic" ), tags.get( 1 ) );
+		assertEquals( 1, statistics.getCoalescedCollectionLoadCount() );
+		assertEquals( 1, statistics.getCollectionFetchCount() );
+	}
+
+	@Test
+	public void testWritableSessionsAreNotCoalesced() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final List<String> titles = loadConcurrently( "from Book", false, session -> {
+			return session.get( Book.class, 1 ).title;
+		} );
+
+		assertEquals( Arrays.asList( "title", "title" ), titles );
+		assertEquals( 0, statistics.getCoalescedEntityLoadCount() );
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testLoadIsIndependentOnceWaitTimedOut() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final CountDownLatch blocked = statementInspector.block( "from Book" );
+		final FutureTask<String> first = new FutureTask<>( () -> load( true, session -> {
+			return session.get( Book.class, 1 ).title;
+		} ) );
+		try {
+			new Thread( first ).start();
+			assertTrue( blocked.await( 10, TimeUnit.SECONDS ) );
+
+			// the first session is still blocked once this one gives up waiting for it
+			assertEquals( "title", load( true, session -> session.get( Book.class, 1 ).title ) );
+		}
+		finally {
+			statementInspector.release();
+		}
+
+		assertEquals( "title", first.get( 10, TimeUnit.SECONDS ) );
+		assertEquals( 0, statistics.getCoalescedEntityLoadCount() );
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+	}
+
+	/**
+	 * Runs the given load in two sessions, the first one being blocked on the first statement containing the given
+	 * fragment until the second one either completes or waits for the first one.
+	 */
+	private <T> List<T> loadConcurrently(String blockedFragment, boolean readOnly, Function<Session, T> load)
+			throws Exception {
+		final CountDownLatch blocked = statementInspector.block( blockedFragment );
+		final FutureTask<T> first = new FutureTask<>( () -> load( readOnly, load ) );
+		final FutureTask<T> second = new FutureTask<>( () -> load( readOnly, load ) );
+		try {
+			new Thread( first ).start();
+			assertTrue( blocked.await( 10, TimeUnit.SECONDS ) );
+
+			final Thread secondThread = new Thread( second );
+			secondThread.start();
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 10 );
+			while ( !second.isDone() && secondThread.getState() != Thread.State.TIMED_WAITING ) {
+				assertTrue( System.nanoTime() < deadline );
+				Thread.sleep( 10 );
+			}
+		}
+		finally {
+			statementInspector.release();
+		}
+		return Arrays.asList( first.get( 10, TimeUnit.SECONDS ), second.get( 10, TimeUnit.SECONDS ) );
+	}
+
+	private <T> T load(boolean readOnly, Function<Session, T> load) {
+		return doInHibernate( this::sessionFactory, session -> {
+			session.setDefaultReadOnly( readOnly );
+			return load.apply( session );
+		} );
+	}
+
+	private static class BlockingStatementInspector implements StatementInspector {
+		private volatile String blockedFragment;
+		private volatile CountDownLatch blocked;
+		private volatile CountDownLatch released;
+
+		CountDownLatch block(String fragment) {
+			blocked = new CountDownLatch( 1 );
+			released = new CountDownLatch( 1 );
+			blockedFragment = fragment;
+			return blocked;
+		}
+
+		void release() {
+			blockedFragment = null;
+			released.countDown();
+		}
+
+		@Override
+		public String inspect(String sql) {
+			final String fragment = blockedFragment;
+			if ( fragment != null && sql.contains( fragment ) ) {
+				synchronized ( this ) {
+					if ( blockedFragment == null ) {
+						return sql;
+					}
+					blockedFragment = null;
+				}
+				blocked.countDown();
+				try {
+					released.await( 10, TimeUnit.SECONDS );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return sql;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		@ElementCollection
+		private List<String> tags = new ArrayList<>();
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, String... tags) {
+			this.id = id;
+			this.title = title;
+			this.tags.addAll( Arrays.asList( tags ) );
+		}
+	}
+}
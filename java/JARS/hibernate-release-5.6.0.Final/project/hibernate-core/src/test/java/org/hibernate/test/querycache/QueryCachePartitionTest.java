@@ -0,0 +1,301 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.HibernateException;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.spi.QuerySpacePartitions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the invalidation of the cached query results by partition of {@link AvailableSettings#QUERY_CACHE_PARTITIONS}.
+ */
+public class QueryCachePartitionTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private Statistics statistics;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Account.class, PurchaseOrder.class, Document.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.QUERY_CACHE_PARTITIONS, "PurchaseOrder.tenantId, Document.owner" );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new PurchaseOrder( 1, 1L ) );
+			session.persist( new PurchaseOrder( 2, 2L ) );
+			final Account first = new Account( 1 );
+			final Account second = new Account( 2 );
+			session.persist( first );
+			session.persist( second );
+			session.persist( new Document( 1, first ) );
+			session.persist( new Document( 2, second ) );
+		} );
+		statistics = sessionFactory().getStatistics();
+		statistics.clear();
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Document" ).executeUpdate();
+			session.createQuery( "delete from Account" ).executeUpdate();
+			session.createQuery( "delete from PurchaseOrder" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testInsertOnlyInvalidatesItsPartition() {
+		assertEquals( 1, tenantOrders( 1L ).size() );
+		assertEquals( 1, tenantOrders( 2L ).size() );
+		assertEquals( 2, allOrders().size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new PurchaseOrder( 3, 2L ) );
+		} );
+		statistics.clear();
+
+		assertEquals( 1, tenantOrders( 1L ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, tenantOrders( 2L ).size() );
+		assertEquals( 3, allOrders().size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testUpdateInvalidatesPreviousAndNewPartitions() {
+		assertEquals( 1, tenantOrders( 1L ).size() );
+		assertEquals( 1, tenantOrders( 2L ).size() );
+		assertEquals( 0, tenantOrders( 3L ).size() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( PurchaseOrder.class, 1 ).tenantId = 2L;
+		} );
+		statistics.clear();
+
+		assertEquals( 0, tenantOrders( 1L ).size() );
+		assertEquals( 2, tenantOrders( 2L ).size() );
+		assertEquals( 0, tenantOrders( 3L ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.delete( session.get( PurchaseOrder.class, 2 ) );
+		} );
+		statistics.clear();
+
+		assertEquals( 0, tenantOrders( 1L ).size() );
+		assertEquals( 1, tenantOrders( 2L ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testBulkUpdateInvalidatesAllPartitions() {
+		assertEquals( 1, tenantOrders( 1L ).size() );
+		assertEquals( 1, tenantOrders( 2L ).size() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "update PurchaseOrder set tenantId = 1" ).executeUpdate();
+		} );
+		statistics.clear();
+
+		assertEquals( 2, tenantOrders( 1L ).size() );
+		assertEquals( 0, tenantOrders( 2L ).size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testToOnePartition() {
+		assertEquals( 1, ownerDocuments( 1 ).size() );
+		assertEquals( 1, ownerDocuments( 2 ).size() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Document( 3, session.load( Account.class, 2 ) ) );
+		} );
+		statistics.clear();
+
+		assertEquals( 1, ownerDocuments( 1 ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, ownerDocuments( 2 ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testEntityPartitionValueStandsForItsIdentifier() {
+		assertEquals( 1, ownerDocuments( 1 ).size() );
+		assertEquals( 1, ownerDocumentsOfEntity( 1 ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Document( 3, session.load( Account.class, 1 ) ) );
+		} );
+		statistics.clear();
+
+		// invalidated through the identifier of the owner
+		assertEquals( 2, ownerDocumentsOfEntity( 1 ).size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, ownerDocuments( 1 ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testPartitionValuesAreBucketed() {
+		final QuerySpacePartitions partitions = sessionFactory().getCache().getQuerySpacePartitions();
+		final Set<Serializable> querySpaces = Collections.singleton( "purchase_order" );
+		final Set<Serializable> spaces = new HashSet<>();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long tenantId = 0; tenantId < 10 * QuerySpacePartitions.DEFAULT_BUCKET_COUNT; tenantId++ ) {
+				spaces.addAll( partitions.toPartitionSpaces( querySpaces, tenantId, (SessionImplementor) session ) );
+			}
+		} );
+		assertTrue( spaces.contains( "purchase_order#*" ) );
+		assertTrue( "Unexpected space count " + spaces.size(), spaces.size() <= QuerySpacePartitions.DEFAULT_BUCKET_COUNT + 1 );
+	}
+
+	@Test
+	public void testUnknownPartitionAttribute() {
+		final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" )
+				.applySetting( AvailableSettings.USE_QUERY_CACHE, "true" )
+				.applySetting( AvailableSettings.QUERY_CACHE_PARTITIONS, "PurchaseOrder.owner" )
+				.build();
+		try {
+			new MetadataSources( registry )
+					.addAnnotatedClass( PurchaseOrder.class )
+					.buildMetadata()
+					.buildSessionFactory()
+					.close();
+			fail( "The partition attribute does not exist" );
+		}
+		catch (HibernateException expected) {
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( registry );
+		}
+	}
+
+	private List<PurchaseOrder> tenantOrders(Long tenantId) {
+		return doInHibernate( this::sessionFactory, session -> {
+			return session.createQuery( "from PurchaseOrder where tenantId = :tenantId", PurchaseOrder.class )
+					.setParameter( "tenantId", tenantId )
+					.setCacheable( true )
+					.setHint( QueryHints.CACHE_PARTITION, tenantId )
+					.list();
+		} );
+	}
+
+	private List<PurchaseOrder> allOrders() {
+		return doInHibernate( this::sessionFactory, session -> {
+			return session.createQuery( "from PurchaseOrder", PurchaseOrder.class )
+					.setCacheable( true )
+					.list();
+		} );
+	}
+
+	private List<Document> ownerDocuments(Integer ownerId) {
+		return doInHibernate( this::sessionFactory, session -> {
+			return session.createQuery( "from Document where owner.id = :ownerId", Document.class )
+					.setParameter( "ownerId", ownerId )
+					.setCacheable( true )
+					.setHint( QueryHints.CACHE_PARTITION, ownerId )
+					.list();
+		} );
+	}
+
+	private List<Document> ownerDocumentsOfEntity(Integer ownerId) {
+		return doInHibernate( this::sessionFactory, session -> {
+			final Account owner = session.get( Account.class, ownerId );
+			return session.createQuery( "from Document where owner.id = :ownerId", Document.class )
+					.setParameter( "ownerId", ownerId )
+					.setCacheable( true )
+					.setHint( QueryHints.CACHE_PARTITION, owner )
+					.list();
+		} );
+	}
+
+	@Entity(name = "PurchaseOrder")
+	@Table(name = "purchase_order")
+	public static class PurchaseOrder {
+		@Id
+		private Integer id;
+
+		private Long tenantId;
+
+		public PurchaseOrder() {
+		}
+
+		public PurchaseOrder(Integer id, Long tenantId) {
+			this.id = id;
+			this.tenantId = tenantId;
+		}
+	}
+
+	@Entity(name = "Account")
+	public static class Account {
+		@Id
+		private Integer id;
+
+		public Account() {
+		}
+
+		public Account(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Document")
+	public static class Document {
+		@Id
+		private Integer id;
+
+		@ManyToOne
+		private Account owner;
+
+		public Document() {
+		}
+
+		public Document(Integer id, Account owner) {
+			this.id = id;
+			this.owner = owner;
+		}
+	}
+}
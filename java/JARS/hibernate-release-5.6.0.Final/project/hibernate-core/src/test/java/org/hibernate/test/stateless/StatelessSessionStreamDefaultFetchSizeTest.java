@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stateless;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.stateless.StatelessSessionStreamTest.Event;
+import org.hibernate.test.stateless.StatelessSessionStreamTest.StreamingH2Dialect;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests that the streams of a {@link StatelessSession} keep the driver's fetch size unless
+ * {@link AvailableSettings#USE_STREAMING_FETCH_SIZE} is enabled.
+ */
+@RequiresDialect(H2Dialect.class)
+public class StatelessSessionStreamDefaultFetchSizeTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider( true, false );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Event.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.DIALECT, StreamingH2Dialect.class.getName() );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected void prepareTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 10; i++ ) {
+				session.persist( new Event( i, "event" + i ) );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testDialectFetchSizeIsNotAppliedByDefault() throws SQLException {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			connectionProvider.clear();
+
+			try (Stream<Event> events = session.createQuery( "from Event e", Event.class ).stream()) {
+				assertEquals( 10, events.count() );
+			}
+
+			final List<PreparedStatement> statements = connectionProvider.getPreparedStatements();
+			assertEquals( 1, statements.size() );
+			verify( statements.get( 0 ), never() ).setFetchSize( anyInt() );
+			session.getTransaction().commit();
+		}
+	}
+}
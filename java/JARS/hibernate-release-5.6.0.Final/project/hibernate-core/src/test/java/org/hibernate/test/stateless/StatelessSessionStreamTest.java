@@ -0,0 +1,159 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stateless;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.query.Query;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the fetch size applied to the streams of a {@link StatelessSession}.
+ *
+ * @see org.hibernate.dialect.Dialect#getStreamingFetchSize()
+ */
+@RequiresDialect(H2Dialect.class)
+public class StatelessSessionStreamTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int STREAMING_FETCH_SIZE = 50;
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider( true, false );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Event.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.DIALECT, StreamingH2Dialect.class.getName() );
+		settings.put( AvailableSettings.USE_STREAMING_FETCH_SIZE, "true" );
+		connectionProvider.setConnectionProvider( (ConnectionProvider) settings.get( AvailableSettings.CONNECTION_PROVIDER ) );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected void prepareTest() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 10; i++ ) {
+				session.persist( new Event( i, "event" + i ) );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testStreamingFetchSize() throws SQLException {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			connectionProvider.clear();
+
+			final Query<Event> query = session.createQuery( "from Event e order by e.id", Event.class );
+			try (Stream<Event> events = query.stream()) {
+				assertEquals( 10, events.collect( Collectors.toList() ).size() );
+			}
+			assertNull( query.getFetchSize() );
+
+			verify( selectStatement() ).setFetchSize( STREAMING_FETCH_SIZE );
+			session.getTransaction().commit();
+		}
+	}
+
+	@Test
+	public void testQueryFetchSizeWins() throws SQLException {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			connectionProvider.clear();
+
+			try (Stream<Event> events = session.createQuery( "from Event e", Event.class ).setFetchSize( 7 ).stream()) {
+				assertEquals( 10, events.count() );
+			}
+
+			verify( selectStatement() ).setFetchSize( 7 );
+			verify( selectStatement(), never() ).setFetchSize( STREAMING_FETCH_SIZE );
+			session.getTransaction().commit();
+		}
+	}
+
+	@Test
+	public void testStatefulSessionIsNotAffected() throws SQLException {
+		try (Session session = sessionFactory().openSession()) {
+			session.beginTransaction();
+			connectionProvider.clear();
+
+			try (Stream<Event> events = session.createQuery( "from Event e", Event.class ).stream()) {
+				assertEquals( 10, events.count() );
+			}
+
+			verify( selectStatement(), never() ).setFetchSize( anyInt() );
+			session.getTransaction().commit();
+		}
+	}
+
+	private PreparedStatement selectStatement() {
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements();
+		assertEquals( 1, statements.size() );
+		return statements.get( 0 );
+	}
+
+	public static class StreamingH2Dialect extends H2Dialect {
+		@Override
+		public Integer getStreamingFetchSize() {
+			return STREAMING_FETCH_SIZE;
+		}
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Event() {
+		}
+
+		public Event(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
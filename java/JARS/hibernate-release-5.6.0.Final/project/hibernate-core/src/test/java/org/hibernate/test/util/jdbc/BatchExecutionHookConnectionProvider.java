@@ -0,0 +1,156 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.testing.jdbc.ConnectionProviderDelegate;
+
+/**
+ * A {@link ConnectionProviderDelegate} whose prepared statements report to a {@link Hook} the rows added to their
+ * batch and the execution of their batch, on the thread executing it; the hook may delay the execution.  Every
+ * call on the connections and their prepared statements is reported as well, on the calling thread.
+ */
+public class BatchExecutionHookConnectionProvider extends ConnectionProviderDelegate {
+
+	/**
+	 * Notified of the batching activity of the prepared statements.
+	 */
+	public interface Hook {
+		/**
+		 * Called once a row is added to the batch of a statement.
+		 *
+		 * @param sql The SQL of the statement
+		 */
+		default void rowAdded(String sql) {
+		}
+
+		/**
+		 * Called before the batch of a statement is executed, on the thread executing it.
+		 *
+		 * @param sql The SQL of the statement
+		 * @param rowCount The number of rows in the batch
+		 */
+		default void beforeExecuteBatch(String sql, int rowCount) {
+		}
+
+		/**
+		 * Called once the batch of a statement has been executed, on the thread executing it.
+		 *
+		 * @param sql The SQL of the statement
+		 */
+		default void afterExecuteBatch(String sql) {
+		}
+
+		/**
+		 * Called before any method of a connection or of one of its prepared statements is invoked, on the
+		 * calling thread.
+		 *
+		 * @param method The name of the method
+		 */
+		default void driverCall(String method) {
+		}
+	}
+
+	private static final Hook NO_HOOK = new Hook() {
+	};
+
+	private final Map<Connection, Connection> connections = new ConcurrentHashMap<>();
+	private volatile Hook hook = NO_HOOK;
+
+	public void setHook(Hook hook) {
+		this.hook = hook == null ? NO_HOOK : hook;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		final Connection connection = super.getConnection();
+		final Connection proxy = proxy( Connection.class, connection, (method, args) -> {
+			hook.driverCall( method.getName() );
+			final Object result = invoke( connection, method, args );
+			if ( "prepareStatement".equals( method.getName() ) ) {
+				return instrument( (PreparedStatement) result, (String) args[0] );
+			}
+			return result;
+		} );
+		connections.put( proxy, connection );
+		return proxy;
+	}
+
+	@Override
+	public void closeConnection(Connection conn) throws SQLException {
+		final Connection connection = connections.remove( conn );
+		super.closeConnection( connection == null ? conn : connection );
+	}
+
+	private PreparedStatement instrument(PreparedStatement statement, String sql) {
+		final AtomicInteger rowCount = new AtomicInteger();
+		return proxy( PreparedStatement.class, statement, (method, args) -> {
+			hook.driverCall( method.getName() );
+			switch ( method.getName() ) {
+				case "executeBatch":
+					hook.beforeExecuteBatch( sql, rowCount.getAndSet( 0 ) );
+					try {
+						return invoke( statement, method, args );
+					}
+					finally {
+						hook.afterExecuteBatch( sql );
+					}
+				case "clearBatch":
+					rowCount.set( 0 );
+					break;
+			}
+			final Object result = invoke( statement, method, args );
+			if ( "addBatch".equals( method.getName() ) && ( args == null || args.length == 0 ) ) {
+				rowCount.incrementAndGet();
+				hook.rowAdded( sql );
+			}
+			return result;
+		} );
+	}
+
+	private interface Handler {
+		Object handle(Method method, Object[] args) throws Throwable;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, Handler handler) {
+		return (T) Proxy.newProxyInstance(
+				BatchExecutionHookConnectionProvider.class.getClassLoader(),
+				new Class[] { type },
+				(proxy, method, args) -> {
+					switch ( method.getName() ) {
+						case "equals":
+							return proxy == args[0];
+						case "hashCode":
+							return System.identityHashCode( proxy );
+						case "toString":
+							return "Hooked " + target;
+						default:
+							return handler.handle( method, args );
+					}
+				}
+		);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke( target, args );
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -6,10 +6,20 @@
  */
 package org.hibernate.graalvm.internal;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.hibernate.HibernateException;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.internal.util.ReflectHelper;
 
 import com.oracle.svm.core.annotate.AutomaticFeature;
@@ -54,6 +64,45 @@ public class GraalVMStaticAutofeature implements Feature {
 		RuntimeReflection.register( neddingAllConstructorsAccessible );
 		RuntimeReflection.register( StaticClassLists.typesNeedingArrayCopy() );
 		RuntimeReflection.register( executables.toArray(new Executable[0]) );
+		registerPregeneratedClasses( before );
+	}
+
+	/**
+	 * Registers the proxies and instantiators generated at build time by the enhancement plugins,
+	 * which Hibernate ORM looks up by name and instantiates reflectively.
+	 */
+	private static void registerPregeneratedClasses(Feature.BeforeAnalysisAccess before) {
+		for ( String className : pregeneratedClassNames() ) {
+			final Class<?> c = before.findClassByName( className );
+			if ( c != null ) {
+				RuntimeReflection.register( c );
+				RuntimeReflection.register( c.getDeclaredConstructors() );
+			}
+		}
+	}
+
+	private static Set<String> pregeneratedClassNames() {
+		final Set<String> classNames = new LinkedHashSet<>();
+		try {
+			final Enumeration<URL> resources = Thread.currentThread().getContextClassLoader()
+					.getResources( BytecodeProvider.PREGENERATED_CLASSES_RESOURCE );
+			while ( resources.hasMoreElements() ) {
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader( resources.nextElement().openStream(), StandardCharsets.UTF_8 ) )) {
+					String line;
+					while ( ( line = reader.readLine() ) != null ) {
+						line = line.trim();
+						if ( !line.isEmpty() ) {
+							classNames.add( line );
+						}
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to read " + BytecodeProvider.PREGENERATED_CLASSES_RESOURCE, e );
+		}
+		return classNames;
 	}
 
 }
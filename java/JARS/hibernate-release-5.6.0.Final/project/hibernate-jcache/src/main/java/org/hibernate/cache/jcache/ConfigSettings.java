@@ -44,4 +44,14 @@ public interface ConfigSettings {
 	 * @see javax.cache.spi.CachingProvider#getCacheManager(URI, ClassLoader)
 	 */
 	String CONFIG_URI = PROP_PREFIX + "uri";
+
+	/**
+	 * The maximum number of entries of each entity, collection and natural-id region kept in an on-heap near cache
+	 * in front of the JCache {@link javax.cache.Cache}, so that reading them does not go through the JCache provider.
+	 *
+	 * Default value is {@code 0}, which disables the near cache.
+	 *
+	 * @see org.hibernate.cache.jcache.internal.NearCacheAccessImpl
+	 */
+	String NEAR_CACHE_MAX_ENTRIES = PROP_PREFIX + "near_cache.max_entries";
 }
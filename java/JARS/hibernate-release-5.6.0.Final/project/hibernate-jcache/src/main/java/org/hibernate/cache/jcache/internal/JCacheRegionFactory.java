@@ -34,6 +34,7 @@ import org.hibernate.cache.spi.support.RegionFactoryTemplate;
 import org.hibernate.cache.spi.support.RegionNameQualifier;
 import org.hibernate.cache.spi.support.StorageAccess;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 
 /**
  * @author Alex Snaps
@@ -43,6 +44,7 @@ public class JCacheRegionFactory extends RegionFactoryTemplate {
 
 	private volatile CacheManager cacheManager;
 	private volatile MissingCacheStrategy missingCacheStrategy;
+	private volatile int nearCacheMaxEntries;
 
 	@SuppressWarnings("unused")
 	public JCacheRegionFactory() {
@@ -79,9 +81,14 @@ public class JCacheRegionFactory extends RegionFactoryTemplate {
 	protected DomainDataStorageAccess createDomainDataStorageAccess(
 			DomainDataRegionConfig regionConfig,
 			DomainDataRegionBuildingContext buildingContext) {
-		return new JCacheAccessImpl(
-				getOrCreateCache( regionConfig.getRegionName(), buildingContext.getSessionFactory() )
+		final Cache<Object, Object> cache = getOrCreateCache(
+				regionConfig.getRegionName(),
+				buildingContext.getSessionFactory()
 		);
+		if ( nearCacheMaxEntries > 0 ) {
+			return new NearCacheAccessImpl( cache, nearCacheMaxEntries );
+		}
+		return new JCacheAccessImpl( cache );
 	}
 
 	@SuppressWarnings("WeakerAccess")
@@ -193,6 +200,11 @@ public class JCacheRegionFactory extends RegionFactoryTemplate {
 		this.missingCacheStrategy = MissingCacheStrategy.interpretSetting(
 				getProp( configValues, ConfigSettings.MISSING_CACHE_STRATEGY )
 		);
+		this.nearCacheMaxEntries = ConfigurationHelper.getInt(
+				ConfigSettings.NEAR_CACHE_MAX_ENTRIES,
+				configValues,
+				0
+		);
 	}
 
 	@SuppressWarnings("WeakerAccess")
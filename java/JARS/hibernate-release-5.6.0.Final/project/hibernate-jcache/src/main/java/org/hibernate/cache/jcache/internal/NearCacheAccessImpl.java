@@ -0,0 +1,262 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.jcache.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.cache.Cache;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+/**
+ * StorageAccess implementation keeping the most recently used entries of a JCache {@link Cache} in a size-bounded
+ * on-heap near cache, so that reading them does not go through the JCache provider, which for clustered providers
+ * means deserializing them and often a network hop.
+ * <p/>
+ * The near cache never holds an entry older than the one of the JCache cache: every write made through this access
+ * invalidates the entry once the JCache cache is written, and the writes made to the JCache cache by other nodes
+ * invalidate it as well through a listener of the updated, removed and expired entries.  The soft locks of the
+ * read-write regions, being written to the JCache cache, invalidate the near cache the same way.  A value read from
+ * the JCache cache is only kept if no invalidation happened in between, which is tracked by reserving the key
+ * before the read.
+ * <p/>
+ * Note that JCache does not notify the listeners of {@link Cache#clear()}, so the clearing of the JCache cache by
+ * other nodes is not seen by the near cache.
+ */
+@SuppressWarnings("unchecked")
+public class NearCacheAccessImpl extends JCacheAccessImpl {
+	private static final Logger log = Logger.getLogger( NearCacheAccessImpl.class );
+
+	private final BoundedConcurrentHashMap<Object, Object> nearCache;
+	private final CacheEntryListenerConfiguration listenerConfiguration;
+
+	private final LongAdder nearCacheHitCount = new LongAdder();
+	private final LongAdder nearCacheMissCount = new LongAdder();
+	private final LongAdder providerHitCount = new LongAdder();
+	private final LongAdder providerMissCount = new LongAdder();
+
+	public NearCacheAccessImpl(Cache underlyingCache, int maxEntries) {
+		super( underlyingCache );
+		this.nearCache = new BoundedConcurrentHashMap<>( maxEntries );
+		this.listenerConfiguration = new MutableCacheEntryListenerConfiguration(
+				new InvalidationListenerFactory( nearCache ),
+				null,
+				false,
+				true
+		);
+		underlyingCache.registerCacheEntryListener( listenerConfiguration );
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final Object value = nearCache.get( key );
+		return ( value != null && !( value instanceof Reservation ) ) || super.contains( key );
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Object cached = nearCache.get( key );
+		if ( cached != null && !( cached instanceof Reservation ) ) {
+			nearCacheHitCount.increment();
+			return cached;
+		}
+		nearCacheMissCount.increment();
+
+		// keep the value read only if it was not invalidated in the meantime
+		final Reservation reservation = new Reservation();
+		final boolean reserved = cached == null && nearCache.putIfAbsent( key, reservation ) == null;
+		Object value = null;
+		try {
+			value = super.getFromCache( key, session );
+			if ( value == null ) {
+				providerMissCount.increment();
+			}
+			else {
+				providerHitCount.increment();
+			}
+			return value;
+		}
+		finally {
+			if ( reserved ) {
+				if ( value == null ) {
+					nearCache.remove( key, reservation );
+				}
+				else {
+					nearCache.replace( key, reservation, value );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		super.putIntoCache( key, value, session );
+		nearCache.remove( key );
+	}
+
+	@Override
+	public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+		super.removeFromCache( key, session );
+		nearCache.remove( key );
+	}
+
+	@Override
+	public void evictData(Object key) {
+		super.evictData( key );
+		nearCache.remove( key );
+	}
+
+	@Override
+	public void clearCache(SharedSessionContractImplementor session) {
+		super.clearCache( session );
+		nearCache.clear();
+	}
+
+	@Override
+	public void evictData() {
+		super.evictData();
+		nearCache.clear();
+	}
+
+	@Override
+	public void release() {
+		log.debugf(
+				"Releasing near cache of %s : near cache hit ratio = %.2f, provider hit ratio = %.2f",
+				getUnderlyingCache().getName(),
+				getNearCacheHitRatio(),
+				getProviderHitRatio()
+		);
+		try {
+			getUnderlyingCache().deregisterCacheEntryListener( listenerConfiguration );
+		}
+		catch (IllegalStateException ignore) {
+			// the cache is already closed
+		}
+		nearCache.clear();
+		super.release();
+	}
+
+	/**
+	 * The number of entries held by the near cache.
+	 */
+	public int getNearCacheSize() {
+		int size = 0;
+		for ( Object value : nearCache.values() ) {
+			if ( !( value instanceof Reservation ) ) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * The number of reads served by the near cache.
+	 */
+	public long getNearCacheHitCount() {
+		return nearCacheHitCount.sum();
+	}
+
+	/**
+	 * The number of reads the near cache could not serve, which went to the JCache provider.
+	 */
+	public long getNearCacheMissCount() {
+		return nearCacheMissCount.sum();
+	}
+
+	/**
+	 * The ratio of the reads served by the near cache, or {@code 0} if nothing was read yet.
+	 */
+	public double getNearCacheHitRatio() {
+		return ratio( getNearCacheHitCount(), getNearCacheMissCount() );
+	}
+
+	/**
+	 * The number of reads the near cache could not serve which found the entry in the JCache provider.
+	 */
+	public long getProviderHitCount() {
+		return providerHitCount.sum();
+	}
+
+	/**
+	 * The number of reads the near cache could not serve which did not find the entry in the JCache provider either.
+	 */
+	public long getProviderMissCount() {
+		return providerMissCount.sum();
+	}
+
+	/**
+	 * The ratio of the reads reaching the JCache provider which found the entry, or {@code 0} if no read reached it yet.
+	 */
+	public double getProviderHitRatio() {
+		return ratio( getProviderHitCount(), getProviderMissCount() );
+	}
+
+	private static double ratio(long hits, long misses) {
+		final long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Marks a key being read from the JCache cache.
+	 */
+	private static final class Reservation {
+	}
+
+	private static class InvalidationListenerFactory implements Factory<CacheEntryListener> {
+		private final transient BoundedConcurrentHashMap<Object, Object> nearCache;
+
+		private InvalidationListenerFactory(BoundedConcurrentHashMap<Object, Object> nearCache) {
+			this.nearCache = nearCache;
+		}
+
+		@Override
+		public CacheEntryListener create() {
+			return new InvalidationListener( nearCache );
+		}
+	}
+
+	private static class InvalidationListener
+			implements CacheEntryUpdatedListener<Object, Object>, CacheEntryRemovedListener<Object, Object>,
+			CacheEntryExpiredListener<Object, Object> {
+		private final BoundedConcurrentHashMap<Object, Object> nearCache;
+
+		private InvalidationListener(BoundedConcurrentHashMap<Object, Object> nearCache) {
+			this.nearCache = nearCache;
+		}
+
+		@Override
+		public void onUpdated(Iterable<CacheEntryEvent<?, ?>> events) {
+			invalidate( events );
+		}
+
+		@Override
+		public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) {
+			invalidate( events );
+		}
+
+		@Override
+		public void onExpired(Iterable<CacheEntryEvent<?, ?>> events) {
+			invalidate( events );
+		}
+
+		private void invalidate(Iterable<CacheEntryEvent<?, ?>> events) {
+			for ( CacheEntryEvent<?, ?> event : events ) {
+				nearCache.remove( event.getKey() );
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.jcache.test;
+
+import javax.cache.Cache;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.NearCacheAccessImpl;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jcache.test.domain.Item;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hibernate.testing.transaction.TransactionUtil2.inSession;
+import static org.hibernate.testing.transaction.TransactionUtil2.inTransaction;
+
+/**
+ * Tests around {@link NearCacheAccessImpl}
+ */
+public class NearCacheTest extends BaseUnitTestCase {
+
+	@Test
+	public void testNearCacheDisabledByDefault() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = TestHelper.buildStandardSessionFactory() ) {
+			assertThat( storageAccess( sessionFactory, Item.class ), not( instanceOf( NearCacheAccessImpl.class ) ) );
+		}
+	}
+
+	@Test
+	public void testNearCacheServesReads() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = buildSessionFactory() ) {
+			final NearCacheAccessImpl access = (NearCacheAccessImpl) storageAccess( sessionFactory, Item.class );
+
+			inSession(
+					sessionFactory,
+					s -> {
+						access.putIntoCache( "key", "value", s );
+						assertThat( access.getNearCacheSize(), equalTo( 0 ) );
+
+						assertThat( access.getFromCache( "key", s ), equalTo( "value" ) );
+						assertThat( access.getFromCache( "key", s ), equalTo( "value" ) );
+						assertThat( access.getNearCacheSize(), equalTo( 1 ) );
+						assertThat( access.getNearCacheHitCount(), equalTo( 1L ) );
+						assertThat( access.getNearCacheMissCount(), equalTo( 1L ) );
+						assertThat( access.getProviderHitCount(), equalTo( 1L ) );
+						assertThat( access.getNearCacheHitRatio(), equalTo( 0.5 ) );
+
+						assertThat( access.getFromCache( "missing", s ), nullValue() );
+						assertThat( access.getProviderMissCount(), equalTo( 1L ) );
+						assertThat( access.getNearCacheSize(), equalTo( 1 ) );
+
+						access.putIntoCache( "key", "other", s );
+						assertThat( access.getFromCache( "key", s ), equalTo( "other" ) );
+
+						access.removeFromCache( "key", s );
+						assertThat( access.getFromCache( "key", s ), nullValue() );
+					}
+			);
+		}
+	}
+
+	@Test
+	public void testNearCacheInvalidatedByProviderWrites() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = buildSessionFactory() ) {
+			final NearCacheAccessImpl access = (NearCacheAccessImpl) storageAccess( sessionFactory, Item.class );
+			final Cache jcache = access.getUnderlyingCache();
+
+			inSession(
+					sessionFactory,
+					s -> {
+						access.putIntoCache( "key", "value", s );
+						assertThat( access.getFromCache( "key", s ), equalTo( "value" ) );
+
+						// as another node sharing the cache would
+						jcache.put( "key", "other" );
+						assertThat( access.getFromCache( "key", s ), equalTo( "other" ) );
+
+						jcache.remove( "key" );
+						assertThat( access.getFromCache( "key", s ), nullValue() );
+						assertThat( access.getNearCacheSize(), equalTo( 0 ) );
+					}
+			);
+		}
+	}
+
+	@Test
+	public void testEntityUpdatesInvalidateNearCache() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = buildSessionFactory() ) {
+			final NearCacheAccessImpl access = (NearCacheAccessImpl) storageAccess( sessionFactory, Item.class );
+
+			final Item item = new Item();
+			item.setName( "chris" );
+			item.setDescription( "Chris's Item" );
+			inTransaction( sessionFactory, s -> s.persist( item ) );
+
+			for ( int i = 0; i < 3; i++ ) {
+				inTransaction(
+						sessionFactory,
+						s -> assertThat( s.get( Item.class, item.getId() ).getName(), equalTo( "chris" ) )
+				);
+			}
+			assertThat( access.getNearCacheHitCount() > 0, equalTo( true ) );
+
+			inTransaction( sessionFactory, s -> s.get( Item.class, item.getId() ).setName( "steve" ) );
+			inTransaction(
+					sessionFactory,
+					s -> assertThat( s.get( Item.class, item.getId() ).getName(), equalTo( "steve" ) )
+			);
+
+			inTransaction( sessionFactory, s -> s.delete( s.get( Item.class, item.getId() ) ) );
+			inTransaction( sessionFactory, s -> assertThat( s.get( Item.class, item.getId() ), nullValue() ) );
+		}
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory() {
+		return TestHelper.buildStandardSessionFactory(
+				builder -> builder.applySetting( ConfigSettings.NEAR_CACHE_MAX_ENTRIES, "100" )
+		);
+	}
+
+	private static JCacheAccessImpl storageAccess(SessionFactoryImplementor sessionFactory, Class<?> entityClass) {
+		return (JCacheAccessImpl) ( (DomainDataRegionTemplate) sessionFactory.getCache()
+				.getRegion( entityClass.getName() ) ).getCacheStorageAccess();
+	}
+}
@@ -66,6 +66,9 @@ public class SharedDriverManagerConnectionProviderImpl extends DriverManagerConn
 		private final int minSize;
 		private final int maxSize;
 		private final int initialSize;
+		private final long acquisitionTimeout;
+		private final long leakDetectionThreshold;
+		private final int statementCacheSize;
 		private final String driverClassName;
 		private final String url;
 		private final Properties connectionProps;
@@ -76,6 +79,9 @@ public class SharedDriverManagerConnectionProviderImpl extends DriverManagerConn
 			this.minSize = ConfigurationHelper.getInt( MIN_SIZE, configurationValues, 2 );
 			this.maxSize = ConfigurationHelper.getInt( AvailableSettings.POOL_SIZE, configurationValues, 20 );
 			this.initialSize = ConfigurationHelper.getInt( INITIAL_SIZE, configurationValues, minSize );
+			this.acquisitionTimeout = ConfigurationHelper.getLong( ACQUISITION_TIMEOUT, configurationValues, 0 );
+			this.leakDetectionThreshold = ConfigurationHelper.getLong( LEAK_DETECTION_THRESHOLD, configurationValues, 0 );
+			this.statementCacheSize = ConfigurationHelper.getInt( STATEMENT_CACHE_SIZE, configurationValues, 0 );
 			this.driverClassName = (String) configurationValues.get( AvailableSettings.DRIVER );
 			this.url = (String) configurationValues.get( AvailableSettings.URL );
 			this.connectionProps = ConnectionProviderInitiator.getConnectionProperties( configurationValues );
@@ -85,6 +91,9 @@ public class SharedDriverManagerConnectionProviderImpl extends DriverManagerConn
 		boolean isCompatible(Config config) {
 			return config != null && autoCommit == config.autoCommit && minSize == config.minSize
 					&& maxSize == config.maxSize && initialSize == config.initialSize
+					&& acquisitionTimeout == config.acquisitionTimeout
+					&& leakDetectionThreshold == config.leakDetectionThreshold
+					&& statementCacheSize == config.statementCacheSize
 					&& driverClassName.equals( config.driverClassName )
 					&& url.equals( config.url )
 					&& connectionProps.equals( config.connectionProps )
@@ -12,12 +12,15 @@ import java.io.FileFilter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -38,6 +41,7 @@ import org.hibernate.bytecode.enhance.spi.EnhancementContext;
 import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.bytecode.enhance.spi.UnloadedClass;
 import org.hibernate.bytecode.enhance.spi.UnloadedField;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.cfg.Environment;
 
 import org.sonatype.plexus.build.incremental.BuildContext;
@@ -51,6 +55,8 @@ import org.sonatype.plexus.build.incremental.BuildContext;
 @Mojo(name = "enhance", defaultPhase = LifecyclePhase.COMPILE, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
 public class MavenEnhancePlugin extends AbstractMojo {
 
+	private static final String PREGENERATED_CLASS_SUFFIX = "$Pregenerated";
+
 	/**
 	 * The contexts to use during enhancement.
 	 */
@@ -80,7 +86,14 @@ public class MavenEnhancePlugin extends AbstractMojo {
 	@Parameter(property = "enableExtendedEnhancement", defaultValue = "false")
 	private boolean enableExtendedEnhancement;
 
+	@Parameter(property = "enableProxyPregeneration", defaultValue = "false")
+	private boolean enableProxyPregeneration;
+
 	private boolean shouldApply() {
+		return shouldEnhance() || enableProxyPregeneration;
+	}
+
+	private boolean shouldEnhance() {
 		return enableLazyInitialization || enableDirtyTracking || enableAssociationManagement || enableExtendedEnhancement;
 	}
 
@@ -108,6 +121,16 @@ public class MavenEnhancePlugin extends AbstractMojo {
 			return;
 		}
 
+		if ( shouldEnhance() ) {
+			enhance();
+		}
+		if ( enableProxyPregeneration ) {
+			pregenerateClasses();
+		}
+	}
+
+	private void enhance() throws MojoExecutionException {
+		final Log log = getLog();
 		log.info( "Starting Hibernate enhancement for classes on " + dir );
 		final ClassLoader classLoader = toClassLoader( Collections.singletonList( new File( base ) ) );
 
@@ -164,6 +187,69 @@ public class MavenEnhancePlugin extends AbstractMojo {
 		}
 	}
 
+	private void pregenerateClasses() throws MojoExecutionException {
+		final Log log = getLog();
+		log.info( "Starting Hibernate proxy generation for entities on " + dir );
+		// a new class loader, to see the enhanced entity classes
+		final ClassLoader classLoader = toClassLoader( Collections.singletonList( new File( base ) ) );
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+
+		final StringBuilder generatedClassNames = new StringBuilder();
+		for ( File file : sourceSet ) {
+			final String className = toClassName( file );
+			if ( className.endsWith( PREGENERATED_CLASS_SUFFIX ) ) {
+				continue;
+			}
+			final Map<String, byte[]> generatedClasses;
+			try {
+				final Class<?> clazz = Class.forName( className, false, classLoader );
+				if ( !isEntity( clazz ) ) {
+					continue;
+				}
+				generatedClasses = bytecodeProvider.generateClassesAheadOfTime( clazz );
+			}
+			catch (Exception | LinkageError e) {
+				String msg = "Unable to generate the proxies of class: " + file.getName();
+				if ( failOnError ) {
+					throw new MojoExecutionException( msg, e );
+				}
+				buildContext.addMessage( file, 0, 0, msg, BuildContext.SEVERITY_WARNING, e );
+				continue;
+			}
+
+			for ( Map.Entry<String, byte[]> generatedClass : generatedClasses.entrySet() ) {
+				final File generatedFile = new File( base, generatedClass.getKey().replace( '.', File.separatorChar ) + ".class" );
+				writeOutFile( generatedClass.getValue(), generatedFile );
+				generatedClassNames.append( generatedClass.getKey() ).append( '\n' );
+				if ( log.isDebugEnabled() ) {
+					log.debug( "Successfully generated class [" + generatedFile + "]" );
+				}
+			}
+		}
+
+		writeOutFile(
+				generatedClassNames.toString().getBytes( StandardCharsets.UTF_8 ),
+				new File( base, BytecodeProvider.PREGENERATED_CLASSES_RESOURCE.replace( '/', File.separatorChar ) )
+		);
+	}
+
+	private static boolean isEntity(Class<?> clazz) {
+		// compare by name, as the annotation may come from another class loader
+		for ( Annotation annotation : clazz.getDeclaredAnnotations() ) {
+			if ( "javax.persistence.Entity".equals( annotation.annotationType().getName() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String toClassName(File javaClassFile) {
+		return javaClassFile.getAbsolutePath().substring(
+				base.length() + 1,
+				javaClassFile.getAbsolutePath().length() - ".class".length()
+		).replace( File.separatorChar, '.' );
+	}
+
 	private ClassLoader toClassLoader(List<File> runtimeClasspath) throws MojoExecutionException {
 		List<URL> urls = new ArrayList<URL>( runtimeClasspath.size() );
 		final Log log = getLog();
@@ -209,10 +295,7 @@ public class MavenEnhancePlugin extends AbstractMojo {
 
 	private byte[] doEnhancement(File javaClassFile, Enhancer enhancer) throws MojoExecutionException {
 		try {
-			String className = javaClassFile.getAbsolutePath().substring(
-					base.length() + 1,
-					javaClassFile.getAbsolutePath().length() - ".class".length()
-			).replace( File.separatorChar, '.' );
+			String className = toClassName( javaClassFile );
 			ByteArrayOutputStream originalBytes = new ByteArrayOutputStream();
 			FileInputStream fileInputStream = new FileInputStream( javaClassFile );
 			try {
@@ -305,4 +388,34 @@ public class MavenEnhancePlugin extends AbstractMojo {
 			}
 		}
 	}
+
+	private void writeOutFile(byte[] content, File file) throws MojoExecutionException {
+		final File parent = file.getParentFile();
+		if ( !parent.exists() && !parent.mkdirs() ) {
+			buildContext.addMessage( file, 0, 0, "Unable to create the directory of the file", BuildContext.SEVERITY_ERROR, null );
+		}
+
+		OutputStream outputStream = null;
+		try {
+			outputStream = buildContext.newFileOutputStream( file );
+			outputStream.write( content );
+			outputStream.flush();
+		}
+		catch (IOException e) {
+			String msg = String.format( "Error writing to file [%s]", file.getAbsolutePath() );
+			if ( failOnError ) {
+				throw new MojoExecutionException( msg, e );
+			}
+			buildContext.addMessage( file, 0, 0, msg, BuildContext.SEVERITY_WARNING, e );
+		}
+		finally {
+			try {
+				if ( outputStream != null ) {
+					outputStream.close();
+				}
+			}
+			catch (IOException ignore) {
+			}
+		}
+	}
 }
@@ -8,7 +8,9 @@ package org.hibernate.orm.tooling.maven;
 
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.ReflectionUtils;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.engine.spi.Managed;
+import org.hibernate.proxy.HibernateProxy;
 import org.junit.Assert;
 import org.junit.Test;
 import org.sonatype.plexus.build.incremental.DefaultBuildContext;
@@ -51,6 +53,7 @@ public class MavenEnhancePluginTest {
         setVariableValueToObject( plugin, "enableDirtyTracking", true );
         setVariableValueToObject( plugin, "enableAssociationManagement", true );
         setVariableValueToObject( plugin, "enableExtendedEnhancement", false );
+        setVariableValueToObject( plugin, "enableProxyPregeneration", true );
 
         plugin.execute();
 
@@ -60,6 +63,11 @@ public class MavenEnhancePluginTest {
             Assert.assertTrue( declaresManaged( classLoader.loadClass( ChildEntity.class.getName() ) ) );
             Assert.assertTrue( declaresManaged( classLoader.loadClass( TestEntity.class.getName() ) ) );
 
+            Class<?> proxyClass = classLoader.loadClass( TestEntity.class.getName() + "$HibernateProxy$Pregenerated" );
+            Assert.assertSame( classLoader.loadClass( TestEntity.class.getName() ), proxyClass.getSuperclass() );
+            Assert.assertTrue( HibernateProxy.class.isAssignableFrom( proxyClass ) );
+            Assert.assertNotNull( classLoader.getResource( BytecodeProvider.PREGENERATED_CLASSES_RESOURCE ) );
+
         }
 
     }
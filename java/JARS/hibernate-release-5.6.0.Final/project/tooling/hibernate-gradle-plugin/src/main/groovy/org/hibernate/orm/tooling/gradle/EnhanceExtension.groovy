@@ -17,8 +17,13 @@ class EnhanceExtension implements Serializable {
 	def boolean enableDirtyTracking = false
 	def boolean enableAssociationManagement = false
 	def boolean enableExtendedEnhancement = false
+	def boolean enableProxyPregeneration = false
 
 	boolean shouldApply() {
+		return shouldEnhance() || enableProxyPregeneration;
+	}
+
+	boolean shouldEnhance() {
 		return enableLazyInitialization || enableDirtyTracking || enableAssociationManagement || enableExtendedEnhancement;
 	}
 }
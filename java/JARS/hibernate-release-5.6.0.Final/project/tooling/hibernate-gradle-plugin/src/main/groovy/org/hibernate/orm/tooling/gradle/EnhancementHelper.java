@@ -12,11 +12,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
@@ -30,13 +33,25 @@ import org.hibernate.bytecode.enhance.spi.EnhancementContext;
 import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.bytecode.enhance.spi.UnloadedClass;
 import org.hibernate.bytecode.enhance.spi.UnloadedField;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.cfg.Environment;
 
 /**
  * @author Steve Ebersole
  */
 public class EnhancementHelper {
+	private static final String PREGENERATED_CLASS_SUFFIX = "$Pregenerated";
+
 	static void enhance(SourceSet sourceSet, EnhanceExtension options, Project project) {
+		if ( options.shouldEnhance() ) {
+			enhanceClasses( sourceSet, options, project );
+		}
+		if ( options.getEnableProxyPregeneration() ) {
+			pregenerateClasses( sourceSet, project );
+		}
+	}
+
+	private static void enhanceClasses(SourceSet sourceSet, EnhanceExtension options, Project project) {
 		// The compile classpath contains the jar dependencies and
 		// the output directories with the compiled classes of project dependencies in a multi-project build.
 		// The classes directories contain the compiled classes of this project.
@@ -101,6 +116,65 @@ public class EnhancementHelper {
 		}
 	}
 
+	private static void pregenerateClasses(SourceSet sourceSet, Project project) {
+		// a new class loader, to see the enhanced entity classes
+		final ClassLoader classLoader = toClassLoader( sourceSet.getCompileClasspath(), sourceSet.getOutput().getClassesDirs() );
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+
+		for ( File classesDir: sourceSet.getOutput().getClassesDirs() ) {
+			final StringBuilder generatedClassNames = new StringBuilder();
+			final FileTree fileTree = project.fileTree( classesDir );
+			for ( File file : fileTree ) {
+				if ( !file.getName().endsWith( ".class" ) ) {
+					continue;
+				}
+				final String className = determineClassName( classesDir, file );
+				if ( className.endsWith( PREGENERATED_CLASS_SUFFIX ) ) {
+					continue;
+				}
+
+				final Map<String, byte[]> generatedClasses;
+				try {
+					final Class<?> clazz = Class.forName( className, false, classLoader );
+					if ( !isEntity( clazz ) ) {
+						continue;
+					}
+					generatedClasses = bytecodeProvider.generateClassesAheadOfTime( clazz );
+				}
+				catch (Exception | LinkageError e) {
+					throw new GradleException( "Unable to generate the proxies of class : " + file, e );
+				}
+
+				for ( Map.Entry<String, byte[]> generatedClass : generatedClasses.entrySet() ) {
+					final File generatedFile = new File(
+							classesDir,
+							generatedClass.getKey().replace( '.', File.separatorChar ) + ".class"
+					);
+					writeOutFile( generatedClass.getValue(), generatedFile );
+					generatedClassNames.append( generatedClass.getKey() ).append( '\n' );
+					project.getLogger().info( "Successfully generated class [" + generatedFile + "]" );
+				}
+			}
+
+			if ( generatedClassNames.length() > 0 ) {
+				writeOutFile(
+						generatedClassNames.toString().getBytes( StandardCharsets.UTF_8 ),
+						new File( classesDir, BytecodeProvider.PREGENERATED_CLASSES_RESOURCE.replace( '/', File.separatorChar ) )
+				);
+			}
+		}
+	}
+
+	private static boolean isEntity(Class<?> clazz) {
+		// compare by name, as the annotation may come from another class loader
+		for ( Annotation annotation : clazz.getDeclaredAnnotations() ) {
+			if ( "javax.persistence.Entity".equals( annotation.annotationType().getName() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static ClassLoader toClassLoader(FileCollection... classpaths) {
 		List<URL> urls = new ArrayList<>();
 		for ( FileCollection classpath : classpaths ) {
@@ -180,6 +254,21 @@ public class EnhancementHelper {
 
 	}
 
+	private static void writeOutFile(byte[] content, File file) {
+		final File parent = file.getParentFile();
+		if ( !parent.exists() && !parent.mkdirs() ) {
+			throw new GradleException( "Unable to create directory : " + parent.getAbsolutePath() );
+		}
+
+		try (FileOutputStream outputStream = new FileOutputStream( file, false )) {
+			outputStream.write( content );
+			outputStream.flush();
+		}
+		catch (IOException e) {
+			throw new GradleException( "Error writing to file : " + file.getAbsolutePath(), e );
+		}
+	}
+
 	private EnhancementHelper() {
 	}
 }